@@ -0,0 +1,105 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.dto.EMICalculationRequest;
+import com.consumerfinance.dto.EMICalculationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks for the EMI engine.
+ * Covers the public entry point (including its request logging), the cached quote path, the
+ * uncached fast path, the BigDecimal reference path and calculatePower, for short and 360-month tenures at zero and high rates. The contended
+ * variants run on all cores against one shared service to expose cache and table contention.
+ * Run with -prof gc to track gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EMICalculationBenchmark {
+
+    private static final MathContext MATH_CONTEXT = new MathContext(20, RoundingMode.HALF_UP);
+
+    @Param({"12", "360"})
+    private int tenureMonths;
+
+    @Param({"0", "10.5", "36.00", "13.37"})
+    private String annualRate;
+
+    private EMICalculationService emiCalculationService;
+    private EMICalculationRequest request;
+    private BigDecimal principal;
+    private BigDecimal rate;
+    private BigDecimal onePlusMonthlyRate;
+
+    @Setup
+    public void setUp() {
+        emiCalculationService = new EMICalculationService(
+                new EMIQuoteCache(new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(10)),
+                new AnnuityFactorTable(new SimpleMeterRegistry(), true, new BigDecimal("36.00"), true));
+        principal = new BigDecimal("500000.00");
+        rate = new BigDecimal(annualRate);
+        request = EMICalculationRequest.builder()
+                .principalAmount(principal)
+                .annualInterestRate(rate)
+                .tenureMonths(tenureMonths)
+                .build();
+        onePlusMonthlyRate = BigDecimal.ONE.add(rate.divide(BigDecimal.valueOf(1200), MATH_CONTEXT), MATH_CONTEXT);
+    }
+
+    @Benchmark
+    public EMICalculationResponse calculateEMI() {
+        return emiCalculationService.calculateEMI(request);
+    }
+
+    @Benchmark
+    public EMICalculationResponse quoteEMICached() {
+        return emiCalculationService.quoteEMI(request);
+    }
+
+    @Benchmark
+    public EMICalculationResponse calculateEMIUncached() {
+        return emiCalculationService.computeEMI(request);
+    }
+
+    @Benchmark
+    public BigDecimal referenceEMI() {
+        return emiCalculationService.calculateReferenceEMI(principal, rate, tenureMonths);
+    }
+
+    @Benchmark
+    public BigDecimal calculatePower() {
+        return emiCalculationService.calculatePower(onePlusMonthlyRate, tenureMonths);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public EMICalculationResponse quoteEMICachedContended() {
+        return emiCalculationService.quoteEMI(request);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public EMICalculationResponse calculateEMIUncachedContended() {
+        return emiCalculationService.computeEMI(request);
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.dto.RepaymentScheduleEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks for the amortization loop behind PersonalLoanService.generateRepaymentSchedule.
+ * Measures one full schedule per invocation through RepaymentScheduleCalculator, without the
+ * repository writes, for short and 360-month tenures at zero and high rates.
+ * Run with -prof gc to track gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepaymentScheduleBenchmark {
+
+    private static final LocalDateTime FIRST_DUE_DATE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Param({"12", "360"})
+    private int tenureMonths;
+
+    @Param({"0", "10.5", "36.00"})
+    private String annualRate;
+
+    private BigDecimal principal;
+    private BigDecimal rate;
+    private BigDecimal monthlyEMI;
+
+    @Setup
+    public void setUp() {
+        principal = new BigDecimal("500000.00");
+        rate = new BigDecimal(annualRate);
+        monthlyEMI = new EMICalculationService(null, null).calculateReferenceEMI(principal, rate, tenureMonths);
+    }
+
+    @Benchmark
+    public void schedule(Blackhole blackhole) {
+        consume(blackhole);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void scheduleContended(Blackhole blackhole) {
+        consume(blackhole);
+    }
+
+    private void consume(Blackhole blackhole) {
+        RepaymentScheduleCalculator schedule =
+                new RepaymentScheduleCalculator(principal, rate, tenureMonths, monthlyEMI, FIRST_DUE_DATE);
+        while (schedule.hasNext()) {
+            RepaymentScheduleEntry entry = schedule.next();
+            blackhole.consume(entry);
+        }
+    }
+
+}
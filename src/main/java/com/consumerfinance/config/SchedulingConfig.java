@@ -0,0 +1,12 @@
+package com.consumerfinance.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs such as installment counter verification.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
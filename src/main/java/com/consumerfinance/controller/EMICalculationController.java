@@ -1,9 +1,18 @@
 package com.consumerfinance.controller;
 
+import com.consumerfinance.dto.EMIBatchResponse;
 import com.consumerfinance.dto.EMICalculationRequest;
 import com.consumerfinance.dto.EMICalculationResponse;
+import com.consumerfinance.dto.EMIMatrixResponse;
+import com.consumerfinance.dto.RepaymentScheduleEntry;
+import com.consumerfinance.service.EMIBatchCalculationService;
 import com.consumerfinance.service.EMICalculationService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,8 +20,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * REST Controller for EMI calculation operations.
@@ -25,10 +40,18 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "EMI Calculation", description = "API for calculating EMI (Equated Monthly Installment) with amortization schedule")
 public class EMICalculationController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     private final EMICalculationService emiCalculationService;
+    private final EMIBatchCalculationService emiBatchCalculationService;
+    private final ObjectMapper objectMapper;
 
-    public EMICalculationController(EMICalculationService emiCalculationService) {
+    public EMICalculationController(EMICalculationService emiCalculationService,
+                                    EMIBatchCalculationService emiBatchCalculationService,
+                                    ObjectMapper objectMapper) {
         this.emiCalculationService = emiCalculationService;
+        this.emiBatchCalculationService = emiBatchCalculationService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -56,5 +79,116 @@ public class EMICalculationController {
         return ResponseEntity.ok(response);
     }
 
-}
+    /**
+     * Calculate EMI for many loan parameter sets in one call.
+     * Items are validated individually, so one invalid item does not fail the batch.
+     *
+     * @param requests the EMI calculation requests
+     * @return per-item results in request order
+     */
+    @PostMapping("/calculate-batch")
+    @Operation(summary = "Calculate EMI in batch",
+               description = "Calculates EMI for up to the configured maximum number of requests in parallel. Results keep request order and report validation errors per item.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed (individual items may have failed)",
+                     content = @Content(schema = @Schema(implementation = EMIBatchResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Batch is empty or exceeds the maximum size"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<EMIBatchResponse> calculateEMIBatch(@RequestBody List<EMICalculationRequest> requests) {
+        log.info("REST: POST /api/v1/emi/calculate-batch - Calculating EMI for {} requests",
+                requests != null ? requests.size() : 0);
+        EMIBatchResponse response = emiBatchCalculationService.calculateBatch(requests);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Calculate an EMI comparison matrix of rates x tenures for one principal.
+     *
+     * @param principal the principal amount
+     * @param rates the annual interest rates (matrix rows)
+     * @param minTenure the first tenure in months
+     * @param maxTenure the last tenure in months
+     * @param tenureStep the step between tenures in months
+     * @return the EMI matrix
+     */
+    @GetMapping("/matrix")
+    @Operation(summary = "Calculate EMI comparison matrix",
+               description = "Returns monthly EMIs for every combination of the given rates and tenure range for one principal")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "EMI matrix calculated successfully",
+                     content = @Content(schema = @Schema(implementation = EMIMatrixResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters or matrix too large"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<EMIMatrixResponse> calculateEMIMatrix(
+            @RequestParam
+            @Parameter(description = "Principal loan amount", example = "500000")
+            BigDecimal principal,
+            @RequestParam
+            @Parameter(description = "Annual interest rates in percentage", example = "9.5,10,10.5")
+            List<BigDecimal> rates,
+            @RequestParam(defaultValue = "12")
+            @Parameter(description = "First tenure in months", example = "12")
+            int minTenure,
+            @RequestParam(defaultValue = "360")
+            @Parameter(description = "Last tenure in months", example = "360")
+            int maxTenure,
+            @RequestParam(defaultValue = "12")
+            @Parameter(description = "Step between tenures in months", example = "12")
+            int tenureStep) {
+        log.info("REST: GET /api/v1/emi/matrix - Principal: {}, Rates: {}, Tenures: {}-{} step {}",
+                principal, rates, minTenure, maxTenure, tenureStep);
+        EMIMatrixResponse response = emiCalculationService.calculateEMIMatrix(principal, rates, minTenure, maxTenure, tenureStep);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Preview the full amortization schedule for loan parameters without persisting it.
+     * Rows are streamed as they are computed: NDJSON by default, or a JSON array when the
+     * client accepts only application/json.
+     *
+     * @param request the loan parameters
+     * @param accept the Accept header
+     * @return the streamed schedule
+     */
+    @PostMapping(value = "/schedule-preview", produces = {NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Preview amortization schedule",
+               description = "Streams the repayment schedule (same rules as loan disbursal) without any database writes. Returns NDJSON by default or a JSON array for Accept: application/json.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Schedule streamed successfully",
+                     content = @Content(schema = @Schema(implementation = RepaymentScheduleEntry.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<StreamingResponseBody> previewSchedule(
+            @Valid @RequestBody EMICalculationRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.info("REST: POST /api/v1/emi/schedule-preview - Principal: {}, Rate: {}, Tenure: {} months",
+                request.getPrincipalAmount(), request.getAnnualInterestRate(), request.getTenureMonths());
+
+        Iterator<RepaymentScheduleEntry> schedule = emiCalculationService.previewRepaymentSchedule(request);
+        boolean jsonArray = accept != null && accept.contains(MediaType.APPLICATION_JSON_VALUE)
+                && !accept.contains(NDJSON_VALUE);
 
+        StreamingResponseBody body = outputStream -> {
+            // Closing the writer must leave the response stream open for the trailing newline
+            ObjectWriter streamWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            try (SequenceWriter writer = jsonArray
+                    ? streamWriter.writeValuesAsArray(outputStream)
+                    : streamWriter.withRootValueSeparator("\n").writeValues(outputStream)) {
+                while (schedule.hasNext()) {
+                    writer.write(schedule.next());
+                }
+            }
+            if (!jsonArray) {
+                outputStream.write('\n');
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(jsonArray ? MediaType.APPLICATION_JSON : MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
+    }
+
+}
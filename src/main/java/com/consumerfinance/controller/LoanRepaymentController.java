@@ -1,7 +1,16 @@
 package com.consumerfinance.controller;
 
+import com.consumerfinance.dto.OverdueRepaymentPage;
+import com.consumerfinance.dto.PaymentAllocationResponse;
+import com.consumerfinance.dto.PayoffQuoteResponse;
+import com.consumerfinance.dto.PrepaymentResponse;
+import com.consumerfinance.dto.RepaymentIngestionResult;
+import com.consumerfinance.dto.RepaymentIngestionSummary;
 import com.consumerfinance.dto.RepaymentResponse;
 import com.consumerfinance.service.LoanRepaymentService;
+import com.consumerfinance.service.RepaymentIngestionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,9 +20,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.constraints.Positive;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,10 +44,18 @@ import java.util.UUID;
 @Tag(name = "Loan Repayments", description = "API for managing loan repayments and payments")
 public class LoanRepaymentController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     private final LoanRepaymentService repaymentService;
+    private final RepaymentIngestionService ingestionService;
+    private final ObjectMapper objectMapper;
 
-    public LoanRepaymentController(LoanRepaymentService repaymentService) {
+    public LoanRepaymentController(LoanRepaymentService repaymentService,
+                                   RepaymentIngestionService ingestionService,
+                                   ObjectMapper objectMapper) {
         this.repaymentService = repaymentService;
+        this.ingestionService = ingestionService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -39,16 +64,19 @@ public class LoanRepaymentController {
      * @param loanId the loan ID
      * @param installmentNumber the installment number
      * @param amountPaid the amount being paid
+     * @param paymentMode the payment mode
+     * @param transactionReference the payment transaction reference; retries with the same reference are not applied twice
      * @return the updated repayment details
      */
     @PostMapping("/{loanId}/installment/{installmentNumber}/pay")
     @Operation(summary = "Process loan repayment",
-               description = "Processes a payment for a specific loan installment")
+               description = "Processes a payment for a specific loan installment. A retry with an already processed transactionReference returns the original result without applying the payment again.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Repayment processed successfully",
                      content = @Content(schema = @Schema(implementation = RepaymentResponse.class))),
         @ApiResponse(responseCode = "400", description = "Invalid request parameters or invalid repayment"),
         @ApiResponse(responseCode = "404", description = "Loan or repayment not found"),
+        @ApiResponse(responseCode = "409", description = "Transaction reference is being processed concurrently"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<RepaymentResponse> processRepayment(
@@ -61,13 +89,221 @@ public class LoanRepaymentController {
             @RequestParam
             @Positive(message = "Amount paid must be greater than zero")
             @Parameter(description = "Amount being paid", example = "9638.22")
-            BigDecimal amountPaid) {
+            BigDecimal amountPaid,
+            @RequestParam(required = false)
+            @Parameter(description = "Payment mode", example = "UPI")
+            String paymentMode,
+            @RequestParam(required = false)
+            @Parameter(description = "Payment gateway transaction reference, used as idempotency key", example = "TXN-20261017-000001")
+            String transactionReference) {
         log.info("REST: POST /api/v1/repayments/{}/installment/{}/pay - Processing payment of {}",
                 loanId, installmentNumber, amountPaid);
-        RepaymentResponse response = repaymentService.processRepayment(loanId, installmentNumber, amountPaid);
+        RepaymentResponse response = repaymentService.processRepayment(loanId, installmentNumber, amountPaid,
+                paymentMode, transactionReference);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Pay a lump sum across a loan's open installments.
+     *
+     * @param loanId the loan ID
+     * @param amount the amount paid
+     * @param paymentMode the payment mode
+     * @param transactionReference the payment transaction reference; retries with the same reference are not applied twice
+     * @return the allocation of the payment to installments
+     */
+    @PostMapping("/{loanId}/pay")
+    @Operation(summary = "Pay lump sum",
+               description = "Applies one payment across the loan's open installments: overdue first, then partially paid, then current, oldest first, interest before principal within each installment. A retry with an already processed transactionReference returns the original allocation without applying the payment again.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Payment allocated successfully",
+                     content = @Content(schema = @Schema(implementation = PaymentAllocationResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid amount, amount exceeds the amount due, or transaction reference already used for another payment"),
+        @ApiResponse(responseCode = "404", description = "Loan not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<PaymentAllocationResponse> allocatePayment(
+            @PathVariable
+            @Parameter(description = "Unique loan identifier", example = "550e8400-e29b-41d4-a716-446655440000")
+            UUID loanId,
+            @RequestParam
+            @Positive(message = "Amount must be greater than zero")
+            @Parameter(description = "Amount paid", example = "28914.66")
+            BigDecimal amount,
+            @RequestParam(required = false)
+            @Parameter(description = "Payment mode", example = "UPI")
+            String paymentMode,
+            @RequestParam(required = false)
+            @Parameter(description = "Payment gateway transaction reference", example = "TXN-20261017-000003")
+            String transactionReference) {
+        log.info("REST: POST /api/v1/repayments/{}/pay - Allocating payment of {}", loanId, amount);
+        PaymentAllocationResponse response = repaymentService.allocatePayment(loanId, amount, paymentMode,
+                transactionReference);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Prepay part of a loan's principal.
+     *
+     * @param loanId the loan ID
+     * @param amount the amount prepaid against principal
+     * @param option whether to lower the EMI or shorten the tenure
+     * @param paymentMode the payment mode
+     * @return the prepayment and the re-amortized terms
+     */
+    @PostMapping("/{loanId}/prepay")
+    @Operation(summary = "Prepay loan principal",
+               description = "Applies a part-prepayment to the outstanding principal and re-amortizes the remaining installments, lowering the EMI or shortening the tenure")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Prepayment applied successfully",
+                     content = @Content(schema = @Schema(implementation = PrepaymentResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid prepayment amount"),
+        @ApiResponse(responseCode = "404", description = "Loan not found"),
+        @ApiResponse(responseCode = "409", description = "Loan is not active or has overdue, partial or out-of-order installments"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<PrepaymentResponse> prepayLoan(
+            @PathVariable
+            @Parameter(description = "Unique loan identifier", example = "550e8400-e29b-41d4-a716-446655440000")
+            UUID loanId,
+            @RequestParam
+            @Positive(message = "Prepayment amount must be greater than zero")
+            @Parameter(description = "Amount prepaid against principal", example = "50000.00")
+            BigDecimal amount,
+            @RequestParam(defaultValue = "REDUCE_EMI")
+            @Parameter(description = "Re-amortization option (REDUCE_EMI or REDUCE_TENURE)")
+            LoanRepaymentService.PrepaymentOption option,
+            @RequestParam(required = false)
+            @Parameter(description = "Payment mode", example = "NEFT")
+            String paymentMode) {
+        log.info("REST: POST /api/v1/repayments/{}/prepay - Prepaying {} with option {}", loanId, amount, option);
+        PrepaymentResponse response = repaymentService.prepayLoan(loanId, amount, option, paymentMode);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Foreclose a loan.
+     *
+     * @param loanId the loan ID
+     * @param amountPaid the amount being paid, at least the payoff amount
+     * @param paymentMode the payment mode
+     * @param transactionReference the payment transaction reference; retries with the same reference are not applied twice
+     * @return the settlement installment
+     */
+    @PostMapping("/{loanId}/foreclose")
+    @Operation(summary = "Foreclose loan",
+               description = "Pays off the outstanding principal and accrued interest in one settlement installment and closes the loan. Get the amount from the payoff quote.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Loan foreclosed successfully",
+                     content = @Content(schema = @Schema(implementation = RepaymentResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Amount does not cover the payoff"),
+        @ApiResponse(responseCode = "404", description = "Loan not found"),
+        @ApiResponse(responseCode = "409", description = "Loan is not active or has overdue, partial or out-of-order installments"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<RepaymentResponse> forecloseLoan(
+            @PathVariable
+            @Parameter(description = "Unique loan identifier", example = "550e8400-e29b-41d4-a716-446655440000")
+            UUID loanId,
+            @RequestParam
+            @Positive(message = "Amount paid must be greater than zero")
+            @Parameter(description = "Amount being paid", example = "351458.33")
+            BigDecimal amountPaid,
+            @RequestParam(required = false)
+            @Parameter(description = "Payment mode", example = "NEFT")
+            String paymentMode,
+            @RequestParam(required = false)
+            @Parameter(description = "Payment gateway transaction reference, used as idempotency key", example = "TXN-20261017-000002")
+            String transactionReference) {
+        log.info("REST: POST /api/v1/repayments/{}/foreclose - Foreclosing with payment of {}", loanId, amountPaid);
+        RepaymentResponse response = repaymentService.forecloseLoan(loanId, amountPaid, paymentMode, transactionReference);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Quote the amount that forecloses a loan today.
+     *
+     * @param loanId the loan ID
+     * @return the payoff quote
+     */
+    @GetMapping("/{loanId}/payoff-quote")
+    @Operation(summary = "Get payoff quote",
+               description = "Computes the outstanding principal plus interest accrued since the last due date, without changing the loan")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Payoff quote computed successfully",
+                     content = @Content(schema = @Schema(implementation = PayoffQuoteResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Loan not found"),
+        @ApiResponse(responseCode = "409", description = "Loan is not active or has overdue, partial or out-of-order installments"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<PayoffQuoteResponse> getPayoffQuote(
+            @PathVariable
+            @Parameter(description = "Unique loan identifier", example = "550e8400-e29b-41d4-a716-446655440000")
+            UUID loanId) {
+        log.info("REST: GET /api/v1/repayments/{}/payoff-quote - Quoting payoff", loanId);
+        PayoffQuoteResponse response = repaymentService.getPayoffQuote(loanId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Ingest a bulk repayment file.
+     * The file is read as a stream and applied in chunked transactions; the report is streamed
+     * back as NDJSON with one result per row followed by a summary line.
+     *
+     * @param file the uploaded payment file
+     * @param path a payment file in the configured ingestion directory, instead of an upload
+     * @param format the file format; inferred from the file name when omitted
+     * @return the streamed ingestion report
+     * @throws IOException if the uploaded file cannot be read
+     */
+    @PostMapping(value = "/ingest", produces = NDJSON_VALUE)
+    @Operation(summary = "Ingest bulk repayment file",
+               description = "Applies a CSV (header: loanId,installmentNumber,amount[,paymentMode,transactionReference]) or NDJSON payment file, uploaded or read from the server ingestion directory. Streams one NDJSON result per row, then a summary line.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ingestion report streamed",
+                     content = @Content(schema = @Schema(implementation = RepaymentIngestionResult.class))),
+        @ApiResponse(responseCode = "400", description = "No file or path given, or path not allowed"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<StreamingResponseBody> ingestRepayments(
+            @RequestPart(value = "file", required = false)
+            @Parameter(description = "Payment file upload")
+            MultipartFile file,
+            @RequestParam(required = false)
+            @Parameter(description = "Payment file path relative to the server ingestion directory", example = "partner-a/2026-10-17.csv")
+            String path,
+            @RequestParam(required = false)
+            @Parameter(description = "File format (CSV or NDJSON); inferred from the file name when omitted")
+            RepaymentIngestionService.Format format) throws IOException {
+        if ((file == null || file.isEmpty()) == (path == null || path.isBlank())) {
+            throw new IllegalArgumentException("Provide either a payment file upload or a path");
+        }
+        String source = file != null && !file.isEmpty() ? file.getOriginalFilename() : path;
+        log.info("REST: POST /api/v1/repayments/ingest - Ingesting repayment file: {}", source);
+
+        RepaymentIngestionService.Format fileFormat = format != null ? format : RepaymentIngestionService.Format.fromFileName(source);
+        // Open before returning so an upload outlives the request thread
+        InputStream input = file != null && !file.isEmpty() ? file.getInputStream() : ingestionService.openLocalFile(path);
+
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+                RepaymentIngestionSummary summary = ingestionService.ingest(input, fileFormat, result -> {
+                    try {
+                        writer.write(result);
+                        writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.write(summary);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
+    }
+
     /**
      * Get repayment details.
      *
@@ -146,21 +382,45 @@ public class LoanRepaymentController {
     }
 
     /**
-     * Get all overdue repayments.
+     * Get one page of overdue repayments.
      *
-     * @return list of overdue repayments
+     * @param dueFrom earliest due date to include
+     * @param dueTo latest due date to include
+     * @param minDaysPastDue minimum whole days past due
+     * @param after the cursor returned with the previous page
+     * @param size the maximum number of installments to return
+     * @return page of overdue repayments with the cursor of the next page
      */
     @GetMapping("/overdue/list")
-    @Operation(summary = "Get all overdue repayments",
-               description = "Retrieves all overdue installments across all loans")
+    @Operation(summary = "Get overdue repayments",
+               description = "Retrieves overdue installments across all loans, oldest due first, one page at a time. "
+                       + "Pass the returned nextCursor as 'after' to read the following page.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Overdue repayments retrieved successfully",
-                     content = @Content(schema = @Schema(implementation = RepaymentResponse.class))),
+                     content = @Content(schema = @Schema(implementation = OverdueRepaymentPage.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid filter, page size or cursor"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<RepaymentResponse>> getOverdueRepayments() {
-        log.info("REST: GET /api/v1/repayments/overdue/list - Retrieving overdue repayments");
-        List<RepaymentResponse> response = repaymentService.getOverdueRepayments();
+    public ResponseEntity<OverdueRepaymentPage> getOverdueRepayments(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Earliest due date to include", example = "2026-01-01")
+            LocalDate dueFrom,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Latest due date to include", example = "2026-06-30")
+            LocalDate dueTo,
+            @RequestParam(required = false)
+            @Parameter(description = "Minimum whole days past due", example = "30")
+            Integer minDaysPastDue,
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor returned as nextCursor with the previous page")
+            String after,
+            @RequestParam(defaultValue = "100")
+            @Parameter(description = "Maximum number of installments to return (1-1000)", example = "100")
+            int size) {
+        log.info("REST: GET /api/v1/repayments/overdue/list - Retrieving overdue repayments, size {}", size);
+        OverdueRepaymentPage response = repaymentService.getOverdueRepayments(dueFrom, dueTo, minDaysPastDue, after, size);
         return ResponseEntity.ok(response);
     }
 
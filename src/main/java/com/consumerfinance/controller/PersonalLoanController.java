@@ -1,8 +1,21 @@
 package com.consumerfinance.controller;
 
+import com.consumerfinance.dto.ApprovalQueueItemResponse;
+import com.consumerfinance.dto.BulkDisbursalResponse;
 import com.consumerfinance.dto.CreateLoanRequest;
+import com.consumerfinance.dto.DisbursalStatusResponse;
+import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.dto.LoanBalanceResponse;
+import com.consumerfinance.dto.LoanEligibilityResponse;
+import com.consumerfinance.dto.LoanExportRow;
 import com.consumerfinance.dto.LoanResponse;
+import com.consumerfinance.service.LoanDisbursalService;
+import com.consumerfinance.service.LoanExportService;
+import com.consumerfinance.service.LoanLedgerService;
 import com.consumerfinance.service.PersonalLoanService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,9 +25,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,10 +56,22 @@ import java.util.UUID;
 @Tag(name = "Personal Loans", description = "API for managing personal loans")
 public class PersonalLoanController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     private final PersonalLoanService loanService;
+    private final LoanDisbursalService disbursalService;
+    private final LoanLedgerService ledgerService;
+    private final LoanExportService exportService;
+    private final ObjectMapper objectMapper;
 
-    public PersonalLoanController(PersonalLoanService loanService) {
+    public PersonalLoanController(PersonalLoanService loanService, LoanDisbursalService disbursalService,
+                                  LoanLedgerService ledgerService, LoanExportService exportService,
+                                  ObjectMapper objectMapper) {
         this.loanService = loanService;
+        this.disbursalService = disbursalService;
+        this.ledgerService = ledgerService;
+        this.exportService = exportService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -109,6 +146,30 @@ public class PersonalLoanController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Check whether a consumer may apply for a new loan.
+     *
+     * @param consumerId the consumer ID (UUID)
+     * @return the consumer's eligibility and any reasons against it
+     */
+    @GetMapping("/eligibility/{consumerId}")
+    @Operation(summary = "Check a consumer's loan eligibility",
+               description = "Checks KYC, account status, principal account and active loans without creating a loan")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Eligibility checked successfully",
+                     content = @Content(schema = @Schema(implementation = LoanEligibilityResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Consumer not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<LoanEligibilityResponse> checkEligibility(
+            @PathVariable
+            @Parameter(description = "Unique consumer identifier (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+            UUID consumerId) {
+        log.debug("REST: GET /api/v1/loans/eligibility/{} - Checking loan eligibility", consumerId);
+        LoanEligibilityResponse response = loanService.checkEligibility(consumerId);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get all loans for a customer by customer ID string.
      *
@@ -153,6 +214,104 @@ public class PersonalLoanController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Export loans with their consumer and balance.
+     * Rows are written to the response as they are read from the database, so the export is
+     * never held in memory.
+     *
+     * @param status the loan status to export, all loans if omitted
+     * @return the streamed export, one NDJSON line per loan
+     */
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    @Operation(summary = "Export loans",
+               description = "Streams every loan, or every loan in one status, with its consumer and outstanding "
+                       + "balance as NDJSON, one line per loan, for regulatory and data-warehouse extracts")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Loan export streamed",
+                     content = @Content(schema = @Schema(implementation = LoanExportRow.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid loan status"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<StreamingResponseBody> exportLoans(
+            @RequestParam(required = false)
+            @Parameter(description = "Loan status to export; all loans when omitted", example = "ACTIVE")
+            PersonalLoan.LoanStatus status) {
+        log.info("REST: GET /api/v1/loans/export - Exporting loans with status: {}", status != null ? status : "ALL");
+
+        StreamingResponseBody body = outputStream -> {
+            long rows;
+            // Closing the writer must leave the response stream open for the trailing newline
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                rows = exportService.exportLoans(status, row -> {
+                    try {
+                        writer.write(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            if (rows > 0) {
+                outputStream.write('\n');
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
+    }
+
+    /**
+     * Get one page of the approval queue.
+     *
+     * @param minAmount the minimum principal
+     * @param maxAmount the maximum principal
+     * @param createdFrom the first creation date to include
+     * @param createdTo the last creation date to include
+     * @param minTenure the minimum tenure in months
+     * @param maxTenure the maximum tenure in months
+     * @param pageable the page number, size and sort
+     * @return the page of pending loans
+     */
+    @GetMapping("/approval-queue")
+    @Operation(summary = "Get loan approval queue",
+               description = "Pages through pending loans, oldest first by default, filtered by amount band, creation "
+                       + "date and tenure. Sortable by createdAt, principalAmount, annualInterestRate and loanTenureMonths")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Approval queue page retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid page size, sort or filter band"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Page<ApprovalQueueItemResponse>> getApprovalQueue(
+            @RequestParam(required = false)
+            @Parameter(description = "Minimum principal amount", example = "100000")
+            BigDecimal minAmount,
+            @RequestParam(required = false)
+            @Parameter(description = "Maximum principal amount", example = "500000")
+            BigDecimal maxAmount,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First creation date to include", example = "2026-10-01")
+            LocalDate createdFrom,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last creation date to include", example = "2026-10-17")
+            LocalDate createdTo,
+            @RequestParam(required = false)
+            @Parameter(description = "Minimum tenure in months", example = "12")
+            Integer minTenure,
+            @RequestParam(required = false)
+            @Parameter(description = "Maximum tenure in months", example = "60")
+            Integer maxTenure,
+            @PageableDefault(size = 20)
+            Pageable pageable) {
+        log.info("REST: GET /api/v1/loans/approval-queue - Retrieving approval queue page {}", pageable.getPageNumber());
+        return ResponseEntity.ok(loanService.getApprovalQueue(minAmount, maxAmount, createdFrom, createdTo,
+                minTenure, maxTenure, pageable));
+    }
+
     /**
      * Approve a pending loan.
      * T024: Implement PUT /loans/{id}/approve endpoint
@@ -215,27 +374,116 @@ public class PersonalLoanController {
      * T025: Implement PUT /loans/{id}/disburse endpoint
      *
      * @param loanId the loan ID to disburse
-     * @return the disbursed loan details
+     * @param async whether to generate the schedule in the background
+     * @return the disbursed loan details, or the DISBURSING loan when async
      */
     @PutMapping("/{loanId}/disburse")
     @Operation(summary = "Disburse an approved loan",
-               description = "Disburses a loan that is in APPROVED status and generates repayment schedule")
+               description = "Disburses a loan that is in APPROVED status and generates repayment schedule. "
+                       + "With async=true the loan moves to DISBURSING and the schedule is generated in the background; "
+                       + "poll the disbursal status endpoint until the loan is ACTIVE.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Loan disbursed successfully",
                      content = @Content(schema = @Schema(implementation = LoanResponse.class))),
+        @ApiResponse(responseCode = "202", description = "Disbursal accepted for background processing",
+                     content = @Content(schema = @Schema(implementation = LoanResponse.class))),
         @ApiResponse(responseCode = "404", description = "Loan not found"),
-        @ApiResponse(responseCode = "409", description = "Invalid operation - loan is not in APPROVED status"),
+        @ApiResponse(responseCode = "409", description = "Invalid operation - loan is not in APPROVED status or disbursal queue is full"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<LoanResponse> disburseLoan(
             @PathVariable
             @Parameter(description = "Unique loan identifier (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
-            UUID loanId) {
-        log.info("REST: PUT /api/v1/loans/{}/disburse - Disbursing loan", loanId);
+            UUID loanId,
+            @RequestParam(required = false, defaultValue = "false")
+            @Parameter(description = "Generate the repayment schedule asynchronously", example = "true")
+            boolean async) {
+        log.info("REST: PUT /api/v1/loans/{}/disburse - Disbursing loan (async: {})", loanId, async);
+        if (async) {
+            LoanResponse response = disbursalService.disburseAsync(loanId);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/loans/" + loanId + "/disbursal"))
+                    .body(response);
+        }
         LoanResponse response = loanService.disburseLoan(loanId);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Disburse many approved loans in one request.
+     *
+     * @param loanIds the loan IDs to disburse
+     * @return per-loan results with success and failure counts
+     */
+    @PostMapping("/disburse-batch")
+    @Operation(summary = "Disburse approved loans in bulk",
+               description = "Disburses many APPROVED loans, committing in chunks. Each loan is reported as SUCCESS or FAILED; "
+                       + "a failing loan does not roll back the others.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Bulk disbursal processed (individual loans may have failed)",
+                     content = @Content(schema = @Schema(implementation = BulkDisbursalResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Request is empty or exceeds the maximum size"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<BulkDisbursalResponse> disburseLoans(@RequestBody List<UUID> loanIds) {
+        log.info("REST: POST /api/v1/loans/disburse-batch - Disbursing {} loans",
+                loanIds != null ? loanIds.size() : 0);
+        BulkDisbursalResponse response = disbursalService.disburseLoans(loanIds);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get the disbursal status of a loan.
+     *
+     * @param loanId the loan ID
+     * @return the disbursal status
+     */
+    @GetMapping("/{loanId}/disbursal")
+    @Operation(summary = "Get disbursal status",
+               description = "Polls the disbursal status of a loan; DISBURSING means the schedule is still being generated")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Disbursal status retrieved successfully",
+                     content = @Content(schema = @Schema(implementation = DisbursalStatusResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Loan not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<DisbursalStatusResponse> getDisbursalStatus(
+            @PathVariable
+            @Parameter(description = "Unique loan identifier (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+            UUID loanId) {
+        log.info("REST: GET /api/v1/loans/{}/disbursal - Retrieving disbursal status", loanId);
+        return ResponseEntity.ok(loanService.getDisbursalStatus(loanId));
+    }
+
+    /**
+     * Get the outstanding balance of a loan at a point in time.
+     *
+     * @param loanId the loan ID
+     * @param asOf the time to compute the balance at, now if omitted
+     * @return the balance computed from the loan ledger
+     */
+    @GetMapping("/{loanId}/balance")
+    @Operation(summary = "Get loan balance as of a time",
+               description = "Computes the outstanding balance at a point in time from the latest ledger snapshot "
+                       + "before it and the postings that follow")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Balance retrieved successfully",
+                     content = @Content(schema = @Schema(implementation = LoanBalanceResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Loan not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<LoanBalanceResponse> getBalanceAsOf(
+            @PathVariable
+            @Parameter(description = "Unique loan identifier (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+            UUID loanId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @Parameter(description = "Time to compute the balance at", example = "2026-06-30T23:59:59")
+            LocalDateTime asOf) {
+        log.info("REST: GET /api/v1/loans/{}/balance - Retrieving balance as of {}", loanId, asOf);
+        return ResponseEntity.ok(ledgerService.getBalanceAsOf(loanId, asOf != null ? asOf : LocalDateTime.now()));
+    }
+
     /**
      * Close a fully repaid loan.
      *
@@ -0,0 +1,74 @@
+package com.consumerfinance.controller;
+
+import com.consumerfinance.dto.PortfolioSummaryResponse;
+import com.consumerfinance.service.PortfolioSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for loan portfolio analytics.
+ * Serves dashboards from the portfolio summary read model instead of aggregating loans per request.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/analytics/portfolio")
+@Tag(name = "Portfolio Analytics", description = "API for loan portfolio dashboards")
+public class PortfolioAnalyticsController {
+
+    private final PortfolioSummaryService portfolioSummaryService;
+
+    public PortfolioAnalyticsController(PortfolioSummaryService portfolioSummaryService) {
+        this.portfolioSummaryService = portfolioSummaryService;
+    }
+
+    /**
+     * Get the portfolio summary.
+     *
+     * @param days the number of days of disbursal totals to include, ending today
+     * @return the portfolio summary
+     */
+    @GetMapping
+    @Operation(summary = "Get portfolio summary",
+               description = "Returns total outstanding balance, loan counts and totals per status, average interest "
+                       + "rate and disbursed volume per day, read from running totals kept up to date with every loan change")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Portfolio summary retrieved successfully",
+                     content = @Content(schema = @Schema(implementation = PortfolioSummaryResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Days out of range"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<PortfolioSummaryResponse> getSummary(
+            @RequestParam(defaultValue = "30")
+            @Parameter(description = "Days of disbursal totals to include, ending today (1-366)", example = "30")
+            int days) {
+        log.info("REST: GET /api/v1/analytics/portfolio - Retrieving portfolio summary for {} days", days);
+        return ResponseEntity.ok(portfolioSummaryService.getSummary(days));
+    }
+
+    /**
+     * Recompute the portfolio summary from the loans, e.g. after loans were changed directly in the database.
+     *
+     * @return the rebuilt portfolio summary
+     */
+    @PostMapping("/rebuild")
+    @Operation(summary = "Rebuild portfolio summary",
+               description = "Recomputes the running totals from the loans, as the nightly rebuild does, and returns the summary")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Portfolio summary rebuilt successfully",
+                     content = @Content(schema = @Schema(implementation = PortfolioSummaryResponse.class))),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<PortfolioSummaryResponse> rebuildSummary() {
+        log.info("REST: POST /api/v1/analytics/portfolio/rebuild - Rebuilding portfolio summary");
+        portfolioSummaryService.rebuildSummary();
+        return ResponseEntity.ok(portfolioSummaryService.getSummary(30));
+    }
+}
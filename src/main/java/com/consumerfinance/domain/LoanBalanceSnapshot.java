@@ -0,0 +1,48 @@
+package com.consumerfinance.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * LoanBalanceSnapshot records a loan's balance after a given ledger entry.
+ * A balance-as-of query starts from the latest snapshot at or before the requested time and
+ * adds only the entries posted after it.
+ */
+@Entity
+@Table(name = "loan_balance_snapshots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_snapshot_loan_sequence", columnNames = {"loan_id", "entry_sequence"})
+}, indexes = {
+    @Index(name = "idx_snapshot_loan_as_of", columnList = "loan_id, as_of")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanBalanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "snapshot_id")
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "loan_id", nullable = false, updatable = false)
+    private PersonalLoan loan;
+
+    // Sequence number of the last ledger entry included in the balance
+    @Column(name = "entry_sequence", nullable = false, updatable = false)
+    private Long entrySequence;
+
+    @Column(nullable = false, precision = 19, scale = 2, updatable = false)
+    private BigDecimal balance;
+
+    @Column(name = "as_of", nullable = false, updatable = false)
+    private LocalDateTime asOf;
+
+}
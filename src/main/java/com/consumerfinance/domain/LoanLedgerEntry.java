@@ -0,0 +1,63 @@
+package com.consumerfinance.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * LoanLedgerEntry is one append-only posting against a loan's balance.
+ * Amounts are signed: disbursals and fees raise the balance, repaid principal and interest
+ * lower it. Entries are numbered per loan and never updated, so the balance at any time is
+ * the sum of the entries posted up to then.
+ */
+@Entity
+@Table(name = "loan_ledger_entries", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_ledger_loan_sequence", columnNames = {"loan_id", "entry_sequence"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "entry_id")
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "loan_id", nullable = false, updatable = false)
+    private PersonalLoan loan;
+
+    @Column(name = "entry_sequence", nullable = false, updatable = false)
+    private Long entrySequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 20, updatable = false)
+    private EntryType entryType;
+
+    @Column(nullable = false, precision = 19, scale = 2, updatable = false)
+    private BigDecimal amount;
+
+    @Column(name = "repayment_id", updatable = false)
+    private UUID repaymentId;
+
+    @Column(name = "posted_at", nullable = false, updatable = false)
+    private LocalDateTime postedAt;
+
+    /**
+     * Entry Type enum - what a posting records
+     */
+    public enum EntryType {
+        DISBURSAL,  // Principal paid out to the borrower
+        INTEREST,   // Interest repaid
+        PRINCIPAL,  // Principal repaid
+        FEE         // Fee charged to the loan
+    }
+
+}
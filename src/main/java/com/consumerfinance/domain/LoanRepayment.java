@@ -17,6 +17,8 @@ import java.util.UUID;
 @Entity
 @Table(name = "loan_repayments", uniqueConstraints = {
     @UniqueConstraint(name = "uk_loan_installment", columnNames = {"loan_id", "installment_number"})
+}, indexes = {
+    @Index(name = "idx_repayment_status_due_date", columnList = "status, due_date")
 })
 @Data
 @NoArgsConstructor
@@ -0,0 +1,65 @@
+package com.consumerfinance.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * PaymentTransaction records one processed payment that carried a transaction reference.
+ * Each reference is stored once and never updated, together with the response returned for
+ * the payment, so a retry is answered with the original result however many later payments
+ * touched the same installments.
+ */
+@Entity
+@Table(name = "payment_transactions", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_payment_transaction_reference", columnNames = "transaction_reference")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "payment_id")
+    private UUID id;
+
+    @Column(name = "transaction_reference", nullable = false, length = 100, updatable = false)
+    private String transactionReference;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "loan_id", nullable = false, updatable = false)
+    private PersonalLoan loan;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_type", nullable = false, length = 20, updatable = false)
+    private PaymentType paymentType;
+
+    @Column(name = "installment_number", updatable = false)
+    private Integer installmentNumber;
+
+    @Column(nullable = false, precision = 15, scale = 2, updatable = false)
+    private BigDecimal amount;
+
+    @Column(name = "response", nullable = false, updatable = false, columnDefinition = "LONGTEXT")
+    private String response; // JSON of the response returned for the payment
+
+    @Column(name = "processed_at", nullable = false, updatable = false)
+    private LocalDateTime processedAt;
+
+    /**
+     * Payment Type enum - how the payment was applied
+     */
+    public enum PaymentType {
+        INSTALLMENT,  // Paid towards one installment
+        FORECLOSURE,  // Paid off the loan
+        ALLOCATION    // Lump sum spread across open installments
+    }
+
+}
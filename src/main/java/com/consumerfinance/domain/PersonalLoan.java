@@ -69,6 +69,27 @@ public class PersonalLoan {
     @Builder.Default
     private Integer remainingTenure = 0;
 
+    // Installment counters, maintained with each payment and reconciled in the background
+    @Column(name = "paid_installments", nullable = false)
+    @Builder.Default
+    private Integer paidInstallments = 0;
+
+    @Column(name = "partially_paid_installments", nullable = false)
+    @Builder.Default
+    private Integer partiallyPaidInstallments = 0;
+
+    @Column(name = "pending_installments", nullable = false)
+    @Builder.Default
+    private Integer pendingInstallments = 0;
+
+    @Column(name = "next_due_installment")
+    private Integer nextDueInstallment;
+
+    // Sequence number of the latest entry in the loan's ledger
+    @Column(name = "ledger_sequence", nullable = false)
+    @Builder.Default
+    private Long ledgerSequence = 0L;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, length = 20)
     @Builder.Default
@@ -89,6 +110,14 @@ public class PersonalLoan {
     @Column(name = "closed_at")
     private LocalDateTime closedAt;
 
+    @Column(name = "disbursed_at")
+    private LocalDateTime disbursedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "schedule_mode", nullable = false, length = 20)
+    @Builder.Default
+    private ScheduleMode scheduleMode = ScheduleMode.MATERIALIZED;
+
     @Column(name = "approval_remarks", length = 500)
     private String approvalRemarks;
 
@@ -122,11 +151,20 @@ public class PersonalLoan {
     public enum LoanStatus {
         PENDING,    // Initial state after application
         APPROVED,   // Credit decision approved
+        DISBURSING, // Disbursal accepted, schedule being generated in the background
         ACTIVE,     // Approved and EMI schedule active
         CLOSED,     // Fully repaid or closed by admin
         REJECTED,   // Credit decision rejected
         DEFAULTED   // Critical delinquency
     }
 
+    /**
+     * Schedule Mode enum - how the repayment schedule is stored
+     */
+    public enum ScheduleMode {
+        MATERIALIZED, // Every installment stored at disbursal
+        VIRTUAL       // Only paid or exceptional installments stored; pending ones computed from loan terms
+    }
+
 }
 
@@ -0,0 +1,37 @@
+package com.consumerfinance.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * PortfolioDailyDisbursal holds the number and principal of loans disbursed on one day.
+ * Rows are adjusted in the disbursing transaction and recomputed by the portfolio rebuild job.
+ */
+@Entity
+@Table(name = "portfolio_daily_disbursals")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioDailyDisbursal {
+
+    @Id
+    @Column(name = "disbursal_date")
+    private LocalDate disbursalDate;
+
+    @Column(name = "loan_count", nullable = false)
+    private Long loanCount;
+
+    @Column(name = "principal_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal principalTotal;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,45 @@
+package com.consumerfinance.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * PortfolioStatusSummary holds running totals over all loans in one status.
+ * Rows are adjusted in the same transaction as every loan state or balance change, and
+ * recomputed from personal_loans by the portfolio rebuild job to repair drift.
+ */
+@Entity
+@Table(name = "portfolio_status_summary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioStatusSummary {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private PersonalLoan.LoanStatus status;
+
+    @Column(name = "loan_count", nullable = false)
+    private Long loanCount;
+
+    @Column(name = "principal_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal principalTotal;
+
+    @Column(name = "outstanding_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal outstandingTotal;
+
+    // Sum of the loans' annual interest rates; divided by the loan count for the average rate
+    @Column(name = "interest_rate_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal interestRateTotal;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,42 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a loan application waiting in the approval queue.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Loan application awaiting approval")
+public class ApprovalQueueItemResponse {
+
+    @Schema(description = "Loan ID (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String loanId;
+
+    @Schema(description = "Customer ID (UUID)", example = "6ba7b810-9dad-11d1-80b4-00c04fd430c8")
+    private String customerId;
+
+    @Schema(description = "Requested principal amount", example = "500000.00")
+    private BigDecimal principalAmount;
+
+    @Schema(description = "Annual interest rate", example = "10.50")
+    private BigDecimal annualInterestRate;
+
+    @Schema(description = "Tenure in months", example = "60")
+    private Integer loanTenureMonths;
+
+    @Schema(description = "Monthly EMI", example = "10746.95")
+    private BigDecimal monthlyEMI;
+
+    @Schema(description = "Time the application was created")
+    private LocalDateTime createdAt;
+
+}
@@ -0,0 +1,31 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a single loan within a bulk disbursal.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of disbursing one loan within a bulk disbursal")
+public class BulkDisbursalItemResponse {
+
+    @Schema(description = "Loan identifier", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String loanId;
+
+    @Schema(description = "Item status", example = "SUCCESS", allowableValues = {"SUCCESS", "FAILED"})
+    private String status;
+
+    @Schema(description = "Disbursed loan details (present when status is SUCCESS)")
+    private LoanResponse loan;
+
+    @Schema(description = "Error message (present when status is FAILED)", example = "Only approved loans can be disbursed")
+    private String errorMessage;
+
+}
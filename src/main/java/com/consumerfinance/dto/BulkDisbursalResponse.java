@@ -0,0 +1,33 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Response DTO for bulk disbursal results.
+ * Results are returned in the same order as the requested loan IDs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Bulk disbursal result")
+public class BulkDisbursalResponse {
+
+    @Schema(description = "Number of loans in the request", example = "3")
+    private Integer totalCount;
+
+    @Schema(description = "Number of loans disbursed successfully", example = "2")
+    private Integer successCount;
+
+    @Schema(description = "Number of loans that could not be disbursed", example = "1")
+    private Integer failureCount;
+
+    @Schema(description = "Per-loan results in request order")
+    private List<BulkDisbursalItemResponse> results;
+
+}
@@ -0,0 +1,30 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Response DTO for the loans disbursed on one day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Loans disbursed on one day")
+public class DailyDisbursalResponse {
+
+    @Schema(description = "Disbursal date", example = "2026-10-16")
+    private LocalDate date;
+
+    @Schema(description = "Number of loans disbursed", example = "42")
+    private long loanCount;
+
+    @Schema(description = "Principal disbursed", example = "2100000.00")
+    private BigDecimal principalTotal;
+
+}
@@ -0,0 +1,35 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for polling the disbursal status of a loan.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Loan disbursal status")
+public class DisbursalStatusResponse {
+
+    @Schema(description = "Unique loan identifier", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String loanId;
+
+    @Schema(description = "Loan status; DISBURSING while the schedule is being generated", example = "ACTIVE")
+    private String status;
+
+    @Schema(description = "Repayment schedule mode", example = "MATERIALIZED")
+    private String scheduleMode;
+
+    @Schema(description = "Time the loan was disbursed")
+    private LocalDateTime disbursedAt;
+
+    @Schema(description = "Last update timestamp")
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,35 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.Map;
+
+/**
+ * Response DTO for a single item of a batch EMI calculation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of one EMI calculation within a batch")
+public class EMIBatchItemResponse {
+
+    @Schema(description = "Zero-based position of the item in the request", example = "0")
+    private Integer index;
+
+    @Schema(description = "Item status", example = "SUCCESS", allowableValues = {"SUCCESS", "FAILED"})
+    private String status;
+
+    @Schema(description = "EMI calculation result (present when status is SUCCESS)")
+    private EMICalculationResponse result;
+
+    @Schema(description = "Error message (present when status is FAILED)", example = "Input validation failed")
+    private String errorMessage;
+
+    @Schema(description = "Field validation errors (present when status is FAILED)")
+    private Map<String, String> fieldErrors;
+
+}
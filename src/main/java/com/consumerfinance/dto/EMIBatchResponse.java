@@ -0,0 +1,33 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Response DTO for batch EMI calculation results.
+ * Results are returned in the same order as the request items.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Batch EMI calculation result")
+public class EMIBatchResponse {
+
+    @Schema(description = "Number of items in the batch", example = "3")
+    private Integer totalCount;
+
+    @Schema(description = "Number of items calculated successfully", example = "2")
+    private Integer successCount;
+
+    @Schema(description = "Number of items that failed validation or calculation", example = "1")
+    private Integer failureCount;
+
+    @Schema(description = "Per-item results in request order")
+    private List<EMIBatchItemResponse> results;
+
+}
@@ -0,0 +1,34 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response DTO for an EMI comparison matrix.
+ * monthlyEMI[i][j] is the EMI for annualInterestRates[i] and tenureMonths[j].
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "EMI comparison matrix of rates x tenures for one principal")
+public class EMIMatrixResponse {
+
+    @Schema(description = "Principal amount", example = "500000")
+    private BigDecimal principal;
+
+    @Schema(description = "Annual interest rates (matrix rows)", example = "[9.5, 10, 10.5]")
+    private List<BigDecimal> annualInterestRates;
+
+    @Schema(description = "Loan tenures in months (matrix columns)", example = "[12, 24, 36]")
+    private List<Integer> tenureMonths;
+
+    @Schema(description = "Monthly EMI per rate (row) and tenure (column)")
+    private List<List<BigDecimal>> monthlyEMI;
+
+}
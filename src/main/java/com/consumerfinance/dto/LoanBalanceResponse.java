@@ -0,0 +1,36 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a loan balance at a point in time, computed from the loan ledger.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Loan balance at a point in time")
+public class LoanBalanceResponse {
+
+    @Schema(description = "Loan ID (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String loanId;
+
+    @Schema(description = "Time the balance applies to")
+    private LocalDateTime asOf;
+
+    @Schema(description = "Outstanding balance at that time", example = "412500.00")
+    private BigDecimal balance;
+
+    @Schema(description = "Time of the snapshot the balance was computed from, if any")
+    private LocalDateTime snapshotAsOf;
+
+    @Schema(description = "Ledger entries added to the snapshot balance", example = "7")
+    private long entriesApplied;
+
+}
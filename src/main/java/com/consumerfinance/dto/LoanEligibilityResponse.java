@@ -0,0 +1,41 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Response DTO for a consumer's eligibility for a new loan.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Consumer loan eligibility")
+public class LoanEligibilityResponse {
+
+    @Schema(description = "Customer ID (UUID)", example = "6ba7b810-9dad-11d1-80b4-00c04fd430c8")
+    private String customerId;
+
+    @Schema(description = "Whether the consumer may apply for a loan", example = "false")
+    private boolean eligible;
+
+    @Schema(description = "KYC status", example = "VERIFIED")
+    private String kycStatus;
+
+    @Schema(description = "Consumer account status", example = "ACTIVE")
+    private String consumerStatus;
+
+    @Schema(description = "Principal account verification status; absent without a principal account", example = "VERIFIED")
+    private String accountVerificationStatus;
+
+    @Schema(description = "Whether the consumer already has an active loan", example = "true")
+    private boolean hasActiveLoan;
+
+    @Schema(description = "Reasons the consumer is not eligible, empty when eligible")
+    private List<String> reasons;
+
+}
@@ -0,0 +1,69 @@
+package com.consumerfinance.dto;
+
+import com.consumerfinance.domain.PersonalLoan;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One loan in the loan export, with its consumer and balance.
+ * Built directly by the export query's constructor expression, so the field order is that of the query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Loan export row")
+public class LoanExportRow {
+
+    @Schema(description = "Loan ID (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID loanId;
+
+    @Schema(description = "Customer ID (UUID)", example = "6ba7b810-9dad-11d1-80b4-00c04fd430c8")
+    private UUID customerId;
+
+    @Schema(description = "Customer name", example = "Asha Rao")
+    private String customerName;
+
+    @Schema(description = "Loan status", example = "ACTIVE")
+    private PersonalLoan.LoanStatus status;
+
+    @Schema(description = "Principal amount", example = "500000.00")
+    private BigDecimal principalAmount;
+
+    @Schema(description = "Annual interest rate", example = "10.50")
+    private BigDecimal annualInterestRate;
+
+    @Schema(description = "Tenure in months", example = "60")
+    private Integer loanTenureMonths;
+
+    @Schema(description = "Monthly EMI", example = "10746.95")
+    private BigDecimal monthlyEMI;
+
+    @Schema(description = "Outstanding balance", example = "412500.00")
+    private BigDecimal outstandingBalance;
+
+    @Schema(description = "Installments fully paid", example = "12")
+    private Integer paidInstallments;
+
+    @Schema(description = "Installments not yet fully paid", example = "48")
+    private Integer pendingInstallments;
+
+    @Schema(description = "Lowest unpaid installment number, if any", example = "13")
+    private Integer nextDueInstallment;
+
+    @Schema(description = "Time the loan was created")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Time the loan was disbursed, if disbursed")
+    private LocalDateTime disbursedAt;
+
+    @Schema(description = "Time the loan was closed, if closed")
+    private LocalDateTime closedAt;
+
+}
@@ -0,0 +1,30 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * One page of the overdue installment listing, ordered by due date and repayment ID.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Page of overdue installments")
+public class OverdueRepaymentPage {
+
+    @Schema(description = "Overdue installments, oldest due first")
+    private List<OverdueRepaymentResponse> items;
+
+    @Schema(description = "Cursor to pass as 'after' to read the next page; absent on the last page",
+            example = "MjAyNi0wOS0wMVQxMDowMHw1NTBlODQwMC1lMjliLTQxZDQtYTcxNi00NDY2NTU0NDAwMDA")
+    private String nextCursor;
+
+    @Schema(description = "Whether more overdue installments follow this page", example = "true")
+    private boolean hasMore;
+
+}
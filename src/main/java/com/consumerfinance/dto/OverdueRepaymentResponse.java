@@ -0,0 +1,42 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for an overdue installment in the overdue listing.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Overdue installment")
+public class OverdueRepaymentResponse {
+
+    @Schema(description = "Repayment ID", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String id;
+
+    @Schema(description = "Associated loan ID (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String loanId;
+
+    @Schema(description = "Installment number", example = "3")
+    private Integer installmentNumber;
+
+    @Schema(description = "Total amount due", example = "9638.22")
+    private BigDecimal totalAmount;
+
+    @Schema(description = "Amount already paid", example = "0.00")
+    private BigDecimal paidAmount;
+
+    @Schema(description = "Due date for the installment")
+    private LocalDateTime dueDate;
+
+    @Schema(description = "Whole days since the due date", example = "17")
+    private long daysPastDue;
+
+}
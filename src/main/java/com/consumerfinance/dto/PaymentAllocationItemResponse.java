@@ -0,0 +1,45 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for the part of a lump-sum payment applied to one installment.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Lump-sum payment applied to one installment")
+public class PaymentAllocationItemResponse {
+
+    @Schema(description = "Repayment ID", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String repaymentId;
+
+    @Schema(description = "Installment number", example = "3")
+    private Integer installmentNumber;
+
+    @Schema(description = "Due date for the installment")
+    private LocalDateTime dueDate;
+
+    @Schema(description = "Amount applied to the installment", example = "9638.22")
+    private BigDecimal amountApplied;
+
+    @Schema(description = "Part of the amount applied to interest", example = "1830.00")
+    private BigDecimal interestPaid;
+
+    @Schema(description = "Part of the amount applied to principal", example = "7808.22")
+    private BigDecimal principalPaid;
+
+    @Schema(description = "Installment status before the payment", example = "OVERDUE")
+    private String previousStatus;
+
+    @Schema(description = "Installment status after the payment", example = "PAID")
+    private String status;
+
+}
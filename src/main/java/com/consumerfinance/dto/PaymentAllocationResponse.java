@@ -0,0 +1,37 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response DTO for a lump-sum payment spread across a loan's open installments.
+ * Allocations are listed in the order the payment was applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Lump-sum payment allocation")
+public class PaymentAllocationResponse {
+
+    @Schema(description = "Loan ID (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String loanId;
+
+    @Schema(description = "Amount paid", example = "28914.66")
+    private BigDecimal amountPaid;
+
+    @Schema(description = "Outstanding balance after the payment", example = "412500.00")
+    private BigDecimal outstandingBalance;
+
+    @Schema(description = "Next installment due after the payment", example = "4")
+    private Integer nextDueInstallment;
+
+    @Schema(description = "Per-installment allocations in the order applied")
+    private List<PaymentAllocationItemResponse> allocations;
+
+}
@@ -0,0 +1,45 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for the amount that closes a loan today.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Loan payoff quote")
+public class PayoffQuoteResponse {
+
+    @Schema(description = "Loan ID (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String loanId;
+
+    @Schema(description = "Time the quote was computed")
+    private LocalDateTime quotedAt;
+
+    @Schema(description = "First unpaid installment, settled by the payoff", example = "19")
+    private Integer nextDueInstallment;
+
+    @Schema(description = "Principal outstanding on the remaining installments", example = "350000.00")
+    private BigDecimal outstandingPrincipal;
+
+    @Schema(description = "Interest accrued since the last due date", example = "1458.33")
+    private BigDecimal accruedInterest;
+
+    @Schema(description = "Amount that forecloses the loan", example = "351458.33")
+    private BigDecimal payoffAmount;
+
+    @Schema(description = "Number of remaining installments", example = "42")
+    private Integer remainingInstallments;
+
+    @Schema(description = "Scheduled interest no longer payable after foreclosure", example = "74015.20")
+    private BigDecimal interestSaved;
+
+}
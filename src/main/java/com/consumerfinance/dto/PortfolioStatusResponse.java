@@ -0,0 +1,35 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+/**
+ * Response DTO for the portfolio totals of one loan status.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Portfolio totals of one loan status")
+public class PortfolioStatusResponse {
+
+    @Schema(description = "Loan status", example = "ACTIVE")
+    private String status;
+
+    @Schema(description = "Number of loans in the status", example = "9810")
+    private long loanCount;
+
+    @Schema(description = "Principal of the loans", example = "490500000.00")
+    private BigDecimal principalTotal;
+
+    @Schema(description = "Outstanding balance of the loans", example = "402100000.00")
+    private BigDecimal outstandingTotal;
+
+    @Schema(description = "Average annual interest rate of the loans, if any", example = "11.75")
+    private BigDecimal averageInterestRate;
+
+}
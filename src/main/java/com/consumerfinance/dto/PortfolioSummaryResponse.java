@@ -0,0 +1,40 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for the loan portfolio summary served to dashboards.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Loan portfolio summary")
+public class PortfolioSummaryResponse {
+
+    @Schema(description = "Number of loans in any status", example = "15240")
+    private long totalLoans;
+
+    @Schema(description = "Outstanding balance owed on active and defaulted loans", example = "412500000.00")
+    private BigDecimal totalOutstanding;
+
+    @Schema(description = "Average annual interest rate of active loans, if any", example = "11.75")
+    private BigDecimal averageActiveInterestRate;
+
+    @Schema(description = "Totals per loan status, one entry for every status")
+    private List<PortfolioStatusResponse> statuses;
+
+    @Schema(description = "Disbursal totals per day with disbursals, oldest first")
+    private List<DailyDisbursalResponse> dailyDisbursals;
+
+    @Schema(description = "Last time the summary was updated")
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,48 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a part-prepayment and the re-amortized schedule it produced.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Part-prepayment result")
+public class PrepaymentResponse {
+
+    @Schema(description = "Loan ID (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String loanId;
+
+    @Schema(description = "Amount prepaid against principal", example = "50000.00")
+    private BigDecimal amountPaid;
+
+    @Schema(description = "How the remaining installments were re-amortized", example = "REDUCE_EMI")
+    private String option;
+
+    @Schema(description = "Principal still outstanding after the prepayment", example = "350000.00")
+    private BigDecimal outstandingPrincipal;
+
+    @Schema(description = "Monthly EMI of the remaining installments", example = "8912.40")
+    private BigDecimal monthlyEMI;
+
+    @Schema(description = "Number of remaining installments", example = "42")
+    private Integer remainingInstallments;
+
+    @Schema(description = "Loan tenure in months after the prepayment", example = "60")
+    private Integer loanTenureMonths;
+
+    @Schema(description = "Scheduled interest no longer payable", example = "12840.55")
+    private BigDecimal interestSaved;
+
+    @Schema(description = "Time the prepayment was applied")
+    private LocalDateTime paidDate;
+
+}
@@ -0,0 +1,38 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Report line for one row of a bulk repayment file.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of applying one row of a bulk repayment file")
+public class RepaymentIngestionResult {
+
+    @Schema(description = "Line number in the file (1-based, including any header)", example = "2")
+    private long lineNumber;
+
+    @Schema(description = "Loan identifier", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String loanId;
+
+    @Schema(description = "Installment number", example = "1")
+    private Integer installmentNumber;
+
+    @Schema(description = "Row status; DUPLICATE when the transaction reference was already processed",
+            example = "SUCCESS", allowableValues = {"SUCCESS", "DUPLICATE", "FAILED"})
+    private String status;
+
+    @Schema(description = "Installment status after the payment (present when status is SUCCESS or DUPLICATE)", example = "PAID")
+    private String repaymentStatus;
+
+    @Schema(description = "Error message (present when status is FAILED)", example = "Installment already paid")
+    private String errorMessage;
+
+}
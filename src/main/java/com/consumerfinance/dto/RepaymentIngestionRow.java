@@ -0,0 +1,40 @@
+package com.consumerfinance.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * One payment row of a bulk repayment file (a CSV line or an NDJSON object).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Payment row of a bulk repayment file")
+public class RepaymentIngestionRow {
+
+    @JsonIgnore
+    private long lineNumber;
+
+    @Schema(description = "Loan identifier", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID loanId;
+
+    @Schema(description = "Installment number", example = "1")
+    private Integer installmentNumber;
+
+    @Schema(description = "Amount paid", example = "9638.22")
+    private BigDecimal amount;
+
+    @Schema(description = "Payment mode", example = "NACH")
+    private String paymentMode;
+
+    @Schema(description = "Transaction reference from the collection partner", example = "TXN-20261017-000001")
+    private String transactionReference;
+
+}
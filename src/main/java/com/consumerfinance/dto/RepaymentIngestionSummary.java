@@ -0,0 +1,37 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totals for a bulk repayment file, written as the last line of the ingestion report.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Summary of a bulk repayment file ingestion")
+public class RepaymentIngestionSummary {
+
+    @Schema(description = "Number of payment rows read", example = "100000")
+    private long totalRows;
+
+    @Schema(description = "Number of rows applied or already processed", example = "99987")
+    private long successCount;
+
+    @Schema(description = "Number of rows skipped because their transaction reference was already processed", example = "12")
+    private long duplicateCount;
+
+    @Schema(description = "Number of rows rejected", example = "13")
+    private long failureCount;
+
+    @Schema(description = "Time taken in milliseconds", example = "48211")
+    private long elapsedMillis;
+
+    @Schema(description = "Rows processed per second", example = "2074.2")
+    private double rowsPerSecond;
+
+}
@@ -0,0 +1,40 @@
+package com.consumerfinance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One computed installment of a repayment schedule.
+ * Used for schedule previews and as the source for persisted repayments.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Computed repayment schedule installment")
+public class RepaymentScheduleEntry {
+
+    @Schema(description = "Installment number", example = "1")
+    private Integer installmentNumber;
+
+    @Schema(description = "Due date for the installment")
+    private LocalDateTime dueDate;
+
+    @Schema(description = "Principal portion of the installment", example = "7808.33")
+    private BigDecimal principalAmount;
+
+    @Schema(description = "Interest portion of the installment", example = "1829.89")
+    private BigDecimal interestAmount;
+
+    @Schema(description = "Total installment amount", example = "9638.22")
+    private BigDecimal totalAmount;
+
+    @Schema(description = "Principal balance remaining after this installment", example = "492191.67")
+    private BigDecimal remainingBalance;
+
+}
@@ -1,9 +1,12 @@
 package com.consumerfinance.repository;
 
 import com.consumerfinance.domain.Consumer;
+import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.domain.PrincipalAccount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -49,4 +52,26 @@ public interface ConsumerRepository extends JpaRepository<Consumer, UUID> {
      * Count active consumers
      */
     long countByStatus(Consumer.ConsumerStatus status);
+
+    /**
+     * Find everything loan eligibility depends on in one query: KYC and consumer status, the
+     * verification status of the principal account, and whether a loan in the given status exists
+     */
+    @Query("SELECT c.consumerId AS consumerId, c.kycStatus AS kycStatus, c.status AS status, "
+            + "a.verificationStatus AS accountVerificationStatus, "
+            + "CASE WHEN EXISTS (SELECT p.id FROM PersonalLoan p WHERE p.consumer = c AND p.status = :loanStatus) "
+            + "THEN true ELSE false END AS hasLoanInStatus "
+            + "FROM Consumer c LEFT JOIN c.principalAccount a WHERE c.consumerId = :consumerId")
+    Optional<LoanEligibility> findLoanEligibility(UUID consumerId, PersonalLoan.LoanStatus loanStatus);
+
+    /**
+     * Consumer facts checked before a loan is created
+     */
+    interface LoanEligibility {
+        UUID getConsumerId();
+        Consumer.KYCStatus getKycStatus();
+        Consumer.ConsumerStatus getStatus();
+        PrincipalAccount.VerificationStatus getAccountVerificationStatus(); // null without a principal account
+        Boolean getHasLoanInStatus();
+    }
 }
@@ -0,0 +1,21 @@
+package com.consumerfinance.repository;
+
+import com.consumerfinance.domain.LoanBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for LoanBalanceSnapshot entity.
+ */
+@Repository
+public interface LoanBalanceSnapshotRepository extends JpaRepository<LoanBalanceSnapshot, UUID> {
+
+    /**
+     * Find the latest snapshot of a loan taken at or before a time.
+     */
+    Optional<LoanBalanceSnapshot> findTopByLoanIdAndAsOfLessThanEqualOrderByEntrySequenceDesc(UUID loanId,
+                                                                                            LocalDateTime asOf);
+}
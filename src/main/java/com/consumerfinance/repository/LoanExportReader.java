@@ -0,0 +1,73 @@
+package com.consumerfinance.repository;
+
+import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.dto.LoanExportRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only reader for exporting loans with their consumer and balance.
+ * Rows are built by a constructor expression, so no entity enters the persistence context, and
+ * read through a forward-only cursor a fetch-size batch at a time. Memory use is bounded by the
+ * fetch size whatever the number of loans. On MySQL the connection URL enables useCursorFetch,
+ * so the driver honours the fetch size instead of buffering the whole result.
+ * Must be called inside a transaction, which keeps the cursor's connection open.
+ */
+@Slf4j
+@Repository
+public class LoanExportReader {
+
+    private static final String EXPORT_QUERY = "SELECT new com.consumerfinance.dto.LoanExportRow("
+            + "p.id, c.consumerId, c.name, p.status, p.principalAmount, p.annualInterestRate, p.loanTenureMonths, "
+            + "p.monthlyEMI, p.outstandingBalance, p.paidInstallments, p.pendingInstallments, p.nextDueInstallment, "
+            + "p.createdAt, p.disbursedAt, p.closedAt) FROM PersonalLoan p JOIN p.consumer c";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int fetchSize;
+
+    public LoanExportReader(@Value("${loan.export.fetch-size:1000}") int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Export fetch size must be positive");
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Hand every loan, optionally only those in one status, to a sink in read order.
+     *
+     * @param status the loan status to export, or null for all loans
+     * @param sink receives each row as it is read
+     * @return the number of rows read
+     */
+    public long forEachLoan(PersonalLoan.LoanStatus status, Consumer<LoanExportRow> sink) {
+        Query<LoanExportRow> query = entityManager.unwrap(Session.class)
+                .createQuery(status == null ? EXPORT_QUERY : EXPORT_QUERY + " WHERE p.status = :status",
+                        LoanExportRow.class);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        query.setFetchSize(fetchSize);
+        query.setReadOnly(true);
+        query.setCacheMode(CacheMode.IGNORE);
+
+        long rows = 0;
+        try (ScrollableResults<LoanExportRow> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                sink.accept(results.get());
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,33 @@
+package com.consumerfinance.repository;
+
+import com.consumerfinance.domain.LoanLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Repository interface for LoanLedgerEntry entity.
+ * Entries are only ever inserted; there are no update or delete queries.
+ */
+@Repository
+public interface LoanLedgerEntryRepository extends JpaRepository<LoanLedgerEntry, UUID> {
+
+    /**
+     * Total the entries of a loan after a sequence number that were posted up to a time.
+     * Served by the (loan_id, entry_sequence) unique index.
+     */
+    @Query("SELECT COALESCE(SUM(e.amount), 0) AS total, COUNT(e) AS entries FROM LoanLedgerEntry e "
+            + "WHERE e.loan.id = :loanId AND e.entrySequence > :afterSequence AND e.postedAt <= :postedBy")
+    LedgerTotal sumEntriesAfter(UUID loanId, Long afterSequence, LocalDateTime postedBy);
+
+    /**
+     * Sum and number of ledger entries.
+     */
+    interface LedgerTotal {
+        BigDecimal getTotal();
+        Long getEntries();
+    }
+}
@@ -2,11 +2,17 @@ package com.consumerfinance.repository;
 
 import com.consumerfinance.domain.LoanRepayment;
 import com.consumerfinance.domain.PersonalLoan;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Repository interface for LoanRepayment entity.
@@ -38,10 +44,116 @@ public interface LoanRepaymentRepository extends JpaRepository<LoanRepayment, Lo
     Optional<LoanRepayment> findByLoanIdAndInstallmentNumber(java.util.UUID loanId, Integer installmentNumber);
 
     /**
-     * Find all overdue repayments.
+     * Find the repayments of a loan in any of the given statuses, in installment order.
      */
-    @Query("SELECT r FROM LoanRepayment r WHERE r.status = 'OVERDUE'")
-    List<LoanRepayment> findOverdueRepayments();
+    @Query("SELECT r FROM LoanRepayment r WHERE r.loan.id = :loanId AND r.status IN :statuses "
+            + "ORDER BY r.installmentNumber")
+    List<LoanRepayment> findByLoanIdAndStatusIn(UUID loanId, Collection<LoanRepayment.RepaymentStatus> statuses);
+
+    /**
+     * Find the stored repayments of a loan as projections, in installment order.
+     */
+    @Query("SELECT r.id AS id, r.installmentNumber AS installmentNumber, r.principalAmount AS principalAmount, "
+            + "r.interestAmount AS interestAmount, r.totalAmount AS totalAmount, r.paidAmount AS paidAmount, "
+            + "r.status AS status, r.dueDate AS dueDate, r.paidDate AS paidDate, r.paymentMode AS paymentMode, "
+            + "r.transactionReference AS transactionReference "
+            + "FROM LoanRepayment r WHERE r.loan.id = :loanId ORDER BY r.installmentNumber")
+    List<RepaymentView> findViewsByLoanId(UUID loanId);
+
+    /**
+     * Find the stored repayments of a loan with a status as projections, in installment order.
+     */
+    @Query("SELECT r.id AS id, r.installmentNumber AS installmentNumber, r.principalAmount AS principalAmount, "
+            + "r.interestAmount AS interestAmount, r.totalAmount AS totalAmount, r.paidAmount AS paidAmount, "
+            + "r.status AS status, r.dueDate AS dueDate, r.paidDate AS paidDate, r.paymentMode AS paymentMode, "
+            + "r.transactionReference AS transactionReference "
+            + "FROM LoanRepayment r WHERE r.loan.id = :loanId AND r.status = :status ORDER BY r.installmentNumber")
+    List<RepaymentView> findViewsByLoanIdAndStatus(UUID loanId, LoanRepayment.RepaymentStatus status);
+
+    /**
+     * Find the first page of repayments with a status due within a range, ordered by
+     * (due date, ID) and read through the (status, due_date) index without loading entities.
+     */
+    @Query("SELECT r.id AS id, r.loan.id AS loanId, r.installmentNumber AS installmentNumber, "
+            + "r.totalAmount AS totalAmount, r.paidAmount AS paidAmount, r.dueDate AS dueDate "
+            + "FROM LoanRepayment r WHERE r.status = :status AND r.dueDate >= :dueFrom AND r.dueDate < :dueBefore "
+            + "ORDER BY r.dueDate, r.id")
+    List<DueInstallment> findDueInstallments(LoanRepayment.RepaymentStatus status, LocalDateTime dueFrom,
+                                             LocalDateTime dueBefore, Pageable pageable);
+
+    /**
+     * Find the page of repayments with a status that follows a (due date, ID) position,
+     * seeking past it in the index instead of skipping rows with an offset.
+     */
+    @Query("SELECT r.id AS id, r.loan.id AS loanId, r.installmentNumber AS installmentNumber, "
+            + "r.totalAmount AS totalAmount, r.paidAmount AS paidAmount, r.dueDate AS dueDate "
+            + "FROM LoanRepayment r WHERE r.status = :status AND r.dueDate < :dueBefore "
+            + "AND (r.dueDate > :afterDueDate OR (r.dueDate = :afterDueDate AND r.id > :afterId)) "
+            + "ORDER BY r.dueDate, r.id")
+    List<DueInstallment> findDueInstallmentsAfter(LoanRepayment.RepaymentStatus status, LocalDateTime dueBefore,
+                                                  LocalDateTime afterDueDate, UUID afterId, Pageable pageable);
+
+    /**
+     * Find the IDs of repayments with a status that fell due before a date, oldest due first.
+     * Served by the (status, due_date) index, so a page reads only the rows it returns.
+     */
+    @Query("SELECT r.id FROM LoanRepayment r WHERE r.status = :status AND r.dueDate < :dueBefore ORDER BY r.dueDate")
+    List<UUID> findIdsByStatusAndDueDateBefore(LoanRepayment.RepaymentStatus status, LocalDateTime dueBefore,
+                                              Pageable pageable);
+
+    /**
+     * Move the given repayments from one status to another in a single statement.
+     * Rows no longer in the expected status, e.g. paid meanwhile, are left untouched.
+     *
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE LoanRepayment r SET r.status = :newStatus WHERE r.id IN :ids AND r.status = :currentStatus")
+    int updateStatusByIds(Collection<UUID> ids, LoanRepayment.RepaymentStatus currentStatus,
+                          LoanRepayment.RepaymentStatus newStatus);
+
+    /**
+     * Sum the principal and interest of a loan's installments from an installment onwards.
+     */
+    @Query("SELECT COALESCE(SUM(r.principalAmount), 0) AS principal, COALESCE(SUM(r.interestAmount), 0) AS interest, "
+            + "COUNT(r) AS installments FROM LoanRepayment r "
+            + "WHERE r.loan.id = :loanId AND r.installmentNumber >= :fromInstallment")
+    RemainingSchedule sumRemainingByLoanId(UUID loanId, Integer fromInstallment);
+
+    /**
+     * Delete a loan's installments after an installment in a single statement.
+     *
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM LoanRepayment r WHERE r.loan.id = :loanId AND r.installmentNumber > :afterInstallment")
+    int deleteByLoanIdAndInstallmentNumberAfter(UUID loanId, Integer afterInstallment);
+
+    /**
+     * Find the repayments of the given loans with any of the given installment numbers.
+     */
+    @Query("SELECT r FROM LoanRepayment r WHERE r.loan.id IN :loanIds AND r.installmentNumber IN :installmentNumbers")
+    List<LoanRepayment> findByLoanIdsAndInstallmentNumbers(Collection<UUID> loanIds, Collection<Integer> installmentNumbers);
+
+    /**
+     * Find installment numbers with a given status after an installment, in ascending order.
+     */
+    @Query("SELECT r.installmentNumber FROM LoanRepayment r WHERE r.loan = :loan AND r.status = :status "
+            + "AND r.installmentNumber > :afterInstallment ORDER BY r.installmentNumber")
+    List<Integer> findInstallmentNumbersByLoanAndStatusAfter(PersonalLoan loan, LoanRepayment.RepaymentStatus status,
+                                                             Integer afterInstallment);
+
+    /**
+     * Find the installment number and status of every stored repayment of the given loans.
+     */
+    @Query("SELECT r.loan.id AS loanId, r.installmentNumber AS installmentNumber, r.status AS status "
+            + "FROM LoanRepayment r WHERE r.loan.id IN :loanIds")
+    List<InstallmentStatus> findInstallmentStatusesByLoanIds(Collection<UUID> loanIds);
+
+    /**
+     * Count stored repayments for a loan.
+     */
+    long countByLoan(PersonalLoan loan);
 
     /**
      * Count pending repayments for a loan.
@@ -53,4 +165,51 @@ public interface LoanRepaymentRepository extends JpaRepository<LoanRepayment, Lo
      */
     @Query("SELECT COUNT(r) FROM LoanRepayment r WHERE r.loan.id = :loanId AND r.status = :status")
     long countByLoanIdAndStatus(java.util.UUID loanId, LoanRepayment.RepaymentStatus status);
+
+    /**
+     * Fields of a stored repayment returned by the repayment endpoints.
+     */
+    interface RepaymentView {
+        UUID getId();
+        Integer getInstallmentNumber();
+        BigDecimal getPrincipalAmount();
+        BigDecimal getInterestAmount();
+        BigDecimal getTotalAmount();
+        BigDecimal getPaidAmount();
+        LoanRepayment.RepaymentStatus getStatus();
+        LocalDateTime getDueDate();
+        LocalDateTime getPaidDate();
+        String getPaymentMode();
+        String getTransactionReference();
+    }
+
+    /**
+     * Amounts and due date of a stored repayment.
+     */
+    interface DueInstallment {
+        UUID getId();
+        UUID getLoanId();
+        Integer getInstallmentNumber();
+        BigDecimal getTotalAmount();
+        BigDecimal getPaidAmount();
+        LocalDateTime getDueDate();
+    }
+
+    /**
+     * Principal and interest still scheduled on a loan's remaining installments.
+     */
+    interface RemainingSchedule {
+        BigDecimal getPrincipal();
+        BigDecimal getInterest();
+        Long getInstallments();
+    }
+
+    /**
+     * Installment number and status of a stored repayment.
+     */
+    interface InstallmentStatus {
+        UUID getLoanId();
+        Integer getInstallmentNumber();
+        LoanRepayment.RepaymentStatus getStatus();
+    }
 }
@@ -0,0 +1,27 @@
+package com.consumerfinance.repository;
+
+import com.consumerfinance.domain.PaymentTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for PaymentTransaction entity.
+ * Payments are only ever inserted; lookups go through the unique transaction reference index.
+ */
+@Repository
+public interface PaymentTransactionRepository extends JpaRepository<PaymentTransaction, UUID> {
+
+    /**
+     * Find the payment processed with a transaction reference.
+     */
+    Optional<PaymentTransaction> findByTransactionReference(String transactionReference);
+
+    /**
+     * Find the payments processed with any of the given transaction references.
+     */
+    List<PaymentTransaction> findByTransactionReferenceIn(Collection<String> transactionReferences);
+}
@@ -2,9 +2,17 @@ package com.consumerfinance.repository;
 
 import com.consumerfinance.domain.PersonalLoan;
 import com.consumerfinance.domain.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -48,6 +56,25 @@ public interface PersonalLoanRepository extends JpaRepository<PersonalLoan, UUID
      */
     List<PersonalLoan> findByConsumerAndStatus(Consumer consumer, PersonalLoan.LoanStatus status);
 
+    /**
+     * Find a loan and lock its row until the transaction ends (SELECT ... FOR UPDATE).
+     * @param loanId the loan ID
+     * @return the locked loan
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PersonalLoan p WHERE p.id = :loanId")
+    Optional<PersonalLoan> findByIdForUpdate(UUID loanId);
+
+    /**
+     * Find loans and lock their rows until the transaction ends, in ID order so concurrent
+     * callers lock overlapping loans in the same order.
+     * @param loanIds the loan IDs
+     * @return the locked loans
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PersonalLoan p WHERE p.id IN :loanIds ORDER BY p.id")
+    List<PersonalLoan> findAllByIdForUpdate(Collection<UUID> loanIds);
+
     /**
      * Find all loans with a specific status across all consumers.
      * @param status the loan status
@@ -55,5 +82,91 @@ public interface PersonalLoanRepository extends JpaRepository<PersonalLoan, UUID
      */
     List<PersonalLoan> findByStatus(PersonalLoan.LoanStatus status);
 
-}
+    /**
+     * Find one slice of loans with a specific status, without counting the total.
+     * @param status the loan status
+     * @param pageable the slice to read
+     * @return the loans in the slice
+     */
+    Slice<PersonalLoan> findByStatus(PersonalLoan.LoanStatus status, Pageable pageable);
+
+    /**
+     * Find one slice of loans with a status and schedule mode that still have an unpaid installment.
+     * @param status the loan status
+     * @param scheduleMode the schedule mode
+     * @param pageable the slice to read
+     * @return the loans in the slice
+     */
+    @Query("SELECT p FROM PersonalLoan p WHERE p.status = :status AND p.scheduleMode = :scheduleMode "
+            + "AND p.nextDueInstallment IS NOT NULL")
+    Slice<PersonalLoan> findWithUnpaidInstallments(PersonalLoan.LoanStatus status,
+                                                   PersonalLoan.ScheduleMode scheduleMode, Pageable pageable);
+
+    // Shared by the approval queue query and its count query
+    String APPROVAL_QUEUE_FILTER = "WHERE p.status = :status "
+            + "AND p.createdAt >= :createdFrom AND p.createdAt < :createdBefore "
+            + "AND (:minAmount IS NULL OR p.principalAmount >= :minAmount) "
+            + "AND (:maxAmount IS NULL OR p.principalAmount <= :maxAmount) "
+            + "AND (:minTenure IS NULL OR p.loanTenureMonths >= :minTenure) "
+            + "AND (:maxTenure IS NULL OR p.loanTenureMonths <= :maxTenure)";
 
+    /**
+     * Find one page of loans in a status created in a time range, with optional amount and tenure bands.
+     * The status and creation time are matched through the (status, created_at) index, which also
+     * serves the default oldest-first order; the bands filter the rows read from that range.
+     * @param status the loan status
+     * @param createdFrom the earliest creation time, inclusive
+     * @param createdBefore the latest creation time, exclusive
+     * @param minAmount the minimum principal, or null
+     * @param maxAmount the maximum principal, or null
+     * @param minTenure the minimum tenure in months, or null
+     * @param maxTenure the maximum tenure in months, or null
+     * @param pageable the page to read and its order
+     * @return the queue items in the page
+     */
+    @Query(value = "SELECT p.id AS id, p.consumer.consumerId AS customerId, p.principalAmount AS principalAmount, "
+            + "p.annualInterestRate AS annualInterestRate, p.loanTenureMonths AS loanTenureMonths, "
+            + "p.monthlyEMI AS monthlyEMI, p.createdAt AS createdAt FROM PersonalLoan p "
+            + APPROVAL_QUEUE_FILTER,
+            countQuery = "SELECT COUNT(p) FROM PersonalLoan p " + APPROVAL_QUEUE_FILTER)
+    Page<ApprovalQueueItem> findApprovalQueue(PersonalLoan.LoanStatus status, LocalDateTime createdFrom,
+                                              LocalDateTime createdBefore, BigDecimal minAmount,
+                                              BigDecimal maxAmount, Integer minTenure, Integer maxTenure,
+                                              Pageable pageable);
+
+    /**
+     * Find the schedule mode and terms of a loan without loading the entity.
+     * @param loanId the loan ID
+     * @return the loan's schedule terms, empty if the loan does not exist
+     */
+    @Query("SELECT p.scheduleMode AS scheduleMode, p.principalAmount AS principalAmount, "
+            + "p.annualInterestRate AS annualInterestRate, p.loanTenureMonths AS loanTenureMonths, "
+            + "p.monthlyEMI AS monthlyEMI, p.disbursedAt AS disbursedAt FROM PersonalLoan p WHERE p.id = :loanId")
+    Optional<ScheduleTerms> findScheduleTermsById(UUID loanId);
+
+    /**
+     * Schedule mode and the terms a virtual repayment schedule is computed from.
+     */
+    interface ScheduleTerms {
+        PersonalLoan.ScheduleMode getScheduleMode();
+        BigDecimal getPrincipalAmount();
+        BigDecimal getAnnualInterestRate();
+        Integer getLoanTenureMonths();
+        BigDecimal getMonthlyEMI();
+        LocalDateTime getDisbursedAt();
+    }
+
+    /**
+     * Loan application fields shown in the approval queue.
+     */
+    interface ApprovalQueueItem {
+        UUID getId();
+        UUID getCustomerId();
+        BigDecimal getPrincipalAmount();
+        BigDecimal getAnnualInterestRate();
+        Integer getLoanTenureMonths();
+        BigDecimal getMonthlyEMI();
+        LocalDateTime getCreatedAt();
+    }
+
+}
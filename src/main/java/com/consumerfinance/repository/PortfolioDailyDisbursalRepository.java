@@ -0,0 +1,55 @@
+package com.consumerfinance.repository;
+
+import com.consumerfinance.domain.PortfolioDailyDisbursal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for PortfolioDailyDisbursal entity.
+ */
+@Repository
+public interface PortfolioDailyDisbursalRepository extends JpaRepository<PortfolioDailyDisbursal, LocalDate> {
+
+    /**
+     * Find the disbursal totals of the days from a date onwards, oldest first.
+     */
+    List<PortfolioDailyDisbursal> findByDisbursalDateGreaterThanEqualOrderByDisbursalDate(LocalDate from);
+
+    /**
+     * Add disbursed loans to the totals of a day, creating its row on first use.
+     *
+     * @return the number of rows inserted or updated
+     */
+    @Modifying
+    @Query(value = "INSERT INTO portfolio_daily_disbursals (disbursal_date, loan_count, principal_total, updated_at) "
+            + "VALUES (:disbursalDate, :loans, :principal, :updatedAt) "
+            + "ON DUPLICATE KEY UPDATE loan_count = loan_count + :loans, principal_total = principal_total + :principal, "
+            + "updated_at = :updatedAt",
+            nativeQuery = true)
+    int addToDay(LocalDate disbursalDate, long loans, BigDecimal principal, LocalDateTime updatedAt);
+
+    /**
+     * Delete every day row ahead of a rebuild.
+     */
+    @Modifying
+    @Query("DELETE FROM PortfolioDailyDisbursal d")
+    int deleteAllRows();
+
+    /**
+     * Recompute the disbursal totals of every day from personal_loans in one aggregate statement.
+     *
+     * @return the number of day rows written
+     */
+    @Modifying
+    @Query(value = "INSERT INTO portfolio_daily_disbursals (disbursal_date, loan_count, principal_total, updated_at) "
+            + "SELECT CAST(disbursed_at AS DATE), COUNT(*), SUM(principal), :updatedAt FROM personal_loans "
+            + "WHERE disbursed_at IS NOT NULL GROUP BY CAST(disbursed_at AS DATE)",
+            nativeQuery = true)
+    int insertFromLoans(LocalDateTime updatedAt);
+}
@@ -0,0 +1,54 @@
+package com.consumerfinance.repository;
+
+import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.domain.PortfolioStatusSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for PortfolioStatusSummary entity.
+ * Totals are adjusted with atomic upserts, so concurrent loan updates never overwrite each other.
+ */
+@Repository
+public interface PortfolioStatusSummaryRepository extends JpaRepository<PortfolioStatusSummary, PersonalLoan.LoanStatus> {
+
+    /**
+     * Add deltas to the totals of a status, creating its row on first use.
+     *
+     * @return the number of rows inserted or updated
+     */
+    @Modifying
+    @Query(value = "INSERT INTO portfolio_status_summary "
+            + "(status, loan_count, principal_total, outstanding_total, interest_rate_total, updated_at) "
+            + "VALUES (:status, :loans, :principal, :outstanding, :interestRates, :updatedAt) "
+            + "ON DUPLICATE KEY UPDATE loan_count = loan_count + :loans, principal_total = principal_total + :principal, "
+            + "outstanding_total = outstanding_total + :outstanding, "
+            + "interest_rate_total = interest_rate_total + :interestRates, updated_at = :updatedAt",
+            nativeQuery = true)
+    int addToStatus(String status, long loans, BigDecimal principal, BigDecimal outstanding,
+                    BigDecimal interestRates, LocalDateTime updatedAt);
+
+    /**
+     * Delete every status row ahead of a rebuild.
+     */
+    @Modifying
+    @Query("DELETE FROM PortfolioStatusSummary s")
+    int deleteAllRows();
+
+    /**
+     * Recompute the totals of every status from personal_loans in one aggregate statement.
+     *
+     * @return the number of status rows written
+     */
+    @Modifying
+    @Query(value = "INSERT INTO portfolio_status_summary "
+            + "(status, loan_count, principal_total, outstanding_total, interest_rate_total, updated_at) "
+            + "SELECT status, COUNT(*), COALESCE(SUM(principal), 0), COALESCE(SUM(outstanding_balance), 0), "
+            + "COALESCE(SUM(annual_interest_rate), 0), :updatedAt FROM personal_loans GROUP BY status",
+            nativeQuery = true)
+    int insertFromLoans(LocalDateTime updatedAt);
+}
@@ -0,0 +1,197 @@
+package com.consumerfinance.repository;
+
+import com.consumerfinance.domain.LoanRepayment;
+import com.consumerfinance.dto.RepaymentScheduleEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+import java.nio.ByteBuffer;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk writer for loan repayment schedules.
+ * Inserts installments with JDBC batching instead of one persist call per row, holding at
+ * most one batch in memory. On MySQL the connection URL enables rewriteBatchedStatements,
+ * so each batch is sent as a single multi-row INSERT.
+ */
+@Slf4j
+@Repository
+public class RepaymentScheduleBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO loan_repayments "
+            + "(repayment_id, loan_id, installment_number, principal_amount, interest_amount, total_amount, "
+            + "status, due_date, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String REWRITE_SQL = "UPDATE loan_repayments "
+            + "SET principal_amount = ?, interest_amount = ?, total_amount = ? "
+            + "WHERE loan_id = ? AND installment_number = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Counter rowsWritten;
+    private final DistributionSummary statementsPerSchedule;
+    private final DistributionSummary rowsPerSecond;
+    private final Timer writeTimer;
+
+    private volatile Boolean binaryUuids;
+
+    public RepaymentScheduleBatchWriter(JdbcTemplate jdbcTemplate,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${loan.repayment.schedule.batch-size:120}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Schedule batch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.rowsWritten = Counter.builder("loan.schedule.rows.written")
+                .description("Repayment schedule rows inserted by the bulk writer")
+                .register(meterRegistry);
+        this.statementsPerSchedule = DistributionSummary.builder("loan.schedule.statements")
+                .description("Batched insert statements executed per repayment schedule")
+                .register(meterRegistry);
+        this.rowsPerSecond = DistributionSummary.builder("loan.schedule.write.throughput")
+                .description("Rows per second achieved when writing a repayment schedule")
+                .baseUnit("rows/s")
+                .register(meterRegistry);
+        this.writeTimer = Timer.builder("loan.schedule.write")
+                .description("Time taken to write a repayment schedule")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Insert a loan's repayment schedule as PENDING installments.
+     *
+     * @param loanId the loan the installments belong to
+     * @param schedule the installments to insert
+     * @return the number of rows inserted
+     */
+    public int writeSchedule(UUID loanId, Iterator<RepaymentScheduleEntry> schedule) {
+        return writeInstallments(loanId, schedule, LoanRepayment.RepaymentStatus.PENDING);
+    }
+
+    /**
+     * Insert installments of a loan with the given status.
+     *
+     * @param loanId the loan the installments belong to
+     * @param schedule the installments to insert
+     * @param status the status to store the installments with
+     * @return the number of rows inserted
+     */
+    public int writeInstallments(UUID loanId, Iterator<RepaymentScheduleEntry> schedule,
+                                 LoanRepayment.RepaymentStatus status) {
+        long start = System.nanoTime();
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<RepaymentScheduleEntry> batch = new ArrayList<>(batchSize);
+        int rows = 0;
+        int statements = 0;
+
+        while (schedule.hasNext()) {
+            batch.add(schedule.next());
+            if (batch.size() == batchSize || !schedule.hasNext()) {
+                insertBatch(loanId, batch, status, createdAt);
+                rows += batch.size();
+                statements++;
+                batch.clear();
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        rowsWritten.increment(rows);
+        statementsPerSchedule.record(statements);
+        writeTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (elapsedNanos > 0) {
+            rowsPerSecond.record(rows * 1_000_000_000.0 / elapsedNanos);
+        }
+
+        log.debug("Wrote {} schedule rows in {} statements for loan: {}", rows, statements, loanId);
+        return rows;
+    }
+
+    /**
+     * Overwrite the amounts of stored installments of a loan, e.g. after the loan was re-amortized.
+     * Installments are matched by number; status, due date and payment details are left untouched.
+     *
+     * @param loanId the loan the installments belong to
+     * @param installments the recomputed installments
+     * @return the number of rows updated
+     */
+    public int rewriteInstallments(UUID loanId, List<RepaymentScheduleEntry> installments) {
+        Object loanKey = uuidParameter(loanId);
+        int[][] counts = jdbcTemplate.batchUpdate(REWRITE_SQL, installments, batchSize,
+                (PreparedStatement ps, RepaymentScheduleEntry entry) -> {
+                    ps.setBigDecimal(1, entry.getPrincipalAmount());
+                    ps.setBigDecimal(2, entry.getInterestAmount());
+                    ps.setBigDecimal(3, entry.getTotalAmount());
+                    ps.setObject(4, loanKey);
+                    ps.setInt(5, entry.getInstallmentNumber());
+                });
+        int rows = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Drivers may report SUCCESS_NO_INFO (-2) for batched statements
+                rows += count < 0 ? 1 : count;
+            }
+        }
+        log.debug("Rewrote {} schedule rows for loan: {}", rows, loanId);
+        return rows;
+    }
+
+    private void insertBatch(UUID loanId, List<RepaymentScheduleEntry> batch,
+                             LoanRepayment.RepaymentStatus status, LocalDateTime createdAt) {
+        Object loanKey = uuidParameter(loanId);
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (PreparedStatement ps, RepaymentScheduleEntry entry) -> {
+            ps.setObject(1, uuidParameter(UUID.randomUUID()));
+            ps.setObject(2, loanKey);
+            ps.setInt(3, entry.getInstallmentNumber());
+            ps.setBigDecimal(4, entry.getPrincipalAmount());
+            ps.setBigDecimal(5, entry.getInterestAmount());
+            ps.setBigDecimal(6, entry.getTotalAmount());
+            ps.setString(7, status.name());
+            ps.setObject(8, entry.getDueDate());
+            ps.setObject(9, createdAt);
+        });
+    }
+
+    /**
+     * Bind a UUID the way Hibernate stores it: BINARY(16) on MySQL, native UUID elsewhere.
+     */
+    private Object uuidParameter(UUID id) {
+        if (!usesBinaryUuids()) {
+            return id;
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private boolean usesBinaryUuids() {
+        Boolean binary = binaryUuids;
+        if (binary == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                        DatabaseMetaData::getDatabaseProductName);
+                binary = product != null && product.toLowerCase().contains("mysql");
+            } catch (MetaDataAccessException e) {
+                throw new IllegalStateException("Unable to determine database type for schedule writes", e);
+            }
+            binaryUuids = binary;
+        }
+        return binary;
+    }
+
+}
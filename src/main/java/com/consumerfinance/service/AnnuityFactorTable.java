@@ -0,0 +1,131 @@
+package com.consumerfinance.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Precomputed annuity factors r(1+r)^n / ((1+r)^n - 1) for rate-card products.
+ * Covers annual rates in 0.05% steps up to the configured maximum and tenures of
+ * 12-360 months (the range enforced by loan eligibility), so an on-grid EMI is a single
+ * multiply. Rows are built lazily per rate unless preloading is enabled. Entries are
+ * bit-identical to {@link FixedPointEMICalculator#annuityFactor(double, int)}, so results
+ * never differ from the on-the-fly path.
+ */
+@Slf4j
+@Component
+public class AnnuityFactorTable {
+
+    static final int MIN_TENURE_MONTHS = 12;
+    static final int MAX_TENURE_MONTHS = 360;
+
+    private static final int RATE_STEP_HUNDREDTHS = 5;
+    private static final int TENURE_COUNT = MAX_TENURE_MONTHS - MIN_TENURE_MONTHS + 1;
+    private static final long ROW_BYTES = 16L + 8L * TENURE_COUNT;
+
+    private final boolean enabled;
+    private final AtomicReferenceArray<double[]> rows;
+    private final AtomicInteger rowsBuilt = new AtomicInteger();
+
+    public AnnuityFactorTable(MeterRegistry meterRegistry,
+                              @Value("${loan.emi.annuity-table.enabled:true}") boolean enabled,
+                              @Value("${loan.emi.annuity-table.max-annual-rate:36.00}") BigDecimal maxAnnualRate,
+                              @Value("${loan.emi.annuity-table.preload:false}") boolean preload) {
+        this.enabled = enabled;
+        int rateCount = enabled ? maxAnnualRate.movePointRight(2).intValue() / RATE_STEP_HUNDREDTHS : 0;
+        this.rows = new AtomicReferenceArray<>(rateCount);
+
+        if (preload) {
+            for (int i = 0; i < rateCount; i++) {
+                row(i);
+            }
+        }
+
+        Gauge.builder("emi.annuity.table.memory", this, AnnuityFactorTable::memoryFootprintBytes)
+                .description("Memory held by precomputed annuity factor rows")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("emi.annuity.table.rows", rowsBuilt, AtomicInteger::get)
+                .description("Number of rate rows built in the annuity factor table")
+                .register(meterRegistry);
+
+        log.info("Annuity factor table initialized - Enabled: {}, Rates: {}, Preloaded: {}", enabled, rateCount, preload);
+    }
+
+    /**
+     * Look up the annuity factor for an on-grid rate and tenure.
+     *
+     * @param annualRate the annual interest rate as a percentage (e.g., 10.5)
+     * @param tenureMonths the number of months
+     * @return the annuity factor, or NaN if the rate or tenure is off the grid
+     */
+    public double factor(BigDecimal annualRate, int tenureMonths) {
+        if (tenureMonths < MIN_TENURE_MONTHS || tenureMonths > MAX_TENURE_MONTHS) {
+            return Double.NaN;
+        }
+        int rateIndex = rateIndex(annualRate);
+        if (rateIndex < 0) {
+            return Double.NaN;
+        }
+        return row(rateIndex)[tenureMonths - MIN_TENURE_MONTHS];
+    }
+
+    /**
+     * Get the memory currently held by built rows.
+     *
+     * @return the approximate footprint in bytes
+     */
+    public long memoryFootprintBytes() {
+        return rowsBuilt.get() * ROW_BYTES;
+    }
+
+    /**
+     * Map an annual rate to its row index, or -1 if it is not a positive 0.05% multiple within range.
+     */
+    private int rateIndex(BigDecimal annualRate) {
+        if (annualRate.signum() <= 0) {
+            return -1;
+        }
+        if (annualRate.scale() > 2) {
+            annualRate = annualRate.stripTrailingZeros();
+            if (annualRate.scale() > 2) {
+                return -1;
+            }
+        }
+        long hundredths = annualRate.movePointRight(2).longValue();
+        if (hundredths % RATE_STEP_HUNDREDTHS != 0 || hundredths / RATE_STEP_HUNDREDTHS > rows.length()) {
+            return -1;
+        }
+        return (int) (hundredths / RATE_STEP_HUNDREDTHS) - 1;
+    }
+
+    /**
+     * Get the factor row for a rate, building it on first use.
+     * Concurrent builders produce identical rows, so only the first one is kept.
+     */
+    private double[] row(int rateIndex) {
+        double[] row = rows.get(rateIndex);
+        if (row != null) {
+            return row;
+        }
+
+        double annualRatePercent = (rateIndex + 1) * RATE_STEP_HUNDREDTHS / 100.0;
+        double monthlyRate = annualRatePercent / 1200.0;
+        double[] built = new double[TENURE_COUNT];
+        for (int n = MIN_TENURE_MONTHS; n <= MAX_TENURE_MONTHS; n++) {
+            built[n - MIN_TENURE_MONTHS] = FixedPointEMICalculator.annuityFactor(monthlyRate, n);
+        }
+
+        if (rows.compareAndSet(rateIndex, null, built)) {
+            rowsBuilt.incrementAndGet();
+            return built;
+        }
+        return rows.get(rateIndex);
+    }
+
+}
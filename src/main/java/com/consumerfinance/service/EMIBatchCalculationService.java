@@ -0,0 +1,131 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.dto.EMIBatchItemResponse;
+import com.consumerfinance.dto.EMIBatchResponse;
+import com.consumerfinance.dto.EMICalculationRequest;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Service for batch EMI calculations.
+ * Evaluates many quotes per call on a bounded fork-join pool, keeping request order
+ * and reporting validation errors per item instead of failing the whole batch.
+ */
+@Slf4j
+@Service
+public class EMIBatchCalculationService {
+
+    private static final String STATUS_SUCCESS = "SUCCESS";
+    private static final String STATUS_FAILED = "FAILED";
+
+    private final EMICalculationService emiCalculationService;
+    private final Validator validator;
+    private final ForkJoinPool pool;
+    private final int maxBatchSize;
+
+    public EMIBatchCalculationService(EMICalculationService emiCalculationService,
+                                      Validator validator,
+                                      @Value("${loan.emi.batch.parallelism:0}") int parallelism,
+                                      @Value("${loan.emi.batch.max-size:10000}") int maxBatchSize) {
+        this.emiCalculationService = emiCalculationService;
+        this.validator = validator;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Calculate EMI for every request in the batch.
+     *
+     * @param requests the EMI calculation requests
+     * @return per-item results in request order with success and failure counts
+     * @throws IllegalArgumentException if the batch is empty or exceeds the configured maximum size
+     */
+    public EMIBatchResponse calculateBatch(List<EMICalculationRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one request");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size " + requests.size() + " exceeds maximum of " + maxBatchSize);
+        }
+
+        log.info("Calculating EMI batch of {} requests with parallelism {}", requests.size(), pool.getParallelism());
+
+        List<EMIBatchItemResponse> results;
+        try {
+            results = pool.submit(() -> IntStream.range(0, requests.size())
+                    .parallel()
+                    .mapToObj(i -> calculateItem(i, requests.get(i)))
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("EMI batch calculation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("EMI batch calculation failed", e.getCause());
+        }
+
+        int successCount = (int) results.stream().filter(r -> STATUS_SUCCESS.equals(r.getStatus())).count();
+        log.info("EMI batch completed - Success: {}, Failed: {}", successCount, results.size() - successCount);
+
+        return EMIBatchResponse.builder()
+                .totalCount(results.size())
+                .successCount(successCount)
+                .failureCount(results.size() - successCount)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Validate and calculate a single batch item, capturing failures in the item result.
+     */
+    private EMIBatchItemResponse calculateItem(int index, EMICalculationRequest request) {
+        if (request == null) {
+            return failedItem(index, "Request is required", null);
+        }
+
+        Set<ConstraintViolation<EMICalculationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            Map<String, String> fieldErrors = new LinkedHashMap<>();
+            violations.forEach(v -> fieldErrors.put(v.getPropertyPath().toString(), v.getMessage()));
+            return failedItem(index, "Input validation failed", fieldErrors);
+        }
+
+        try {
+            return EMIBatchItemResponse.builder()
+                    .index(index)
+                    .status(STATUS_SUCCESS)
+                    .result(emiCalculationService.quoteEMI(request))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return failedItem(index, e.getMessage(), null);
+        }
+    }
+
+    private EMIBatchItemResponse failedItem(int index, String message, Map<String, String> fieldErrors) {
+        return EMIBatchItemResponse.builder()
+                .index(index)
+                .status(STATUS_FAILED)
+                .errorMessage(message)
+                .fieldErrors(fieldErrors)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+}
@@ -2,15 +2,24 @@ package com.consumerfinance.service;
 
 import com.consumerfinance.dto.EMICalculationRequest;
 import com.consumerfinance.dto.EMICalculationResponse;
+import com.consumerfinance.dto.EMIMatrixResponse;
+import com.consumerfinance.dto.RepaymentScheduleEntry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * Service for EMI (Equated Monthly Installment) calculations.
  * Uses standard amortization formula for loan calculations.
+ * Quotes go through {@link FixedPointEMICalculator} when its rounding can be verified,
+ * otherwise through the BigDecimal reference implementation.
  */
 @Slf4j
 @Service
@@ -19,6 +28,15 @@ public class EMICalculationService {
     private static final int SCALE = 2;
     private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
     private static final MathContext MATH_CONTEXT = new MathContext(20, RoundingMode.HALF_UP);
+    private static final int MAX_MATRIX_CELLS = 100_000;
+
+    private final EMIQuoteCache quoteCache;
+    private final AnnuityFactorTable annuityFactorTable;
+
+    public EMICalculationService(EMIQuoteCache quoteCache, AnnuityFactorTable annuityFactorTable) {
+        this.quoteCache = quoteCache;
+        this.annuityFactorTable = annuityFactorTable;
+    }
 
     /**
      * Calculate EMI using the formula: EMI = P * r * (1 + r)^n / ((1 + r)^n - 1)
@@ -34,19 +52,138 @@ public class EMICalculationService {
         log.info("Calculating EMI for Principal: {}, Rate: {}, Tenure: {} months",
                 request.getPrincipalAmount(), request.getAnnualInterestRate(), request.getTenureMonths());
 
+        EMICalculationResponse response = quoteEMI(request);
+
+        log.info("EMI Calculation Result - Monthly EMI: {}, Total Interest: {}",
+                response.getMonthlyEMI(), response.getTotalInterest());
+        return response;
+    }
+
+    /**
+     * Calculate EMI without per-call logging.
+     * Used by bulk callers where one log line per quote would dominate the cost.
+     * Repeated (principal, rate, tenure) combinations are served from {@link EMIQuoteCache}.
+     *
+     * @param request contains principal, annual interest rate, and tenure
+     * @return EMI calculation result with breakdown
+     */
+    public EMICalculationResponse quoteEMI(EMICalculationRequest request) {
+        return quoteCache.get(request, this::computeEMI);
+    }
+
+    /**
+     * Calculate an EMI comparison matrix of rates x tenures for one principal.
+     * Each rate row walks the tenures incrementally, carrying (1+r)^n from one month to the
+     * next instead of exponentiating per cell. Cells whose rounding cannot be verified are
+     * recalculated with the BigDecimal reference, so every cell equals {@link #calculateEMI}.
+     *
+     * @param principal the principal amount
+     * @param annualRates the annual interest rates as percentages (matrix rows)
+     * @param minTenure the first tenure in months
+     * @param maxTenure the last tenure in months (inclusive)
+     * @param tenureStep the step between tenures in months
+     * @return the EMI matrix
+     * @throws IllegalArgumentException if inputs are invalid or the matrix is too large
+     */
+    public EMIMatrixResponse calculateEMIMatrix(BigDecimal principal, List<BigDecimal> annualRates,
+                                                int minTenure, int maxTenure, int tenureStep) {
+        log.info("Calculating EMI matrix for Principal: {}, Rates: {}, Tenures: {}-{} step {}",
+                principal, annualRates.size(), minTenure, maxTenure, tenureStep);
+
+        if (annualRates.isEmpty()) {
+            throw new IllegalArgumentException("At least one interest rate is required");
+        }
+        if (minTenure <= 0 || maxTenure < minTenure || tenureStep <= 0) {
+            throw new IllegalArgumentException("Tenure range must be positive and ascending");
+        }
+        int[] tenures = IntStream.iterate(minTenure, n -> n <= maxTenure, n -> n + tenureStep).toArray();
+        if ((long) annualRates.size() * tenures.length > MAX_MATRIX_CELLS) {
+            throw new IllegalArgumentException("EMI matrix cannot exceed " + MAX_MATRIX_CELLS + " cells");
+        }
+        for (BigDecimal annualRate : annualRates) {
+            validateEMIInput(principal, annualRate, minTenure);
+        }
+
+        long principalCents = FixedPointEMICalculator.toCents(principal);
+        long[] rowCents = new long[tenures.length];
+        List<List<BigDecimal>> matrix = new ArrayList<>(annualRates.size());
+
+        for (BigDecimal annualRate : annualRates) {
+            FixedPointEMICalculator.monthlyEMICentsRow(principalCents,
+                    FixedPointEMICalculator.toRate(annualRate), tenures, rowCents);
+            List<BigDecimal> row = new ArrayList<>(tenures.length);
+            for (int j = 0; j < tenures.length; j++) {
+                row.add(rowCents[j] != FixedPointEMICalculator.UNDECIDED
+                        ? BigDecimal.valueOf(rowCents[j], SCALE)
+                        : calculateReferenceEMI(principal, annualRate, tenures[j]));
+            }
+            matrix.add(row);
+        }
+
+        return EMIMatrixResponse.builder()
+                .principal(principal)
+                .annualInterestRates(annualRates)
+                .tenureMonths(IntStream.of(tenures).boxed().toList())
+                .monthlyEMI(matrix)
+                .build();
+    }
+
+    /**
+     * Preview the repayment schedule for loan parameters without persisting anything.
+     * Installments follow the same rules as loan disbursal and are computed lazily as the
+     * returned iterator is consumed, so no full schedule is held in memory.
+     *
+     * @param request contains principal, annual interest rate, and tenure
+     * @return an iterator over the computed installments
+     * @throws IllegalArgumentException if inputs are invalid
+     */
+    public Iterator<RepaymentScheduleEntry> previewRepaymentSchedule(EMICalculationRequest request) {
+        log.info("Previewing repayment schedule for Principal: {}, Rate: {}, Tenure: {} months",
+                request.getPrincipalAmount(), request.getAnnualInterestRate(), request.getTenureMonths());
+
+        EMICalculationResponse emi = quoteEMI(request);
+        return new RepaymentScheduleCalculator(request.getPrincipalAmount(), request.getAnnualInterestRate(),
+                request.getTenureMonths(), emi.getMonthlyEMI(),
+                RepaymentScheduleCalculator.firstDueDate(LocalDateTime.now()));
+    }
+
+    /**
+     * Calculate EMI for a request, bypassing the quote cache.
+     */
+    EMICalculationResponse computeEMI(EMICalculationRequest request) {
         BigDecimal principal = request.getPrincipalAmount();
-        BigDecimal monthlyRate = getMonthlyRate(request.getAnnualInterestRate());
+        BigDecimal annualRate = request.getAnnualInterestRate();
         int tenureMonths = request.getTenureMonths();
 
         // Validate inputs
-        validateEMIInput(principal, monthlyRate, tenureMonths);
+        validateEMIInput(principal, annualRate, tenureMonths);
+
+        BigDecimal emi;
+        BigDecimal totalAmount;
+        BigDecimal totalInterest;
 
-        // Calculate EMI using amortization formula
-        BigDecimal emi = calculateMonthlyEMI(principal, monthlyRate, tenureMonths);
-        BigDecimal totalAmount = emi.multiply(BigDecimal.valueOf(tenureMonths), MATH_CONTEXT).setScale(SCALE, ROUNDING_MODE);
-        BigDecimal totalInterest = totalAmount.subtract(principal, MATH_CONTEXT).setScale(SCALE, ROUNDING_MODE);
+        // Fast path on whole cents; falls back to BigDecimal when rounding cannot be verified
+        long principalCents = FixedPointEMICalculator.toCents(principal);
+        long emiCents = FixedPointEMICalculator.UNDECIDED;
+        if (principalCents != FixedPointEMICalculator.UNDECIDED) {
+            // Rate-card products hit the precomputed annuity factor table
+            double annuityFactor = annuityFactorTable.factor(annualRate, tenureMonths);
+            emiCents = Double.isNaN(annuityFactor)
+                    ? FixedPointEMICalculator.monthlyEMICents(
+                            principalCents, FixedPointEMICalculator.toRate(annualRate), tenureMonths)
+                    : FixedPointEMICalculator.monthlyEMICents(principalCents, annuityFactor);
+        }
 
-        log.info("EMI Calculation Result - Monthly EMI: {}, Total Interest: {}", emi, totalInterest);
+        if (emiCents != FixedPointEMICalculator.UNDECIDED) {
+            long totalCents = emiCents * tenureMonths;
+            emi = BigDecimal.valueOf(emiCents, SCALE);
+            totalAmount = BigDecimal.valueOf(totalCents, SCALE);
+            totalInterest = BigDecimal.valueOf(totalCents - principalCents, SCALE);
+        } else {
+            emi = calculateReferenceEMI(principal, annualRate, tenureMonths);
+            totalAmount = emi.multiply(BigDecimal.valueOf(tenureMonths), MATH_CONTEXT).setScale(SCALE, ROUNDING_MODE);
+            totalInterest = totalAmount.subtract(principal, MATH_CONTEXT).setScale(SCALE, ROUNDING_MODE);
+        }
 
         return EMICalculationResponse.builder()
                 .monthlyEMI(emi)
@@ -58,6 +195,19 @@ public class EMICalculationService {
                 .build();
     }
 
+    /**
+     * Calculate monthly EMI with the BigDecimal reference implementation.
+     * The fixed-point fast path must always agree with this result.
+     *
+     * @param principal the principal amount
+     * @param annualRate the annual interest rate as a percentage (e.g., 10.5)
+     * @param tenureMonths the number of months
+     * @return the monthly EMI amount
+     */
+    BigDecimal calculateReferenceEMI(BigDecimal principal, BigDecimal annualRate, int tenureMonths) {
+        return calculateMonthlyEMI(principal, getMonthlyRate(annualRate), tenureMonths);
+    }
+
     /**
      * Calculate monthly EMI using the standard amortization formula.
      *
@@ -99,7 +249,7 @@ public class EMICalculationService {
      * @param exponent the exponent (must be positive)
      * @return base^exponent
      */
-    private BigDecimal calculatePower(BigDecimal base, int exponent) {
+    BigDecimal calculatePower(BigDecimal base, int exponent) {
         if (exponent == 0) {
             return BigDecimal.ONE;
         }
@@ -135,18 +285,18 @@ public class EMICalculationService {
      * Validate EMI calculation inputs.
      *
      * @param principal the principal amount
-     * @param monthlyRate the monthly interest rate
+     * @param annualRate the annual interest rate
      * @param tenureMonths the number of months
      * @throws IllegalArgumentException if inputs are invalid
      */
-    private void validateEMIInput(BigDecimal principal, BigDecimal monthlyRate, int tenureMonths) {
+    private void validateEMIInput(BigDecimal principal, BigDecimal annualRate, int tenureMonths) {
         if (principal.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Principal amount must be greater than zero");
         }
         if (tenureMonths <= 0) {
             throw new IllegalArgumentException("Tenure must be greater than zero");
         }
-        if (monthlyRate.compareTo(BigDecimal.ZERO) < 0) {
+        if (annualRate.compareTo(BigDecimal.ZERO) < 0) {
             throw new IllegalArgumentException("Interest rate cannot be negative");
         }
     }
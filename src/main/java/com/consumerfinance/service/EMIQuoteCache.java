@@ -0,0 +1,87 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.dto.EMICalculationRequest;
+import com.consumerfinance.dto.EMICalculationResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, concurrent cache of EMI quotes keyed on (principal, rate, tenure).
+ * Most quotes repeat a handful of rate-card configurations, so repeats are served
+ * without recalculation. Hit, miss and eviction counts are published to Micrometer
+ * under the cache name {@value #CACHE_NAME}.
+ */
+@Slf4j
+@Component
+public class EMIQuoteCache {
+
+    static final String CACHE_NAME = "emiQuotes";
+
+    private final Cache<QuoteKey, EMICalculationResponse> cache;
+
+    public EMIQuoteCache(MeterRegistry meterRegistry,
+                         @Value("${loan.emi.quote-cache.max-size:10000}") long maxSize,
+                         @Value("${loan.emi.quote-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("EMI quote cache initialized with max size {} and TTL {}", maxSize, ttl);
+    }
+
+    /**
+     * Return the cached quote for the request, computing it on a miss.
+     * Failed calculations are not cached.
+     *
+     * @param request the EMI calculation request
+     * @param calculator computes the quote on a cache miss
+     * @return a response owned by the caller, echoing the request's principal and rate
+     */
+    public EMICalculationResponse get(EMICalculationRequest request,
+                                      Function<EMICalculationRequest, EMICalculationResponse> calculator) {
+        QuoteKey key = new QuoteKey(request.getPrincipalAmount().stripTrailingZeros(),
+                request.getAnnualInterestRate().stripTrailingZeros(),
+                request.getTenureMonths());
+        EMICalculationResponse cached = cache.get(key, k -> calculator.apply(request));
+
+        return EMICalculationResponse.builder()
+                .monthlyEMI(cached.getMonthlyEMI())
+                .totalAmount(cached.getTotalAmount())
+                .totalInterest(cached.getTotalInterest())
+                .principal(request.getPrincipalAmount())
+                .annualInterestRate(request.getAnnualInterestRate())
+                .tenureMonths(cached.getTenureMonths())
+                .build();
+    }
+
+    /**
+     * Get cumulative hit, miss and eviction statistics.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Remove all cached quotes.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private record QuoteKey(BigDecimal principal, BigDecimal annualRate, int tenureMonths) {
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.consumerfinance.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Allocation-free EMI engine working on whole cents (scaled longs) and doubles.
+ *
+ * The annuity factor r(1+r)^n / ((1+r)^n - 1) is evaluated in double precision via
+ * log1p/expm1, which keeps the relative error around 1e-14 across the supported domain.
+ * The result is only accepted when it is provably far enough from a HALF_UP rounding
+ * boundary (x.xx5) that the 20-digit BigDecimal reference path in
+ * {@link EMICalculationService} must round to the same cent. Otherwise {@link #UNDECIDED}
+ * is returned and callers fall back to the reference path.
+ */
+public final class FixedPointEMICalculator {
+
+    /**
+     * Sentinel returned when the fast path cannot guarantee the reference result.
+     */
+    public static final long UNDECIDED = -1L;
+
+    // Fast path domain; anything outside falls back to BigDecimal
+    private static final long MAX_PRINCIPAL_CENTS = 10_000_000_000_000L;
+    private static final int MAX_TENURE_MONTHS = 1200;
+    private static final double MIN_MONTHLY_RATE = 1e-6;
+    private static final double MAX_MONTHLY_RATE = 1.0;
+
+    // Guard band around the half-cent boundary (relative to the EMI in cents, plus an absolute floor)
+    private static final double RELATIVE_GUARD = 1e-12;
+    private static final double ABSOLUTE_GUARD = 1e-9;
+
+    private FixedPointEMICalculator() {
+    }
+
+    /**
+     * Convert an amount to whole cents without rounding.
+     *
+     * @param amount the amount
+     * @return the amount in cents, or {@link #UNDECIDED} if it is negative, has sub-cent
+     *         precision or is outside the fast path range
+     */
+    public static long toCents(BigDecimal amount) {
+        if (amount.signum() < 0 || amount.scale() > 2 || amount.precision() - amount.scale() > 13) {
+            return UNDECIDED;
+        }
+        long cents = amount.movePointRight(2).longValue();
+        return cents <= MAX_PRINCIPAL_CENTS ? cents : UNDECIDED;
+    }
+
+    /**
+     * Convert an annual rate percentage to a double for the fast path.
+     *
+     * @param annualRate the annual interest rate as a percentage
+     * @return the rate as a double, or NaN if a non-zero rate would underflow to zero
+     */
+    public static double toRate(BigDecimal annualRate) {
+        double rate = annualRate.doubleValue();
+        return rate == 0.0 && annualRate.signum() != 0 ? Double.NaN : rate;
+    }
+
+    /**
+     * Calculate the monthly EMI in cents, rounded HALF_UP to two decimal places.
+     *
+     * @param principalCents the principal amount in cents
+     * @param annualRatePercent the annual interest rate as a percentage (e.g., 10.5)
+     * @param tenureMonths the number of months
+     * @return the EMI in cents, or {@link #UNDECIDED} if the reference path must be used
+     */
+    public static long monthlyEMICents(long principalCents, double annualRatePercent, int tenureMonths) {
+        if (principalCents <= 0 || principalCents > MAX_PRINCIPAL_CENTS
+                || tenureMonths <= 0 || tenureMonths > MAX_TENURE_MONTHS) {
+            return UNDECIDED;
+        }
+
+        if (annualRatePercent == 0.0) {
+            // Exact integer HALF_UP division, matches principal.divide(n, 2, HALF_UP)
+            long quotient = principalCents / tenureMonths;
+            long remainder = principalCents % tenureMonths;
+            return 2 * remainder >= tenureMonths ? quotient + 1 : quotient;
+        }
+
+        double monthlyRate = annualRatePercent / 1200.0;
+        if (!(monthlyRate >= MIN_MONTHLY_RATE && monthlyRate <= MAX_MONTHLY_RATE)) {
+            return UNDECIDED;
+        }
+
+        return roundHalfUpCents(principalCents * annuityFactor(monthlyRate, tenureMonths));
+    }
+
+    /**
+     * Calculate monthly EMIs in cents for one rate across ascending tenures.
+     * (1+r)^n - 1 is carried incrementally from one month to the next, so a full row costs
+     * one multiply-add per month instead of an exponentiation per tenure.
+     *
+     * @param principalCents the principal amount in cents
+     * @param annualRatePercent the annual interest rate as a percentage (e.g., 10.5)
+     * @param tenures the tenures in months, strictly ascending
+     * @param emiCents receives the EMI in cents per tenure, or {@link #UNDECIDED} where the
+     *                 reference path must be used
+     */
+    public static void monthlyEMICentsRow(long principalCents, double annualRatePercent, int[] tenures, long[] emiCents) {
+        double monthlyRate = annualRatePercent / 1200.0;
+        boolean fastPath = principalCents > 0 && principalCents <= MAX_PRINCIPAL_CENTS
+                && (annualRatePercent == 0.0 || (monthlyRate >= MIN_MONTHLY_RATE && monthlyRate <= MAX_MONTHLY_RATE));
+
+        // growthMinusOne = (1+r)^month - 1, advanced as g' = g + r(1 + g) to avoid cancellation
+        double growthMinusOne = 0.0;
+        int month = 0;
+        for (int i = 0; i < tenures.length; i++) {
+            int tenureMonths = tenures[i];
+            if (!fastPath || tenureMonths <= 0 || tenureMonths > MAX_TENURE_MONTHS) {
+                emiCents[i] = UNDECIDED;
+                continue;
+            }
+            if (annualRatePercent == 0.0) {
+                emiCents[i] = monthlyEMICents(principalCents, 0.0, tenureMonths);
+                continue;
+            }
+            while (month < tenureMonths) {
+                growthMinusOne += monthlyRate * (1.0 + growthMinusOne);
+                month++;
+            }
+            emiCents[i] = roundHalfUpCents(principalCents * (monthlyRate * (1.0 + growthMinusOne) / growthMinusOne));
+        }
+    }
+
+    /**
+     * Calculate the monthly EMI in cents from a precomputed annuity factor.
+     *
+     * @param principalCents the principal amount in cents
+     * @param annuityFactor the factor from {@link #annuityFactor(double, int)} for the loan terms
+     * @return the EMI in cents, or {@link #UNDECIDED} if the reference path must be used
+     */
+    public static long monthlyEMICents(long principalCents, double annuityFactor) {
+        if (principalCents <= 0 || principalCents > MAX_PRINCIPAL_CENTS) {
+            return UNDECIDED;
+        }
+        return roundHalfUpCents(principalCents * annuityFactor);
+    }
+
+    /**
+     * Calculate the annuity factor r(1+r)^n / ((1+r)^n - 1) in double precision.
+     *
+     * @param monthlyRate the monthly interest rate as a decimal (annual percentage / 1200)
+     * @param tenureMonths the number of months
+     * @return the annuity factor
+     */
+    public static double annuityFactor(double monthlyRate, int tenureMonths) {
+        double exponent = tenureMonths * Math.log1p(monthlyRate);
+        return monthlyRate * Math.exp(exponent) / Math.expm1(exponent);
+    }
+
+    /**
+     * Round an exact cent amount HALF_UP, refusing values inside the guard band.
+     */
+    private static long roundHalfUpCents(double exactCents) {
+        double floor = Math.floor(exactCents);
+        double distanceToBoundary = Math.abs(exactCents - floor - 0.5);
+        if (distanceToBoundary <= exactCents * RELATIVE_GUARD + ABSOLUTE_GUARD) {
+            return UNDECIDED;
+        }
+        return (long) floor + (exactCents - floor > 0.5 ? 1 : 0);
+    }
+
+}
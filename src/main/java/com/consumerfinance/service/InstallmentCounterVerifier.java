@@ -0,0 +1,172 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.domain.LoanRepayment;
+import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.repository.LoanRepaymentRepository;
+import com.consumerfinance.repository.PersonalLoanRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Background verifier for the installment counters kept on {@link PersonalLoan}.
+ * Payments update the counters incrementally; this job recomputes them from loan_repayments
+ * for active loans, one slice per transaction, and corrects any drift. A slice that conflicts
+ * with a concurrent payment is skipped and picked up on the next run.
+ */
+@Slf4j
+@Service
+public class InstallmentCounterVerifier {
+
+    private final PersonalLoanRepository loanRepository;
+    private final LoanRepaymentRepository repaymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int sliceSize;
+    private final Counter checkedCounter;
+    private final Counter correctedCounter;
+
+    public InstallmentCounterVerifier(PersonalLoanRepository loanRepository,
+                                      LoanRepaymentRepository repaymentRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${loan.installment-counters.verify.slice-size:200}") int sliceSize) {
+        if (sliceSize <= 0) {
+            throw new IllegalArgumentException("Installment counter verify slice size must be positive");
+        }
+        this.loanRepository = loanRepository;
+        this.repaymentRepository = repaymentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sliceSize = sliceSize;
+        this.checkedCounter = Counter.builder("loan.installment.counters.checked")
+                .description("Loans whose installment counters were verified")
+                .register(meterRegistry);
+        this.correctedCounter = Counter.builder("loan.installment.counters.corrected")
+                .description("Loans whose installment counters had drifted and were corrected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verify the installment counters of all active loans.
+     *
+     * @return the number of loans whose counters were corrected
+     */
+    @Scheduled(initialDelayString = "${loan.installment-counters.verify.initial-delay:PT5M}",
+               fixedDelayString = "${loan.installment-counters.verify.interval:PT1H}")
+    public int verifyActiveLoans() {
+        int corrected = 0;
+        Pageable pageable = PageRequest.of(0, sliceSize, Sort.by("id"));
+        boolean hasNext = true;
+        while (hasNext) {
+            Pageable current = pageable;
+            try {
+                SliceResult result = transactionTemplate.execute(status -> verifySlice(current));
+                corrected += result.corrected();
+                hasNext = result.hasNext();
+            } catch (DataAccessException e) {
+                log.warn("Skipping installment counter slice {} after conflict: {}", current.getPageNumber(), e.getMessage());
+            }
+            pageable = pageable.next();
+        }
+
+        if (corrected > 0) {
+            log.warn("Corrected installment counters on {} loans", corrected);
+        } else {
+            log.debug("Installment counters verified, no drift found");
+        }
+        return corrected;
+    }
+
+    private SliceResult verifySlice(Pageable pageable) {
+        Slice<PersonalLoan> loans = loanRepository.findByStatus(PersonalLoan.LoanStatus.ACTIVE, pageable);
+        if (loans.isEmpty()) {
+            return new SliceResult(0, false);
+        }
+
+        Map<UUID, List<LoanRepaymentRepository.InstallmentStatus>> installments = new HashMap<>();
+        repaymentRepository.findInstallmentStatusesByLoanIds(loans.map(PersonalLoan::getId).toList())
+                .forEach(row -> installments.computeIfAbsent(row.getLoanId(), id -> new ArrayList<>()).add(row));
+
+        int corrected = 0;
+        for (PersonalLoan loan : loans) {
+            if (reconcile(loan, installments.getOrDefault(loan.getId(), List.of()))) {
+                loanRepository.save(loan);
+                corrected++;
+            }
+        }
+        checkedCounter.increment(loans.getNumberOfElements());
+        correctedCounter.increment(corrected);
+        return new SliceResult(corrected, loans.hasNext());
+    }
+
+    /**
+     * Recompute a loan's counters from its stored installments.
+     *
+     * @param loan the loan to check
+     * @param installments the loan's stored installments
+     * @return whether any counter had to be corrected
+     */
+    private boolean reconcile(PersonalLoan loan, List<LoanRepaymentRepository.InstallmentStatus> installments) {
+        int tenure = loan.getLoanTenureMonths();
+        int paid = 0;
+        int partiallyPaid = 0;
+        int pending = 0;
+        BitSet paidInstallments = new BitSet(tenure + 1);
+        for (LoanRepaymentRepository.InstallmentStatus installment : installments) {
+            if (installment.getStatus() == LoanRepayment.RepaymentStatus.PAID) {
+                paid++;
+                paidInstallments.set(installment.getInstallmentNumber());
+            } else if (installment.getStatus() == LoanRepayment.RepaymentStatus.PARTIALLY_PAID) {
+                partiallyPaid++;
+            } else if (installment.getStatus() == LoanRepayment.RepaymentStatus.PENDING
+                    || installment.getStatus() == LoanRepayment.RepaymentStatus.OVERDUE) {
+                // Overdue installments are still unpaid
+                pending++;
+            }
+        }
+        if (loan.getScheduleMode() == PersonalLoan.ScheduleMode.VIRTUAL) {
+            // Installments that were never stored are still pending
+            pending += tenure - installments.size();
+        }
+        int firstUnpaid = paidInstallments.nextClearBit(1);
+        Integer nextDue = firstUnpaid > tenure ? null : firstUnpaid;
+
+        if (paid == loan.getPaidInstallments()
+                && partiallyPaid == loan.getPartiallyPaidInstallments()
+                && pending == loan.getPendingInstallments()
+                && pending == loan.getRemainingTenure()
+                && Objects.equals(nextDue, loan.getNextDueInstallment())) {
+            return false;
+        }
+
+        log.warn("Installment counters drifted for loan {}: paid {} -> {}, partially paid {} -> {}, pending {} -> {}, next due {} -> {}",
+                loan.getId(), loan.getPaidInstallments(), paid, loan.getPartiallyPaidInstallments(), partiallyPaid,
+                loan.getPendingInstallments(), pending, loan.getNextDueInstallment(), nextDue);
+        loan.setPaidInstallments(paid);
+        loan.setPartiallyPaidInstallments(partiallyPaid);
+        loan.setPendingInstallments(pending);
+        loan.setNextDueInstallment(nextDue);
+        loan.setRemainingTenure(pending);
+        return true;
+    }
+
+    private record SliceResult(int corrected, boolean hasNext) {
+    }
+
+}
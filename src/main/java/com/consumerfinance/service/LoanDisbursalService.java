@@ -0,0 +1,226 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.dto.BulkDisbursalItemResponse;
+import com.consumerfinance.dto.BulkDisbursalResponse;
+import com.consumerfinance.dto.LoanResponse;
+import com.consumerfinance.exception.InvalidLoanOperationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for asynchronous and bulk loan disbursal.
+ * Moves an approved loan to DISBURSING and returns immediately; a bounded worker pool then
+ * generates the repayment schedule and activates the loan in its own transaction, so the
+ * request never holds a connection for the schedule write. Bulk disbursal commits many
+ * approved loans in chunks and reports success or failure per loan.
+ */
+@Slf4j
+@Service
+public class LoanDisbursalService {
+
+    private static final String STATUS_SUCCESS = "SUCCESS";
+    private static final String STATUS_FAILED = "FAILED";
+
+    private final PersonalLoanService loanService;
+    private final ThreadPoolExecutor executor;
+    private final Timer lagTimer;
+    private final Timer disbursalTimer;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final int bulkChunkSize;
+    private final int bulkMaxSize;
+
+    public LoanDisbursalService(PersonalLoanService loanService,
+                                MeterRegistry meterRegistry,
+                                @Value("${loan.disbursal.async.pool-size:4}") int poolSize,
+                                @Value("${loan.disbursal.async.queue-capacity:500}") int queueCapacity,
+                                @Value("${loan.disbursal.bulk.chunk-size:50}") int bulkChunkSize,
+                                @Value("${loan.disbursal.bulk.max-size:5000}") int bulkMaxSize) {
+        if (bulkChunkSize <= 0) {
+            throw new IllegalArgumentException("Bulk disbursal chunk size must be positive");
+        }
+        this.loanService = loanService;
+        this.bulkChunkSize = bulkChunkSize;
+        this.bulkMaxSize = bulkMaxSize;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "loan-disbursal-" + threadCount.incrementAndGet()));
+
+        Gauge.builder("loan.disbursal.queue.depth", executor, e -> e.getQueue().size())
+                .description("Disbursals waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("loan.disbursal.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Disbursals currently being processed")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("loan.disbursal.lag")
+                .description("Time between accepting a disbursal and a worker starting it")
+                .register(meterRegistry);
+        this.disbursalTimer = Timer.builder("loan.disbursal.duration")
+                .description("Time taken by a worker to generate the schedule and activate the loan")
+                .register(meterRegistry);
+        this.completedCounter = Counter.builder("loan.disbursal.async")
+                .tag("outcome", "completed")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("loan.disbursal.async")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("loan.disbursal.async")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Accept an approved loan for asynchronous disbursal.
+     *
+     * @param loanId the loan ID to disburse
+     * @return the loan details in DISBURSING status
+     * @throws InvalidLoanOperationException if the loan is not approved or the disbursal queue is full
+     */
+    public LoanResponse disburseAsync(UUID loanId) {
+        LoanResponse response = loanService.beginDisbursal(loanId);
+        submit(loanId);
+        return response;
+    }
+
+    /**
+     * Disburse many approved loans, committing in chunks.
+     * Each chunk is disbursed in one transaction; if a chunk fails to commit, its loans are
+     * retried one at a time so a single bad loan only fails itself.
+     *
+     * @param loanIds the loan IDs to disburse
+     * @return per-loan results in request order with success and failure counts
+     * @throws IllegalArgumentException if the request is empty or exceeds the configured maximum size
+     */
+    public BulkDisbursalResponse disburseLoans(List<UUID> loanIds) {
+        if (loanIds == null || loanIds.isEmpty()) {
+            throw new IllegalArgumentException("Bulk disbursal must contain at least one loan");
+        }
+        if (loanIds.size() > bulkMaxSize) {
+            throw new IllegalArgumentException(
+                    "Bulk disbursal size " + loanIds.size() + " exceeds maximum of " + bulkMaxSize);
+        }
+
+        List<UUID> distinctIds = new ArrayList<>(new LinkedHashSet<>(loanIds));
+        log.info("Disbursing {} loans in chunks of {}", distinctIds.size(), bulkChunkSize);
+
+        Map<UUID, BulkDisbursalItemResponse> results = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += bulkChunkSize) {
+            List<UUID> chunk = distinctIds.subList(from, Math.min(from + bulkChunkSize, distinctIds.size()));
+            try {
+                loanService.disburseLoanChunk(chunk)
+                        .forEach(item -> results.put(UUID.fromString(item.getLoanId()), item));
+            } catch (RuntimeException e) {
+                log.warn("Disbursal chunk of {} loans failed, retrying individually: {}", chunk.size(), e.getMessage());
+                chunk.forEach(loanId -> results.put(loanId, disburseIndividually(loanId)));
+            }
+        }
+
+        List<BulkDisbursalItemResponse> ordered = loanIds.stream().map(results::get).toList();
+        int successCount = (int) ordered.stream().filter(item -> STATUS_SUCCESS.equals(item.getStatus())).count();
+        log.info("Bulk disbursal completed - Success: {}, Failed: {}", successCount, ordered.size() - successCount);
+
+        return BulkDisbursalResponse.builder()
+                .totalCount(ordered.size())
+                .successCount(successCount)
+                .failureCount(ordered.size() - successCount)
+                .results(ordered)
+                .build();
+    }
+
+    private BulkDisbursalItemResponse disburseIndividually(UUID loanId) {
+        try {
+            return BulkDisbursalItemResponse.builder()
+                    .loanId(loanId.toString())
+                    .status(STATUS_SUCCESS)
+                    .loan(loanService.disburseLoan(loanId))
+                    .build();
+        } catch (RuntimeException e) {
+            log.warn("Disbursal failed for loan {}: {}", loanId, e.getMessage());
+            return BulkDisbursalItemResponse.builder()
+                    .loanId(loanId.toString())
+                    .status(STATUS_FAILED)
+                    .errorMessage(e.getMessage())
+                    .build();
+        }
+    }
+
+    /**
+     * Requeue loans left in DISBURSING status when the application last stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingDisbursals() {
+        List<UUID> loanIds = loanService.getDisbursingLoanIds();
+        if (!loanIds.isEmpty()) {
+            log.info("Resuming {} interrupted disbursals", loanIds.size());
+            for (UUID loanId : loanIds) {
+                try {
+                    submit(loanId);
+                } catch (InvalidLoanOperationException e) {
+                    log.warn("Could not resume disbursal for loan {}: {}", loanId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void submit(UUID loanId) {
+        long acceptedAt = System.nanoTime();
+        try {
+            executor.execute(() -> process(loanId, acceptedAt));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            loanService.abortDisbursal(loanId);
+            throw new InvalidLoanOperationException("Disbursal queue is full, retry later");
+        }
+    }
+
+    private void process(UUID loanId, long acceptedAt) {
+        lagTimer.record(System.nanoTime() - acceptedAt, TimeUnit.NANOSECONDS);
+        Timer.Sample sample = Timer.start();
+        try {
+            loanService.completeDisbursal(loanId);
+            completedCounter.increment();
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            log.error("Asynchronous disbursal failed for loan: {}", loanId, e);
+            try {
+                loanService.abortDisbursal(loanId);
+            } catch (RuntimeException abortFailure) {
+                log.error("Failed to return loan {} to APPROVED after disbursal failure", loanId, abortFailure);
+            }
+        } finally {
+            sample.stop(disbursalTimer);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Disbursal workers did not finish in time; remaining loans resume on next start");
+            executor.shutdownNow();
+        }
+    }
+
+}
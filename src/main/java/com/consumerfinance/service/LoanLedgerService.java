@@ -0,0 +1,180 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.domain.LoanBalanceSnapshot;
+import com.consumerfinance.domain.LoanLedgerEntry;
+import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.dto.LoanBalanceResponse;
+import com.consumerfinance.exception.LoanNotFoundException;
+import com.consumerfinance.repository.LoanBalanceSnapshotRepository;
+import com.consumerfinance.repository.LoanLedgerEntryRepository;
+import com.consumerfinance.repository.PersonalLoanRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service for the append-only loan ledger.
+ * Every change to a loan's outstanding balance is posted as signed ledger entries in the same
+ * transaction, so the entries always sum to the balance. Every few entries the loan's balance
+ * is snapshotted; the balance at a past time is then the latest snapshot before it plus the
+ * few entries posted after that snapshot, never a replay of the loan's whole history.
+ */
+@Slf4j
+@Service
+@Transactional
+public class LoanLedgerService {
+
+    private final LoanLedgerEntryRepository entryRepository;
+    private final LoanBalanceSnapshotRepository snapshotRepository;
+    private final PersonalLoanRepository loanRepository;
+    private final int snapshotInterval;
+
+    public LoanLedgerService(LoanLedgerEntryRepository entryRepository,
+                             LoanBalanceSnapshotRepository snapshotRepository,
+                             PersonalLoanRepository loanRepository,
+                             @Value("${loan.ledger.snapshot-interval:24}") int snapshotInterval) {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Ledger snapshot interval must be positive");
+        }
+        this.entryRepository = entryRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.loanRepository = loanRepository;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Post the disbursal of loans' principal.
+     *
+     * @param loans the disbursed loans
+     * @param postedAt the disbursal time
+     */
+    public void recordDisbursals(List<PersonalLoan> loans, LocalDateTime postedAt) {
+        List<LoanLedgerEntry> entries = new ArrayList<>(loans.size());
+        for (PersonalLoan loan : loans) {
+            long sequenceBefore = loan.getLedgerSequence();
+            entries.add(nextEntry(loan, LoanLedgerEntry.EntryType.DISBURSAL, loan.getPrincipalAmount(), null, postedAt));
+            snapshotIfDue(loan, sequenceBefore, postedAt);
+        }
+        entryRepository.saveAll(entries);
+    }
+
+    /**
+     * Post a repayment split into its interest and principal parts.
+     * Call after the loan's outstanding balance has been reduced by the payment.
+     *
+     * @param loan the loan, locked by the caller
+     * @param repaymentId the repayment the payment was applied to
+     * @param interestPaid the part of the payment that covered interest
+     * @param principalPaid the part of the payment that covered principal
+     * @param postedAt the payment time
+     */
+    public void recordRepayment(PersonalLoan loan, UUID repaymentId, BigDecimal interestPaid,
+                                BigDecimal principalPaid, LocalDateTime postedAt) {
+        recordRepayments(loan, List.of(new RepaymentPosting(repaymentId, interestPaid, principalPaid, postedAt)));
+    }
+
+    /**
+     * Post several repayments of one loan, e.g. a lump sum spread across installments, as one
+     * group saved in a single batch.
+     * Call after the loan's outstanding balance has been reduced by all of the payments.
+     *
+     * @param loan the loan, locked by the caller
+     * @param postings the repayments in the order they were applied
+     */
+    public void recordRepayments(PersonalLoan loan, List<RepaymentPosting> postings) {
+        if (postings.isEmpty()) {
+            return;
+        }
+        long sequenceBefore = loan.getLedgerSequence();
+        List<LoanLedgerEntry> entries = new ArrayList<>(postings.size() * 2);
+        for (RepaymentPosting posting : postings) {
+            if (posting.interestPaid().signum() > 0) {
+                entries.add(nextEntry(loan, LoanLedgerEntry.EntryType.INTEREST, posting.interestPaid().negate(),
+                        posting.repaymentId(), posting.postedAt()));
+            }
+            if (posting.principalPaid().signum() > 0) {
+                entries.add(nextEntry(loan, LoanLedgerEntry.EntryType.PRINCIPAL, posting.principalPaid().negate(),
+                        posting.repaymentId(), posting.postedAt()));
+            }
+        }
+        entryRepository.saveAll(entries);
+        snapshotIfDue(loan, sequenceBefore, postings.get(postings.size() - 1).postedAt());
+    }
+
+    /**
+     * Get a loan's outstanding balance at a point in time.
+     *
+     * @param loanId the loan ID
+     * @param asOf the time to compute the balance at
+     * @return the balance with the snapshot and number of entries it was computed from
+     * @throws LoanNotFoundException if loan not found
+     */
+    @Transactional(readOnly = true)
+    public LoanBalanceResponse getBalanceAsOf(UUID loanId, LocalDateTime asOf) {
+        log.info("Retrieving balance of Loan ID: {} as of {}", loanId, asOf);
+
+        Optional<LoanBalanceSnapshot> snapshot =
+                snapshotRepository.findTopByLoanIdAndAsOfLessThanEqualOrderByEntrySequenceDesc(loanId, asOf);
+        long afterSequence = snapshot.map(LoanBalanceSnapshot::getEntrySequence).orElse(0L);
+        BigDecimal base = snapshot.map(LoanBalanceSnapshot::getBalance).orElse(BigDecimal.ZERO);
+
+        LoanLedgerEntryRepository.LedgerTotal tail = entryRepository.sumEntriesAfter(loanId, afterSequence, asOf);
+        if (snapshot.isEmpty() && tail.getEntries() == 0 && !loanRepository.existsById(loanId)) {
+            throw new LoanNotFoundException("Loan not found with ID: " + loanId);
+        }
+
+        return LoanBalanceResponse.builder()
+                .loanId(loanId.toString())
+                .asOf(asOf)
+                .balance(base.add(tail.getTotal()))
+                .snapshotAsOf(snapshot.map(LoanBalanceSnapshot::getAsOf).orElse(null))
+                .entriesApplied(tail.getEntries())
+                .build();
+    }
+
+    /**
+     * A repayment applied to one installment, split into its interest and principal parts.
+     */
+    public record RepaymentPosting(UUID repaymentId, BigDecimal interestPaid, BigDecimal principalPaid,
+                                   LocalDateTime postedAt) {
+    }
+
+    private LoanLedgerEntry nextEntry(PersonalLoan loan, LoanLedgerEntry.EntryType entryType, BigDecimal amount,
+                                      UUID repaymentId, LocalDateTime postedAt) {
+        loan.setLedgerSequence(loan.getLedgerSequence() + 1);
+        return LoanLedgerEntry.builder()
+                .loan(loan)
+                .entrySequence(loan.getLedgerSequence())
+                .entryType(entryType)
+                .amount(amount)
+                .repaymentId(repaymentId)
+                .postedAt(postedAt)
+                .build();
+    }
+
+    /**
+     * Snapshot the loan's balance when the entries just posted crossed a multiple of the interval.
+     * Taken after a whole posting group, so the outstanding balance matches the last entry.
+     */
+    private void snapshotIfDue(PersonalLoan loan, long sequenceBefore, LocalDateTime postedAt) {
+        long sequence = loan.getLedgerSequence();
+        if (sequence / snapshotInterval == sequenceBefore / snapshotInterval) {
+            return;
+        }
+        snapshotRepository.save(LoanBalanceSnapshot.builder()
+                .loan(loan)
+                .entrySequence(sequence)
+                .balance(loan.getOutstandingBalance())
+                .asOf(postedAt)
+                .build());
+        log.debug("Snapshotted balance of loan {} at ledger entry {}", loan.getId(), sequence);
+    }
+
+}
@@ -1,37 +1,107 @@
 package com.consumerfinance.service;
 
+import com.consumerfinance.config.LoanLockAspect.LoanLocked;
 import com.consumerfinance.domain.LoanRepayment;
+import com.consumerfinance.domain.PaymentTransaction;
 import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.dto.EMICalculationRequest;
+import com.consumerfinance.dto.OverdueRepaymentPage;
+import com.consumerfinance.dto.OverdueRepaymentResponse;
+import com.consumerfinance.dto.PaymentAllocationItemResponse;
+import com.consumerfinance.dto.PaymentAllocationResponse;
+import com.consumerfinance.dto.PayoffQuoteResponse;
+import com.consumerfinance.dto.PrepaymentResponse;
+import com.consumerfinance.dto.RepaymentIngestionResult;
+import com.consumerfinance.dto.RepaymentIngestionRow;
 import com.consumerfinance.dto.RepaymentResponse;
+import com.consumerfinance.dto.RepaymentScheduleEntry;
 import com.consumerfinance.repository.LoanRepaymentRepository;
+import com.consumerfinance.repository.PaymentTransactionRepository;
 import com.consumerfinance.repository.PersonalLoanRepository;
+import com.consumerfinance.repository.RepaymentScheduleBatchWriter;
+import com.consumerfinance.exception.InvalidLoanOperationException;
 import com.consumerfinance.exception.LoanNotFoundException;
 import com.consumerfinance.exception.InvalidRepaymentException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Service for loan repayment management.
  * Handles payment processing and repayment schedule updates.
+ * For loans with a VIRTUAL schedule only paid or exceptional installments are stored;
+ * the remaining installments are recomputed from the loan terms on read.
+ * Payments carrying a transaction reference are idempotent: each is recorded once as a payment
+ * transaction with the response returned for it, and a retry returns that original response
+ * instead of being applied again.
+ * Prepayments and foreclosures re-amortize only the unpaid installments, rewriting their rows
+ * in place rather than regenerating the loan's schedule.
  */
 @Slf4j
 @Service
 @Transactional
 public class LoanRepaymentService {
 
+    private static final int MAX_OVERDUE_PAGE_SIZE = 1000;
+    private static final LocalDateTime EARLIEST_DUE_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final Set<LoanRepayment.RepaymentStatus> OPEN_STATUSES = Set.of(
+            LoanRepayment.RepaymentStatus.PENDING,
+            LoanRepayment.RepaymentStatus.OVERDUE,
+            LoanRepayment.RepaymentStatus.PARTIALLY_PAID);
+
     private final LoanRepaymentRepository repaymentRepository;
     private final PersonalLoanRepository loanRepository;
+    private final PaymentTransactionRepository paymentTransactionRepository;
+    private final PaymentIdempotencyCache idempotencyCache;
+    private final LoanLedgerService ledgerService;
+    private final RepaymentScheduleBatchWriter scheduleWriter;
+    private final EMICalculationService emiCalculationService;
+    private final PortfolioSummaryService portfolioSummary;
+    private final ObjectMapper objectMapper;
 
     public LoanRepaymentService(LoanRepaymentRepository repaymentRepository,
-                              PersonalLoanRepository loanRepository) {
+                              PersonalLoanRepository loanRepository,
+                              PaymentTransactionRepository paymentTransactionRepository,
+                              PaymentIdempotencyCache idempotencyCache,
+                              LoanLedgerService ledgerService,
+                              RepaymentScheduleBatchWriter scheduleWriter,
+                              EMICalculationService emiCalculationService,
+                              PortfolioSummaryService portfolioSummary,
+                              ObjectMapper objectMapper) {
         this.repaymentRepository = repaymentRepository;
         this.loanRepository = loanRepository;
+        this.paymentTransactionRepository = paymentTransactionRepository;
+        this.idempotencyCache = idempotencyCache;
+        this.ledgerService = ledgerService;
+        this.scheduleWriter = scheduleWriter;
+        this.emiCalculationService = emiCalculationService;
+        this.portfolioSummary = portfolioSummary;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -44,46 +114,903 @@ public class LoanRepaymentService {
      * @throws LoanNotFoundException if loan not found
      * @throws InvalidRepaymentException if repayment cannot be processed
      */
+    @LoanLocked
     @Transactional
     public RepaymentResponse processRepayment(UUID loanId, Integer installmentNumber, BigDecimal amountPaid) {
+        return processRepayment(loanId, installmentNumber, amountPaid, null, null);
+    }
+
+    /**
+     * Process a loan repayment/payment with its payment details.
+     * A payment whose transaction reference was already processed for the same installment is
+     * not applied again; the original response is returned, from memory for recent payments.
+     *
+     * @param loanId the loan ID
+     * @param installmentNumber the installment number to pay
+     * @param amountPaid the amount being paid
+     * @param paymentMode the payment mode, may be null
+     * @param transactionReference the payment transaction reference, may be null
+     * @return the updated repayment details, or the original details for a retried payment
+     * @throws LoanNotFoundException if loan not found
+     * @throws InvalidRepaymentException if repayment cannot be processed, or the transaction
+     *                                   reference was already used for another installment
+     */
+    @LoanLocked
+    @Transactional
+    public RepaymentResponse processRepayment(UUID loanId, Integer installmentNumber, BigDecimal amountPaid,
+                                              String paymentMode, String transactionReference) {
+        String reference = normalizeReference(transactionReference);
+        if (reference != null) {
+            RepaymentResponse original = findProcessedPayment(reference);
+            if (original != null) {
+                log.info("Payment {} already processed for Loan ID: {}, returning original result", reference, loanId);
+                return requireSameInstallment(original, loanId, installmentNumber, reference);
+            }
+        }
+
         log.info("Processing repayment for Loan ID: {}, Installment: {}, Amount: {}", 
                 loanId, installmentNumber, amountPaid);
 
-        // Find loan
-        PersonalLoan loan = loanRepository.findById(loanId)
+        // Find and lock loan; concurrent payments for it wait here until this one commits
+        PersonalLoan loan = loanRepository.findByIdForUpdate(loanId)
                 .orElseThrow(() -> new LoanNotFoundException("Loan not found with ID: " + loanId));
 
-        // Find repayment
+        // Find repayment, materializing a virtual installment on first payment
         LoanRepayment repayment = repaymentRepository.findByLoanAndInstallmentNumber(loan, installmentNumber)
-                .orElseThrow(() -> new InvalidRepaymentException(
-                        "Repayment not found for Loan ID: " + loanId + ", Installment: " + installmentNumber));
+                .orElseGet(() -> toRepayment(loan, virtualInstallment(loan, installmentNumber)));
+
+        PaymentAllocation allocation = applyPayment(loan, repayment, amountPaid, paymentMode, reference);
+        LoanRepayment updatedRepayment = repaymentRepository.save(repayment);
+        recordInLedger(loan, updatedRepayment, allocation);
+        portfolioSummary.recordOutstandingChange(loan.getStatus(), allocation.amount().negate());
+        loanRepository.save(loan);
+
+        log.info("Repayment processed successfully. Outstanding balance: {}", loan.getOutstandingBalance());
+        RepaymentResponse response = mapToRepaymentResponse(updatedRepayment);
+        if (reference != null) {
+            recordProcessedPayment(loan, reference, PaymentTransaction.PaymentType.INSTALLMENT,
+                    installmentNumber, allocation.amount(), response);
+        }
+        return response;
+    }
+
+    /**
+     * Apply a lump-sum payment across a loan's open installments in one pass.
+     * The open installments are loaded once and paid in waterfall order: overdue installments
+     * first, then partially paid ones, then current ones, each oldest first; within an
+     * installment interest is covered before principal. The next due installment is found among
+     * the loaded installments, so nothing is read or written while the payment is spread; the
+     * touched installments and their ledger entries are then saved with one batch each.
+     *
+     * @param loanId the loan ID
+     * @param amount the amount paid
+     * @param paymentMode the payment mode, may be null
+     * @param transactionReference the payment transaction reference, may be null; a retry with an
+     *                             already processed reference returns the original allocation
+     * @return the allocation of the payment to installments, in the order applied, or the original
+     *         allocation for a retried payment
+     * @throws LoanNotFoundException if loan not found
+     * @throws InvalidRepaymentException if the amount is not positive or exceeds the amount due on
+     *                                   open installments, or the transaction reference was already
+     *                                   used for another loan or another kind of payment
+     */
+    @LoanLocked
+    @Transactional
+    public PaymentAllocationResponse allocatePayment(UUID loanId, BigDecimal amount, String paymentMode,
+                                                     String transactionReference) {
+        log.info("Allocating lump-sum payment for Loan ID: {}, Amount: {}", loanId, amount);
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new InvalidRepaymentException("Payment amount must be greater than zero");
+        }
+        String reference = normalizeReference(transactionReference);
+        if (reference != null) {
+            PaymentAllocationResponse original = findProcessedAllocation(reference, loanId);
+            if (original != null) {
+                log.info("Payment {} already processed for Loan ID: {}, returning original allocation", reference, loanId);
+                return original;
+            }
+        }
+
+        PersonalLoan loan = loanRepository.findByIdForUpdate(loanId)
+                .orElseThrow(() -> new LoanNotFoundException("Loan not found with ID: " + loanId));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<LoanRepayment> open = openInstallments(loan);
+        open.sort(Comparator.comparingInt((LoanRepayment r) -> waterfallRank(r, now))
+                .thenComparing(LoanRepayment::getInstallmentNumber));
+        BigDecimal totalDue = open.stream().map(this::amountDue).reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (amount.compareTo(totalDue) > 0) {
+            throw new InvalidRepaymentException("Payment amount " + amount
+                    + " exceeds the amount due on open installments of " + totalDue);
+        }
+
+        List<LoanRepayment> touched = new ArrayList<>();
+        List<LoanRepayment.RepaymentStatus> previousStatuses = new ArrayList<>();
+        List<PaymentAllocation> splits = new ArrayList<>();
+        BigDecimal remaining = amount;
+        for (LoanRepayment repayment : open) {
+            if (remaining.signum() == 0) {
+                break;
+            }
+            BigDecimal applied = remaining.min(amountDue(repayment));
+            previousStatuses.add(repayment.getStatus());
+            splits.add(recordPayment(loan, repayment, applied, previouslyPaid(repayment).add(applied),
+                    paymentMode, touched.isEmpty() ? reference : null));
+            touched.add(repayment);
+            remaining = remaining.subtract(applied);
+        }
+        // Every installment before the next due one is paid, so it is the first still open
+        loan.setNextDueInstallment(open.stream()
+                .filter(r -> r.getStatus() != LoanRepayment.RepaymentStatus.PAID)
+                .map(LoanRepayment::getInstallmentNumber)
+                .min(Integer::compare)
+                .orElse(null));
+
+        List<LoanRepayment> saved = repaymentRepository.saveAll(touched);
+        List<PaymentAllocationItemResponse> allocations = new ArrayList<>(saved.size());
+        List<LoanLedgerService.RepaymentPosting> postings = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            LoanRepayment repayment = saved.get(i);
+            PaymentAllocation allocation = splits.get(i);
+            postings.add(new LoanLedgerService.RepaymentPosting(repayment.getId(), allocation.interest(),
+                    allocation.principal(), repayment.getPaidDate()));
+            allocations.add(PaymentAllocationItemResponse.builder()
+                    .repaymentId(repayment.getId() != null ? repayment.getId().toString() : null)
+                    .installmentNumber(repayment.getInstallmentNumber())
+                    .dueDate(repayment.getDueDate())
+                    .amountApplied(allocation.amount())
+                    .interestPaid(allocation.interest())
+                    .principalPaid(allocation.principal())
+                    .previousStatus(previousStatuses.get(i).toString())
+                    .status(repayment.getStatus().toString())
+                    .build());
+        }
+        ledgerService.recordRepayments(loan, postings);
+        portfolioSummary.recordOutstandingChange(loan.getStatus(), amount.negate());
+        loanRepository.save(loan);
+
+        log.info("Lump-sum payment allocated to {} installments. Outstanding balance: {}",
+                allocations.size(), loan.getOutstandingBalance());
+        PaymentAllocationResponse response = PaymentAllocationResponse.builder()
+                .loanId(loanId.toString())
+                .amountPaid(amount)
+                .outstandingBalance(loan.getOutstandingBalance())
+                .nextDueInstallment(loan.getNextDueInstallment())
+                .allocations(allocations)
+                .build();
+        if (reference != null) {
+            savePaymentTransaction(loan, reference, PaymentTransaction.PaymentType.ALLOCATION, null, amount, response);
+        }
+        return response;
+    }
+
+    /**
+     * Find the allocation of an already processed lump-sum payment.
+     * Allocations are not held in the idempotency cache, which only holds installment payments,
+     * so a cached reference belongs to another kind of payment.
+     *
+     * @param reference the payment transaction reference
+     * @param loanId the loan the payment is for
+     * @return the original allocation, or null if no payment carries the reference
+     * @throws InvalidRepaymentException if the reference was used for another loan or kind of payment
+     */
+    private PaymentAllocationResponse findProcessedAllocation(String reference, UUID loanId) {
+        if (idempotencyCache.get(reference) != null) {
+            throw new InvalidRepaymentException("Transaction reference " + reference
+                    + " was already used for another payment");
+        }
+        PaymentTransaction payment = paymentTransactionRepository.findByTransactionReference(reference).orElse(null);
+        if (payment == null) {
+            return null;
+        }
+        if (payment.getPaymentType() != PaymentTransaction.PaymentType.ALLOCATION) {
+            throw new InvalidRepaymentException("Transaction reference " + reference
+                    + " was already used for another payment");
+        }
+        PaymentAllocationResponse original = readResponse(payment, PaymentAllocationResponse.class);
+        if (!loanId.toString().equals(original.getLoanId())) {
+            throw new InvalidRepaymentException("Transaction reference " + reference
+                    + " was already used for another loan");
+        }
+        return original;
+    }
+
+    /**
+     * Load a loan's unpaid installments with one query. For a virtual schedule, the installments
+     * not yet stored are computed and returned as new, unsaved repayments.
+     */
+    private List<LoanRepayment> openInstallments(PersonalLoan loan) {
+        if (!isVirtual(loan)) {
+            return new ArrayList<>(repaymentRepository.findByLoanIdAndStatusIn(loan.getId(), OPEN_STATUSES));
+        }
+
+        List<LoanRepayment> open = new ArrayList<>();
+        Set<Integer> stored = new HashSet<>();
+        for (LoanRepayment repayment : repaymentRepository.findByLoanId(loan.getId())) {
+            stored.add(repayment.getInstallmentNumber());
+            if (repayment.getStatus() != LoanRepayment.RepaymentStatus.PAID) {
+                open.add(repayment);
+            }
+        }
+        if (loan.getNextDueInstallment() != null && loan.getDisbursedAt() != null) {
+            RepaymentScheduleCalculator schedule = RepaymentScheduleCalculator.forLoan(loan);
+            while (schedule.hasNext()) {
+                RepaymentScheduleEntry entry = schedule.next();
+                if (entry.getInstallmentNumber() >= loan.getNextDueInstallment()
+                        && !stored.contains(entry.getInstallmentNumber())) {
+                    open.add(toRepayment(loan, entry));
+                }
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Position of an installment in the payment waterfall: past due, then partially paid, then current.
+     * Pending installments already past due count as overdue even before the marking job has run.
+     */
+    private int waterfallRank(LoanRepayment repayment, LocalDateTime now) {
+        LoanRepayment.RepaymentStatus status = repayment.getStatus();
+        if (status == LoanRepayment.RepaymentStatus.OVERDUE
+                || (status == LoanRepayment.RepaymentStatus.PENDING && repayment.getDueDate().isBefore(now))) {
+            return 0;
+        }
+        return status == LoanRepayment.RepaymentStatus.PARTIALLY_PAID ? 1 : 2;
+    }
+
+    private BigDecimal amountDue(LoanRepayment repayment) {
+        return repayment.getTotalAmount().subtract(previouslyPaid(repayment)).max(BigDecimal.ZERO);
+    }
+
+    /**
+     * Apply a chunk of payment rows in one transaction.
+     * Loans are locked and loaded with one query, installments the rows refer to with another; rows are
+     * applied per loan in file order, and the changes are flushed as batched statements on
+     * commit. Rows that fail validation are reported as failed without affecting the rest.
+     *
+     * @param rows the payment rows to apply
+     * @return per-row results in the order of the given rows
+     */
+    @Transactional
+    public List<RepaymentIngestionResult> processRepaymentChunk(List<RepaymentIngestionRow> rows) {
+        log.debug("Processing repayment chunk of {} rows", rows.size());
+
+        Set<UUID> loanIds = rows.stream().map(RepaymentIngestionRow::getLoanId).collect(Collectors.toSet());
+        Set<Integer> installmentNumbers = rows.stream()
+                .map(RepaymentIngestionRow::getInstallmentNumber)
+                .collect(Collectors.toSet());
+
+        Map<UUID, PersonalLoan> loans = loanRepository.findAllByIdForUpdate(loanIds).stream()
+                .collect(Collectors.toMap(PersonalLoan::getId, Function.identity()));
+        Map<UUID, Map<Integer, LoanRepayment>> installments = new HashMap<>();
+        repaymentRepository.findByLoanIdsAndInstallmentNumbers(loanIds, installmentNumbers)
+                .forEach(r -> installments.computeIfAbsent(r.getLoan().getId(), id -> new HashMap<>())
+                        .put(r.getInstallmentNumber(), r));
+
+        Map<UUID, List<RepaymentIngestionRow>> rowsByLoan = rows.stream()
+                .collect(Collectors.groupingBy(RepaymentIngestionRow::getLoanId, LinkedHashMap::new, Collectors.toList()));
+
+        ProcessedPayments processed = findProcessedPayments(rows);
+
+        Map<RepaymentIngestionRow, RepaymentIngestionResult> results = new IdentityHashMap<>();
+        Map<PersonalLoan.LoanStatus, BigDecimal> paidByStatus = new EnumMap<>(PersonalLoan.LoanStatus.class);
+        rowsByLoan.forEach((loanId, loanRows) -> {
+            PersonalLoan loan = loans.get(loanId);
+            Map<Integer, LoanRepayment> loanInstallments = installments.computeIfAbsent(loanId, id -> new HashMap<>());
+            for (RepaymentIngestionRow row : loanRows) {
+                String reference = normalizeReference(row.getTransactionReference());
+                try {
+                    if (reference != null && processed.lumpSumReferences().contains(reference)) {
+                        throw new InvalidRepaymentException("Transaction reference " + reference
+                                + " was already used for a lump-sum payment");
+                    }
+                    RepaymentResponse original = reference == null ? null : processed.responses().get(reference);
+                    if (original != null) {
+                        requireSameInstallment(original, loanId, row.getInstallmentNumber(), reference);
+                        results.put(row, ingestionResult(row, "DUPLICATE", original.getStatus(), null));
+                        continue;
+                    }
+                    if (loan == null) {
+                        throw new LoanNotFoundException("Loan not found with ID: " + loanId);
+                    }
+                    LoanRepayment repayment = loanInstallments.get(row.getInstallmentNumber());
+                    if (repayment == null) {
+                        repayment = toRepayment(loan, virtualInstallment(loan, row.getInstallmentNumber()));
+                    }
+                    PaymentAllocation allocation =
+                            applyPayment(loan, repayment, row.getAmount(), row.getPaymentMode(), reference);
+                    // Persist now so out-of-order lookups in the same chunk see this installment as paid
+                    LoanRepayment saved = repaymentRepository.save(repayment);
+                    recordInLedger(loan, saved, allocation);
+                    paidByStatus.merge(loan.getStatus(), allocation.amount(), BigDecimal::add);
+                    loanInstallments.put(row.getInstallmentNumber(), saved);
+                    if (reference != null) {
+                        RepaymentResponse response = mapToRepaymentResponse(saved);
+                        recordProcessedPayment(loan, reference, PaymentTransaction.PaymentType.INSTALLMENT,
+                                row.getInstallmentNumber(), allocation.amount(), response);
+                        processed.responses().put(reference, response);
+                    }
+                    results.put(row, ingestionResult(row, "SUCCESS", repayment.getStatus().toString(), null));
+                } catch (LoanNotFoundException | InvalidRepaymentException e) {
+                    results.put(row, ingestionResult(row, "FAILED", null, e.getMessage()));
+                }
+            }
+        });
+        // One summary update per loan status for the whole chunk
+        paidByStatus.forEach((status, paid) -> portfolioSummary.recordOutstandingChange(status, paid.negate()));
+        loanRepository.saveAll(loans.values());
+
+        return rows.stream().map(results::get).collect(Collectors.toList());
+    }
+
+    private RepaymentIngestionResult ingestionResult(RepaymentIngestionRow row, String status,
+                                                     String repaymentStatus, String errorMessage) {
+        return RepaymentIngestionResult.builder()
+                .lineNumber(row.getLineNumber())
+                .loanId(row.getLoanId().toString())
+                .installmentNumber(row.getInstallmentNumber())
+                .status(status)
+                .repaymentStatus(repaymentStatus)
+                .errorMessage(errorMessage)
+                .build();
+    }
+
+    private String normalizeReference(String transactionReference) {
+        return transactionReference == null || transactionReference.isBlank() ? null : transactionReference.trim();
+    }
+
+    /**
+     * Find the response of an already processed payment, checking recent payments in memory
+     * before the payment transactions.
+     *
+     * @param reference the payment transaction reference
+     * @return the original response, or null if no payment carries the reference
+     */
+    private RepaymentResponse findProcessedPayment(String reference) {
+        RepaymentResponse cached = idempotencyCache.get(reference);
+        if (cached != null) {
+            return cached;
+        }
+        return paymentTransactionRepository.findByTransactionReference(reference)
+                .map(this::readRepaymentResponse)
+                .map(response -> {
+                    idempotencyCache.put(reference, response);
+                    return response;
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Record a processed payment under its transaction reference with the response returned for it.
+     * The unique reference index rejects a concurrent second payment with the same reference.
+     *
+     * @param loan the loan paid
+     * @param reference the payment transaction reference
+     * @param paymentType how the payment was applied
+     * @param installmentNumber the installment paid, may be null
+     * @param amount the amount applied
+     * @param response the response returned for the payment
+     */
+    private void recordProcessedPayment(PersonalLoan loan, String reference, PaymentTransaction.PaymentType paymentType,
+                                        Integer installmentNumber, BigDecimal amount, RepaymentResponse response) {
+        // The installment may carry an earlier payment's reference; the response names this payment's
+        response.setTransactionReference(reference);
+        savePaymentTransaction(loan, reference, paymentType, installmentNumber, amount, response);
+        idempotencyCache.put(reference, response);
+    }
+
+    private void savePaymentTransaction(PersonalLoan loan, String reference, PaymentTransaction.PaymentType paymentType,
+                                        Integer installmentNumber, BigDecimal amount, Object response) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response of payment " + reference, e);
+        }
+        paymentTransactionRepository.save(PaymentTransaction.builder()
+                .transactionReference(reference)
+                .loan(loan)
+                .paymentType(paymentType)
+                .installmentNumber(installmentNumber)
+                .amount(amount)
+                .response(json)
+                .processedAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Read the stored response of an installment payment or foreclosure.
+     *
+     * @throws InvalidRepaymentException if the reference was used for a lump-sum payment
+     */
+    private RepaymentResponse readRepaymentResponse(PaymentTransaction payment) {
+        if (payment.getPaymentType() == PaymentTransaction.PaymentType.ALLOCATION) {
+            throw new InvalidRepaymentException("Transaction reference " + payment.getTransactionReference()
+                    + " was already used for a lump-sum payment");
+        }
+        return readResponse(payment, RepaymentResponse.class);
+    }
+
+    private <T> T readResponse(PaymentTransaction payment, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(payment.getResponse(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored response of payment "
+                    + payment.getTransactionReference(), e);
+        }
+    }
+
+    /**
+     * Find the already processed payments among a chunk's rows with one query for the
+     * references not held in memory.
+     *
+     * @param rows the payment rows
+     * @return original responses keyed by transaction reference, and the references of lump-sum payments
+     */
+    private ProcessedPayments findProcessedPayments(List<RepaymentIngestionRow> rows) {
+        Map<String, RepaymentResponse> processed = new HashMap<>();
+        Set<String> lumpSumReferences = new HashSet<>();
+        Set<String> uncached = new HashSet<>();
+        for (RepaymentIngestionRow row : rows) {
+            String reference = normalizeReference(row.getTransactionReference());
+            if (reference != null) {
+                RepaymentResponse cached = idempotencyCache.get(reference);
+                if (cached != null) {
+                    processed.put(reference, cached);
+                } else {
+                    uncached.add(reference);
+                }
+            }
+        }
+        if (!uncached.isEmpty()) {
+            for (PaymentTransaction payment : paymentTransactionRepository.findByTransactionReferenceIn(uncached)) {
+                if (payment.getPaymentType() == PaymentTransaction.PaymentType.ALLOCATION) {
+                    lumpSumReferences.add(payment.getTransactionReference());
+                } else {
+                    processed.put(payment.getTransactionReference(), readRepaymentResponse(payment));
+                }
+            }
+        }
+        return new ProcessedPayments(processed, lumpSumReferences);
+    }
+
+    private record ProcessedPayments(Map<String, RepaymentResponse> responses, Set<String> lumpSumReferences) {
+    }
+
+    private RepaymentResponse requireSameInstallment(RepaymentResponse original, UUID loanId,
+                                                     Integer installmentNumber, String reference) {
+        if (!loanId.toString().equals(original.getLoanId()) || !installmentNumber.equals(original.getInstallmentNumber())) {
+            throw new InvalidRepaymentException("Transaction reference " + reference
+                    + " was already used for another installment");
+        }
+        return original;
+    }
 
+    /**
+     * Record a payment against an installment and update the loan balance and counters.
+     *
+     * @param loan the loan
+     * @param repayment the installment being paid
+     * @param amountPaid the amount being paid
+     * @param paymentMode the payment mode, may be null
+     * @param transactionReference the payment transaction reference, may be null
+     * @return how the payment splits between interest and principal
+     * @throws InvalidRepaymentException if repayment cannot be processed
+     */
+    private PaymentAllocation applyPayment(PersonalLoan loan, LoanRepayment repayment, BigDecimal amountPaid,
+                                           String paymentMode, String transactionReference) {
         // Validate repayment can be processed
         validateRepaymentProcessing(repayment, amountPaid);
+        PaymentAllocation allocation = recordPayment(loan, repayment, amountPaid,
+                previouslyPaid(repayment).add(amountPaid), paymentMode, transactionReference);
+        if (repayment.getStatus() == LoanRepayment.RepaymentStatus.PAID) {
+            advanceNextDueInstallment(loan, repayment.getInstallmentNumber());
+        }
+        return allocation;
+    }
+
+    /**
+     * Record an amount applied to an installment and update the loan balance and counters.
+     * The next due installment is left to the caller.
+     *
+     * @param loan the loan
+     * @param repayment the installment being paid
+     * @param amountApplied the amount applied to the installment by this payment
+     * @param paidAmount the installment's paid amount after this payment
+     * @param paymentMode the payment mode, may be null
+     * @param transactionReference the payment transaction reference, may be null
+     * @return how the applied amount splits between interest and principal
+     */
+    private PaymentAllocation recordPayment(PersonalLoan loan, LoanRepayment repayment, BigDecimal amountApplied,
+                                            BigDecimal paidAmount, String paymentMode, String transactionReference) {
+        // Interest is covered first; an earlier partial payment already covered part of it
+        LoanRepayment.RepaymentStatus previousStatus = repayment.getStatus();
+        BigDecimal interestDue = repayment.getInterestAmount().subtract(previouslyPaid(repayment)).max(BigDecimal.ZERO);
+        BigDecimal interestPaid = amountApplied.min(interestDue);
+        PaymentAllocation allocation = new PaymentAllocation(interestPaid, amountApplied.subtract(interestPaid));
 
         // Update repayment status
-        if (amountPaid.compareTo(repayment.getTotalAmount()) >= 0) {
+        if (paidAmount.compareTo(repayment.getTotalAmount()) >= 0) {
             repayment.setStatus(LoanRepayment.RepaymentStatus.PAID);
         } else {
             repayment.setStatus(LoanRepayment.RepaymentStatus.PARTIALLY_PAID);
         }
 
-        repayment.setPaidAmount(amountPaid);
+        repayment.setPaidAmount(paidAmount);
         repayment.setPaidDate(LocalDateTime.now());
-        LoanRepayment updatedRepayment = repaymentRepository.save(repayment);
+        if (paymentMode != null) {
+            repayment.setPaymentMode(paymentMode);
+        }
+        // Keep the first payment's reference; every payment's own is kept in its payment transaction
+        if (transactionReference != null && repayment.getTransactionReference() == null) {
+            repayment.setTransactionReference(transactionReference);
+        }
 
         // Update loan outstanding balance
-        loan.setOutstandingBalance(loan.getOutstandingBalance().subtract(amountPaid));
-        
-        // Update remaining tenure
-        long pendingInstallments = repaymentRepository.countByLoanAndStatus(
-                loan, LoanRepayment.RepaymentStatus.PENDING);
-        loan.setRemainingTenure((int) pendingInstallments);
-        
+        loan.setOutstandingBalance(loan.getOutstandingBalance().subtract(amountApplied));
+
+        // Update installment counters and remaining tenure without counting repayment rows
+        updateInstallmentCounters(loan, previousStatus, repayment.getStatus());
+        loan.setRemainingTenure(loan.getPendingInstallments());
+        return allocation;
+    }
+
+    /**
+     * Amount already paid towards an installment by earlier partial payments.
+     */
+    private BigDecimal previouslyPaid(LoanRepayment repayment) {
+        return repayment.getStatus() == LoanRepayment.RepaymentStatus.PARTIALLY_PAID
+                && repayment.getPaidAmount() != null ? repayment.getPaidAmount() : BigDecimal.ZERO;
+    }
+
+    /**
+     * Post a saved payment to the loan ledger.
+     */
+    private void recordInLedger(PersonalLoan loan, LoanRepayment saved, PaymentAllocation allocation) {
+        ledgerService.recordRepayment(loan, saved.getId(), allocation.interest(), allocation.principal(),
+                saved.getPaidDate());
+    }
+
+    /**
+     * Split of a payment between the interest and principal of an installment.
+     */
+    private record PaymentAllocation(BigDecimal interest, BigDecimal principal) {
+
+        BigDecimal amount() {
+            return interest.add(principal);
+        }
+    }
+
+    /**
+     * How the remaining installments are re-amortized after a part-prepayment.
+     */
+    public enum PrepaymentOption {
+        REDUCE_EMI,   // Keep the number of installments, lower the EMI
+        REDUCE_TENURE // Keep the EMI, drop installments from the end
+    }
+
+    /**
+     * Prepay part of a loan's principal and re-amortize its remaining installments.
+     * Only the unpaid installments are rewritten: stored rows are updated in one batch and
+     * installments dropped from the end are deleted in one statement. A virtual schedule can no
+     * longer be recomputed from the loan terms afterwards, so its remaining installments are
+     * stored and the loan switches to a materialized schedule.
+     *
+     * @param loanId the loan ID
+     * @param amount the amount prepaid against principal
+     * @param option whether to lower the EMI or shorten the tenure
+     * @param paymentMode the payment mode, may be null
+     * @return the prepayment and the re-amortized terms
+     * @throws LoanNotFoundException if loan not found
+     * @throws InvalidLoanOperationException if the loan is not active or is behind on its installments
+     * @throws InvalidRepaymentException if the amount is not positive or would clear the principal
+     */
+    @LoanLocked
+    @Transactional
+    public PrepaymentResponse prepayLoan(UUID loanId, BigDecimal amount, PrepaymentOption option, String paymentMode) {
+        log.info("Processing prepayment for Loan ID: {}, Amount: {}, Option: {}, Mode: {}",
+                loanId, amount, option, paymentMode);
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new InvalidRepaymentException("Prepayment amount must be greater than zero");
+        }
+
+        PersonalLoan loan = loanRepository.findByIdForUpdate(loanId)
+                .orElseThrow(() -> new LoanNotFoundException("Loan not found with ID: " + loanId));
+        requireCurrentLoan(loan);
+
+        int nextDue = loan.getNextDueInstallment();
+        RemainingBalance remaining = remainingBalance(loan);
+        if (amount.compareTo(remaining.principal()) >= 0) {
+            throw new InvalidRepaymentException("Prepayment must be less than the outstanding principal of "
+                    + remaining.principal() + "; foreclose the loan instead");
+        }
+
+        BigDecimal principal = remaining.principal().subtract(amount);
+        BigDecimal monthlyEMI = loan.getMonthlyEMI();
+        int installments = remaining.installments();
+        if (option == PrepaymentOption.REDUCE_EMI) {
+            monthlyEMI = emiCalculationService.quoteEMI(EMICalculationRequest.builder()
+                    .principalAmount(principal)
+                    .annualInterestRate(loan.getAnnualInterestRate())
+                    .tenureMonths(installments)
+                    .build()).getMonthlyEMI();
+        } else {
+            installments = installmentsToRepay(principal, loan.getAnnualInterestRate(), monthlyEMI, installments);
+        }
+
+        List<RepaymentScheduleEntry> schedule = new ArrayList<>(installments);
+        new RepaymentScheduleCalculator(principal, loan.getAnnualInterestRate(), installments, monthlyEMI,
+                dueDateOf(loan, nextDue), nextDue).forEachRemaining(schedule::add);
+        BigDecimal interest = schedule.stream()
+                .map(RepaymentScheduleEntry::getInterestAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        int lastInstallment = nextDue - 1 + installments;
+        if (isVirtual(loan)) {
+            scheduleWriter.writeInstallments(loanId, schedule.iterator(), LoanRepayment.RepaymentStatus.PENDING);
+            loan.setScheduleMode(PersonalLoan.ScheduleMode.MATERIALIZED);
+        } else {
+            scheduleWriter.rewriteInstallments(loanId, schedule);
+            if (lastInstallment < loan.getLoanTenureMonths()) {
+                repaymentRepository.deleteByLoanIdAndInstallmentNumberAfter(loanId, lastInstallment);
+            }
+        }
+
+        BigDecimal interestSaved = remaining.interest().subtract(interest);
+        LocalDateTime paidDate = LocalDateTime.now();
+        loan.setMonthlyEMI(monthlyEMI);
+        loan.setLoanTenureMonths(lastInstallment);
+        loan.setPendingInstallments(installments);
+        loan.setRemainingTenure(installments);
+        loan.setOutstandingBalance(loan.getOutstandingBalance().subtract(amount));
+        if (loan.getTotalInterestPayable() != null) {
+            loan.setTotalInterestPayable(loan.getTotalInterestPayable().subtract(interestSaved));
+        }
+        ledgerService.recordRepayment(loan, null, BigDecimal.ZERO, amount, paidDate);
+        portfolioSummary.recordOutstandingChange(loan.getStatus(), amount.negate());
         loanRepository.save(loan);
 
-        log.info("Repayment processed successfully. Outstanding balance: {}", loan.getOutstandingBalance());
-        return mapToRepaymentResponse(updatedRepayment);
+        log.info("Prepayment applied. Loan ID: {}, EMI: {}, Remaining installments: {}", loanId, monthlyEMI, installments);
+        return PrepaymentResponse.builder()
+                .loanId(loanId.toString())
+                .amountPaid(amount)
+                .option(option.toString())
+                .outstandingPrincipal(principal)
+                .monthlyEMI(monthlyEMI)
+                .remainingInstallments(installments)
+                .loanTenureMonths(lastInstallment)
+                .interestSaved(interestSaved)
+                .paidDate(paidDate)
+                .build();
+    }
+
+    /**
+     * Foreclose a loan by paying off its outstanding principal and the interest accrued so far.
+     * The first unpaid installment becomes the settlement installment carrying the payoff and the
+     * installments after it are deleted in one statement; the loan is closed.
+     *
+     * @param loanId the loan ID
+     * @param amountPaid the amount being paid, at least the payoff amount
+     * @param paymentMode the payment mode, may be null
+     * @param transactionReference the payment transaction reference, may be null
+     * @return the settlement installment, or the original one for a retried foreclosure
+     * @throws LoanNotFoundException if loan not found
+     * @throws InvalidLoanOperationException if the loan is not active or is behind on its installments
+     * @throws InvalidRepaymentException if the amount does not cover the payoff, or the transaction
+     *                                   reference was already used for another loan
+     */
+    @LoanLocked
+    @Transactional
+    public RepaymentResponse forecloseLoan(UUID loanId, BigDecimal amountPaid, String paymentMode,
+                                           String transactionReference) {
+        String reference = normalizeReference(transactionReference);
+        if (reference != null) {
+            RepaymentResponse original = findProcessedPayment(reference);
+            if (original != null) {
+                if (!loanId.toString().equals(original.getLoanId())) {
+                    throw new InvalidRepaymentException("Transaction reference " + reference
+                            + " was already used for another loan");
+                }
+                log.info("Payment {} already processed for Loan ID: {}, returning original result", reference, loanId);
+                return original;
+            }
+        }
+        log.info("Processing foreclosure for Loan ID: {}, Amount: {}", loanId, amountPaid);
+
+        PersonalLoan loan = loanRepository.findByIdForUpdate(loanId)
+                .orElseThrow(() -> new LoanNotFoundException("Loan not found with ID: " + loanId));
+        requireCurrentLoan(loan);
+
+        LocalDateTime paidDate = LocalDateTime.now();
+        int nextDue = loan.getNextDueInstallment();
+        RemainingBalance remaining = remainingBalance(loan);
+        BigDecimal accruedInterest = accruedInterest(loan, remaining.principal(), paidDate);
+        BigDecimal payoff = remaining.principal().add(accruedInterest);
+        if (amountPaid == null || amountPaid.compareTo(payoff) < 0) {
+            throw new InvalidRepaymentException("Foreclosure requires the payoff amount of " + payoff);
+        }
+        if (amountPaid.compareTo(payoff) > 0) {
+            log.warn("Payment amount {} exceeds payoff amount {}", amountPaid, payoff);
+        }
+
+        LoanRepayment settlement;
+        if (isVirtual(loan)) {
+            settlement = toRepayment(loan, virtualInstallment(loan, nextDue));
+        } else {
+            settlement = repaymentRepository.findByLoanAndInstallmentNumber(loan, nextDue)
+                    .orElseThrow(() -> new InvalidRepaymentException(
+                            "Repayment not found for Loan ID: " + loanId + ", Installment: " + nextDue));
+            if (nextDue < loan.getLoanTenureMonths()) {
+                repaymentRepository.deleteByLoanIdAndInstallmentNumberAfter(loanId, nextDue);
+            }
+        }
+        settlement.setPrincipalAmount(remaining.principal());
+        settlement.setInterestAmount(accruedInterest);
+        settlement.setTotalAmount(payoff);
+        settlement.setPaidAmount(payoff);
+        settlement.setStatus(LoanRepayment.RepaymentStatus.PAID);
+        settlement.setPaidDate(paidDate);
+        if (paymentMode != null) {
+            settlement.setPaymentMode(paymentMode);
+        }
+        if (reference != null && settlement.getTransactionReference() == null) {
+            settlement.setTransactionReference(reference);
+        }
+        LoanRepayment saved = repaymentRepository.save(settlement);
+
+        loan.setLoanTenureMonths(nextDue);
+        loan.setPaidInstallments(loan.getPaidInstallments() + 1);
+        loan.setPendingInstallments(0);
+        loan.setRemainingTenure(0);
+        loan.setNextDueInstallment(null);
+        loan.setOutstandingBalance(loan.getOutstandingBalance().subtract(payoff));
+        if (loan.getTotalInterestPayable() != null) {
+            loan.setTotalInterestPayable(loan.getTotalInterestPayable()
+                    .subtract(remaining.interest().subtract(accruedInterest)));
+        }
+        loan.setStatus(PersonalLoan.LoanStatus.CLOSED);
+        loan.setClosedAt(paidDate);
+        ledgerService.recordRepayment(loan, saved.getId(), accruedInterest, remaining.principal(), paidDate);
+        portfolioSummary.recordOutstandingChange(PersonalLoan.LoanStatus.ACTIVE, payoff.negate());
+        portfolioSummary.recordStatusChange(loan, PersonalLoan.LoanStatus.ACTIVE);
+        loanRepository.save(loan);
+
+        log.info("Loan foreclosed. Loan ID: {}, Payoff: {}", loanId, payoff);
+        RepaymentResponse response = mapToRepaymentResponse(saved);
+        if (reference != null) {
+            recordProcessedPayment(loan, reference, PaymentTransaction.PaymentType.FORECLOSURE,
+                    nextDue, payoff, response);
+        }
+        return response;
+    }
+
+    /**
+     * Quote the amount that would foreclose a loan now, without changing anything.
+     * Reads the loan and one aggregate over its remaining installments; a virtual schedule is
+     * computed in memory instead.
+     *
+     * @param loanId the loan ID
+     * @return the payoff quote
+     * @throws LoanNotFoundException if loan not found
+     * @throws InvalidLoanOperationException if the loan is not active or is behind on its installments
+     */
+    @Transactional(readOnly = true)
+    public PayoffQuoteResponse getPayoffQuote(UUID loanId) {
+        log.info("Quoting payoff for Loan ID: {}", loanId);
+
+        PersonalLoan loan = loanRepository.findById(loanId)
+                .orElseThrow(() -> new LoanNotFoundException("Loan not found with ID: " + loanId));
+        requireCurrentLoan(loan);
+
+        LocalDateTime now = LocalDateTime.now();
+        RemainingBalance remaining = remainingBalance(loan);
+        BigDecimal accruedInterest = accruedInterest(loan, remaining.principal(), now);
+        return PayoffQuoteResponse.builder()
+                .loanId(loanId.toString())
+                .quotedAt(now)
+                .nextDueInstallment(loan.getNextDueInstallment())
+                .outstandingPrincipal(remaining.principal())
+                .accruedInterest(accruedInterest)
+                .payoffAmount(remaining.principal().add(accruedInterest))
+                .remainingInstallments(remaining.installments())
+                .interestSaved(remaining.interest().subtract(accruedInterest))
+                .build();
+    }
+
+    /**
+     * Require a loan whose unpaid installments are exactly its not-yet-due tail: active, with every
+     * installment before the next due one paid, none paid ahead or in part, and nothing past due.
+     *
+     * @param loan the loan
+     * @throws InvalidLoanOperationException if the loan does not qualify
+     */
+    private void requireCurrentLoan(PersonalLoan loan) {
+        if (loan.getStatus() != PersonalLoan.LoanStatus.ACTIVE || loan.getNextDueInstallment() == null) {
+            throw new InvalidLoanOperationException("Only active loans with unpaid installments can be prepaid. Current status: "
+                    + loan.getStatus());
+        }
+        int nextDue = loan.getNextDueInstallment();
+        if (loan.getPartiallyPaidInstallments() > 0 || loan.getPaidInstallments() != nextDue - 1) {
+            throw new InvalidLoanOperationException("Loan " + loan.getId()
+                    + " has installments paid in part or out of order; settle them before prepaying");
+        }
+        if (dueDateOf(loan, nextDue).isBefore(LocalDateTime.now())) {
+            throw new InvalidLoanOperationException("Loan " + loan.getId()
+                    + " has overdue installments; pay them before prepaying");
+        }
+    }
+
+    /**
+     * Sum the principal and interest scheduled on a loan's unpaid installments, from the next due one.
+     */
+    private RemainingBalance remainingBalance(PersonalLoan loan) {
+        int nextDue = loan.getNextDueInstallment();
+        if (!isVirtual(loan)) {
+            LoanRepaymentRepository.RemainingSchedule stored =
+                    repaymentRepository.sumRemainingByLoanId(loan.getId(), nextDue);
+            return new RemainingBalance(stored.getPrincipal(), stored.getInterest(), stored.getInstallments().intValue());
+        }
+
+        BigDecimal principal = BigDecimal.ZERO;
+        BigDecimal interest = BigDecimal.ZERO;
+        RepaymentScheduleCalculator schedule = RepaymentScheduleCalculator.forLoan(loan);
+        while (schedule.hasNext()) {
+            RepaymentScheduleEntry entry = schedule.next();
+            if (entry.getInstallmentNumber() >= nextDue) {
+                principal = principal.add(entry.getPrincipalAmount());
+                interest = interest.add(entry.getInterestAmount());
+            }
+        }
+        return new RemainingBalance(principal, interest, loan.getLoanTenureMonths() - nextDue + 1);
+    }
+
+    /**
+     * Interest accrued on the outstanding principal since the previous due date, pro rata by day.
+     */
+    private BigDecimal accruedInterest(PersonalLoan loan, BigDecimal principal, LocalDateTime asOf) {
+        int nextDue = loan.getNextDueInstallment();
+        LocalDateTime periodStart = nextDue == 1 ? loan.getDisbursedAt() : dueDateOf(loan, nextDue - 1);
+        long periodDays = ChronoUnit.DAYS.between(periodStart, dueDateOf(loan, nextDue));
+        long elapsedDays = Math.min(periodDays, Math.max(0, ChronoUnit.DAYS.between(periodStart, asOf)));
+        if (periodDays <= 0 || elapsedDays == 0) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        return principal.multiply(RepaymentScheduleCalculator.monthlyRate(loan.getAnnualInterestRate()))
+                .multiply(BigDecimal.valueOf(elapsedDays))
+                .divide(BigDecimal.valueOf(periodDays), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Count the installments needed to repay a principal at an EMI, applying the schedule's own
+     * rounding so the last installment clears the balance exactly as the schedule will.
+     *
+     * @throws InvalidRepaymentException if the EMI does not cover the monthly interest
+     */
+    private int installmentsToRepay(BigDecimal principal, BigDecimal annualRate, BigDecimal monthlyEMI,
+                                    int maxInstallments) {
+        BigDecimal monthlyRate = RepaymentScheduleCalculator.monthlyRate(annualRate);
+        BigDecimal balance = principal;
+        int installments = 0;
+        while (balance.signum() > 0 && installments < maxInstallments) {
+            BigDecimal interest = balance.multiply(monthlyRate).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal principalPart = monthlyEMI.subtract(interest);
+            if (principalPart.signum() <= 0) {
+                throw new InvalidRepaymentException("EMI of " + monthlyEMI + " does not cover the monthly interest");
+            }
+            balance = balance.subtract(principalPart);
+            installments++;
+        }
+        return installments;
+    }
+
+    private LocalDateTime dueDateOf(PersonalLoan loan, int installmentNumber) {
+        return RepaymentScheduleCalculator.firstDueDate(loan.getDisbursedAt()).plusMonths(installmentNumber - 1L);
+    }
+
+    /**
+     * Principal and interest scheduled on a loan's unpaid installments.
+     */
+    private record RemainingBalance(BigDecimal principal, BigDecimal interest, int installments) {
     }
 
     /**
@@ -100,10 +1027,9 @@ public class LoanRepaymentService {
         PersonalLoan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new LoanNotFoundException("Loan not found with ID: " + loanId));
         
-        LoanRepayment repayment = repaymentRepository.findByLoanAndInstallmentNumber(loan, installmentNumber)
-                .orElseThrow(() -> new InvalidRepaymentException(
-                        "Repayment not found for Loan ID: " + loanId + ", Installment: " + installmentNumber));
-        return mapToRepaymentResponse(repayment);
+        return repaymentRepository.findByLoanAndInstallmentNumber(loan, installmentNumber)
+                .map(this::mapToRepaymentResponse)
+                .orElseGet(() -> mapToRepaymentResponse(loan.getId(), virtualInstallment(loan, installmentNumber)));
     }
 
     /**
@@ -113,15 +1039,17 @@ public class LoanRepaymentService {
      * @return list of repayments for the loan
      * @throws LoanNotFoundException if loan not found
      */
+    @Transactional(readOnly = true)
     public List<RepaymentResponse> getRepaymentsByLoanId(UUID loanId) {
         log.info("Retrieving all repayments for Loan ID: {}", loanId);
-        
-        // Verify loan exists
-        PersonalLoan loan = loanRepository.findById(loanId)
-                .orElseThrow(() -> new LoanNotFoundException("Loan not found with ID: " + loanId));
 
-        return repaymentRepository.findByLoan(loan).stream()
-                .map(this::mapToRepaymentResponse)
+        // Verify loan exists, reading only what a virtual schedule needs
+        PersonalLoanRepository.ScheduleTerms terms = findScheduleTerms(loanId);
+        if (terms.getScheduleMode() == PersonalLoan.ScheduleMode.VIRTUAL) {
+            return virtualSchedule(loanId, terms, false);
+        }
+        return repaymentRepository.findViewsByLoanId(loanId).stream()
+                .map(view -> mapToRepaymentResponse(loanId, view))
                 .collect(Collectors.toList());
     }
 
@@ -130,29 +1058,238 @@ public class LoanRepaymentService {
      *
      * @param loanId the loan ID
      * @return list of pending repayments
+     * @throws LoanNotFoundException if loan not found
      */
+    @Transactional(readOnly = true)
     public List<RepaymentResponse> getPendingRepaymentsByLoanId(UUID loanId) {
         log.info("Retrieving pending repayments for Loan ID: {}", loanId);
-        
-        PersonalLoan loan = loanRepository.findById(loanId)
-                .orElseThrow(() -> new LoanNotFoundException("Loan not found with ID: " + loanId));
-        
-        return repaymentRepository.findByLoan(loan).stream()
-                .filter(r -> r.getStatus().equals(LoanRepayment.RepaymentStatus.PENDING))
-                .map(this::mapToRepaymentResponse)
+
+        PersonalLoanRepository.ScheduleTerms terms = findScheduleTerms(loanId);
+        if (terms.getScheduleMode() == PersonalLoan.ScheduleMode.VIRTUAL) {
+            return virtualSchedule(loanId, terms, true);
+        }
+        return repaymentRepository.findViewsByLoanIdAndStatus(loanId, LoanRepayment.RepaymentStatus.PENDING).stream()
+                .map(view -> mapToRepaymentResponse(loanId, view))
                 .collect(Collectors.toList());
     }
 
+    private PersonalLoanRepository.ScheduleTerms findScheduleTerms(UUID loanId) {
+        return loanRepository.findScheduleTermsById(loanId)
+                .orElseThrow(() -> new LoanNotFoundException("Loan not found with ID: " + loanId));
+    }
+
     /**
-     * Get overdue repayments across all loans.
+     * Get one page of overdue repayments across all loans, oldest due first.
+     * Pages are read by seeking past the (due date, ID) of the previous page's last row, so
+     * every page costs the same however deep the listing goes, and rows are read as
+     * projections rather than entities.
      *
-     * @return list of overdue repayments
+     * @param dueFrom earliest due date to include, or null for no lower bound
+     * @param dueTo latest due date to include, or null for no upper bound
+     * @param minDaysPastDue minimum whole days past due, or null for any
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param size the maximum number of installments to return
+     * @return the page of overdue repayments with the cursor of the next page
+     * @throws IllegalArgumentException if the page size, days past due or cursor is invalid
      */
-    public List<RepaymentResponse> getOverdueRepayments() {
-        log.info("Retrieving all overdue repayments");
-        return repaymentRepository.findOverdueRepayments().stream()
-                .map(this::mapToRepaymentResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public OverdueRepaymentPage getOverdueRepayments(LocalDate dueFrom, LocalDate dueTo, Integer minDaysPastDue,
+                                                     String after, int size) {
+        if (size <= 0 || size > MAX_OVERDUE_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_OVERDUE_PAGE_SIZE);
+        }
+        if (minDaysPastDue != null && minDaysPastDue < 0) {
+            throw new IllegalArgumentException("Minimum days past due cannot be negative");
+        }
+        log.info("Retrieving overdue repayments - Due: {} to {}, Min days past due: {}, Size: {}",
+                dueFrom, dueTo, minDaysPastDue, size);
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime dueBefore = now;
+        if (dueTo != null && dueTo.plusDays(1).atStartOfDay().isBefore(dueBefore)) {
+            dueBefore = dueTo.plusDays(1).atStartOfDay();
+        }
+        if (minDaysPastDue != null && now.minusDays(minDaysPastDue).isBefore(dueBefore)) {
+            dueBefore = now.minusDays(minDaysPastDue);
+        }
+
+        // One extra row tells whether another page follows
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<LoanRepaymentRepository.DueInstallment> rows;
+        if (after == null || after.isBlank()) {
+            LocalDateTime from = dueFrom != null ? dueFrom.atStartOfDay() : EARLIEST_DUE_DATE;
+            rows = repaymentRepository.findDueInstallments(LoanRepayment.RepaymentStatus.OVERDUE, from, dueBefore, limit);
+        } else {
+            // The cursor already lies at or after dueFrom, so only the seek condition is needed
+            OverdueCursor cursor = OverdueCursor.decode(after);
+            rows = repaymentRepository.findDueInstallmentsAfter(LoanRepayment.RepaymentStatus.OVERDUE, dueBefore,
+                    cursor.dueDate(), cursor.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<OverdueRepaymentResponse> items = rows.subList(0, Math.min(size, rows.size())).stream()
+                .map(row -> OverdueRepaymentResponse.builder()
+                        .id(row.getId().toString())
+                        .loanId(row.getLoanId().toString())
+                        .installmentNumber(row.getInstallmentNumber())
+                        .totalAmount(row.getTotalAmount())
+                        .paidAmount(row.getPaidAmount())
+                        .dueDate(row.getDueDate())
+                        .daysPastDue(ChronoUnit.DAYS.between(row.getDueDate(), now))
+                        .build())
+                .toList();
+        String nextCursor = null;
+        if (hasMore) {
+            LoanRepaymentRepository.DueInstallment last = rows.get(size - 1);
+            nextCursor = new OverdueCursor(last.getDueDate(), last.getId()).encode();
+        }
+
+        return OverdueRepaymentPage.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Position in the overdue listing, passed to clients as an opaque URL-safe string.
+     */
+    private record OverdueCursor(LocalDateTime dueDate, UUID id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((dueDate + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static OverdueCursor decode(String cursor) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf('|');
+                return new OverdueCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                        UUID.fromString(decoded.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid overdue listing cursor: " + cursor);
+            }
+        }
+    }
+
+    /**
+     * Apply an installment status change to the loan's counters.
+     *
+     * @param loan the loan whose counters to update
+     * @param previousStatus the installment status before the payment
+     * @param newStatus the installment status after the payment
+     */
+    private void updateInstallmentCounters(PersonalLoan loan, LoanRepayment.RepaymentStatus previousStatus,
+                                           LoanRepayment.RepaymentStatus newStatus) {
+        if (previousStatus == LoanRepayment.RepaymentStatus.PENDING
+                || previousStatus == LoanRepayment.RepaymentStatus.OVERDUE) {
+            loan.setPendingInstallments(Math.max(0, loan.getPendingInstallments() - 1));
+        } else if (previousStatus == LoanRepayment.RepaymentStatus.PARTIALLY_PAID) {
+            loan.setPartiallyPaidInstallments(Math.max(0, loan.getPartiallyPaidInstallments() - 1));
+        }
+
+        if (newStatus == LoanRepayment.RepaymentStatus.PARTIALLY_PAID) {
+            loan.setPartiallyPaidInstallments(loan.getPartiallyPaidInstallments() + 1);
+            return;
+        }
+
+        loan.setPaidInstallments(loan.getPaidInstallments() + 1);
+    }
+
+    /**
+     * Advance the loan's next due installment after an installment was paid in full.
+     * The next due installment advances past the paid one; only when later installments were
+     * already paid out of order are the paid installment numbers read to find the next gap.
+     *
+     * @param loan the loan
+     * @param installmentNumber the installment that was paid
+     */
+    private void advanceNextDueInstallment(PersonalLoan loan, Integer installmentNumber) {
+        if (!installmentNumber.equals(loan.getNextDueInstallment())) {
+            return;
+        }
+        // Every installment before this one is paid, so any further paid ones lie after it
+        int nextDue = installmentNumber + 1;
+        if (loan.getPaidInstallments() > installmentNumber) {
+            for (Integer paid : repaymentRepository.findInstallmentNumbersByLoanAndStatusAfter(
+                    loan, LoanRepayment.RepaymentStatus.PAID, installmentNumber)) {
+                if (paid != nextDue) {
+                    break;
+                }
+                nextDue++;
+            }
+        }
+        loan.setNextDueInstallment(nextDue > loan.getLoanTenureMonths() ? null : nextDue);
+    }
+
+    private boolean isVirtual(PersonalLoan loan) {
+        return loan.getScheduleMode() == PersonalLoan.ScheduleMode.VIRTUAL;
+    }
+
+    /**
+     * Merge stored installments of a virtual-schedule loan with the computed ones, in installment order.
+     *
+     * @param loanId the loan ID
+     * @param terms the terms of the loan, which has a VIRTUAL schedule
+     * @param pendingOnly whether to return only pending installments
+     * @return the repayments
+     */
+    private List<RepaymentResponse> virtualSchedule(UUID loanId, PersonalLoanRepository.ScheduleTerms terms,
+                                                    boolean pendingOnly) {
+        Map<Integer, LoanRepaymentRepository.RepaymentView> stored = repaymentRepository.findViewsByLoanId(loanId).stream()
+                .collect(Collectors.toMap(LoanRepaymentRepository.RepaymentView::getInstallmentNumber, Function.identity()));
+
+        List<RepaymentResponse> responses = new ArrayList<>(terms.getLoanTenureMonths());
+        RepaymentScheduleCalculator schedule = new RepaymentScheduleCalculator(terms.getPrincipalAmount(),
+                terms.getAnnualInterestRate(), terms.getLoanTenureMonths(), terms.getMonthlyEMI(),
+                RepaymentScheduleCalculator.firstDueDate(terms.getDisbursedAt()));
+        while (schedule.hasNext()) {
+            RepaymentScheduleEntry entry = schedule.next();
+            LoanRepaymentRepository.RepaymentView repayment = stored.get(entry.getInstallmentNumber());
+            if (repayment == null) {
+                responses.add(mapToRepaymentResponse(loanId, entry));
+            } else if (!pendingOnly || repayment.getStatus() == LoanRepayment.RepaymentStatus.PENDING) {
+                responses.add(mapToRepaymentResponse(loanId, repayment));
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Compute a not-yet-stored installment of a virtual-schedule loan.
+     *
+     * @param loan the loan
+     * @param installmentNumber the installment number
+     * @return the computed installment
+     * @throws InvalidRepaymentException if the loan has no virtual schedule or the installment does not exist
+     */
+    private RepaymentScheduleEntry virtualInstallment(PersonalLoan loan, Integer installmentNumber) {
+        if (!isVirtual(loan) || loan.getDisbursedAt() == null
+                || installmentNumber < 1 || installmentNumber > loan.getLoanTenureMonths()) {
+            throw new InvalidRepaymentException(
+                    "Repayment not found for Loan ID: " + loan.getId() + ", Installment: " + installmentNumber);
+        }
+
+        RepaymentScheduleCalculator schedule = RepaymentScheduleCalculator.forLoan(loan);
+        RepaymentScheduleEntry entry = schedule.next();
+        while (entry.getInstallmentNumber() < installmentNumber) {
+            entry = schedule.next();
+        }
+        return entry;
+    }
+
+    private LoanRepayment toRepayment(PersonalLoan loan, RepaymentScheduleEntry entry) {
+        return LoanRepayment.builder()
+                .loan(loan)
+                .installmentNumber(entry.getInstallmentNumber())
+                .principalAmount(entry.getPrincipalAmount())
+                .interestAmount(entry.getInterestAmount())
+                .totalAmount(entry.getTotalAmount())
+                .status(LoanRepayment.RepaymentStatus.PENDING)
+                .dueDate(entry.getDueDate())
+                .createdAt(LocalDateTime.now())
+                .build();
     }
 
     /**
@@ -163,12 +1300,12 @@ public class LoanRepaymentService {
      * @throws InvalidRepaymentException if repayment validation fails
      */
     private void validateRepaymentProcessing(LoanRepayment repayment, BigDecimal amountPaid) {
-        if (amountPaid.compareTo(BigDecimal.ZERO) <= 0) {
+        if (amountPaid == null || amountPaid.compareTo(BigDecimal.ZERO) <= 0) {
             throw new InvalidRepaymentException("Payment amount must be greater than zero");
         }
 
-        if (amountPaid.compareTo(repayment.getTotalAmount()) > 0) {
-            log.warn("Payment amount {} exceeds due amount {}", amountPaid, repayment.getTotalAmount());
+        if (amountPaid.compareTo(amountDue(repayment)) > 0) {
+            log.warn("Payment amount {} exceeds due amount {}", amountPaid, amountDue(repayment));
         }
 
         if (repayment.getStatus().equals(LoanRepayment.RepaymentStatus.PAID)) {
@@ -199,4 +1336,40 @@ public class LoanRepaymentService {
                 .build();
     }
 
+    /**
+     * Map a stored repayment projection to RepaymentResponse DTO.
+     */
+    private RepaymentResponse mapToRepaymentResponse(UUID loanId, LoanRepaymentRepository.RepaymentView repayment) {
+        return RepaymentResponse.builder()
+                .id(repayment.getId().toString())
+                .loanId(loanId.toString())
+                .installmentNumber(repayment.getInstallmentNumber())
+                .principalAmount(repayment.getPrincipalAmount())
+                .interestAmount(repayment.getInterestAmount())
+                .totalAmount(repayment.getTotalAmount())
+                .paidAmount(repayment.getPaidAmount())
+                .status(repayment.getStatus().toString())
+                .dueDate(repayment.getDueDate())
+                .paidDate(repayment.getPaidDate())
+                .paymentMode(repayment.getPaymentMode())
+                .transactionReference(repayment.getTransactionReference())
+                .build();
+    }
+
+    /**
+     * Map a computed, not-yet-stored installment to RepaymentResponse DTO.
+     * Virtual installments have no repayment ID until they are paid.
+     */
+    private RepaymentResponse mapToRepaymentResponse(UUID loanId, RepaymentScheduleEntry entry) {
+        return RepaymentResponse.builder()
+                .loanId(loanId.toString())
+                .installmentNumber(entry.getInstallmentNumber())
+                .principalAmount(entry.getPrincipalAmount())
+                .interestAmount(entry.getInterestAmount())
+                .totalAmount(entry.getTotalAmount())
+                .status(LoanRepayment.RepaymentStatus.PENDING.toString())
+                .dueDate(entry.getDueDate())
+                .build();
+    }
+
 }
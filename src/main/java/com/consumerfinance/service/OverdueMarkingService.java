@@ -0,0 +1,226 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.domain.LoanRepayment;
+import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.dto.RepaymentScheduleEntry;
+import com.consumerfinance.repository.LoanRepaymentRepository;
+import com.consumerfinance.repository.PersonalLoanRepository;
+import com.consumerfinance.repository.RepaymentScheduleBatchWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduled job that moves installments past their due date from PENDING to OVERDUE.
+ * Stored installments are found through the (status, due_date) index a chunk at a time and
+ * updated with one set-based statement per chunk, each in its own transaction. Loans with a
+ * virtual schedule store no rows for unpaid installments, so their past-due installments are
+ * written as OVERDUE rows instead. Overdue installments still count as pending on the loan,
+ * so the installment counters are unaffected.
+ */
+@Slf4j
+@Service
+public class OverdueMarkingService {
+
+    private final LoanRepaymentRepository repaymentRepository;
+    private final PersonalLoanRepository loanRepository;
+    private final RepaymentScheduleBatchWriter scheduleWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration gracePeriod;
+    private final Counter scannedCounter;
+    private final Counter updatedCounter;
+    private final Counter storedCounter;
+    private final Timer runTimer;
+
+    public OverdueMarkingService(LoanRepaymentRepository repaymentRepository,
+                                 PersonalLoanRepository loanRepository,
+                                 RepaymentScheduleBatchWriter scheduleWriter,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${loan.overdue.chunk-size:1000}") int chunkSize,
+                                 @Value("${loan.overdue.grace-period:0d}") Duration gracePeriod) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Overdue marking chunk size must be positive");
+        }
+        this.repaymentRepository = repaymentRepository;
+        this.loanRepository = loanRepository;
+        this.scheduleWriter = scheduleWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.gracePeriod = gracePeriod;
+        this.scannedCounter = Counter.builder("loan.overdue.rows.scanned")
+                .description("PENDING installments past due read by the overdue-marking job")
+                .register(meterRegistry);
+        this.updatedCounter = Counter.builder("loan.overdue.rows.updated")
+                .description("Installments moved from PENDING to OVERDUE")
+                .register(meterRegistry);
+        this.storedCounter = Counter.builder("loan.overdue.rows.stored")
+                .description("Past-due installments of virtual schedules stored as OVERDUE")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("loan.overdue.run")
+                .description("Time taken by one run of the overdue-marking job")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Mark every installment whose due date has passed and is still unpaid as OVERDUE.
+     *
+     * @return the rows scanned, updated and stored by the run, with its elapsed time
+     */
+    @Scheduled(cron = "${loan.overdue.cron:0 5 0 * * *}")
+    public OverdueMarkingRun markOverdueInstallments() {
+        long start = System.nanoTime();
+        LocalDateTime dueBefore = LocalDateTime.now().minus(gracePeriod);
+
+        ChunkResult marked = markStoredInstallments(dueBefore);
+        int virtualStored = storeVirtualInstallments(dueBefore);
+
+        long elapsedNanos = System.nanoTime() - start;
+        runTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        OverdueMarkingRun run = new OverdueMarkingRun(marked.scanned(), marked.updated(), virtualStored,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        log.info("Overdue marking completed - Scanned: {}, Updated: {}, Virtual stored: {}, Elapsed: {} ms",
+                run.scanned(), run.updated(), run.stored(), run.elapsedMillis());
+        return run;
+    }
+
+    /**
+     * Update stored PENDING installments due before the cutoff, one chunk per transaction.
+     * Updated rows leave the PENDING range, so each chunk reads the head of the index again.
+     *
+     * @param dueBefore the due date cutoff
+     * @return the rows scanned and updated
+     */
+    private ChunkResult markStoredInstallments(LocalDateTime dueBefore) {
+        Pageable chunk = PageRequest.of(0, chunkSize);
+        int scanned = 0;
+        int updated = 0;
+        int read;
+        do {
+            ChunkResult result;
+            try {
+                result = transactionTemplate.execute(status -> {
+                    List<UUID> ids = repaymentRepository.findIdsByStatusAndDueDateBefore(
+                            LoanRepayment.RepaymentStatus.PENDING, dueBefore, chunk);
+                    if (ids.isEmpty()) {
+                        return new ChunkResult(0, 0);
+                    }
+                    return new ChunkResult(ids.size(), repaymentRepository.updateStatusByIds(ids,
+                            LoanRepayment.RepaymentStatus.PENDING, LoanRepayment.RepaymentStatus.OVERDUE));
+                });
+            } catch (DataAccessException e) {
+                // The same rows would be read again, so leave them for the next run
+                log.warn("Stopping overdue marking after {} rows: {}", updated, e.getMessage());
+                break;
+            }
+            read = result.scanned();
+            scanned += read;
+            updated += result.updated();
+            scannedCounter.increment(read);
+            updatedCounter.increment(result.updated());
+        } while (read == chunkSize);
+        return new ChunkResult(scanned, updated);
+    }
+
+    /**
+     * Store the past-due, never stored installments of active virtual-schedule loans as OVERDUE.
+     *
+     * @param dueBefore the due date cutoff
+     * @return the number of installments stored
+     */
+    private int storeVirtualInstallments(LocalDateTime dueBefore) {
+        int stored = 0;
+        Pageable pageable = PageRequest.of(0, chunkSize, Sort.by("id"));
+        boolean hasNext = true;
+        while (hasNext) {
+            Pageable current = pageable;
+            try {
+                SliceResult result = transactionTemplate.execute(status -> storeVirtualSlice(current, dueBefore));
+                stored += result.stored();
+                hasNext = result.hasNext();
+            } catch (DataAccessException e) {
+                log.warn("Skipping virtual overdue slice {} after conflict: {}", current.getPageNumber(), e.getMessage());
+            }
+            pageable = pageable.next();
+        }
+        storedCounter.increment(stored);
+        return stored;
+    }
+
+    private SliceResult storeVirtualSlice(Pageable pageable, LocalDateTime dueBefore) {
+        Slice<PersonalLoan> loans = loanRepository.findWithUnpaidInstallments(
+                PersonalLoan.LoanStatus.ACTIVE, PersonalLoan.ScheduleMode.VIRTUAL, pageable);
+
+        // The first unpaid installment falls due first, so loans where it is not yet due are skipped
+        List<PersonalLoan> pastDue = loans.filter(loan -> RepaymentScheduleCalculator.firstDueDate(loan.getDisbursedAt())
+                .plusMonths(loan.getNextDueInstallment() - 1L).isBefore(dueBefore)).toList();
+        if (pastDue.isEmpty()) {
+            return new SliceResult(0, loans.hasNext());
+        }
+
+        Map<UUID, BitSet> storedInstallments = new HashMap<>();
+        repaymentRepository.findInstallmentStatusesByLoanIds(pastDue.stream().map(PersonalLoan::getId).toList())
+                .forEach(row -> storedInstallments.computeIfAbsent(row.getLoanId(), id -> new BitSet())
+                        .set(row.getInstallmentNumber()));
+
+        int stored = 0;
+        for (PersonalLoan loan : pastDue) {
+            BitSet existing = storedInstallments.getOrDefault(loan.getId(), new BitSet());
+            List<RepaymentScheduleEntry> overdue = new ArrayList<>();
+            RepaymentScheduleCalculator schedule = RepaymentScheduleCalculator.forLoan(loan);
+            while (schedule.hasNext()) {
+                RepaymentScheduleEntry entry = schedule.next();
+                if (!entry.getDueDate().isBefore(dueBefore)) {
+                    break;
+                }
+                if (!existing.get(entry.getInstallmentNumber())) {
+                    overdue.add(entry);
+                }
+            }
+            if (!overdue.isEmpty()) {
+                stored += scheduleWriter.writeInstallments(loan.getId(), overdue.iterator(),
+                        LoanRepayment.RepaymentStatus.OVERDUE);
+            }
+        }
+        return new SliceResult(stored, loans.hasNext());
+    }
+
+    /**
+     * Outcome of one overdue-marking run.
+     *
+     * @param scanned stored PENDING installments past due that were read
+     * @param updated installments moved from PENDING to OVERDUE
+     * @param stored past-due installments of virtual schedules stored as OVERDUE
+     * @param elapsedMillis time taken by the run
+     */
+    public record OverdueMarkingRun(int scanned, int updated, int stored, long elapsedMillis) {
+    }
+
+    private record ChunkResult(int scanned, int updated) {
+    }
+
+    private record SliceResult(int stored, boolean hasNext) {
+    }
+
+}
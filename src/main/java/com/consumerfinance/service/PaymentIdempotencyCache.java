@@ -0,0 +1,79 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.dto.RepaymentResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+
+/**
+ * Bounded cache of recently processed payment transaction references.
+ * Gateway retries of a recent payment are answered from memory with the original response;
+ * older references fall through to the unique index on payment_transactions.transaction_reference.
+ * Hit, miss and eviction counts are published to Micrometer under the cache name {@value #CACHE_NAME}.
+ */
+@Slf4j
+@Component
+public class PaymentIdempotencyCache {
+
+    static final String CACHE_NAME = "paymentTransactionReferences";
+
+    private final Cache<String, RepaymentResponse> cache;
+
+    public PaymentIdempotencyCache(MeterRegistry meterRegistry,
+                                   @Value("${loan.repayment.idempotency.cache.max-size:100000}") long maxSize,
+                                   @Value("${loan.repayment.idempotency.cache.ttl:24h}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("Payment idempotency cache initialized with max size {} and TTL {}", maxSize, ttl);
+    }
+
+    /**
+     * Get the response of a recently processed payment.
+     *
+     * @param transactionReference the payment transaction reference
+     * @return the original response, or null if the reference is not cached
+     */
+    public RepaymentResponse get(String transactionReference) {
+        return cache.getIfPresent(transactionReference);
+    }
+
+    /**
+     * Remember the response of a processed payment.
+     * Inside a transaction the entry is only added once the transaction commits, so a rolled
+     * back payment is never replayed.
+     *
+     * @param transactionReference the payment transaction reference
+     * @param response the response returned for the payment
+     */
+    public void put(String transactionReference, RepaymentResponse response) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.put(transactionReference, response);
+                }
+            });
+        } else {
+            cache.put(transactionReference, response);
+        }
+    }
+
+    /**
+     * Remove all cached references.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+}
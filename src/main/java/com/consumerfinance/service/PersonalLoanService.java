@@ -1,19 +1,27 @@
 package com.consumerfinance.service;
 
-import com.consumerfinance.domain.LoanRepayment;
 import com.consumerfinance.domain.PersonalLoan;
 import com.consumerfinance.domain.Consumer;
-import com.consumerfinance.domain.PrincipalAccount;
+import com.consumerfinance.dto.ApprovalQueueItemResponse;
+import com.consumerfinance.dto.BulkDisbursalItemResponse;
 import com.consumerfinance.dto.CreateLoanRequest;
+import com.consumerfinance.dto.DisbursalStatusResponse;
+import com.consumerfinance.dto.LoanEligibilityResponse;
 import com.consumerfinance.dto.LoanResponse;
 import com.consumerfinance.dto.EMICalculationRequest;
+import com.consumerfinance.dto.RepaymentScheduleEntry;
 import com.consumerfinance.repository.*;
 import com.consumerfinance.exception.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -28,22 +36,36 @@ import java.util.stream.Collectors;
 @Transactional
 public class PersonalLoanService {
 
+    private static final int MAX_QUEUE_PAGE_SIZE = 200;
+    private static final LocalDateTime EARLIEST_CREATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final Set<String> QUEUE_SORT_PROPERTIES =
+            Set.of("createdAt", "principalAmount", "annualInterestRate", "loanTenureMonths");
+
     private final PersonalLoanRepository loanRepository;
     private final LoanRepaymentRepository repaymentRepository;
     private final EMICalculationService emiCalculationService;
     private final ConsumerRepository consumerRepository;
-    private final PrincipalAccountRepository principalAccountRepository;
+    private final RepaymentScheduleBatchWriter scheduleWriter;
+    private final LoanLedgerService ledgerService;
+    private final PortfolioSummaryService portfolioSummary;
+    private final PersonalLoan.ScheduleMode scheduleMode;
 
     public PersonalLoanService(PersonalLoanRepository loanRepository,
                              LoanRepaymentRepository repaymentRepository,
                              EMICalculationService emiCalculationService,
                              ConsumerRepository consumerRepository,
-                             PrincipalAccountRepository principalAccountRepository) {
+                             RepaymentScheduleBatchWriter scheduleWriter,
+                             LoanLedgerService ledgerService,
+                             PortfolioSummaryService portfolioSummary,
+                             @Value("${loan.repayment.schedule.mode:MATERIALIZED}") PersonalLoan.ScheduleMode scheduleMode) {
         this.loanRepository = loanRepository;
         this.repaymentRepository = repaymentRepository;
         this.emiCalculationService = emiCalculationService;
         this.consumerRepository = consumerRepository;
-        this.principalAccountRepository = principalAccountRepository;
+        this.scheduleWriter = scheduleWriter;
+        this.ledgerService = ledgerService;
+        this.portfolioSummary = portfolioSummary;
+        this.scheduleMode = Objects.requireNonNullElse(scheduleMode, PersonalLoan.ScheduleMode.MATERIALIZED);
     }
 
     /**
@@ -57,10 +79,8 @@ public class PersonalLoanService {
         log.info("Creating new personal loan for customer ID: {}, amount: {}", 
                 request.getCustomerId(), request.getPrincipalAmount());
 
-        Consumer consumer = consumerRepository.findById(UUID.fromString(request.getCustomerId()))
-                .orElseThrow(() -> new ConsumerNotFoundException("Consumer not found: " + request.getCustomerId()));
-
-        validateLoanEligibility(consumer, request);
+        UUID consumerId = UUID.fromString(request.getCustomerId());
+        validateLoanEligibility(findLoanEligibility(consumerId), request);
 
         var emiRequest = EMICalculationRequest.builder()
                 .principalAmount(request.getPrincipalAmount())
@@ -70,8 +90,9 @@ public class PersonalLoanService {
         
         var emiResponse = emiCalculationService.calculateEMI(emiRequest);
 
+        // Eligibility already proved the consumer exists, so a reference avoids loading it
         PersonalLoan loan = PersonalLoan.builder()
-                .consumer(consumer)
+                .consumer(consumerRepository.getReferenceById(consumerId))
                 .principalAmount(request.getPrincipalAmount())
                 .annualInterestRate(request.getAnnualInterestRate())
                 .loanTenureMonths(request.getLoanTenureMonths())
@@ -85,6 +106,7 @@ public class PersonalLoanService {
                 .build();
 
         PersonalLoan savedLoan = loanRepository.save(loan);
+        portfolioSummary.recordNewLoan(savedLoan);
         log.info("Personal loan created with ID: {}", savedLoan.getId());
 
         return mapToLoanResponse(savedLoan);
@@ -113,6 +135,7 @@ public class PersonalLoanService {
         loan.setApprovedAt(LocalDateTime.now());
         loan.setApprovalRemarks(approvalRemarks);
         loan.setUpdatedAt(LocalDateTime.now());
+        portfolioSummary.recordStatusChange(loan, PersonalLoan.LoanStatus.PENDING);
 
         PersonalLoan updatedLoan = loanRepository.save(loan);
         log.info("Loan approved successfully: {}", loanId);
@@ -143,6 +166,7 @@ public class PersonalLoanService {
         loan.setRejectedAt(LocalDateTime.now());
         loan.setRejectionReason(rejectionReason);
         loan.setUpdatedAt(LocalDateTime.now());
+        portfolioSummary.recordStatusChange(loan, PersonalLoan.LoanStatus.PENDING);
 
         PersonalLoan updatedLoan = loanRepository.save(loan);
         log.info("Loan rejected successfully: {}", loanId);
@@ -160,21 +184,208 @@ public class PersonalLoanService {
     public LoanResponse disburseLoan(UUID loanId) {
         log.info("Disbursing loan: {}", loanId);
 
+        PersonalLoan loan = findLoanInStatus(loanId, PersonalLoan.LoanStatus.APPROVED,
+                "Only approved loans can be disbursed");
+
+        return activateLoan(loan);
+    }
+
+    /**
+     * Disburse a chunk of loans in one transaction.
+     * The loans are loaded with a single query and their schedules computed in parallel; loans
+     * that are missing or not approved are reported as failed without affecting the rest.
+     *
+     * @param loanIds the loan IDs to disburse, without duplicates
+     * @return per-loan results in the order of the given IDs
+     */
+    public List<BulkDisbursalItemResponse> disburseLoanChunk(List<UUID> loanIds) {
+        log.info("Disbursing chunk of {} loans", loanIds.size());
+
+        Map<UUID, PersonalLoan> loans = loanRepository.findAllById(loanIds).stream()
+                .collect(Collectors.toMap(PersonalLoan::getId, loan -> loan));
+
+        LocalDateTime disbursedAt = LocalDateTime.now();
+        Map<UUID, String> failures = new HashMap<>();
+        List<PersonalLoan> approved = new ArrayList<>(loanIds.size());
+        for (UUID loanId : loanIds) {
+            PersonalLoan loan = loans.get(loanId);
+            if (loan == null) {
+                failures.put(loanId, "Loan not found: " + loanId);
+            } else if (!PersonalLoan.LoanStatus.APPROVED.equals(loan.getStatus())) {
+                failures.put(loanId, "Only approved loans can be disbursed");
+            } else {
+                loan.setDisbursedAt(disbursedAt);
+                loan.setScheduleMode(scheduleMode);
+                resetInstallmentCounters(loan);
+                approved.add(loan);
+            }
+        }
+
+        if (scheduleMode == PersonalLoan.ScheduleMode.MATERIALIZED) {
+            List<List<RepaymentScheduleEntry>> schedules = approved.parallelStream()
+                    .map(loan -> {
+                        List<RepaymentScheduleEntry> entries = new ArrayList<>(loan.getLoanTenureMonths());
+                        RepaymentScheduleCalculator.forLoan(loan).forEachRemaining(entries::add);
+                        return entries;
+                    })
+                    .toList();
+            for (int i = 0; i < approved.size(); i++) {
+                scheduleWriter.writeSchedule(approved.get(i).getId(), schedules.get(i).iterator());
+            }
+        }
+
+        approved.forEach(loan -> {
+            loan.setStatus(PersonalLoan.LoanStatus.ACTIVE);
+            loan.setUpdatedAt(disbursedAt);
+        });
+        ledgerService.recordDisbursals(approved, disbursedAt);
+        portfolioSummary.recordStatusChanges(approved, PersonalLoan.LoanStatus.APPROVED);
+        portfolioSummary.recordDisbursals(approved, disbursedAt);
+        Map<UUID, LoanResponse> disbursed = loanRepository.saveAll(approved).stream()
+                .collect(Collectors.toMap(PersonalLoan::getId, this::mapToLoanResponse));
+
+        return loanIds.stream()
+                .map(loanId -> disbursed.containsKey(loanId)
+                        ? BulkDisbursalItemResponse.builder()
+                                .loanId(loanId.toString())
+                                .status("SUCCESS")
+                                .loan(disbursed.get(loanId))
+                                .build()
+                        : BulkDisbursalItemResponse.builder()
+                                .loanId(loanId.toString())
+                                .status("FAILED")
+                                .errorMessage(failures.get(loanId))
+                                .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Start an asynchronous disbursal by moving an approved loan to DISBURSING.
+     * The schedule is generated later by {@link #completeDisbursal(UUID)}.
+     *
+     * @param loanId the loan ID to disburse
+     * @return the loan details in DISBURSING status
+     */
+    public LoanResponse beginDisbursal(UUID loanId) {
+        log.info("Starting asynchronous disbursal for loan: {}", loanId);
+
+        PersonalLoan loan = findLoanInStatus(loanId, PersonalLoan.LoanStatus.APPROVED,
+                "Only approved loans can be disbursed");
+
+        loan.setStatus(PersonalLoan.LoanStatus.DISBURSING);
+        loan.setUpdatedAt(LocalDateTime.now());
+        portfolioSummary.recordStatusChange(loan, PersonalLoan.LoanStatus.APPROVED);
+
+        return mapToLoanResponse(loanRepository.save(loan));
+    }
+
+    /**
+     * Generate the repayment schedule for a DISBURSING loan and activate it.
+     *
+     * @param loanId the loan ID
+     * @return the disbursed loan details
+     */
+    public LoanResponse completeDisbursal(UUID loanId) {
+        log.info("Completing disbursal for loan: {}", loanId);
+
+        PersonalLoan loan = findLoanInStatus(loanId, PersonalLoan.LoanStatus.DISBURSING,
+                "Only loans being disbursed can complete disbursal");
+
+        return activateLoan(loan);
+    }
+
+    /**
+     * Return a DISBURSING loan to APPROVED after a failed asynchronous disbursal, so it can be retried.
+     *
+     * @param loanId the loan ID
+     */
+    public void abortDisbursal(UUID loanId) {
+        loanRepository.findById(loanId)
+                .filter(loan -> PersonalLoan.LoanStatus.DISBURSING.equals(loan.getStatus()))
+                .ifPresent(loan -> {
+                    log.warn("Aborting disbursal for loan: {}", loanId);
+                    loan.setStatus(PersonalLoan.LoanStatus.APPROVED);
+                    loan.setUpdatedAt(LocalDateTime.now());
+                    portfolioSummary.recordStatusChange(loan, PersonalLoan.LoanStatus.DISBURSING);
+                    loanRepository.save(loan);
+                });
+    }
+
+    /**
+     * Get the disbursal status of a loan.
+     *
+     * @param loanId the loan ID
+     * @return the disbursal status
+     */
+    @Transactional(readOnly = true)
+    public DisbursalStatusResponse getDisbursalStatus(UUID loanId) {
+        PersonalLoan loan = loanRepository.findById(loanId)
+                .orElseThrow(() -> new LoanNotFoundException("Loan not found: " + loanId));
+
+        return DisbursalStatusResponse.builder()
+                .loanId(loan.getId().toString())
+                .status(loan.getStatus().toString())
+                .scheduleMode(loan.getScheduleMode().toString())
+                .disbursedAt(loan.getDisbursedAt())
+                .updatedAt(loan.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Get the IDs of loans left in DISBURSING status, e.g. by a restart.
+     *
+     * @return the loan IDs
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> getDisbursingLoanIds() {
+        return loanRepository.findByStatus(PersonalLoan.LoanStatus.DISBURSING).stream()
+                .map(PersonalLoan::getId)
+                .collect(Collectors.toList());
+    }
+
+    private PersonalLoan findLoanInStatus(UUID loanId, PersonalLoan.LoanStatus status, String message) {
         PersonalLoan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new LoanNotFoundException("Loan not found: " + loanId));
 
-        if (!PersonalLoan.LoanStatus.APPROVED.equals(loan.getStatus())) {
+        if (!status.equals(loan.getStatus())) {
             log.warn("Disbursement attempted on loan with status: {}", loan.getStatus());
-            throw new InvalidLoanOperationException("Only approved loans can be disbursed");
+            throw new InvalidLoanOperationException(message);
         }
+        return loan;
+    }
 
-        generateRepaymentSchedule(loan);
+    /**
+     * Start the installment counters of a newly disbursed loan: every installment pending, the first one due.
+     */
+    private void resetInstallmentCounters(PersonalLoan loan) {
+        loan.setPaidInstallments(0);
+        loan.setPartiallyPaidInstallments(0);
+        loan.setPendingInstallments(loan.getLoanTenureMonths());
+        loan.setNextDueInstallment(1);
+        loan.setRemainingTenure(loan.getLoanTenureMonths());
+    }
+
+    /**
+     * Generate the repayment schedule and mark the loan ACTIVE.
+     */
+    private LoanResponse activateLoan(PersonalLoan loan) {
+        PersonalLoan.LoanStatus previousStatus = loan.getStatus();
+        LocalDateTime disbursedAt = LocalDateTime.now();
+        loan.setDisbursedAt(disbursedAt);
+        loan.setScheduleMode(scheduleMode);
+        resetInstallmentCounters(loan);
+        if (scheduleMode == PersonalLoan.ScheduleMode.MATERIALIZED) {
+            generateRepaymentSchedule(loan);
+        }
 
         loan.setStatus(PersonalLoan.LoanStatus.ACTIVE);
-        loan.setUpdatedAt(LocalDateTime.now());
+        loan.setUpdatedAt(disbursedAt);
+        ledgerService.recordDisbursals(List.of(loan), disbursedAt);
+        portfolioSummary.recordStatusChange(loan, previousStatus);
+        portfolioSummary.recordDisbursals(List.of(loan), disbursedAt);
 
         PersonalLoan updatedLoan = loanRepository.save(loan);
-        log.info("Loan disbursed successfully with repayment schedule: {}", loanId);
+        log.info("Loan disbursed successfully with {} repayment schedule: {}", scheduleMode, loan.getId());
 
         return mapToLoanResponse(updatedLoan);
     }
@@ -268,6 +479,7 @@ public class PersonalLoanService {
 
         loan.setStatus(PersonalLoan.LoanStatus.CLOSED);
         loan.setClosedAt(LocalDateTime.now());
+        portfolioSummary.recordStatusChange(loan, PersonalLoan.LoanStatus.ACTIVE);
         PersonalLoan updatedLoan = loanRepository.save(loan);
 
         log.info("Loan with ID: {} has been closed", loanId);
@@ -275,28 +487,66 @@ public class PersonalLoanService {
     }
 
     /**
-     * Validate loan eligibility constraints.
-     * T022: Implement eligibility validation
+     * Check whether a consumer may apply for a new loan, e.g. for pre-qualification.
+     * Reads the consumer, principal account and active-loan facts with one query.
+     *
+     * @param consumerId the consumer ID
+     * @return the eligibility with the facts it was decided on and any reasons against
+     * @throws ConsumerNotFoundException if consumer not found
      */
-    private void validateLoanEligibility(Consumer consumer, CreateLoanRequest request) {
-        log.debug("Validating loan eligibility for consumer: {}", consumer.getConsumerId());
+    @Transactional(readOnly = true)
+    public LoanEligibilityResponse checkEligibility(UUID consumerId) {
+        log.debug("Checking loan eligibility for consumer: {}", consumerId);
+        ConsumerRepository.LoanEligibility eligibility = findLoanEligibility(consumerId);
+        List<String> reasons = eligibilityFailures(eligibility);
+
+        return LoanEligibilityResponse.builder()
+                .customerId(consumerId.toString())
+                .eligible(reasons.isEmpty())
+                .kycStatus(Objects.toString(eligibility.getKycStatus(), null))
+                .consumerStatus(Objects.toString(eligibility.getStatus(), null))
+                .accountVerificationStatus(Objects.toString(eligibility.getAccountVerificationStatus(), null))
+                .hasActiveLoan(Boolean.TRUE.equals(eligibility.getHasLoanInStatus()))
+                .reasons(reasons)
+                .build();
+    }
 
-        if (!Consumer.KYCStatus.VERIFIED.equals(consumer.getKycStatus())) {
-            throw new InvalidLoanOperationException("Consumer KYC verification is required");
-        }
+    private ConsumerRepository.LoanEligibility findLoanEligibility(UUID consumerId) {
+        return consumerRepository.findLoanEligibility(consumerId, PersonalLoan.LoanStatus.ACTIVE)
+                .orElseThrow(() -> new ConsumerNotFoundException("Consumer not found: " + consumerId));
+    }
 
-        if (!Consumer.ConsumerStatus.ACTIVE.equals(consumer.getStatus())) {
-            throw new InvalidLoanOperationException("Consumer account is not active");
+    /**
+     * Reasons a consumer may not take a new loan, in the order they are checked.
+     */
+    private List<String> eligibilityFailures(ConsumerRepository.LoanEligibility eligibility) {
+        List<String> failures = new ArrayList<>(4);
+        if (!Consumer.KYCStatus.VERIFIED.equals(eligibility.getKycStatus())) {
+            failures.add("Consumer KYC verification is required");
         }
+        if (!Consumer.ConsumerStatus.ACTIVE.equals(eligibility.getStatus())) {
+            failures.add("Consumer account is not active");
+        }
+        // Only the account's existence is required; its verification status is reported to callers
+        if (eligibility.getAccountVerificationStatus() == null) {
+            failures.add("Consumer must have a verified principal account");
+        }
+        if (Boolean.TRUE.equals(eligibility.getHasLoanInStatus())) {
+            failures.add("Consumer cannot have more than one active loan");
+        }
+        return failures;
+    }
 
-        PrincipalAccount principalAccount = principalAccountRepository.findByConsumer(consumer)
-                .orElseThrow(() -> new InvalidLoanOperationException("Consumer must have a verified principal account"));
+    /**
+     * Validate loan eligibility constraints.
+     * T022: Implement eligibility validation
+     */
+    private void validateLoanEligibility(ConsumerRepository.LoanEligibility eligibility, CreateLoanRequest request) {
+        log.debug("Validating loan eligibility for consumer: {}", eligibility.getConsumerId());
 
-        List<PersonalLoan> activeLoans = loanRepository.findByConsumerAndStatus(
-                consumer, PersonalLoan.LoanStatus.ACTIVE);
-        
-        if (!activeLoans.isEmpty()) {
-            throw new InvalidLoanOperationException("Consumer cannot have more than one active loan");
+        List<String> failures = eligibilityFailures(eligibility);
+        if (!failures.isEmpty()) {
+            throw new InvalidLoanOperationException(failures.get(0));
         }
 
         if (request.getLoanTenureMonths() < 12) {
@@ -307,55 +557,20 @@ public class PersonalLoanService {
             throw new InvalidLoanOperationException("Loan tenure cannot exceed 360 months");
         }
 
-        log.debug("Loan eligibility validation passed for consumer: {}", consumer.getConsumerId());
+        log.debug("Loan eligibility validation passed for consumer: {}", eligibility.getConsumerId());
     }
 
     /**
      * Generate repayment schedule for a loan.
      * T025: Implement RepaymentScheduleGenerator for generating monthly records
+     * Installments are inserted in JDBC batches rather than one save per month.
      */
     private void generateRepaymentSchedule(PersonalLoan loan) {
         log.info("Generating repayment schedule for loan: {}", loan.getId());
 
-        BigDecimal monthlyEMI = loan.getMonthlyEMI();
-        BigDecimal principalAmount = loan.getPrincipalAmount();
-        BigDecimal annualRate = loan.getAnnualInterestRate();
-        Integer months = loan.getLoanTenureMonths();
-
-        BigDecimal monthlyRate = annualRate.divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP)
-                .divide(BigDecimal.valueOf(12), 10, RoundingMode.HALF_UP);
-
-        BigDecimal remainingBalance = principalAmount;
-        LocalDateTime dueDate = LocalDateTime.now().plusMonths(1).withDayOfMonth(1);
+        int installments = scheduleWriter.writeSchedule(loan.getId(), RepaymentScheduleCalculator.forLoan(loan));
 
-        for (int i = 1; i <= months; i++) {
-            BigDecimal interestAmount = remainingBalance.multiply(monthlyRate)
-                    .setScale(2, RoundingMode.HALF_UP);
-
-            BigDecimal principalForMonth = monthlyEMI.subtract(interestAmount)
-                    .setScale(2, RoundingMode.HALF_UP);
-
-            if (i == months) {
-                principalForMonth = remainingBalance;
-            }
-
-            LoanRepayment repayment = LoanRepayment.builder()
-                    .loan(loan)
-                    .installmentNumber(i)
-                    .principalAmount(principalForMonth)
-                    .interestAmount(interestAmount)
-                    .totalAmount(principalForMonth.add(interestAmount))
-                    .status(LoanRepayment.RepaymentStatus.PENDING)
-                    .dueDate(dueDate)
-                    .createdAt(LocalDateTime.now())
-                    .build();
-
-            repaymentRepository.save(repayment);
-            remainingBalance = remainingBalance.subtract(principalForMonth);
-            dueDate = dueDate.plusMonths(1);
-        }
-
-        log.info("Repayment schedule generated with {} installments for loan: {}", months, loan.getId());
+        log.info("Repayment schedule generated with {} installments for loan: {}", installments, loan.getId());
     }
 
     /**
@@ -396,6 +611,7 @@ public class PersonalLoanService {
 
     /**
      * Get all pending loans across all consumers.
+     * Loads every pending loan; the approval desk pages through {@link #getApprovalQueue} instead.
      *
      * @return list of pending loans
      */
@@ -408,4 +624,62 @@ public class PersonalLoanService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get one page of the approval queue: pending loans, oldest first unless sorted otherwise.
+     * Loans are read as projections of the fields approvers need, never as full entities.
+     *
+     * @param minAmount the minimum principal, or null
+     * @param maxAmount the maximum principal, or null
+     * @param createdFrom the first creation date to include, or null
+     * @param createdTo the last creation date to include, or null
+     * @param minTenure the minimum tenure in months, or null
+     * @param maxTenure the maximum tenure in months, or null
+     * @param pageable the page to read, sortable by createdAt, principalAmount, annualInterestRate
+     *                 and loanTenureMonths
+     * @return the page of pending loans with the total count
+     * @throws IllegalArgumentException if the page size, sort or a band is invalid
+     */
+    @Transactional(readOnly = true)
+    public Page<ApprovalQueueItemResponse> getApprovalQueue(BigDecimal minAmount, BigDecimal maxAmount,
+                                                            LocalDate createdFrom, LocalDate createdTo,
+                                                            Integer minTenure, Integer maxTenure,
+                                                            Pageable pageable) {
+        if (pageable.getPageSize() > MAX_QUEUE_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_QUEUE_PAGE_SIZE);
+        }
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new IllegalArgumentException("Minimum amount cannot exceed maximum amount");
+        }
+        if (minTenure != null && maxTenure != null && minTenure > maxTenure) {
+            throw new IllegalArgumentException("Minimum tenure cannot exceed maximum tenure");
+        }
+        pageable.getSort().forEach(order -> {
+            if (!QUEUE_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort approval queue by " + order.getProperty());
+            }
+        });
+        log.info("Retrieving approval queue - Amount: {} to {}, Created: {} to {}, Tenure: {} to {}, Page: {}",
+                minAmount, maxAmount, createdFrom, createdTo, minTenure, maxTenure, pageable);
+
+        // The loan ID breaks ties, so loans with equal sort keys do not move between pages
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("createdAt");
+        Pageable ordered = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort.and(Sort.by("id")));
+        LocalDateTime from = createdFrom != null ? createdFrom.atStartOfDay() : EARLIEST_CREATED_AT;
+        LocalDateTime before = createdTo != null
+                ? createdTo.plusDays(1).atStartOfDay()
+                : LocalDate.now().plusDays(1).atStartOfDay();
+
+        return loanRepository.findApprovalQueue(PersonalLoan.LoanStatus.PENDING, from, before,
+                        minAmount, maxAmount, minTenure, maxTenure, ordered)
+                .map(item -> ApprovalQueueItemResponse.builder()
+                        .loanId(item.getId().toString())
+                        .customerId(item.getCustomerId() != null ? item.getCustomerId().toString() : null)
+                        .principalAmount(item.getPrincipalAmount())
+                        .annualInterestRate(item.getAnnualInterestRate())
+                        .loanTenureMonths(item.getLoanTenureMonths())
+                        .monthlyEMI(item.getMonthlyEMI())
+                        .createdAt(item.getCreatedAt())
+                        .build());
+    }
+
 }
@@ -0,0 +1,278 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.domain.PortfolioDailyDisbursal;
+import com.consumerfinance.domain.PortfolioStatusSummary;
+import com.consumerfinance.dto.DailyDisbursalResponse;
+import com.consumerfinance.dto.PortfolioStatusResponse;
+import com.consumerfinance.dto.PortfolioSummaryResponse;
+import com.consumerfinance.repository.PortfolioDailyDisbursalRepository;
+import com.consumerfinance.repository.PortfolioStatusSummaryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for the portfolio summary read model.
+ * Loan counts, principal, outstanding balance and interest rate totals are kept per loan status,
+ * and disbursed volume per day. Loan services report every change in their own transaction as
+ * deltas applied by atomic upserts, so dashboards read a handful of rows instead of aggregating
+ * personal_loans. A nightly rebuild recomputes both tables from personal_loans to repair drift,
+ * e.g. from loans changed outside the services.
+ */
+@Slf4j
+@Service
+@Transactional
+public class PortfolioSummaryService {
+
+    /**
+     * Statuses whose outstanding balance is owed by borrowers.
+     * Loans not yet disbursed carry their principal as outstanding balance, but owe nothing.
+     */
+    static final Set<PersonalLoan.LoanStatus> OWING_STATUSES =
+            EnumSet.of(PersonalLoan.LoanStatus.ACTIVE, PersonalLoan.LoanStatus.DEFAULTED);
+
+    static final int MAX_DAYS = 366;
+
+    private final PortfolioStatusSummaryRepository statusRepository;
+    private final PortfolioDailyDisbursalRepository dailyRepository;
+    private final Timer rebuildTimer;
+
+    public PortfolioSummaryService(PortfolioStatusSummaryRepository statusRepository,
+                                   PortfolioDailyDisbursalRepository dailyRepository,
+                                   MeterRegistry meterRegistry) {
+        this.statusRepository = statusRepository;
+        this.dailyRepository = dailyRepository;
+        this.rebuildTimer = Timer.builder("loan.portfolio.rebuild")
+                .description("Time taken to rebuild the portfolio summary from the loans")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Add a newly created loan to the totals of its status.
+     *
+     * @param loan the created loan
+     */
+    public void recordNewLoan(PersonalLoan loan) {
+        add(loan.getStatus(), Totals.of(loan));
+    }
+
+    /**
+     * Move a loan from the totals of its previous status to those of its current status.
+     *
+     * @param loan the loan, already in its new status
+     * @param previousStatus the status the loan left
+     */
+    public void recordStatusChange(PersonalLoan loan, PersonalLoan.LoanStatus previousStatus) {
+        recordStatusChanges(List.of(loan), previousStatus);
+    }
+
+    /**
+     * Move loans that left the same status to the totals of their current statuses.
+     * The deltas are summed first, so a chunk of loans costs one statement per status touched.
+     *
+     * @param loans the loans, already in their new statuses
+     * @param previousStatus the status the loans left
+     */
+    public void recordStatusChanges(Collection<PersonalLoan> loans, PersonalLoan.LoanStatus previousStatus) {
+        Totals left = new Totals();
+        Map<PersonalLoan.LoanStatus, Totals> entered = new EnumMap<>(PersonalLoan.LoanStatus.class);
+        for (PersonalLoan loan : loans) {
+            if (loan.getStatus() == previousStatus) {
+                continue;
+            }
+            Totals totals = Totals.of(loan);
+            left.add(totals);
+            entered.computeIfAbsent(loan.getStatus(), status -> new Totals()).add(totals);
+        }
+        if (left.loans == 0) {
+            return;
+        }
+        add(previousStatus, left.negate());
+        entered.forEach(this::add);
+    }
+
+    /**
+     * Apply a change of outstanding balance to the totals of a status, e.g. a repayment.
+     *
+     * @param status the status of the loans whose balance changed
+     * @param delta the signed change of outstanding balance
+     */
+    public void recordOutstandingChange(PersonalLoan.LoanStatus status, BigDecimal delta) {
+        if (delta.signum() == 0) {
+            return;
+        }
+        Totals totals = new Totals();
+        totals.outstanding = delta;
+        add(status, totals);
+    }
+
+    /**
+     * Add disbursed loans to the disbursal totals of their day.
+     *
+     * @param loans the disbursed loans
+     * @param disbursedAt the disbursal time
+     */
+    public void recordDisbursals(Collection<PersonalLoan> loans, LocalDateTime disbursedAt) {
+        if (loans.isEmpty()) {
+            return;
+        }
+        BigDecimal principal = loans.stream()
+                .map(PersonalLoan::getPrincipalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        dailyRepository.addToDay(disbursedAt.toLocalDate(), loans.size(), principal, LocalDateTime.now());
+    }
+
+    /**
+     * Get the portfolio summary with the disbursal totals of recent days.
+     * Reads at most one row per loan status and one per day, whatever the portfolio size.
+     *
+     * @param days the number of days of disbursals to include, ending today
+     * @return the portfolio summary
+     * @throws IllegalArgumentException if days is not between 1 and 366
+     */
+    @Transactional(readOnly = true)
+    public PortfolioSummaryResponse getSummary(int days) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("Days must be between 1 and " + MAX_DAYS);
+        }
+
+        Map<PersonalLoan.LoanStatus, PortfolioStatusSummary> rows = new EnumMap<>(PersonalLoan.LoanStatus.class);
+        statusRepository.findAll().forEach(row -> rows.put(row.getStatus(), row));
+
+        long totalLoans = 0;
+        BigDecimal totalOutstanding = BigDecimal.ZERO;
+        BigDecimal averageActiveRate = null;
+        LocalDateTime updatedAt = null;
+        List<PortfolioStatusResponse> statuses = new ArrayList<>(PersonalLoan.LoanStatus.values().length);
+        for (PersonalLoan.LoanStatus status : PersonalLoan.LoanStatus.values()) {
+            PortfolioStatusSummary row = rows.get(status);
+            long loans = row == null ? 0 : row.getLoanCount();
+            BigDecimal outstanding = row == null ? BigDecimal.ZERO : row.getOutstandingTotal();
+            BigDecimal averageRate = row == null ? null : average(row.getInterestRateTotal(), loans);
+            statuses.add(PortfolioStatusResponse.builder()
+                    .status(status.toString())
+                    .loanCount(loans)
+                    .principalTotal(row == null ? BigDecimal.ZERO : row.getPrincipalTotal())
+                    .outstandingTotal(outstanding)
+                    .averageInterestRate(averageRate)
+                    .build());
+            totalLoans += loans;
+            if (OWING_STATUSES.contains(status)) {
+                totalOutstanding = totalOutstanding.add(outstanding);
+            }
+            if (status == PersonalLoan.LoanStatus.ACTIVE) {
+                averageActiveRate = averageRate;
+            }
+            if (row != null && (updatedAt == null || row.getUpdatedAt().isAfter(updatedAt))) {
+                updatedAt = row.getUpdatedAt();
+            }
+        }
+
+        List<DailyDisbursalResponse> dailyDisbursals = dailyRepository
+                .findByDisbursalDateGreaterThanEqualOrderByDisbursalDate(LocalDate.now().minusDays(days - 1L))
+                .stream()
+                .map(this::mapToDailyDisbursalResponse)
+                .toList();
+
+        return PortfolioSummaryResponse.builder()
+                .totalLoans(totalLoans)
+                .totalOutstanding(totalOutstanding)
+                .averageActiveInterestRate(averageActiveRate)
+                .statuses(statuses)
+                .dailyDisbursals(dailyDisbursals)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    /**
+     * Recompute the portfolio summary from the loans, replacing the running totals.
+     * Runs in one transaction, so readers see either the old or the rebuilt totals.
+     *
+     * @return the number of status and day rows written
+     */
+    @Scheduled(cron = "${loan.portfolio.rebuild-cron:0 30 1 * * *}")
+    public int rebuildSummary() {
+        long start = System.nanoTime();
+        LocalDateTime rebuiltAt = LocalDateTime.now();
+
+        statusRepository.deleteAllRows();
+        dailyRepository.deleteAllRows();
+        int statusRows = statusRepository.insertFromLoans(rebuiltAt);
+        int dayRows = dailyRepository.insertFromLoans(rebuiltAt);
+
+        long elapsedNanos = System.nanoTime() - start;
+        rebuildTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        log.info("Portfolio summary rebuilt - Status rows: {}, Day rows: {}, Elapsed: {} ms",
+                statusRows, dayRows, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return statusRows + dayRows;
+    }
+
+    private void add(PersonalLoan.LoanStatus status, Totals totals) {
+        statusRepository.addToStatus(status.name(), totals.loans, totals.principal, totals.outstanding,
+                totals.interestRates, LocalDateTime.now());
+    }
+
+    private BigDecimal average(BigDecimal total, long count) {
+        return count == 0 ? null : total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    private DailyDisbursalResponse mapToDailyDisbursalResponse(PortfolioDailyDisbursal day) {
+        return DailyDisbursalResponse.builder()
+                .date(day.getDisbursalDate())
+                .loanCount(day.getLoanCount())
+                .principalTotal(day.getPrincipalTotal())
+                .build();
+    }
+
+    /**
+     * Deltas for the totals of one status.
+     */
+    private static final class Totals {
+        private long loans;
+        private BigDecimal principal = BigDecimal.ZERO;
+        private BigDecimal outstanding = BigDecimal.ZERO;
+        private BigDecimal interestRates = BigDecimal.ZERO;
+
+        static Totals of(PersonalLoan loan) {
+            Totals totals = new Totals();
+            totals.loans = 1;
+            totals.principal = loan.getPrincipalAmount();
+            totals.outstanding = loan.getOutstandingBalance();
+            totals.interestRates = loan.getAnnualInterestRate();
+            return totals;
+        }
+
+        void add(Totals other) {
+            loans += other.loans;
+            principal = principal.add(other.principal);
+            outstanding = outstanding.add(other.outstanding);
+            interestRates = interestRates.add(other.interestRates);
+        }
+
+        Totals negate() {
+            Totals negated = new Totals();
+            negated.loans = -loans;
+            negated.principal = principal.negate();
+            negated.outstanding = outstanding.negate();
+            negated.interestRates = interestRates.negate();
+            return negated;
+        }
+    }
+
+}
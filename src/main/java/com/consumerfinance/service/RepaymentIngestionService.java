@@ -0,0 +1,373 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.dto.RepaymentIngestionResult;
+import com.consumerfinance.dto.RepaymentIngestionRow;
+import com.consumerfinance.dto.RepaymentIngestionSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Service for bulk repayment file ingestion.
+ * Reads CSV or NDJSON payment files line by line, applies the rows in chunked transactions
+ * through {@link LoanRepaymentService#processRepaymentChunk(List)} and hands one result per
+ * row to a report sink as each chunk commits, so neither the file nor the report is held in
+ * memory. If a chunk fails to commit its rows are retried one at a time.
+ */
+@Slf4j
+@Service
+public class RepaymentIngestionService {
+
+    private static final String STATUS_SUCCESS = "SUCCESS";
+    private static final String STATUS_DUPLICATE = "DUPLICATE";
+    private static final String STATUS_FAILED = "FAILED";
+    private static final List<String> CSV_COLUMNS =
+            List.of("loanid", "installmentnumber", "amount", "paymentmode", "transactionreference");
+
+    /**
+     * Supported payment file formats.
+     */
+    public enum Format {
+        CSV,    // Header line followed by loanId,installmentNumber,amount[,paymentMode,transactionReference]
+        NDJSON; // One JSON object per line
+
+        /**
+         * Infer the format from a file name, defaulting to CSV.
+         *
+         * @param fileName the file name, may be null
+         * @return the format
+         */
+        public static Format fromFileName(String fileName) {
+            String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+            return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? NDJSON : CSV;
+        }
+    }
+
+    private final LoanRepaymentService repaymentService;
+    private final ObjectReader rowReader;
+    private final int chunkSize;
+    private final Path ingestDirectory;
+    private final AtomicInteger activeJobs = new AtomicInteger();
+    private final Counter succeededRows;
+    private final Counter duplicateRows;
+    private final Counter failedRows;
+    private final Timer chunkTimer;
+    private final DistributionSummary rowsPerSecond;
+
+    public RepaymentIngestionService(LoanRepaymentService repaymentService,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${loan.repayment.ingest.chunk-size:500}") int chunkSize,
+                                     @Value("${loan.repayment.ingest.directory:}") String ingestDirectory) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Repayment ingestion chunk size must be positive");
+        }
+        this.repaymentService = repaymentService;
+        this.rowReader = objectMapper.readerFor(RepaymentIngestionRow.class);
+        this.chunkSize = chunkSize;
+        this.ingestDirectory = ingestDirectory == null || ingestDirectory.isBlank()
+                ? null
+                : Paths.get(ingestDirectory).toAbsolutePath().normalize();
+
+        Gauge.builder("loan.repayment.ingest.active", activeJobs, AtomicInteger::get)
+                .description("Repayment files currently being ingested")
+                .register(meterRegistry);
+        this.succeededRows = Counter.builder("loan.repayment.ingest.rows")
+                .tag("outcome", "success")
+                .description("Repayment file rows applied")
+                .register(meterRegistry);
+        this.duplicateRows = Counter.builder("loan.repayment.ingest.rows")
+                .tag("outcome", "duplicate")
+                .description("Repayment file rows skipped as already processed")
+                .register(meterRegistry);
+        this.failedRows = Counter.builder("loan.repayment.ingest.rows")
+                .tag("outcome", "failed")
+                .description("Repayment file rows rejected")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("loan.repayment.ingest.chunk")
+                .description("Time taken to apply one chunk of repayment rows")
+                .register(meterRegistry);
+        this.rowsPerSecond = DistributionSummary.builder("loan.repayment.ingest.throughput")
+                .description("Rows per second achieved when ingesting a repayment file")
+                .baseUnit("rows/s")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a payment file from the configured ingestion directory.
+     *
+     * @param path the file path, relative to the ingestion directory
+     * @return the file contents
+     * @throws IllegalArgumentException if local ingestion is disabled, or the path is outside the
+     *                                  ingestion directory or not a readable file
+     */
+    public InputStream openLocalFile(String path) {
+        if (ingestDirectory == null) {
+            throw new IllegalArgumentException("Local repayment file ingestion is not enabled");
+        }
+        Path file = ingestDirectory.resolve(path).normalize();
+        if (!file.startsWith(ingestDirectory) || !Files.isRegularFile(file) || !Files.isReadable(file)) {
+            throw new IllegalArgumentException("Repayment file not found in ingestion directory: " + path);
+        }
+        try {
+            return Files.newInputStream(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open repayment file: " + path, e);
+        }
+    }
+
+    /**
+     * Ingest a payment file.
+     *
+     * @param input the file contents, read as UTF-8 and closed when done
+     * @param format the file format
+     * @param report receives one result per row, in file order within each chunk
+     * @return the ingestion totals
+     * @throws IllegalArgumentException if a CSV file has no valid header
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public RepaymentIngestionSummary ingest(InputStream input, Format format, Consumer<RepaymentIngestionResult> report) {
+        long start = System.nanoTime();
+        long[] totals = new long[3]; // success, failure, duplicate (counted within success)
+        activeJobs.incrementAndGet();
+        log.info("Starting {} repayment file ingestion in chunks of {}", format, chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = null;
+            List<RepaymentIngestionRow> chunk = new ArrayList<>(chunkSize);
+            List<RepaymentIngestionResult> rejected = new ArrayList<>();
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && columns == null) {
+                    columns = parseHeader(line);
+                    continue;
+                }
+                try {
+                    chunk.add(format == Format.CSV ? parseCsvRow(line, columns, lineNumber) : parseJsonRow(line, lineNumber));
+                } catch (IllegalArgumentException e) {
+                    rejected.add(failure(lineNumber, null, null, e.getMessage()));
+                }
+                // Rejected rows count towards the chunk so a long run of bad rows is reported as it is read
+                if (chunk.size() + rejected.size() >= chunkSize) {
+                    applyChunk(chunk, rejected, report, totals);
+                    log.info("Ingested {} repayment rows ({} failed) at {} rows/s",
+                            totals[0] + totals[1], totals[1], String.format("%.1f", rate(totals, start)));
+                }
+            }
+            applyChunk(chunk, rejected, report, totals);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read repayment file", e);
+        } finally {
+            activeJobs.decrementAndGet();
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        double rate = rate(totals, start);
+        rowsPerSecond.record(rate);
+        log.info("Repayment file ingestion completed - Success: {}, Failed: {}, {} rows/s",
+                totals[0], totals[1], String.format("%.1f", rate));
+        return RepaymentIngestionSummary.builder()
+                .totalRows(totals[0] + totals[1])
+                .successCount(totals[0])
+                .failureCount(totals[1])
+                .duplicateCount(totals[2])
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .rowsPerSecond(rate)
+                .build();
+    }
+
+    private void applyChunk(List<RepaymentIngestionRow> chunk, List<RepaymentIngestionResult> rejected,
+                            Consumer<RepaymentIngestionResult> report, long[] totals) {
+        if (chunk.isEmpty() && rejected.isEmpty()) {
+            return;
+        }
+
+        List<RepaymentIngestionResult> results = new ArrayList<>(chunk.size() + rejected.size());
+        if (!chunk.isEmpty()) {
+            Timer.Sample sample = Timer.start();
+            try {
+                results.addAll(repaymentService.processRepaymentChunk(chunk));
+            } catch (RuntimeException e) {
+                log.warn("Repayment chunk of {} rows failed, retrying individually: {}", chunk.size(), e.getMessage());
+                chunk.forEach(row -> results.add(applyIndividually(row)));
+            } finally {
+                sample.stop(chunkTimer);
+            }
+        }
+        results.addAll(rejected);
+        results.sort(Comparator.comparingLong(RepaymentIngestionResult::getLineNumber));
+
+        for (RepaymentIngestionResult result : results) {
+            if (STATUS_SUCCESS.equals(result.getStatus())) {
+                totals[0]++;
+                succeededRows.increment();
+            } else if (STATUS_DUPLICATE.equals(result.getStatus())) {
+                totals[0]++;
+                totals[2]++;
+                duplicateRows.increment();
+            } else {
+                totals[1]++;
+                failedRows.increment();
+            }
+            report.accept(result);
+        }
+        chunk.clear();
+        rejected.clear();
+    }
+
+    private RepaymentIngestionResult applyIndividually(RepaymentIngestionRow row) {
+        try {
+            return RepaymentIngestionResult.builder()
+                    .lineNumber(row.getLineNumber())
+                    .loanId(row.getLoanId().toString())
+                    .installmentNumber(row.getInstallmentNumber())
+                    .status(STATUS_SUCCESS)
+                    .repaymentStatus(repaymentService.processRepayment(row.getLoanId(), row.getInstallmentNumber(),
+                            row.getAmount(), row.getPaymentMode(), row.getTransactionReference()).getStatus())
+                    .build();
+        } catch (RuntimeException e) {
+            log.warn("Repayment failed for line {}: {}", row.getLineNumber(), e.getMessage());
+            return failure(row.getLineNumber(), row.getLoanId(), row.getInstallmentNumber(), e.getMessage());
+        }
+    }
+
+    private RepaymentIngestionResult failure(long lineNumber, UUID loanId, Integer installmentNumber, String message) {
+        return RepaymentIngestionResult.builder()
+                .lineNumber(lineNumber)
+                .loanId(loanId == null ? null : loanId.toString())
+                .installmentNumber(installmentNumber)
+                .status(STATUS_FAILED)
+                .errorMessage(message)
+                .build();
+    }
+
+    private double rate(long[] totals, long start) {
+        long elapsedNanos = System.nanoTime() - start;
+        return elapsedNanos > 0 ? (totals[0] + totals[1]) * 1_000_000_000.0 / elapsedNanos : 0.0;
+    }
+
+    /**
+     * Map CSV header names (case-insensitive) to column positions.
+     */
+    private Map<String, Integer> parseHeader(String line) {
+        List<String> names = splitCsvLine(line.startsWith("\uFEFF") ? line.substring(1) : line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim().toLowerCase(Locale.ROOT);
+            if (CSV_COLUMNS.contains(name)) {
+                columns.put(name, i);
+            }
+        }
+        if (!columns.keySet().containsAll(CSV_COLUMNS.subList(0, 3))) {
+            throw new IllegalArgumentException("CSV header must contain loanId, installmentNumber and amount columns");
+        }
+        return columns;
+    }
+
+    private RepaymentIngestionRow parseCsvRow(String line, Map<String, Integer> columns, long lineNumber) {
+        List<String> values = splitCsvLine(line);
+        try {
+            return validate(RepaymentIngestionRow.builder()
+                    .lineNumber(lineNumber)
+                    .loanId(UUID.fromString(column(values, columns, "loanid")))
+                    .installmentNumber(Integer.valueOf(column(values, columns, "installmentnumber")))
+                    .amount(new BigDecimal(column(values, columns, "amount")))
+                    .paymentMode(column(values, columns, "paymentmode"))
+                    .transactionReference(column(values, columns, "transactionreference"))
+                    .build());
+        } catch (NullPointerException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed CSV row: " + line);
+        }
+    }
+
+    private String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private RepaymentIngestionRow parseJsonRow(String line, long lineNumber) {
+        try {
+            RepaymentIngestionRow row = rowReader.readValue(line);
+            row.setLineNumber(lineNumber);
+            return validate(row);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON row: " + e.getOriginalMessage());
+        }
+    }
+
+    private RepaymentIngestionRow validate(RepaymentIngestionRow row) {
+        if (row.getLoanId() == null || row.getInstallmentNumber() == null || row.getAmount() == null) {
+            throw new IllegalArgumentException("loanId, installmentNumber and amount are required");
+        }
+        return row;
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields with "" escapes.
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+}
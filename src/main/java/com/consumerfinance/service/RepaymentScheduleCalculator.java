@@ -0,0 +1,129 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.dto.RepaymentScheduleEntry;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily computes a loan's monthly repayment schedule, one installment per call to {@link #next()}.
+ * Holds only the running balance, so a 360-month schedule can be streamed without building a list.
+ * Rules: interest is the running balance times the monthly rate, principal is EMI minus interest,
+ * and the final installment clears the remaining balance.
+ */
+public final class RepaymentScheduleCalculator implements Iterator<RepaymentScheduleEntry> {
+
+    private final BigDecimal monthlyEMI;
+    private final BigDecimal monthlyRate;
+    private final int lastInstallmentNumber;
+
+    private BigDecimal remainingBalance;
+    private LocalDateTime dueDate;
+    private int installmentNumber;
+
+    /**
+     * @param principalAmount the loan principal
+     * @param annualRate the annual interest rate as a percentage (e.g., 10.5)
+     * @param months the number of installments
+     * @param monthlyEMI the monthly EMI
+     * @param firstDueDate the due date of the first installment
+     */
+    public RepaymentScheduleCalculator(BigDecimal principalAmount, BigDecimal annualRate, int months,
+                                       BigDecimal monthlyEMI, LocalDateTime firstDueDate) {
+        this(principalAmount, annualRate, months, monthlyEMI, firstDueDate, 1);
+    }
+
+    /**
+     * Create the schedule of a loan's remaining installments, e.g. after a prepayment.
+     *
+     * @param principalAmount the principal still to be repaid
+     * @param annualRate the annual interest rate as a percentage (e.g., 10.5)
+     * @param months the number of remaining installments
+     * @param monthlyEMI the monthly EMI
+     * @param firstDueDate the due date of the first remaining installment
+     * @param firstInstallmentNumber the installment number of the first remaining installment
+     */
+    public RepaymentScheduleCalculator(BigDecimal principalAmount, BigDecimal annualRate, int months,
+                                       BigDecimal monthlyEMI, LocalDateTime firstDueDate, int firstInstallmentNumber) {
+        this.monthlyEMI = monthlyEMI;
+        this.monthlyRate = monthlyRate(annualRate);
+        this.lastInstallmentNumber = firstInstallmentNumber - 1 + months;
+        this.remainingBalance = principalAmount;
+        this.dueDate = firstDueDate;
+        this.installmentNumber = firstInstallmentNumber - 1;
+    }
+
+    /**
+     * Create the schedule for a disbursed loan from its stored terms.
+     * The result is deterministic, so a virtual schedule can be recomputed on every read.
+     *
+     * @param loan the loan, with its disbursal date set
+     * @return the loan's repayment schedule
+     */
+    public static RepaymentScheduleCalculator forLoan(PersonalLoan loan) {
+        return new RepaymentScheduleCalculator(loan.getPrincipalAmount(), loan.getAnnualInterestRate(),
+                loan.getLoanTenureMonths(), loan.getMonthlyEMI(), firstDueDate(loan.getDisbursedAt()));
+    }
+
+    /**
+     * Get the first due date for a schedule starting now: the first day of next month.
+     *
+     * @param now the schedule start time
+     * @return the first installment due date
+     */
+    public static LocalDateTime firstDueDate(LocalDateTime now) {
+        return now.plusMonths(1).withDayOfMonth(1);
+    }
+
+    /**
+     * Get the monthly interest rate the schedule applies for an annual rate.
+     *
+     * @param annualRate the annual interest rate as a percentage (e.g., 10.5)
+     * @return the monthly rate as a decimal
+     */
+    public static BigDecimal monthlyRate(BigDecimal annualRate) {
+        return annualRate.divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP)
+                .divide(BigDecimal.valueOf(12), 10, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return installmentNumber < lastInstallmentNumber;
+    }
+
+    @Override
+    public RepaymentScheduleEntry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Repayment schedule ends at installment " + lastInstallmentNumber);
+        }
+        installmentNumber++;
+
+        BigDecimal interestAmount = remainingBalance.multiply(monthlyRate)
+                .setScale(2, RoundingMode.HALF_UP);
+
+        BigDecimal principalForMonth = monthlyEMI.subtract(interestAmount)
+                .setScale(2, RoundingMode.HALF_UP);
+
+        if (installmentNumber == lastInstallmentNumber) {
+            principalForMonth = remainingBalance;
+        }
+
+        remainingBalance = remainingBalance.subtract(principalForMonth);
+
+        RepaymentScheduleEntry entry = RepaymentScheduleEntry.builder()
+                .installmentNumber(installmentNumber)
+                .dueDate(dueDate)
+                .principalAmount(principalForMonth)
+                .interestAmount(interestAmount)
+                .totalAmount(principalForMonth.add(interestAmount))
+                .remainingBalance(remainingBalance)
+                .build();
+
+        dueDate = dueDate.plusMonths(1);
+        return entry;
+    }
+
+}
@@ -0,0 +1,14 @@
+-- Flyway Migration V10: Add DISBURSING Loan Status
+-- Description: Allow loans to sit in DISBURSING while their schedule is generated asynchronously
+-- Deployed: 2026-10-17
+
+ALTER TABLE personal_loans
+  MODIFY COLUMN status ENUM(
+    'PENDING',
+    'APPROVED',
+    'DISBURSING',
+    'ACTIVE',
+    'CLOSED',
+    'REJECTED',
+    'DEFAULTED'
+  ) NOT NULL DEFAULT 'PENDING';
@@ -0,0 +1,52 @@
+-- Flyway Migration V11: Add Installment Counters
+-- Description: Track paid, partially paid and pending installments and the next due installment per loan,
+--              so payments no longer count loan_repayments rows
+-- Deployed: 2026-10-17
+
+ALTER TABLE personal_loans
+  ADD COLUMN paid_installments INT NOT NULL DEFAULT 0
+    COMMENT 'Installments in PAID status',
+  ADD COLUMN partially_paid_installments INT NOT NULL DEFAULT 0
+    COMMENT 'Installments in PARTIALLY_PAID status',
+  ADD COLUMN pending_installments INT NOT NULL DEFAULT 0
+    COMMENT 'Installments in PENDING status, including unstored installments of VIRTUAL schedules',
+  ADD COLUMN next_due_installment INT NULL DEFAULT NULL
+    COMMENT 'Lowest installment number not yet paid; NULL when fully paid or not disbursed';
+
+-- Backfill from the existing repayment rows of disbursed loans
+UPDATE personal_loans l
+SET
+  l.paid_installments = (
+    SELECT COUNT(*) FROM loan_repayments r
+    WHERE r.loan_id = l.loan_id AND r.status = 'PAID'),
+  l.partially_paid_installments = (
+    SELECT COUNT(*) FROM loan_repayments r
+    WHERE r.loan_id = l.loan_id AND r.status = 'PARTIALLY_PAID'),
+  l.pending_installments = (
+    SELECT COUNT(*) FROM loan_repayments r
+    WHERE r.loan_id = l.loan_id AND r.status = 'PENDING')
+    + CASE WHEN l.schedule_mode = 'VIRTUAL' THEN l.tenure_months - (
+        SELECT COUNT(*) FROM loan_repayments r WHERE r.loan_id = l.loan_id)
+      ELSE 0 END
+WHERE l.status IN ('ACTIVE', 'CLOSED', 'DEFAULTED');
+
+-- Next due is installment 1 unless paid, otherwise the one after the first paid installment whose successor is unpaid
+UPDATE personal_loans l
+SET l.next_due_installment = CASE
+    WHEN NOT EXISTS (
+      SELECT 1 FROM loan_repayments r
+      WHERE r.loan_id = l.loan_id AND r.installment_number = 1 AND r.status = 'PAID') THEN 1
+    ELSE (
+      SELECT MIN(r.installment_number) + 1 FROM loan_repayments r
+      WHERE r.loan_id = l.loan_id AND r.status = 'PAID'
+        AND NOT EXISTS (
+          SELECT 1 FROM loan_repayments next_r
+          WHERE next_r.loan_id = r.loan_id
+            AND next_r.installment_number = r.installment_number + 1
+            AND next_r.status = 'PAID'))
+  END
+WHERE l.status IN ('ACTIVE', 'CLOSED', 'DEFAULTED');
+
+UPDATE personal_loans
+SET next_due_installment = NULL
+WHERE next_due_installment > tenure_months;
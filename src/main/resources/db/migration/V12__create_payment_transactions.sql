@@ -0,0 +1,42 @@
+-- Flyway Migration V12: Payment Transactions
+-- Description: One row per processed payment carrying a transaction reference, with the response
+--              returned for it, so retries are matched even after later partial payments on the
+--              same installment
+-- Deployed: 2026-10-17
+
+CREATE TABLE payment_transactions (
+  payment_id BINARY(16) NOT NULL PRIMARY KEY,
+  transaction_reference VARCHAR(100) NOT NULL,
+  loan_id BINARY(16) NOT NULL,
+  payment_type ENUM('INSTALLMENT') NOT NULL,
+  installment_number INT NULL COMMENT 'Installment paid, for installment payments',
+  amount DECIMAL(15,2) NOT NULL,
+  response LONGTEXT NOT NULL COMMENT 'JSON response returned for the payment, replayed on retry',
+  processed_at DATETIME NOT NULL,
+  CONSTRAINT uk_payment_transaction_reference UNIQUE (transaction_reference),
+  CONSTRAINT fk_payment_transactions_loan
+      FOREIGN KEY (loan_id) REFERENCES personal_loans(loan_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Carry over the references already held on installments; a reference found on several
+-- installments is carried over once
+INSERT IGNORE INTO payment_transactions (payment_id, transaction_reference, loan_id, payment_type,
+                                  installment_number, amount, response, processed_at)
+SELECT UUID_TO_BIN(UUID()), transaction_reference, loan_id, 'INSTALLMENT', installment_number,
+       COALESCE(paid_amount, 0),
+       JSON_OBJECT(
+           'id', BIN_TO_UUID(repayment_id),
+           'loanId', BIN_TO_UUID(loan_id),
+           'installmentNumber', installment_number,
+           'principalAmount', principal_amount,
+           'interestAmount', interest_amount,
+           'totalAmount', total_amount,
+           'paidAmount', paid_amount,
+           'status', status,
+           'dueDate', DATE_FORMAT(due_date, '%Y-%m-%dT%H:%i:%s'),
+           'paidDate', DATE_FORMAT(paid_date, '%Y-%m-%dT%H:%i:%s'),
+           'paymentMode', payment_mode,
+           'transactionReference', transaction_reference),
+       COALESCE(paid_date, created_at)
+FROM loan_repayments
+WHERE transaction_reference IS NOT NULL;
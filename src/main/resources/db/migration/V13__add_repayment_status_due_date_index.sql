@@ -0,0 +1,6 @@
+-- Flyway Migration V13: Repayment Status and Due Date Index
+-- Description: Let the overdue-marking job find PENDING installments past their due date
+--              with an index range scan instead of reading every PENDING row
+-- Deployed: 2026-10-17
+
+CREATE INDEX idx_repayment_status_due_date ON loan_repayments(status, due_date);
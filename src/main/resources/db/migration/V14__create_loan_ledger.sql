@@ -0,0 +1,41 @@
+-- Flyway Migration V14: Loan Ledger and Balance Snapshots
+-- Description: Append-only postings against each loan's balance, with per-loan balance snapshots
+--              so a balance-as-of query reads one snapshot and a bounded tail of postings
+-- Deployed: 2026-10-17
+
+ALTER TABLE personal_loans
+  ADD COLUMN ledger_sequence BIGINT NOT NULL DEFAULT 0
+    COMMENT 'Sequence number of the latest entry in the loan ledger';
+
+CREATE TABLE loan_ledger_entries (
+  entry_id BINARY(16) NOT NULL PRIMARY KEY,
+  loan_id BINARY(16) NOT NULL,
+  entry_sequence BIGINT NOT NULL COMMENT 'Per-loan posting number, starting at 1',
+  entry_type ENUM('DISBURSAL','INTEREST','PRINCIPAL','FEE') NOT NULL,
+  amount DECIMAL(19,2) NOT NULL COMMENT 'Signed change to the loan balance',
+  repayment_id BINARY(16) NULL COMMENT 'Repayment the posting belongs to, if any',
+  posted_at DATETIME NOT NULL,
+  CONSTRAINT uk_ledger_loan_sequence UNIQUE (loan_id, entry_sequence),
+  CONSTRAINT fk_ledger_loan
+      FOREIGN KEY (loan_id) REFERENCES personal_loans(loan_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE loan_balance_snapshots (
+  snapshot_id BINARY(16) NOT NULL PRIMARY KEY,
+  loan_id BINARY(16) NOT NULL,
+  entry_sequence BIGINT NOT NULL COMMENT 'Last ledger entry included in the balance',
+  balance DECIMAL(19,2) NOT NULL,
+  as_of DATETIME NOT NULL,
+  CONSTRAINT uk_snapshot_loan_sequence UNIQUE (loan_id, entry_sequence),
+  CONSTRAINT fk_snapshot_loan
+      FOREIGN KEY (loan_id) REFERENCES personal_loans(loan_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE INDEX idx_snapshot_loan_as_of ON loan_balance_snapshots(loan_id, as_of);
+
+-- Open the ledger of already disbursed loans at their current balance;
+-- balances before this point are not recorded in the ledger
+INSERT INTO loan_balance_snapshots (snapshot_id, loan_id, entry_sequence, balance, as_of)
+SELECT UUID_TO_BIN(UUID()), loan_id, 0, COALESCE(outstanding_balance, 0), NOW()
+FROM personal_loans
+WHERE status IN ('ACTIVE', 'CLOSED', 'DEFAULTED');
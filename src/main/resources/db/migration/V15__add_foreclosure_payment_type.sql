@@ -0,0 +1,6 @@
+-- Flyway Migration V15: Foreclosure Payment Transactions
+-- Description: Record foreclosure payments under their transaction reference
+-- Deployed: 2026-10-17
+
+ALTER TABLE payment_transactions
+  MODIFY COLUMN payment_type ENUM('INSTALLMENT','FORECLOSURE') NOT NULL;
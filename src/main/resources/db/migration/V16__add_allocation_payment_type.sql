@@ -0,0 +1,6 @@
+-- Flyway Migration V16: Lump-Sum Payment Transactions
+-- Description: Record lump-sum payments spread across installments under their own reference
+-- Deployed: 2026-10-17
+
+ALTER TABLE payment_transactions
+  MODIFY COLUMN payment_type ENUM('INSTALLMENT','FORECLOSURE','ALLOCATION') NOT NULL;
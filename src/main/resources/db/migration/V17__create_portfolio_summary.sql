@@ -0,0 +1,42 @@
+-- Flyway Migration V17: Portfolio Summary Read Model
+-- Description: Running totals per loan status and disbursed volume per day, adjusted with every
+--              loan change so portfolio dashboards read a few rows instead of scanning all loans
+-- Deployed: 2026-10-17
+
+CREATE TABLE portfolio_status_summary (
+  status ENUM(
+    'PENDING',
+    'APPROVED',
+    'DISBURSING',
+    'ACTIVE',
+    'CLOSED',
+    'REJECTED',
+    'DEFAULTED'
+  ) NOT NULL PRIMARY KEY,
+  loan_count BIGINT NOT NULL,
+  principal_total DECIMAL(19,2) NOT NULL,
+  outstanding_total DECIMAL(19,2) NOT NULL,
+  interest_rate_total DECIMAL(19,2) NOT NULL COMMENT 'Sum of annual interest rates, for the average rate',
+  updated_at DATETIME NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE portfolio_daily_disbursals (
+  disbursal_date DATE NOT NULL PRIMARY KEY,
+  loan_count BIGINT NOT NULL,
+  principal_total DECIMAL(19,2) NOT NULL,
+  updated_at DATETIME NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Seed the totals from the existing loans
+INSERT INTO portfolio_status_summary
+  (status, loan_count, principal_total, outstanding_total, interest_rate_total, updated_at)
+SELECT status, COUNT(*), COALESCE(SUM(principal), 0), COALESCE(SUM(outstanding_balance), 0),
+       COALESCE(SUM(annual_interest_rate), 0), NOW()
+FROM personal_loans
+GROUP BY status;
+
+INSERT INTO portfolio_daily_disbursals (disbursal_date, loan_count, principal_total, updated_at)
+SELECT CAST(disbursed_at AS DATE), COUNT(*), SUM(principal), NOW()
+FROM personal_loans
+WHERE disbursed_at IS NOT NULL
+GROUP BY CAST(disbursed_at AS DATE);
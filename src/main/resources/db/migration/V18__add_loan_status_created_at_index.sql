@@ -0,0 +1,8 @@
+-- Flyway Migration V18: Index Loans by Status and Creation Time
+-- Description: Serve the paged approval queue (pending loans in a creation-time range, oldest
+--              first) from one index range; the single-column status index is now redundant
+-- Deployed: 2026-10-17
+
+CREATE INDEX idx_loan_status_created_at ON personal_loans(status, created_at);
+
+DROP INDEX idx_status ON personal_loans;
@@ -0,0 +1,9 @@
+-- Flyway Migration V9: Add Virtual Repayment Schedule Support
+-- Description: Record disbursal time and schedule mode so pending installments can be computed on read
+-- Deployed: 2026-10-17
+
+ALTER TABLE personal_loans
+  ADD COLUMN disbursed_at TIMESTAMP NULL DEFAULT NULL
+    COMMENT 'Disbursal time; anchors the virtual repayment schedule',
+  ADD COLUMN schedule_mode ENUM('MATERIALIZED','VIRTUAL') NOT NULL DEFAULT 'MATERIALIZED'
+    COMMENT 'MATERIALIZED stores every installment; VIRTUAL stores only paid or exceptional ones';
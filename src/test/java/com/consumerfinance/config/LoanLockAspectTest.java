@@ -0,0 +1,159 @@
+package com.consumerfinance.config;
+
+import com.consumerfinance.exception.InvalidLoanOperationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoanLockAspect.
+ * Tests that updates of one loan are serialized while different loans run in parallel.
+ */
+@DisplayName("Loan Lock Aspect Tests")
+class LoanLockAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should serialize concurrent updates of the same loan")
+    void testSameLoanIsSerialized() throws Exception {
+        // Arrange
+        LoanLockAspect aspect = new LoanLockAspect(meterRegistry, 64, Duration.ofSeconds(10));
+        LoanUpdater updater = proxy(aspect);
+        UUID loanId = UUID.randomUUID();
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> updater.update(loanId, () -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                sleep(20);
+                active.decrementAndGet();
+            })));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        assertEquals(1, maxActive.get());
+        assertTrue(meterRegistry.counter("loan.lock.acquisitions", "outcome", "contended").count() > 0);
+        assertTrue(meterRegistry.timer("loan.lock.wait").count() > 0);
+    }
+
+    @Test
+    @DisplayName("Should run updates of loans on different stripes in parallel")
+    void testDifferentLoansRunInParallel() throws Exception {
+        // Arrange
+        LoanLockAspect aspect = new LoanLockAspect(meterRegistry, 64, Duration.ofSeconds(10));
+        LoanUpdater updater = proxy(aspect);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        while (aspect.stripeFor(second) == aspect.stripeFor(first)) {
+            second = UUID.randomUUID();
+        }
+        CountDownLatch bothInside = new CountDownLatch(2);
+        Runnable awaitOther = () -> {
+            bothInside.countDown();
+            try {
+                assertTrue(bothInside.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        UUID secondLoan = second;
+
+        // Act
+        Future<?> a = executor.submit(() -> updater.update(first, awaitOther));
+        Future<?> b = executor.submit(() -> updater.update(secondLoan, awaitOther));
+        a.get(10, TimeUnit.SECONDS);
+        b.get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(0.0, meterRegistry.counter("loan.lock.acquisitions", "outcome", "contended").count());
+    }
+
+    @Test
+    @DisplayName("Should give up with a conflict when the loan stays locked past the timeout")
+    void testWaitTimeout() throws Exception {
+        // Arrange
+        LoanLockAspect aspect = new LoanLockAspect(meterRegistry, 64, Duration.ofMillis(50));
+        LoanUpdater updater = proxy(aspect);
+        UUID loanId = UUID.randomUUID();
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> updater.update(loanId, () -> {
+            holding.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        // Act & Assert
+        assertThrows(InvalidLoanOperationException.class, () -> updater.update(loanId, () -> { }));
+        assertEquals(1.0, meterRegistry.counter("loan.lock.acquisitions", "outcome", "timeout").count());
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should reject a stripe count that is not a power of two")
+    void testInvalidStripeCount() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LoanLockAspect(meterRegistry, 100, Duration.ofSeconds(1)));
+    }
+
+    private LoanUpdater proxy(LoanLockAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new LoanUpdater());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static class LoanUpdater {
+        @LoanLockAspect.LoanLocked
+        public void update(UUID loanId, Runnable work) {
+            work.run();
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.consumerfinance.controller;
 
 import com.consumerfinance.config.SecurityConfig;
+import com.consumerfinance.dto.EMIBatchItemResponse;
+import com.consumerfinance.dto.EMIBatchResponse;
 import com.consumerfinance.dto.EMICalculationRequest;
 import com.consumerfinance.dto.EMICalculationResponse;
+import com.consumerfinance.dto.EMIMatrixResponse;
+import com.consumerfinance.service.RepaymentScheduleCalculator;
+import com.consumerfinance.service.EMIBatchCalculationService;
 import com.consumerfinance.service.EMICalculationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,10 +20,23 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -38,9 +56,15 @@ class EMICalculationControllerTest {
     @MockBean
     private EMICalculationService emiCalculationService;
 
+    @MockBean
+    private EMIBatchCalculationService emiBatchCalculationService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EMICalculationController emiCalculationController;
+
     private EMICalculationRequest validRequest;
     private EMICalculationResponse mockResponse;
 
@@ -221,4 +245,192 @@ class EMICalculationControllerTest {
                 .andExpect(status().is4xxClientError());
     }
 
+    @Test
+    @DisplayName("Should calculate EMI batch and return per-item results")
+    void testCalculateEMIBatch() throws Exception {
+        // Arrange
+        EMIBatchResponse batchResponse = EMIBatchResponse.builder()
+                .totalCount(2)
+                .successCount(1)
+                .failureCount(1)
+                .results(List.of(
+                        EMIBatchItemResponse.builder().index(0).status("SUCCESS").result(mockResponse).build(),
+                        EMIBatchItemResponse.builder().index(1).status("FAILED")
+                                .errorMessage("Input validation failed")
+                                .fieldErrors(Map.of("tenureMonths", "Tenure must be at least 1 month"))
+                                .build()))
+                .build();
+
+        when(emiBatchCalculationService.calculateBatch(anyList())).thenReturn(batchResponse);
+
+        EMICalculationRequest invalidRequest = EMICalculationRequest.builder()
+                .principalAmount(BigDecimal.valueOf(500000))
+                .annualInterestRate(BigDecimal.valueOf(10.5))
+                .tenureMonths(0)
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/emi/calculate-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(validRequest, invalidRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCount").value(2))
+                .andExpect(jsonPath("$.results[0].status").value("SUCCESS"))
+                .andExpect(jsonPath("$.results[0].result.monthlyEMI").exists())
+                .andExpect(jsonPath("$.results[1].status").value("FAILED"))
+                .andExpect(jsonPath("$.results[1].fieldErrors.tenureMonths").exists());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for empty EMI batch")
+    void testCalculateEMIBatchEmpty() throws Exception {
+        // Arrange
+        when(emiBatchCalculationService.calculateBatch(anyList()))
+                .thenThrow(new IllegalArgumentException("Batch must contain at least one request"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/emi/calculate-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return EMI matrix for rates and tenure range")
+    void testCalculateEMIMatrix() throws Exception {
+        // Arrange
+        EMIMatrixResponse matrix = EMIMatrixResponse.builder()
+                .principal(BigDecimal.valueOf(500000))
+                .annualInterestRates(List.of(BigDecimal.valueOf(10), BigDecimal.valueOf(10.5)))
+                .tenureMonths(List.of(12, 24))
+                .monthlyEMI(List.of(
+                        List.of(BigDecimal.valueOf(43957.94), BigDecimal.valueOf(23072.46)),
+                        List.of(BigDecimal.valueOf(44073.70), BigDecimal.valueOf(23188.18))))
+                .build();
+
+        when(emiCalculationService.calculateEMIMatrix(any(BigDecimal.class), anyList(), eq(12), eq(24), anyInt()))
+                .thenReturn(matrix);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/emi/matrix")
+                .param("principal", "500000")
+                .param("rates", "10,10.5")
+                .param("maxTenure", "24"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tenureMonths.length()").value(2))
+                .andExpect(jsonPath("$.monthlyEMI[1][0]").value(44073.70));
+    }
+
+    @Test
+    @DisplayName("Should stream schedule preview as NDJSON by default")
+    void testPreviewScheduleNdjson() throws Exception {
+        // Arrange
+        when(emiCalculationService.previewRepaymentSchedule(any(EMICalculationRequest.class)))
+                .thenReturn(new RepaymentScheduleCalculator(BigDecimal.valueOf(500000), BigDecimal.valueOf(10.5), 60,
+                        BigDecimal.valueOf(10746.95), LocalDateTime.of(2025, 2, 1, 0, 0)));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1/emi/schedule-preview")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(60, lines.length);
+        assertEquals(60, objectMapper.readTree(lines[59]).get("installmentNumber").asInt());
+        assertEquals(0, objectMapper.readTree(lines[59]).get("remainingBalance").decimalValue().signum());
+    }
+
+    @Test
+    @DisplayName("Should stream schedule preview as JSON array when requested")
+    void testPreviewScheduleJsonArray() throws Exception {
+        // Arrange
+        when(emiCalculationService.previewRepaymentSchedule(any(EMICalculationRequest.class)))
+                .thenReturn(new RepaymentScheduleCalculator(BigDecimal.valueOf(120000), BigDecimal.valueOf(12), 12,
+                        BigDecimal.valueOf(10661.85), LocalDateTime.of(2025, 2, 1, 0, 0)));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1/emi/schedule-preview")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(12))
+                .andExpect(jsonPath("$[0].installmentNumber").value(1))
+                .andExpect(jsonPath("$[0].interestAmount").value(1200.00))
+                .andExpect(jsonPath("$[11].remainingBalance").value(0));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for invalid schedule preview input")
+    void testPreviewScheduleInvalidInput() throws Exception {
+        // Arrange
+        validRequest.setTenureMonths(0);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/emi/schedule-preview")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isBadRequest());
+    }
+
+
+    @Test
+    @DisplayName("Should end the NDJSON schedule preview with a newline before the response stream is closed")
+    void testPreviewScheduleNdjson_TrailingNewlineBeforeClose() throws Exception {
+        // Arrange
+        when(emiCalculationService.previewRepaymentSchedule(any(EMICalculationRequest.class)))
+                .thenReturn(new RepaymentScheduleCalculator(BigDecimal.valueOf(500000), BigDecimal.valueOf(10.5), 60,
+                        BigDecimal.valueOf(10746.95), LocalDateTime.of(2025, 2, 1, 0, 0)));
+        ClosableResponseStream response = new ClosableResponseStream();
+
+        // Act
+        emiCalculationController.previewSchedule(validRequest, null).getBody().writeTo(response);
+
+        // Assert
+        String body = response.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("}\n"));
+        assertEquals(60, body.split("\n").length);
+    }
+
+    /**
+     * Response stream that, like a servlet container's, rejects writes once closed.
+     */
+    private static class ClosableResponseStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public synchronized void write(int b) {
+            if (closed) {
+                throw new IllegalStateException("Response stream is closed");
+            }
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            if (closed) {
+                throw new IllegalStateException("Response stream is closed");
+            }
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
 }
@@ -1,8 +1,17 @@
 package com.consumerfinance.controller;
 
 import com.consumerfinance.config.SecurityConfig;
+import com.consumerfinance.dto.OverdueRepaymentPage;
+import com.consumerfinance.dto.OverdueRepaymentResponse;
+import com.consumerfinance.dto.PaymentAllocationItemResponse;
+import com.consumerfinance.dto.PaymentAllocationResponse;
+import com.consumerfinance.dto.PayoffQuoteResponse;
+import com.consumerfinance.dto.PrepaymentResponse;
+import com.consumerfinance.dto.RepaymentIngestionResult;
+import com.consumerfinance.dto.RepaymentIngestionSummary;
 import com.consumerfinance.dto.RepaymentResponse;
 import com.consumerfinance.service.LoanRepaymentService;
+import com.consumerfinance.service.RepaymentIngestionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,14 +21,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -40,6 +56,9 @@ class LoanRepaymentControllerTest {
     @MockBean
     private LoanRepaymentService repaymentService;
 
+    @MockBean
+    private RepaymentIngestionService ingestionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -65,7 +84,7 @@ class LoanRepaymentControllerTest {
     @DisplayName("Should process loan repayment and return 200")
     void testProcessRepayment_Success() throws Exception {
         // Arrange
-        when(repaymentService.processRepayment(eq(loanId), eq(1), any(BigDecimal.class)))
+        when(repaymentService.processRepayment(eq(loanId), eq(1), any(BigDecimal.class), isNull(), isNull()))
                 .thenReturn(mockRepaymentResponse);
 
         // Act & Assert
@@ -83,7 +102,7 @@ class LoanRepaymentControllerTest {
     void testProcessRepayment_LoanNotFound() throws Exception {
         // Arrange
         UUID unknownLoanId = UUID.randomUUID();
-        when(repaymentService.processRepayment(eq(unknownLoanId), eq(1), any(BigDecimal.class)))
+        when(repaymentService.processRepayment(eq(unknownLoanId), eq(1), any(BigDecimal.class), isNull(), isNull()))
                 .thenThrow(new RuntimeException("Loan not found"));
 
         // Act & Assert
@@ -154,6 +173,35 @@ class LoanRepaymentControllerTest {
                 .andExpect(jsonPath("$[0].status").value("PENDING"));
     }
 
+    @Test
+    @DisplayName("Should get a page of overdue repayments with filters and cursor")
+    void testGetOverdueRepayments_Page() throws Exception {
+        // Arrange
+        OverdueRepaymentPage page = OverdueRepaymentPage.builder()
+                .items(List.of(OverdueRepaymentResponse.builder()
+                        .loanId(loanId.toString())
+                        .installmentNumber(2)
+                        .daysPastDue(45)
+                        .build()))
+                .nextCursor("next")
+                .hasMore(true)
+                .build();
+        when(repaymentService.getOverdueRepayments(LocalDate.of(2026, 1, 1), null, 30, "cursor", 50))
+                .thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/repayments/overdue/list")
+                .param("dueFrom", "2026-01-01")
+                .param("minDaysPastDue", "30")
+                .param("after", "cursor")
+                .param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].loanId").value(loanId.toString()))
+                .andExpect(jsonPath("$.items[0].daysPastDue").value(45))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
     @Test
     @DisplayName("Should handle partial payment")
     void testProcessPartialRepayment_Success() throws Exception {
@@ -162,7 +210,7 @@ class LoanRepaymentControllerTest {
         partialRepayment.setPaidAmount(BigDecimal.valueOf(5000));
         partialRepayment.setStatus("PARTIALLY_PAID");
 
-        when(repaymentService.processRepayment(eq(loanId), eq(1), any(BigDecimal.class)))
+        when(repaymentService.processRepayment(eq(loanId), eq(1), any(BigDecimal.class), isNull(), isNull()))
                 .thenReturn(partialRepayment);
 
         // Act & Assert
@@ -187,4 +235,126 @@ class LoanRepaymentControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
     }
+    @Test
+    @DisplayName("Should pass payment mode and transaction reference to the service")
+    void testProcessRepayment_WithTransactionReference() throws Exception {
+        // Arrange
+        when(repaymentService.processRepayment(eq(loanId), eq(1), any(BigDecimal.class), eq("UPI"), eq("TXN-1")))
+                .thenReturn(mockRepaymentResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/repayments/{loanId}/installment/{installmentNumber}/pay", loanId, 1)
+                .param("amountPaid", "10746.95")
+                .param("paymentMode", "UPI")
+                .param("transactionReference", "TXN-1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.loanId").value(loanId.toString()));
+    }
+
+    @Test
+    @DisplayName("Should stream an ingestion report for an uploaded repayment file")
+    void testIngestRepayments_Upload() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "payments.ndjson", "application/x-ndjson",
+                ("{\"loanId\":\"" + loanId + "\",\"installmentNumber\":1,\"amount\":10746.95}\n").getBytes());
+        when(ingestionService.ingest(any(), eq(RepaymentIngestionService.Format.NDJSON), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<RepaymentIngestionResult> report = invocation.getArgument(2);
+                    report.accept(RepaymentIngestionResult.builder()
+                            .lineNumber(1)
+                            .loanId(loanId.toString())
+                            .installmentNumber(1)
+                            .status("SUCCESS")
+                            .repaymentStatus("PAID")
+                            .build());
+                    return RepaymentIngestionSummary.builder().totalRows(1).successCount(1).build();
+                });
+
+        // Act
+        MvcResult result = mockMvc.perform(multipart("/api/v1/repayments/ingest").file(file))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.trim().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("PAID", objectMapper.readTree(lines[0]).get("repaymentStatus").asText());
+        assertEquals(1, objectMapper.readTree(lines[1]).get("successCount").asInt());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when neither a file nor a path is given")
+    void testIngestRepayments_NoSource() throws Exception {
+        // Act & Assert
+        mockMvc.perform(multipart("/api/v1/repayments/ingest"))
+                .andExpect(status().isBadRequest());
+        verify(ingestionService, never()).ingest(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should prepay loan with the requested re-amortization option")
+    void testPrepayLoan_ReduceTenure() throws Exception {
+        // Arrange
+        when(repaymentService.prepayLoan(eq(loanId), any(BigDecimal.class),
+                eq(LoanRepaymentService.PrepaymentOption.REDUCE_TENURE), isNull()))
+                .thenReturn(PrepaymentResponse.builder()
+                        .loanId(loanId.toString())
+                        .amountPaid(BigDecimal.valueOf(50000))
+                        .option("REDUCE_TENURE")
+                        .remainingInstallments(31)
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/repayments/{loanId}/prepay", loanId)
+                .param("amount", "50000")
+                .param("option", "REDUCE_TENURE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.option").value("REDUCE_TENURE"))
+                .andExpect(jsonPath("$.remainingInstallments").value(31));
+    }
+
+    @Test
+    @DisplayName("Should return the payoff quote of a loan")
+    void testGetPayoffQuote() throws Exception {
+        // Arrange
+        when(repaymentService.getPayoffQuote(loanId))
+                .thenReturn(PayoffQuoteResponse.builder()
+                        .loanId(loanId.toString())
+                        .outstandingPrincipal(new BigDecimal("350000.00"))
+                        .accruedInterest(new BigDecimal("1458.33"))
+                        .payoffAmount(new BigDecimal("351458.33"))
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/repayments/{loanId}/payoff-quote", loanId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payoffAmount").value(351458.33));
+    }
+
+    @Test
+    @DisplayName("Should allocate a lump-sum payment across installments")
+    void testAllocatePayment() throws Exception {
+        // Arrange
+        when(repaymentService.allocatePayment(eq(loanId), any(BigDecimal.class), eq("UPI"), isNull()))
+                .thenReturn(PaymentAllocationResponse.builder()
+                        .loanId(loanId.toString())
+                        .amountPaid(new BigDecimal("21323.70"))
+                        .allocations(List.of(
+                                PaymentAllocationItemResponse.builder().installmentNumber(2).status("PAID").build(),
+                                PaymentAllocationItemResponse.builder().installmentNumber(3).status("PAID").build()))
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/repayments/{loanId}/pay", loanId)
+                .param("amount", "21323.70")
+                .param("paymentMode", "UPI"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.allocations.length()").value(2))
+                .andExpect(jsonPath("$.allocations[1].installmentNumber").value(3));
+    }
 }
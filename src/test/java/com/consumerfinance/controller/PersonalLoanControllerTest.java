@@ -1,8 +1,19 @@
 package com.consumerfinance.controller;
 
 import com.consumerfinance.config.SecurityConfig;
+import com.consumerfinance.dto.ApprovalQueueItemResponse;
+import com.consumerfinance.dto.BulkDisbursalItemResponse;
+import com.consumerfinance.dto.BulkDisbursalResponse;
 import com.consumerfinance.dto.CreateLoanRequest;
+import com.consumerfinance.dto.DisbursalStatusResponse;
+import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.dto.LoanBalanceResponse;
+import com.consumerfinance.dto.LoanEligibilityResponse;
+import com.consumerfinance.dto.LoanExportRow;
 import com.consumerfinance.dto.LoanResponse;
+import com.consumerfinance.service.LoanDisbursalService;
+import com.consumerfinance.service.LoanExportService;
+import com.consumerfinance.service.LoanLedgerService;
 import com.consumerfinance.service.PersonalLoanService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,15 +23,27 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -42,9 +65,21 @@ class PersonalLoanControllerTest {
     @MockBean
     private PersonalLoanService personalLoanService;
 
+    @MockBean
+    private LoanDisbursalService loanDisbursalService;
+
+    @MockBean
+    private LoanLedgerService loanLedgerService;
+
+    @MockBean
+    private LoanExportService loanExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PersonalLoanController personalLoanController;
+
     private UUID loanId;
     private UUID consumerId;
     private CreateLoanRequest validRequest;
@@ -147,6 +182,32 @@ class PersonalLoanControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
+    @Test
+    @DisplayName("Should return a consumer's loan eligibility with the reasons against it")
+    void testCheckEligibility_Success() throws Exception {
+        // Arrange
+        UUID consumerId = UUID.randomUUID();
+        when(personalLoanService.checkEligibility(eq(consumerId)))
+                .thenReturn(LoanEligibilityResponse.builder()
+                        .customerId(consumerId.toString())
+                        .eligible(false)
+                        .kycStatus("VERIFIED")
+                        .consumerStatus("ACTIVE")
+                        .accountVerificationStatus("VERIFIED")
+                        .hasActiveLoan(true)
+                        .reasons(List.of("Consumer cannot have more than one active loan"))
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/loans/eligibility/{consumerId}", consumerId)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerId").value(consumerId.toString()))
+                .andExpect(jsonPath("$.eligible").value(false))
+                .andExpect(jsonPath("$.hasActiveLoan").value(true))
+                .andExpect(jsonPath("$.reasons[0]").value("Consumer cannot have more than one active loan"));
+    }
+
     @Test
     @DisplayName("Should approve a pending loan")
     void testApproveLoan_Success() throws Exception {
@@ -197,6 +258,65 @@ class PersonalLoanControllerTest {
                 .andExpect(jsonPath("$.status").value("DISBURSED"));
     }
 
+    @Test
+    @DisplayName("Should accept asynchronous disbursal with 202")
+    void testDisburseLoan_Async() throws Exception {
+        // Arrange
+        mockLoanResponse.setStatus("DISBURSING");
+        when(loanDisbursalService.disburseAsync(eq(loanId)))
+                .thenReturn(mockLoanResponse);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/loans/{loanId}/disburse", loanId)
+                .param("async", "true")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/loans/" + loanId + "/disbursal"))
+                .andExpect(jsonPath("$.status").value("DISBURSING"));
+    }
+
+    @Test
+    @DisplayName("Should disburse loans in bulk")
+    void testDisburseLoans_Bulk() throws Exception {
+        // Arrange
+        when(loanDisbursalService.disburseLoans(anyList()))
+                .thenReturn(BulkDisbursalResponse.builder()
+                        .totalCount(2)
+                        .successCount(1)
+                        .failureCount(1)
+                        .results(List.of(
+                                BulkDisbursalItemResponse.builder().loanId(loanId.toString()).status("SUCCESS").build(),
+                                BulkDisbursalItemResponse.builder().loanId(consumerId.toString()).status("FAILED")
+                                        .errorMessage("Loan not found: " + consumerId).build()))
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/loans/disburse-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(loanId, consumerId))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successCount").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("FAILED"));
+    }
+
+    @Test
+    @DisplayName("Should return disbursal status")
+    void testGetDisbursalStatus() throws Exception {
+        // Arrange
+        when(personalLoanService.getDisbursalStatus(eq(loanId)))
+                .thenReturn(DisbursalStatusResponse.builder()
+                        .loanId(loanId.toString())
+                        .status("ACTIVE")
+                        .scheduleMode("MATERIALIZED")
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/loans/{loanId}/disbursal", loanId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("ACTIVE"))
+                .andExpect(jsonPath("$.scheduleMode").value("MATERIALIZED"));
+    }
+
     @Test
     @DisplayName("Should handle authentication requirement")
     @WithMockUser(username = "admin", roles = {"ADMIN"})
@@ -210,4 +330,133 @@ class PersonalLoanControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    @DisplayName("Should get the loan balance as of a time")
+    void testGetBalanceAsOf() throws Exception {
+        // Arrange
+        LocalDateTime asOf = LocalDateTime.of(2026, 6, 30, 23, 59, 59);
+        when(loanLedgerService.getBalanceAsOf(loanId, asOf))
+                .thenReturn(LoanBalanceResponse.builder()
+                        .loanId(loanId.toString())
+                        .asOf(asOf)
+                        .balance(BigDecimal.valueOf(412500))
+                        .entriesApplied(3)
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/loans/{loanId}/balance", loanId)
+                .param("asOf", "2026-06-30T23:59:59"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(412500))
+                .andExpect(jsonPath("$.entriesApplied").value(3));
+    }
+
+    @Test
+    @DisplayName("Should get a sorted page of the approval queue")
+    void testGetApprovalQueue() throws Exception {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "principalAmount"));
+        when(personalLoanService.getApprovalQueue(eq(new BigDecimal("100000")), eq(null), eq(null), eq(null),
+                eq(null), eq(60), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(ApprovalQueueItemResponse.builder()
+                        .loanId(loanId.toString())
+                        .principalAmount(BigDecimal.valueOf(450000))
+                        .loanTenureMonths(48)
+                        .build()), pageable, 1));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/loans/approval-queue")
+                .param("minAmount", "100000")
+                .param("maxTenure", "60")
+                .param("size", "5")
+                .param("sort", "principalAmount,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].loanId").value(loanId.toString()))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @DisplayName("Should stream the loan export as NDJSON")
+    void testExportLoans() throws Exception {
+        // Arrange
+        when(loanExportService.exportLoans(eq(PersonalLoan.LoanStatus.ACTIVE), any())).thenAnswer(invocation -> {
+            Consumer<LoanExportRow> sink = invocation.getArgument(1);
+            sink.accept(LoanExportRow.builder()
+                    .loanId(loanId)
+                    .status(PersonalLoan.LoanStatus.ACTIVE)
+                    .outstandingBalance(BigDecimal.valueOf(412500))
+                    .build());
+            sink.accept(LoanExportRow.builder()
+                    .loanId(UUID.randomUUID())
+                    .status(PersonalLoan.LoanStatus.ACTIVE)
+                    .outstandingBalance(BigDecimal.valueOf(98000))
+                    .build());
+            return 2L;
+        });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/v1/loans/export").param("status", "ACTIVE"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(loanId.toString(), objectMapper.readTree(lines[0]).get("loanId").asText());
+        assertEquals(98000, objectMapper.readTree(lines[1]).get("outstandingBalance").asInt());
+    }
+
+    @Test
+    @DisplayName("Should end the loan export with a newline before the response stream is closed")
+    void testExportLoans_TrailingNewlineBeforeClose() throws Exception {
+        // Arrange
+        when(loanExportService.exportLoans(eq(null), any())).thenAnswer(invocation -> {
+            Consumer<LoanExportRow> sink = invocation.getArgument(1);
+            sink.accept(LoanExportRow.builder().loanId(loanId).status(PersonalLoan.LoanStatus.ACTIVE).build());
+            return 1L;
+        });
+        ClosableResponseStream response = new ClosableResponseStream();
+
+        // Act
+        personalLoanController.exportLoans(null).getBody().writeTo(response);
+
+        // Assert
+        String body = response.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("}\n"));
+        assertEquals(1, body.split("\n").length);
+    }
+
+    /**
+     * Response stream that, like a servlet container's, rejects writes once closed.
+     */
+    private static class ClosableResponseStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public synchronized void write(int b) {
+            if (closed) {
+                throw new IllegalStateException("Response stream is closed");
+            }
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            if (closed) {
+                throw new IllegalStateException("Response stream is closed");
+            }
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
 }
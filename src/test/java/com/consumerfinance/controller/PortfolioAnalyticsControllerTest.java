@@ -0,0 +1,103 @@
+package com.consumerfinance.controller;
+
+import com.consumerfinance.config.SecurityConfig;
+import com.consumerfinance.dto.DailyDisbursalResponse;
+import com.consumerfinance.dto.PortfolioStatusResponse;
+import com.consumerfinance.dto.PortfolioSummaryResponse;
+import com.consumerfinance.service.PortfolioSummaryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for PortfolioAnalyticsController.
+ * Tests REST endpoints for the portfolio summary.
+ */
+@WebMvcTest(PortfolioAnalyticsController.class)
+@Import(SecurityConfig.class)
+@DisplayName("Portfolio Analytics Controller Tests")
+@WithMockUser(username = "testuser", roles = {"USER"})
+class PortfolioAnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PortfolioSummaryService portfolioSummaryService;
+
+    @Test
+    @DisplayName("Should return the portfolio summary for the requested days")
+    void testGetSummary_Success() throws Exception {
+        // Arrange
+        PortfolioSummaryResponse summary = PortfolioSummaryResponse.builder()
+                .totalLoans(3)
+                .totalOutstanding(new BigDecimal("250000.00"))
+                .averageActiveInterestRate(new BigDecimal("11.50"))
+                .statuses(List.of(PortfolioStatusResponse.builder()
+                        .status("ACTIVE")
+                        .loanCount(2)
+                        .principalTotal(new BigDecimal("300000.00"))
+                        .outstandingTotal(new BigDecimal("250000.00"))
+                        .averageInterestRate(new BigDecimal("11.50"))
+                        .build()))
+                .dailyDisbursals(List.of(DailyDisbursalResponse.builder()
+                        .date(LocalDate.now())
+                        .loanCount(2)
+                        .principalTotal(new BigDecimal("300000.00"))
+                        .build()))
+                .updatedAt(LocalDateTime.now())
+                .build();
+        when(portfolioSummaryService.getSummary(7)).thenReturn(summary);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/analytics/portfolio").param("days", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalLoans").value(3))
+                .andExpect(jsonPath("$.totalOutstanding").value(250000.00))
+                .andExpect(jsonPath("$.statuses[0].status").value("ACTIVE"))
+                .andExpect(jsonPath("$.dailyDisbursals[0].loanCount").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when days is out of range")
+    void testGetSummary_DaysOutOfRange() throws Exception {
+        // Arrange
+        when(portfolioSummaryService.getSummary(0))
+                .thenThrow(new IllegalArgumentException("Days must be between 1 and 366"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/analytics/portfolio").param("days", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the portfolio summary and return it")
+    void testRebuildSummary() throws Exception {
+        // Arrange
+        when(portfolioSummaryService.getSummary(30)).thenReturn(PortfolioSummaryResponse.builder()
+                .totalLoans(5)
+                .statuses(List.of())
+                .dailyDisbursals(List.of())
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/analytics/portfolio/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalLoans").value(5));
+        verify(portfolioSummaryService).rebuildSummary();
+    }
+}
@@ -0,0 +1,85 @@
+package com.consumerfinance.repository;
+
+import com.consumerfinance.service.RepaymentScheduleCalculator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RepaymentScheduleBatchWriter against an in-memory H2 database.
+ */
+@DisplayName("Repayment Schedule Batch Writer Tests")
+class RepaymentScheduleBatchWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private RepaymentScheduleBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE loan_repayments ("
+                + "repayment_id UUID NOT NULL PRIMARY KEY, loan_id UUID NOT NULL, installment_number INT NOT NULL, "
+                + "principal_amount DECIMAL(15,2) NOT NULL, interest_amount DECIMAL(15,2) NOT NULL, "
+                + "total_amount DECIMAL(15,2) NOT NULL, status VARCHAR(20) NOT NULL, due_date TIMESTAMP NOT NULL, "
+                + "paid_date TIMESTAMP, paid_amount DECIMAL(15,2), payment_mode VARCHAR(50), "
+                + "transaction_reference VARCHAR(100), created_at TIMESTAMP NOT NULL, "
+                + "CONSTRAINT uk_loan_installment UNIQUE (loan_id, installment_number))");
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new RepaymentScheduleBatchWriter(jdbcTemplate, meterRegistry, 100);
+    }
+
+    @Test
+    @DisplayName("Should insert a 360-month schedule in four batched statements")
+    void testWriteSchedule() {
+        // Arrange
+        UUID loanId = UUID.randomUUID();
+        RepaymentScheduleCalculator schedule = new RepaymentScheduleCalculator(BigDecimal.valueOf(500000),
+                BigDecimal.valueOf(10.5), 360, new BigDecimal("4573.64"), LocalDateTime.of(2025, 2, 1, 0, 0));
+
+        // Act
+        int rows = writer.writeSchedule(loanId, schedule);
+
+        // Assert
+        assertEquals(360, rows);
+        assertEquals(360, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM loan_repayments WHERE loan_id = ? AND status = 'PENDING'", Integer.class, loanId));
+        assertEquals(0, new BigDecimal("500000").compareTo(jdbcTemplate.queryForObject(
+                "SELECT SUM(principal_amount) FROM loan_repayments WHERE loan_id = ?", BigDecimal.class, loanId)));
+        assertEquals(LocalDateTime.of(2055, 1, 1, 0, 0), jdbcTemplate.queryForObject(
+                "SELECT due_date FROM loan_repayments WHERE installment_number = 360", LocalDateTime.class));
+        assertEquals(360.0, meterRegistry.get("loan.schedule.rows.written").counter().count());
+        assertEquals(4.0, meterRegistry.get("loan.schedule.statements").summary().totalAmount());
+        assertEquals(1L, meterRegistry.get("loan.schedule.write.throughput").summary().count());
+    }
+
+    @Test
+    @DisplayName("Should execute no statements for an empty schedule")
+    void testWriteEmptySchedule() {
+        // Act
+        int rows = writer.writeSchedule(UUID.randomUUID(), Collections.emptyIterator());
+
+        // Assert
+        assertEquals(0, rows);
+        assertEquals(0.0, meterRegistry.get("loan.schedule.statements").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive batch size")
+    void testInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RepaymentScheduleBatchWriter(jdbcTemplate, meterRegistry, 0));
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.consumerfinance.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AnnuityFactorTable.
+ * Tests grid lookups, off-grid fallback and memory accounting.
+ */
+@DisplayName("Annuity Factor Table Tests")
+class AnnuityFactorTableTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AnnuityFactorTable table;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        table = new AnnuityFactorTable(meterRegistry, true, new BigDecimal("36.00"), false);
+    }
+
+    @Test
+    @DisplayName("Should match the on-the-fly factor bit for bit across the grid")
+    void testFactorsMatchOnTheFlyCalculation() {
+        for (int hundredths = 5; hundredths <= 3600; hundredths += 5) {
+            BigDecimal annualRate = BigDecimal.valueOf(hundredths, 2);
+            double monthlyRate = annualRate.doubleValue() / 1200.0;
+            for (int tenure = 12; tenure <= 360; tenure++) {
+                assertEquals(FixedPointEMICalculator.annuityFactor(monthlyRate, tenure),
+                        table.factor(annualRate, tenure),
+                        "Mismatch for rate " + annualRate + ", tenure " + tenure);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should return NaN for off-grid rates and tenures")
+    void testOffGridLookups() {
+        assertTrue(Double.isNaN(table.factor(new BigDecimal("10.52"), 60)));
+        assertTrue(Double.isNaN(table.factor(new BigDecimal("10.505"), 60)));
+        assertTrue(Double.isNaN(table.factor(BigDecimal.ZERO, 60)));
+        assertTrue(Double.isNaN(table.factor(new BigDecimal("36.05"), 60)));
+        assertTrue(Double.isNaN(table.factor(new BigDecimal("10.5"), 6)));
+        assertTrue(Double.isNaN(table.factor(new BigDecimal("10.5"), 361)));
+        assertFalse(Double.isNaN(table.factor(new BigDecimal("10.500"), 60)));
+    }
+
+    @Test
+    @DisplayName("Should build rows lazily and report memory footprint")
+    void testLazyRowsAndMemoryGauge() {
+        assertEquals(0, table.memoryFootprintBytes());
+
+        table.factor(new BigDecimal("10.5"), 60);
+        table.factor(new BigDecimal("10.5"), 120);
+        table.factor(new BigDecimal("12"), 60);
+
+        assertEquals(2, meterRegistry.get("emi.annuity.table.rows").gauge().value());
+        assertTrue(table.memoryFootprintBytes() > 2 * 8 * 349);
+        assertEquals(table.memoryFootprintBytes(), meterRegistry.get("emi.annuity.table.memory").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should produce the reference EMI through the table path")
+    void testTableEMIMatchesReference() {
+        EMICalculationService service = new EMICalculationService(
+                new EMIQuoteCache(new SimpleMeterRegistry(), 0, Duration.ofMinutes(1)), table);
+        BigDecimal principal = BigDecimal.valueOf(123456789, 2);
+
+        for (int hundredths = 100; hundredths <= 2500; hundredths += 5) {
+            BigDecimal annualRate = BigDecimal.valueOf(hundredths, 2);
+            for (int tenure = 12; tenure <= 360; tenure += 12) {
+                long emiCents = FixedPointEMICalculator.monthlyEMICents(
+                        FixedPointEMICalculator.toCents(principal), table.factor(annualRate, tenure));
+                if (emiCents != FixedPointEMICalculator.UNDECIDED) {
+                    assertEquals(service.calculateReferenceEMI(principal, annualRate, tenure),
+                            BigDecimal.valueOf(emiCents, 2));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should not hold rows when disabled")
+    void testDisabledTable() {
+        AnnuityFactorTable disabled = new AnnuityFactorTable(new SimpleMeterRegistry(), false, new BigDecimal("36.00"), true);
+
+        assertTrue(Double.isNaN(disabled.factor(new BigDecimal("10.5"), 60)));
+        assertEquals(0, disabled.memoryFootprintBytes());
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.dto.EMIBatchResponse;
+import com.consumerfinance.dto.EMICalculationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EMIBatchCalculationService.
+ * Tests ordering, per-item validation and batch size limits.
+ */
+@DisplayName("EMI Batch Calculation Service Tests")
+class EMIBatchCalculationServiceTest {
+
+    private EMICalculationService emiCalculationService;
+    private EMIBatchCalculationService batchService;
+
+    @BeforeEach
+    void setUp() {
+        emiCalculationService = new EMICalculationService(
+                new EMIQuoteCache(new SimpleMeterRegistry(), 1000, Duration.ofMinutes(10)),
+                new AnnuityFactorTable(new SimpleMeterRegistry(), true, new BigDecimal("36.00"), false));
+        batchService = new EMIBatchCalculationService(emiCalculationService,
+                Validation.buildDefaultValidatorFactory().getValidator(), 4, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should keep request order for large batches")
+    void testCalculateBatchKeepsOrder() {
+        // Arrange
+        List<EMICalculationRequest> requests = new ArrayList<>();
+        for (int i = 1; i <= 5000; i++) {
+            requests.add(request(BigDecimal.valueOf(100000 + i), BigDecimal.valueOf(10.5), 12 + i % 348));
+        }
+
+        // Act
+        EMIBatchResponse response = batchService.calculateBatch(requests);
+
+        // Assert
+        assertEquals(5000, response.getTotalCount());
+        assertEquals(5000, response.getSuccessCount());
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals(i, response.getResults().get(i).getIndex());
+            assertEquals(emiCalculationService.quoteEMI(requests.get(i)), response.getResults().get(i).getResult());
+        }
+    }
+
+    @Test
+    @DisplayName("Should report per-item validation errors without failing the batch")
+    void testCalculateBatchWithInvalidItems() {
+        // Arrange
+        List<EMICalculationRequest> requests = Arrays.asList(
+                request(BigDecimal.valueOf(500000), BigDecimal.valueOf(10.5), 60),
+                request(BigDecimal.valueOf(500000), BigDecimal.valueOf(10.5), 0),
+                null,
+                request(BigDecimal.valueOf(500000), BigDecimal.valueOf(-1), 60));
+
+        // Act
+        EMIBatchResponse response = batchService.calculateBatch(requests);
+
+        // Assert
+        assertEquals(4, response.getTotalCount());
+        assertEquals(1, response.getSuccessCount());
+        assertEquals(3, response.getFailureCount());
+        assertEquals("SUCCESS", response.getResults().get(0).getStatus());
+        assertEquals("FAILED", response.getResults().get(1).getStatus());
+        assertTrue(response.getResults().get(1).getFieldErrors().containsKey("tenureMonths"));
+        assertEquals("Request is required", response.getResults().get(2).getErrorMessage());
+        assertTrue(response.getResults().get(3).getFieldErrors().containsKey("annualInterestRate"));
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized batches")
+    void testCalculateBatchSizeLimits() {
+        List<EMICalculationRequest> oversized = Collections.nCopies(5001,
+                request(BigDecimal.valueOf(500000), BigDecimal.valueOf(10.5), 60));
+
+        assertThrows(IllegalArgumentException.class, () -> batchService.calculateBatch(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> batchService.calculateBatch(oversized));
+    }
+
+    private EMICalculationRequest request(BigDecimal principal, BigDecimal rate, int tenure) {
+        return EMICalculationRequest.builder()
+                .principalAmount(principal)
+                .annualInterestRate(rate)
+                .tenureMonths(tenure)
+                .build();
+    }
+
+}
@@ -2,13 +2,21 @@ package com.consumerfinance.service;
 
 import com.consumerfinance.dto.EMICalculationRequest;
 import com.consumerfinance.dto.EMICalculationResponse;
+import com.consumerfinance.dto.EMIMatrixResponse;
+import com.consumerfinance.dto.RepaymentScheduleEntry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,6 +28,13 @@ import static org.junit.jupiter.api.Assertions.*;
 @DisplayName("EMI Calculation Service Tests")
 class EMICalculationServiceTest {
 
+    @Spy
+    private EMIQuoteCache quoteCache = new EMIQuoteCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+
+    @Spy
+    private AnnuityFactorTable annuityFactorTable =
+            new AnnuityFactorTable(new SimpleMeterRegistry(), true, new BigDecimal("36.00"), false);
+
     @InjectMocks
     private EMICalculationService emiCalculationService;
 
@@ -164,4 +179,70 @@ class EMICalculationServiceTest {
         assertTrue(response.getTotalInterest().compareTo(BigDecimal.ZERO) > 0);
     }
 
+    @Test
+    @DisplayName("Should calculate EMI matrix matching single calculations")
+    void testCalculateEMIMatrix() {
+        // Arrange
+        List<BigDecimal> rates = List.of(BigDecimal.ZERO, new BigDecimal("0.05"), new BigDecimal("7.25"),
+                new BigDecimal("10.5"), new BigDecimal("13.37"), new BigDecimal("36"));
+
+        // Act
+        EMIMatrixResponse matrix = emiCalculationService.calculateEMIMatrix(
+                BigDecimal.valueOf(500000), rates, 1, 360, 1);
+
+        // Assert
+        assertEquals(360, matrix.getTenureMonths().size());
+        for (int i = 0; i < rates.size(); i++) {
+            for (int j = 0; j < matrix.getTenureMonths().size(); j++) {
+                validRequest.setAnnualInterestRate(rates.get(i));
+                validRequest.setTenureMonths(matrix.getTenureMonths().get(j));
+                assertEquals(emiCalculationService.quoteEMI(validRequest).getMonthlyEMI(),
+                        matrix.getMonthlyEMI().get(i).get(j),
+                        "Mismatch for rate " + rates.get(i) + ", tenure " + matrix.getTenureMonths().get(j));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid or oversized EMI matrix")
+    void testCalculateEMIMatrixInvalid() {
+        List<BigDecimal> rates = List.of(BigDecimal.valueOf(10.5));
+
+        assertThrows(IllegalArgumentException.class, () -> emiCalculationService.calculateEMIMatrix(
+                BigDecimal.valueOf(500000), List.of(), 12, 360, 12));
+        assertThrows(IllegalArgumentException.class, () -> emiCalculationService.calculateEMIMatrix(
+                BigDecimal.valueOf(500000), rates, 360, 12, 12));
+        assertThrows(IllegalArgumentException.class, () -> emiCalculationService.calculateEMIMatrix(
+                BigDecimal.ZERO, rates, 12, 360, 12));
+        assertThrows(IllegalArgumentException.class, () -> emiCalculationService.calculateEMIMatrix(
+                BigDecimal.valueOf(500000), Collections.nCopies(1000, BigDecimal.TEN), 1, 360, 1));
+    }
+
+    @Test
+    @DisplayName("Should preview a schedule that amortizes the principal exactly")
+    void testPreviewRepaymentSchedule() {
+        // Act
+        Iterator<RepaymentScheduleEntry> schedule = emiCalculationService.previewRepaymentSchedule(validRequest);
+
+        // Assert
+        BigDecimal emi = emiCalculationService.calculateEMI(validRequest).getMonthlyEMI();
+        BigDecimal principalTotal = BigDecimal.ZERO;
+        RepaymentScheduleEntry entry = null;
+        int count = 0;
+        while (schedule.hasNext()) {
+            entry = schedule.next();
+            count++;
+            assertEquals(count, entry.getInstallmentNumber());
+            if (count < validRequest.getTenureMonths()) {
+                assertEquals(emi, entry.getTotalAmount());
+            }
+            principalTotal = principalTotal.add(entry.getPrincipalAmount());
+        }
+
+        assertEquals(validRequest.getTenureMonths(), count);
+        assertEquals(0, entry.getRemainingBalance().signum());
+        assertEquals(0, validRequest.getPrincipalAmount().compareTo(principalTotal));
+        assertEquals(1, entry.getDueDate().getDayOfMonth());
+    }
+
 }
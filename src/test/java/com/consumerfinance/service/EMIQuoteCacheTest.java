@@ -0,0 +1,107 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.dto.EMICalculationRequest;
+import com.consumerfinance.dto.EMICalculationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EMIQuoteCache.
+ * Tests hit/miss accounting, key normalization and failure handling.
+ */
+@DisplayName("EMI Quote Cache Tests")
+class EMIQuoteCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private EMIQuoteCache quoteCache;
+    private EMICalculationService emiCalculationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        quoteCache = new EMIQuoteCache(meterRegistry, 100, Duration.ofMinutes(10));
+        emiCalculationService = new EMICalculationService(quoteCache,
+                new AnnuityFactorTable(new SimpleMeterRegistry(), true, new BigDecimal("36.00"), false));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated quotes from the cache")
+    void testRepeatedQuoteIsCached() {
+        // Arrange
+        AtomicInteger calculations = new AtomicInteger();
+        EMICalculationRequest request = request(new BigDecimal("500000"), new BigDecimal("10.5"), 60);
+
+        // Act
+        EMICalculationResponse first = quoteCache.get(request, r -> {
+            calculations.incrementAndGet();
+            return quote(r);
+        });
+        EMICalculationResponse second = quoteCache.get(request, r -> {
+            calculations.incrementAndGet();
+            return quote(r);
+        });
+
+        // Assert
+        assertEquals(1, calculations.get());
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(1, quoteCache.stats().hitCount());
+        assertEquals(1, quoteCache.stats().missCount());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", EMIQuoteCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should treat numerically equal amounts as the same key")
+    void testKeyNormalization() {
+        // Act
+        emiCalculationService.quoteEMI(request(new BigDecimal("500000"), new BigDecimal("10.5"), 60));
+        EMICalculationResponse response =
+                emiCalculationService.quoteEMI(request(new BigDecimal("500000.00"), new BigDecimal("10.50"), 60));
+
+        // Assert
+        assertEquals(1, quoteCache.stats().hitCount());
+        assertEquals(new BigDecimal("500000.00"), response.getPrincipal());
+        assertEquals(new BigDecimal("10.50"), response.getAnnualInterestRate());
+    }
+
+    @Test
+    @DisplayName("Should not cache failed calculations")
+    void testFailuresAreNotCached() {
+        // Arrange
+        EMICalculationRequest invalid = request(BigDecimal.ZERO, new BigDecimal("10.5"), 60);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> emiCalculationService.quoteEMI(invalid));
+        assertThrows(IllegalArgumentException.class, () -> emiCalculationService.quoteEMI(invalid));
+        assertEquals(0, quoteCache.stats().hitCount());
+        assertEquals(2, quoteCache.stats().missCount());
+    }
+
+    private EMICalculationResponse quote(EMICalculationRequest request) {
+        return EMICalculationResponse.builder()
+                .monthlyEMI(new BigDecimal("10746.95"))
+                .totalAmount(new BigDecimal("644817.00"))
+                .totalInterest(new BigDecimal("144817.00"))
+                .principal(request.getPrincipalAmount())
+                .annualInterestRate(request.getAnnualInterestRate())
+                .tenureMonths(request.getTenureMonths())
+                .build();
+    }
+
+    private EMICalculationRequest request(BigDecimal principal, BigDecimal rate, int tenure) {
+        return EMICalculationRequest.builder()
+                .principalAmount(principal)
+                .annualInterestRate(rate)
+                .tenureMonths(tenure)
+                .build();
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.dto.EMICalculationRequest;
+import com.consumerfinance.dto.EMICalculationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Property-based equivalence tests for FixedPointEMICalculator.
+ * Every decided fast path result must equal the BigDecimal reference EMI to the cent.
+ */
+@DisplayName("Fixed-Point EMI Calculator Tests")
+class FixedPointEMICalculatorTest {
+
+    private static final int SAMPLES_PER_SEED = 20_000;
+
+    private final EMICalculationService emiCalculationService =
+            new EMICalculationService(new EMIQuoteCache(new SimpleMeterRegistry(), 0, Duration.ofMinutes(1)),
+                    new AnnuityFactorTable(new SimpleMeterRegistry(), true, new BigDecimal("36.00"), false));
+
+    @Test
+    @DisplayName("Should match reference EMI across the whole rate card")
+    void testRateCardEquivalence() {
+        BigDecimal principal = BigDecimal.valueOf(500000);
+        long principalCents = FixedPointEMICalculator.toCents(principal);
+        int decided = 0;
+        int total = 0;
+
+        for (int rateBasisPoints = 0; rateBasisPoints <= 3600; rateBasisPoints += 5) {
+            BigDecimal annualRate = BigDecimal.valueOf(rateBasisPoints, 2);
+            for (int tenure = 1; tenure <= 360; tenure++) {
+                long emiCents = FixedPointEMICalculator.monthlyEMICents(
+                        principalCents, FixedPointEMICalculator.toRate(annualRate), tenure);
+                total++;
+                if (emiCents != FixedPointEMICalculator.UNDECIDED) {
+                    decided++;
+                    assertEquals(emiCalculationService.calculateReferenceEMI(principal, annualRate, tenure),
+                            BigDecimal.valueOf(emiCents, 2),
+                            "Mismatch for rate " + annualRate + ", tenure " + tenure);
+                }
+            }
+        }
+
+        assertTrue(decided >= total * 0.99, "Fast path decided only " + decided + " of " + total);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 42L, 20240101L, 987654321L})
+    @DisplayName("Should match reference EMI for random principal, rate and tenure")
+    void testRandomEquivalence(long seed) {
+        Random random = new Random(seed);
+
+        for (int i = 0; i < SAMPLES_PER_SEED; i++) {
+            BigDecimal principal = BigDecimal.valueOf(1 + (long) (random.nextDouble() * 1_000_000_000_00L), 2);
+            BigDecimal annualRate = BigDecimal.valueOf(random.nextInt(600_001), 4);
+            int tenure = 1 + random.nextInt(600);
+
+            long emiCents = FixedPointEMICalculator.monthlyEMICents(
+                    FixedPointEMICalculator.toCents(principal), FixedPointEMICalculator.toRate(annualRate), tenure);
+            if (emiCents != FixedPointEMICalculator.UNDECIDED) {
+                assertEquals(emiCalculationService.calculateReferenceEMI(principal, annualRate, tenure),
+                        BigDecimal.valueOf(emiCents, 2),
+                        "Mismatch for principal " + principal + ", rate " + annualRate + ", tenure " + tenure);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {7L, 1337L})
+    @DisplayName("Should return identical responses to the reference totals")
+    void testCalculateEMIMatchesReferenceTotals(long seed) {
+        Random random = new Random(seed);
+        MathContext mathContext = new MathContext(20, RoundingMode.HALF_UP);
+
+        for (int i = 0; i < 500; i++) {
+            BigDecimal principal = BigDecimal.valueOf(100_000 + random.nextInt(100_000_000), 2);
+            BigDecimal annualRate = BigDecimal.valueOf(random.nextInt(3601), 2);
+            int tenure = 1 + random.nextInt(360);
+
+            EMICalculationResponse response = emiCalculationService.calculateEMI(EMICalculationRequest.builder()
+                    .principalAmount(principal)
+                    .annualInterestRate(annualRate)
+                    .tenureMonths(tenure)
+                    .build());
+
+            BigDecimal emi = emiCalculationService.calculateReferenceEMI(principal, annualRate, tenure);
+            BigDecimal totalAmount = emi.multiply(BigDecimal.valueOf(tenure), mathContext).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal totalInterest = totalAmount.subtract(principal, mathContext).setScale(2, RoundingMode.HALF_UP);
+
+            assertEquals(emi, response.getMonthlyEMI());
+            assertEquals(totalAmount, response.getTotalAmount());
+            assertEquals(totalInterest, response.getTotalInterest());
+        }
+    }
+
+    @Test
+    @DisplayName("Should divide exactly with HALF_UP for zero interest")
+    void testZeroRateExactDivision() {
+        assertEquals(833333L, FixedPointEMICalculator.monthlyEMICents(50_000_000L, 0.0, 60));
+        assertEquals(3L, FixedPointEMICalculator.monthlyEMICents(5L, 0.0, 2));
+        assertEquals(1L, FixedPointEMICalculator.monthlyEMICents(4L, 0.0, 3));
+    }
+
+    @Test
+    @DisplayName("Should fall back for amounts outside the fast path domain")
+    void testUndecidedOutsideDomain() {
+        assertEquals(FixedPointEMICalculator.UNDECIDED, FixedPointEMICalculator.toCents(new BigDecimal("100.005")));
+        assertEquals(FixedPointEMICalculator.UNDECIDED, FixedPointEMICalculator.toCents(new BigDecimal("1E+20")));
+        assertEquals(FixedPointEMICalculator.UNDECIDED, FixedPointEMICalculator.toCents(BigDecimal.valueOf(-1)));
+        assertEquals(FixedPointEMICalculator.UNDECIDED, FixedPointEMICalculator.monthlyEMICents(100_00L, 10.5, 0));
+        assertEquals(FixedPointEMICalculator.UNDECIDED,
+                FixedPointEMICalculator.monthlyEMICents(100_00L, FixedPointEMICalculator.toRate(new BigDecimal("1E-400")), 12));
+    }
+
+}
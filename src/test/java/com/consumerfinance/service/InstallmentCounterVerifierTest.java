@@ -0,0 +1,138 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.domain.LoanRepayment;
+import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.repository.LoanRepaymentRepository;
+import com.consumerfinance.repository.PersonalLoanRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for InstallmentCounterVerifier.
+ * Tests that drifted counters are recomputed from stored installments.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Installment Counter Verifier Tests")
+class InstallmentCounterVerifierTest {
+
+    @Mock
+    private PersonalLoanRepository loanRepository;
+
+    @Mock
+    private LoanRepaymentRepository repaymentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InstallmentCounterVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifier = new InstallmentCounterVerifier(loanRepository, repaymentRepository,
+                transactionManager, meterRegistry, 200);
+    }
+
+    @Test
+    @DisplayName("Should correct drifted counters and leave consistent loans untouched")
+    void testVerifyActiveLoans_CorrectsDrift() {
+        // Arrange
+        PersonalLoan drifted = loan(PersonalLoan.ScheduleMode.MATERIALIZED, 0, 3, 1);
+        PersonalLoan consistent = loan(PersonalLoan.ScheduleMode.MATERIALIZED, 1, 2, 2);
+        when(loanRepository.findByStatus(eq(PersonalLoan.LoanStatus.ACTIVE), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(drifted, consistent)));
+        when(repaymentRepository.findInstallmentStatusesByLoanIds(List.of(drifted.getId(), consistent.getId())))
+                .thenReturn(List.of(
+                        installment(drifted, 1, LoanRepayment.RepaymentStatus.PAID),
+                        installment(drifted, 2, LoanRepayment.RepaymentStatus.PARTIALLY_PAID),
+                        installment(drifted, 3, LoanRepayment.RepaymentStatus.PENDING),
+                        installment(consistent, 1, LoanRepayment.RepaymentStatus.PAID),
+                        installment(consistent, 2, LoanRepayment.RepaymentStatus.PENDING),
+                        installment(consistent, 3, LoanRepayment.RepaymentStatus.PENDING)));
+
+        // Act
+        int corrected = verifier.verifyActiveLoans();
+
+        // Assert
+        assertEquals(1, corrected);
+        assertEquals(1, drifted.getPaidInstallments());
+        assertEquals(1, drifted.getPartiallyPaidInstallments());
+        assertEquals(1, drifted.getPendingInstallments());
+        assertEquals(1, drifted.getRemainingTenure());
+        assertEquals(2, drifted.getNextDueInstallment());
+        verify(loanRepository).save(drifted);
+        verify(loanRepository, never()).save(consistent);
+        assertEquals(2.0, meterRegistry.counter("loan.installment.counters.checked").count());
+        assertEquals(1.0, meterRegistry.counter("loan.installment.counters.corrected").count());
+    }
+
+    @Test
+    @DisplayName("Should count unstored installments of a virtual schedule as pending")
+    void testVerifyActiveLoans_VirtualSchedule() {
+        // Arrange
+        PersonalLoan loan = loan(PersonalLoan.ScheduleMode.VIRTUAL, 0, 3, 1);
+        when(loanRepository.findByStatus(eq(PersonalLoan.LoanStatus.ACTIVE), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(loan)));
+        when(repaymentRepository.findInstallmentStatusesByLoanIds(List.of(loan.getId())))
+                .thenReturn(List.of(
+                        installment(loan, 1, LoanRepayment.RepaymentStatus.PAID),
+                        installment(loan, 3, LoanRepayment.RepaymentStatus.PAID)));
+
+        // Act
+        int corrected = verifier.verifyActiveLoans();
+
+        // Assert
+        assertEquals(1, corrected);
+        assertEquals(2, loan.getPaidInstallments());
+        assertEquals(1, loan.getPendingInstallments());
+        assertEquals(2, loan.getNextDueInstallment());
+    }
+
+    private PersonalLoan loan(PersonalLoan.ScheduleMode scheduleMode, int paid, int pending, Integer nextDue) {
+        return PersonalLoan.builder()
+                .id(UUID.randomUUID())
+                .loanTenureMonths(3)
+                .status(PersonalLoan.LoanStatus.ACTIVE)
+                .scheduleMode(scheduleMode)
+                .paidInstallments(paid)
+                .pendingInstallments(pending)
+                .remainingTenure(pending)
+                .nextDueInstallment(nextDue)
+                .build();
+    }
+
+    private LoanRepaymentRepository.InstallmentStatus installment(PersonalLoan loan, int installmentNumber,
+                                                                  LoanRepayment.RepaymentStatus status) {
+        return new LoanRepaymentRepository.InstallmentStatus() {
+            @Override
+            public UUID getLoanId() {
+                return loan.getId();
+            }
+
+            @Override
+            public Integer getInstallmentNumber() {
+                return installmentNumber;
+            }
+
+            @Override
+            public LoanRepayment.RepaymentStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,184 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.dto.BulkDisbursalItemResponse;
+import com.consumerfinance.dto.BulkDisbursalResponse;
+import com.consumerfinance.dto.LoanResponse;
+import com.consumerfinance.exception.InvalidLoanOperationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LoanDisbursalService.
+ * Tests background schedule generation, failure handling and queue limits.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Loan Disbursal Service Tests")
+class LoanDisbursalServiceTest {
+
+    @Mock
+    private PersonalLoanService loanService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoanDisbursalService disbursalService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        disbursalService = new LoanDisbursalService(loanService, meterRegistry, 1, 1, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        disbursalService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should return DISBURSING loan and complete disbursal in the background")
+    void testDisburseAsync_Completes() {
+        // Arrange
+        UUID loanId = UUID.randomUUID();
+        LoanResponse disbursing = LoanResponse.builder().id(loanId.toString()).status("DISBURSING").build();
+        when(loanService.beginDisbursal(loanId)).thenReturn(disbursing);
+
+        // Act
+        LoanResponse response = disbursalService.disburseAsync(loanId);
+
+        // Assert
+        assertEquals("DISBURSING", response.getStatus());
+        verify(loanService, timeout(5000)).completeDisbursal(loanId);
+        verify(loanService, never()).abortDisbursal(any());
+        assertEquals(1L, meterRegistry.get("loan.disbursal.lag").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should return loan to APPROVED when background disbursal fails")
+    void testDisburseAsync_FailureAborts() {
+        // Arrange
+        UUID loanId = UUID.randomUUID();
+        when(loanService.completeDisbursal(loanId)).thenThrow(new IllegalStateException("database unavailable"));
+
+        // Act
+        disbursalService.disburseAsync(loanId);
+
+        // Assert
+        verify(loanService, timeout(5000)).abortDisbursal(loanId);
+    }
+
+    @Test
+    @DisplayName("Should reject disbursal when the queue is full")
+    void testDisburseAsync_QueueFull() throws InterruptedException {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UUID blocking = UUID.randomUUID();
+        UUID queued = UUID.randomUUID();
+        UUID rejected = UUID.randomUUID();
+        when(loanService.completeDisbursal(blocking)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        disbursalService.disburseAsync(blocking);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        disbursalService.disburseAsync(queued);
+
+        // Act & Assert
+        assertThrows(InvalidLoanOperationException.class, () -> disbursalService.disburseAsync(rejected));
+        verify(loanService).abortDisbursal(rejected);
+        assertEquals(1.0, meterRegistry.get("loan.disbursal.queue.depth").gauge().value());
+
+        release.countDown();
+        verify(loanService, timeout(5000)).completeDisbursal(queued);
+    }
+
+    @Test
+    @DisplayName("Should resume loans left in DISBURSING status")
+    void testResumePendingDisbursals() {
+        // Arrange
+        UUID loanId = UUID.randomUUID();
+        when(loanService.getDisbursingLoanIds()).thenReturn(List.of(loanId));
+
+        // Act
+        disbursalService.resumePendingDisbursals();
+
+        // Assert
+        verify(loanService, timeout(5000)).completeDisbursal(loanId);
+        verify(loanService, never()).beginDisbursal(any());
+    }
+
+    @Test
+    @DisplayName("Should disburse loans in chunks and report results in request order")
+    void testDisburseLoans_Chunks() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        when(loanService.disburseLoanChunk(List.of(first, second)))
+                .thenReturn(List.of(success(first), failed(second, "Only approved loans can be disbursed")));
+        when(loanService.disburseLoanChunk(List.of(third))).thenReturn(List.of(success(third)));
+
+        // Act
+        BulkDisbursalResponse response = disbursalService.disburseLoans(List.of(first, second, third));
+
+        // Assert
+        assertEquals(3, response.getTotalCount());
+        assertEquals(2, response.getSuccessCount());
+        assertEquals(1, response.getFailureCount());
+        assertEquals(second.toString(), response.getResults().get(1).getLoanId());
+        assertEquals("FAILED", response.getResults().get(1).getStatus());
+        verify(loanService, never()).disburseLoan(any());
+    }
+
+    @Test
+    @DisplayName("Should retry a failed chunk loan by loan")
+    void testDisburseLoans_ChunkFailureIsolated() {
+        // Arrange
+        UUID good = UUID.randomUUID();
+        UUID bad = UUID.randomUUID();
+        when(loanService.disburseLoanChunk(List.of(good, bad)))
+                .thenThrow(new IllegalStateException("Could not commit chunk"));
+        when(loanService.disburseLoan(good)).thenReturn(LoanResponse.builder().id(good.toString()).status("ACTIVE").build());
+        when(loanService.disburseLoan(bad)).thenThrow(new IllegalStateException("Duplicate installment"));
+
+        // Act
+        BulkDisbursalResponse response = disbursalService.disburseLoans(List.of(good, bad));
+
+        // Assert
+        assertEquals(1, response.getSuccessCount());
+        assertEquals("SUCCESS", response.getResults().get(0).getStatus());
+        assertEquals("Duplicate installment", response.getResults().get(1).getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized bulk disbursals")
+    void testDisburseLoans_InvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> disbursalService.disburseLoans(Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class, () -> disbursalService.disburseLoans(
+                Collections.nCopies(11, UUID.randomUUID())));
+        verifyNoInteractions(loanService);
+    }
+
+    private BulkDisbursalItemResponse success(UUID loanId) {
+        return BulkDisbursalItemResponse.builder().loanId(loanId.toString()).status("SUCCESS").build();
+    }
+
+    private BulkDisbursalItemResponse failed(UUID loanId, String message) {
+        return BulkDisbursalItemResponse.builder().loanId(loanId.toString()).status("FAILED").errorMessage(message).build();
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.dto.LoanExportRow;
+import com.consumerfinance.repository.LoanExportReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LoanExportService.
+ * Tests that exported rows reach the sink as they are read.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Loan Export Service Tests")
+class LoanExportServiceTest {
+
+    @Mock
+    private LoanExportReader exportReader;
+
+    @InjectMocks
+    private LoanExportService exportService;
+
+    @Test
+    @DisplayName("Should hand every row read to the sink and return the row count")
+    @SuppressWarnings("unchecked")
+    void testExportLoans_StreamsRowsToSink() {
+        // Arrange
+        List<LoanExportRow> rows = List.of(row(PersonalLoan.LoanStatus.ACTIVE), row(PersonalLoan.LoanStatus.ACTIVE));
+        when(exportReader.forEachLoan(eq(PersonalLoan.LoanStatus.ACTIVE), any())).thenAnswer(invocation -> {
+            Consumer<LoanExportRow> sink = invocation.getArgument(1);
+            rows.forEach(sink);
+            return (long) rows.size();
+        });
+        List<LoanExportRow> written = new ArrayList<>();
+
+        // Act
+        long exported = exportService.exportLoans(PersonalLoan.LoanStatus.ACTIVE, written::add);
+
+        // Assert
+        assertEquals(2, exported);
+        assertEquals(rows, written);
+    }
+
+    @Test
+    @DisplayName("Should export loans of every status when no status is given")
+    void testExportLoans_AllStatuses() {
+        // Arrange
+        when(exportReader.forEachLoan(eq(null), any())).thenReturn(0L);
+
+        // Act
+        long exported = exportService.exportLoans(null, row -> fail("No rows expected"));
+
+        // Assert
+        assertEquals(0, exported);
+        verify(exportReader).forEachLoan(eq(null), any());
+    }
+
+    private LoanExportRow row(PersonalLoan.LoanStatus status) {
+        return LoanExportRow.builder()
+                .loanId(UUID.randomUUID())
+                .customerId(UUID.randomUUID())
+                .customerName("Asha Rao")
+                .status(status)
+                .principalAmount(new BigDecimal("500000.00"))
+                .outstandingBalance(new BigDecimal("412500.00"))
+                .build();
+    }
+}
@@ -0,0 +1,190 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.domain.LoanBalanceSnapshot;
+import com.consumerfinance.domain.LoanLedgerEntry;
+import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.dto.LoanBalanceResponse;
+import com.consumerfinance.exception.LoanNotFoundException;
+import com.consumerfinance.repository.LoanBalanceSnapshotRepository;
+import com.consumerfinance.repository.LoanLedgerEntryRepository;
+import com.consumerfinance.repository.PersonalLoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LoanLedgerService.
+ * Tests posting of ledger entries, periodic snapshots and balance-as-of computation.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Loan Ledger Service Tests")
+class LoanLedgerServiceTest {
+
+    @Mock
+    private LoanLedgerEntryRepository entryRepository;
+
+    @Mock
+    private LoanBalanceSnapshotRepository snapshotRepository;
+
+    @Mock
+    private PersonalLoanRepository loanRepository;
+
+    private LoanLedgerService ledgerService;
+    private UUID loanId;
+    private PersonalLoan loan;
+
+    @BeforeEach
+    void setUp() {
+        ledgerService = new LoanLedgerService(entryRepository, snapshotRepository, loanRepository, 4);
+        loanId = UUID.randomUUID();
+        loan = PersonalLoan.builder()
+                .id(loanId)
+                .principalAmount(BigDecimal.valueOf(100000))
+                .outstandingBalance(BigDecimal.valueOf(100000))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should post repayments as negative interest and principal entries in sequence")
+    @SuppressWarnings("unchecked")
+    void testRecordRepayment_PostsEntries() {
+        // Arrange
+        UUID repaymentId = UUID.randomUUID();
+        LocalDateTime paidAt = LocalDateTime.of(2026, 3, 1, 10, 0);
+        ledgerService.recordDisbursals(List.of(loan), paidAt.minusMonths(1));
+
+        // Act
+        ledgerService.recordRepayment(loan, repaymentId, BigDecimal.valueOf(1000), BigDecimal.valueOf(7885.99), paidAt);
+
+        // Assert
+        ArgumentCaptor<List<LoanLedgerEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(entryRepository, times(2)).saveAll(captor.capture());
+        LoanLedgerEntry disbursal = captor.getAllValues().get(0).get(0);
+        assertEquals(LoanLedgerEntry.EntryType.DISBURSAL, disbursal.getEntryType());
+        assertEquals(0, BigDecimal.valueOf(100000).compareTo(disbursal.getAmount()));
+        List<LoanLedgerEntry> repayment = captor.getAllValues().get(1);
+        assertEquals(2, repayment.size());
+        assertEquals(LoanLedgerEntry.EntryType.INTEREST, repayment.get(0).getEntryType());
+        assertEquals(0, BigDecimal.valueOf(-1000).compareTo(repayment.get(0).getAmount()));
+        assertEquals(2L, repayment.get(0).getEntrySequence());
+        assertEquals(LoanLedgerEntry.EntryType.PRINCIPAL, repayment.get(1).getEntryType());
+        assertEquals(repaymentId, repayment.get(1).getRepaymentId());
+        assertEquals(3L, loan.getLedgerSequence());
+        verify(snapshotRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should snapshot the balance when a posting group crosses the interval")
+    void testRecordRepayment_TakesSnapshot() {
+        // Arrange
+        loan.setLedgerSequence(3L);
+        loan.setOutstandingBalance(BigDecimal.valueOf(83000));
+        LocalDateTime paidAt = LocalDateTime.of(2026, 4, 1, 10, 0);
+
+        // Act
+        ledgerService.recordRepayment(loan, UUID.randomUUID(), BigDecimal.valueOf(900), BigDecimal.valueOf(8000), paidAt);
+
+        // Assert
+        ArgumentCaptor<LoanBalanceSnapshot> captor = ArgumentCaptor.forClass(LoanBalanceSnapshot.class);
+        verify(snapshotRepository).save(captor.capture());
+        assertEquals(5L, captor.getValue().getEntrySequence());
+        assertEquals(0, BigDecimal.valueOf(83000).compareTo(captor.getValue().getBalance()));
+        assertEquals(paidAt, captor.getValue().getAsOf());
+    }
+
+    @Test
+    @DisplayName("Should post several repayments in one batch and snapshot once after the whole group")
+    @SuppressWarnings("unchecked")
+    void testRecordRepayments_OneBatch() {
+        // Arrange
+        loan.setLedgerSequence(2L);
+        loan.setOutstandingBalance(BigDecimal.valueOf(70000));
+        LocalDateTime paidAt = LocalDateTime.of(2026, 5, 1, 10, 0);
+        List<LoanLedgerService.RepaymentPosting> postings = List.of(
+                new LoanLedgerService.RepaymentPosting(UUID.randomUUID(), BigDecimal.valueOf(900),
+                        BigDecimal.valueOf(8000), paidAt),
+                new LoanLedgerService.RepaymentPosting(UUID.randomUUID(), BigDecimal.valueOf(850),
+                        BigDecimal.valueOf(8050), paidAt),
+                new LoanLedgerService.RepaymentPosting(UUID.randomUUID(), BigDecimal.ZERO,
+                        BigDecimal.valueOf(4000), paidAt));
+
+        // Act
+        ledgerService.recordRepayments(loan, postings);
+
+        // Assert
+        ArgumentCaptor<List<LoanLedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(entryRepository).saveAll(entries.capture());
+        assertEquals(5, entries.getValue().size());
+        assertEquals(postings.get(2).repaymentId(), entries.getValue().get(4).getRepaymentId());
+        assertEquals(7L, loan.getLedgerSequence());
+        ArgumentCaptor<LoanBalanceSnapshot> snapshot = ArgumentCaptor.forClass(LoanBalanceSnapshot.class);
+        verify(snapshotRepository).save(snapshot.capture());
+        assertEquals(7L, snapshot.getValue().getEntrySequence());
+        assertEquals(0, BigDecimal.valueOf(70000).compareTo(snapshot.getValue().getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should add the entries after the latest snapshot to its balance")
+    void testGetBalanceAsOf_FromSnapshot() {
+        // Arrange
+        LocalDateTime asOf = LocalDateTime.of(2026, 6, 30, 0, 0);
+        LoanBalanceSnapshot snapshot = LoanBalanceSnapshot.builder()
+                .entrySequence(8L)
+                .balance(BigDecimal.valueOf(70000))
+                .asOf(asOf.minusMonths(1))
+                .build();
+        when(snapshotRepository.findTopByLoanIdAndAsOfLessThanEqualOrderByEntrySequenceDesc(loanId, asOf))
+                .thenReturn(Optional.of(snapshot));
+        when(entryRepository.sumEntriesAfter(loanId, 8L, asOf)).thenReturn(total(BigDecimal.valueOf(-8885.99), 2));
+
+        // Act
+        LoanBalanceResponse response = ledgerService.getBalanceAsOf(loanId, asOf);
+
+        // Assert
+        assertEquals(0, new BigDecimal("61114.01").compareTo(response.getBalance()));
+        assertEquals(2, response.getEntriesApplied());
+        assertEquals(snapshot.getAsOf(), response.getSnapshotAsOf());
+        verify(loanRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Should throw exception for the balance of an unknown loan")
+    void testGetBalanceAsOf_LoanNotFound() {
+        // Arrange
+        LocalDateTime asOf = LocalDateTime.now();
+        when(snapshotRepository.findTopByLoanIdAndAsOfLessThanEqualOrderByEntrySequenceDesc(loanId, asOf))
+                .thenReturn(Optional.empty());
+        when(entryRepository.sumEntriesAfter(loanId, 0L, asOf)).thenReturn(total(BigDecimal.ZERO, 0));
+        when(loanRepository.existsById(loanId)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(LoanNotFoundException.class, () -> ledgerService.getBalanceAsOf(loanId, asOf));
+    }
+
+    private LoanLedgerEntryRepository.LedgerTotal total(BigDecimal amount, long entries) {
+        return new LoanLedgerEntryRepository.LedgerTotal() {
+            @Override
+            public BigDecimal getTotal() {
+                return amount;
+            }
+
+            @Override
+            public Long getEntries() {
+                return entries;
+            }
+        };
+    }
+}
@@ -1,26 +1,51 @@
 package com.consumerfinance.service;
 
 import com.consumerfinance.domain.LoanRepayment;
+import com.consumerfinance.domain.PaymentTransaction;
 import com.consumerfinance.domain.PersonalLoan;
 import com.consumerfinance.domain.Consumer;
+import com.consumerfinance.dto.EMICalculationRequest;
+import com.consumerfinance.dto.EMICalculationResponse;
+import com.consumerfinance.dto.OverdueRepaymentPage;
+import com.consumerfinance.dto.PaymentAllocationItemResponse;
+import com.consumerfinance.dto.PaymentAllocationResponse;
+import com.consumerfinance.dto.PayoffQuoteResponse;
+import com.consumerfinance.dto.PrepaymentResponse;
+import com.consumerfinance.dto.RepaymentIngestionResult;
+import com.consumerfinance.dto.RepaymentIngestionRow;
 import com.consumerfinance.dto.RepaymentResponse;
+import com.consumerfinance.dto.RepaymentScheduleEntry;
+import com.consumerfinance.exception.InvalidLoanOperationException;
 import com.consumerfinance.exception.InvalidRepaymentException;
 import com.consumerfinance.exception.LoanNotFoundException;
 import com.consumerfinance.repository.LoanRepaymentRepository;
+import com.consumerfinance.repository.PaymentTransactionRepository;
 import com.consumerfinance.repository.PersonalLoanRepository;
+import com.consumerfinance.repository.RepaymentScheduleBatchWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,9 +61,32 @@ class LoanRepaymentServiceTest {
     @Mock
     private PersonalLoanRepository loanRepository;
 
+    @Mock
+    private PaymentTransactionRepository paymentTransactionRepository;
+
+    @Mock
+    private PaymentIdempotencyCache idempotencyCache;
+
+    @Mock
+    private LoanLedgerService ledgerService;
+
+    @Mock
+    private PortfolioSummaryService portfolioSummary;
+
+    @Mock
+    private RepaymentScheduleBatchWriter scheduleWriter;
+
+    @Mock
+    private EMICalculationService emiCalculationService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private LoanRepaymentService repaymentService;
 
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
     private UUID loanId;
     private UUID consumerId;
     private PersonalLoan mockLoan;
@@ -63,8 +111,11 @@ class LoanRepaymentServiceTest {
                 .consumer(consumer)
                 .principalAmount(BigDecimal.valueOf(500000))
                 .monthlyEMI(BigDecimal.valueOf(10746.95))
+                .loanTenureMonths(60)
                 .outstandingBalance(BigDecimal.valueOf(500000))
                 .remainingTenure(60)
+                .pendingInstallments(60)
+                .nextDueInstallment(1)
                 .status(PersonalLoan.LoanStatus.APPROVED)
                 .build();
 
@@ -85,26 +136,50 @@ class LoanRepaymentServiceTest {
     @DisplayName("Should process full repayment successfully")
     void testProcessRepayment_FullPayment() {
 
-        when(loanRepository.findById(loanId)).thenReturn(Optional.of(mockLoan));
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(mockLoan));
         when(repaymentRepository.findByLoanAndInstallmentNumber(mockLoan, 1))
                 .thenReturn(Optional.of(mockRepayment));
         when(repaymentRepository.save(any())).thenReturn(mockRepayment);
-        when(repaymentRepository.countByLoanAndStatus(mockLoan, LoanRepayment.RepaymentStatus.PENDING))
-                .thenReturn(59L);
 
         RepaymentResponse response =
                 repaymentService.processRepayment(loanId, 1, BigDecimal.valueOf(10746.95));
 
         assertNotNull(response);
+        assertEquals(1, mockLoan.getPaidInstallments());
+        assertEquals(59, mockLoan.getPendingInstallments());
+        assertEquals(59, mockLoan.getRemainingTenure());
+        assertEquals(2, mockLoan.getNextDueInstallment());
+        verify(repaymentRepository, never()).countByLoanAndStatus(any(), any());
         verify(loanRepository).save(any());
         verify(repaymentRepository).save(any());
     }
 
+    @Test
+    @DisplayName("Should count an overdue installment as pending when it is paid")
+    void testProcessRepayment_OverdueInstallment() {
+        // Arrange
+        mockRepayment.setStatus(LoanRepayment.RepaymentStatus.OVERDUE);
+        mockRepayment.setDueDate(LocalDateTime.now().minusDays(10));
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(mockLoan));
+        when(repaymentRepository.findByLoanAndInstallmentNumber(mockLoan, 1))
+                .thenReturn(Optional.of(mockRepayment));
+        when(repaymentRepository.save(any())).thenReturn(mockRepayment);
+
+        // Act
+        repaymentService.processRepayment(loanId, 1, BigDecimal.valueOf(10746.95));
+
+        // Assert
+        assertEquals(LoanRepayment.RepaymentStatus.PAID, mockRepayment.getStatus());
+        assertEquals(1, mockLoan.getPaidInstallments());
+        assertEquals(59, mockLoan.getPendingInstallments());
+        assertEquals(59, mockLoan.getRemainingTenure());
+    }
+
     @Test
     @DisplayName("Should process partial repayment successfully")
     void testProcessRepayment_PartialPayment() {
 
-        when(loanRepository.findById(loanId)).thenReturn(Optional.of(mockLoan));
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(mockLoan));
         when(repaymentRepository.findByLoanAndInstallmentNumber(mockLoan, 1))
                 .thenReturn(Optional.of(mockRepayment));
 
@@ -121,13 +196,14 @@ class LoanRepaymentServiceTest {
                 .build();
 
         when(repaymentRepository.save(any())).thenReturn(partialRepayment);
-        when(repaymentRepository.countByLoanAndStatus(mockLoan, LoanRepayment.RepaymentStatus.PENDING))
-                .thenReturn(60L);
 
         RepaymentResponse response =
                 repaymentService.processRepayment(loanId, 1, BigDecimal.valueOf(5000));
 
         assertNotNull(response);
+        assertEquals(1, mockLoan.getPartiallyPaidInstallments());
+        assertEquals(59, mockLoan.getPendingInstallments());
+        assertEquals(1, mockLoan.getNextDueInstallment());
         verify(loanRepository).save(any());
         verify(repaymentRepository).save(any());
     }
@@ -135,7 +211,7 @@ class LoanRepaymentServiceTest {
     @Test
     @DisplayName("Should throw exception when loan not found")
     void testProcessRepayment_LoanNotFound() {
-        when(loanRepository.findById(any())).thenReturn(Optional.empty());
+        when(loanRepository.findByIdForUpdate(any())).thenReturn(Optional.empty());
 
         assertThrows(LoanNotFoundException.class, () ->
                 repaymentService.processRepayment(loanId, 1, BigDecimal.TEN));
@@ -144,7 +220,7 @@ class LoanRepaymentServiceTest {
     @Test
     @DisplayName("Should throw exception when repayment not found")
     void testProcessRepayment_RepaymentNotFound() {
-        when(loanRepository.findById(loanId)).thenReturn(Optional.of(mockLoan));
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(mockLoan));
         when(repaymentRepository.findByLoanAndInstallmentNumber(mockLoan, 99))
                 .thenReturn(Optional.empty());
 
@@ -169,34 +245,781 @@ class LoanRepaymentServiceTest {
     @Test
     @DisplayName("Should get all repayments for loan")
     void testGetRepaymentsByLoanId_Success() {
-        when(loanRepository.findById(loanId)).thenReturn(Optional.of(mockLoan));
-        when(repaymentRepository.findByLoan(mockLoan))
-                .thenReturn(Arrays.asList(mockRepayment));
+        when(loanRepository.findScheduleTermsById(loanId)).thenReturn(Optional.of(scheduleTerms(mockLoan)));
+        when(repaymentRepository.findViewsByLoanId(loanId))
+                .thenReturn(List.of(repaymentView(mockRepayment)));
 
         List<RepaymentResponse> responses =
                 repaymentService.getRepaymentsByLoanId(loanId);
 
         assertEquals(1, responses.size());
+        assertEquals(loanId.toString(), responses.get(0).getLoanId());
+        verify(loanRepository, never()).findById(any());
     }
 
     @Test
-    @DisplayName("Should get overdue repayments")
-    void testGetOverdueRepayments_Success() {
+    @DisplayName("Should filter pending repayments in the query")
+    void testGetPendingRepaymentsByLoanId_Success() {
+        when(loanRepository.findScheduleTermsById(loanId)).thenReturn(Optional.of(scheduleTerms(mockLoan)));
+        when(repaymentRepository.findViewsByLoanIdAndStatus(loanId, LoanRepayment.RepaymentStatus.PENDING))
+                .thenReturn(List.of(repaymentView(mockRepayment)));
 
-        LoanRepayment overdue = LoanRepayment.builder()
-                .id(UUID.randomUUID()) // ✅ FIX
-                .loan(mockLoan)
+        List<RepaymentResponse> responses =
+                repaymentService.getPendingRepaymentsByLoanId(loanId);
+
+        assertEquals(1, responses.size());
+        assertEquals("PENDING", responses.get(0).getStatus());
+        verify(repaymentRepository, never()).findByLoan(any());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when listing repayments of an unknown loan")
+    void testGetPendingRepaymentsByLoanId_LoanNotFound() {
+        when(loanRepository.findScheduleTermsById(loanId)).thenReturn(Optional.empty());
+
+        assertThrows(LoanNotFoundException.class,
+                () -> repaymentService.getPendingRepaymentsByLoanId(loanId));
+        verifyNoInteractions(repaymentRepository);
+    }
+
+    @Test
+    @DisplayName("Should return a page of overdue repayments with a cursor for the next page")
+    void testGetOverdueRepayments_FirstPage() {
+        // Arrange
+        LocalDateTime dueDate = LocalDateTime.now().minusDays(40);
+        UUID lastId = UUID.randomUUID();
+        when(repaymentRepository.findDueInstallments(eq(LoanRepayment.RepaymentStatus.OVERDUE),
+                eq(LocalDate.of(2020, 1, 1).atStartOfDay()), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(
+                        dueInstallment(UUID.randomUUID(), 1, dueDate),
+                        dueInstallment(lastId, 2, dueDate),
+                        dueInstallment(UUID.randomUUID(), 3, dueDate.plusMonths(1))));
+
+        // Act
+        OverdueRepaymentPage page = repaymentService.getOverdueRepayments(
+                LocalDate.of(2020, 1, 1), null, 30, null, 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertEquals(40, page.getItems().get(0).getDaysPastDue());
+        assertNotNull(page.getNextCursor());
+        verify(repaymentRepository, never()).findByLoan(any());
+
+        // The cursor resumes after the last returned row
+        when(repaymentRepository.findDueInstallmentsAfter(eq(LoanRepayment.RepaymentStatus.OVERDUE),
+                any(LocalDateTime.class), eq(dueDate), eq(lastId), any(Pageable.class)))
+                .thenReturn(List.of(dueInstallment(UUID.randomUUID(), 3, dueDate.plusMonths(1))));
+        OverdueRepaymentPage next = repaymentService.getOverdueRepayments(
+                LocalDate.of(2020, 1, 1), null, 30, page.getNextCursor(), 2);
+        assertEquals(1, next.getItems().size());
+        assertFalse(next.isHasMore());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid overdue listing cursor or page size")
+    void testGetOverdueRepayments_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> repaymentService.getOverdueRepayments(null, null, null, "not-a-cursor", 100));
+        assertThrows(IllegalArgumentException.class,
+                () -> repaymentService.getOverdueRepayments(null, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> repaymentService.getOverdueRepayments(null, null, -1, null, 100));
+        verifyNoInteractions(repaymentRepository);
+    }
+
+    @Test
+    @DisplayName("Should merge stored and computed installments for a virtual schedule")
+    void testGetRepaymentsByLoanId_VirtualSchedule() {
+        PersonalLoan virtualLoan = virtualLoan();
+        LoanRepayment paid = LoanRepayment.builder()
+                .id(UUID.randomUUID())
+                .loan(virtualLoan)
+                .installmentNumber(2)
+                .totalAmount(BigDecimal.valueOf(10661.85))
+                .paidAmount(BigDecimal.valueOf(10661.85))
+                .dueDate(LocalDateTime.of(2025, 3, 1, 0, 0))
+                .status(LoanRepayment.RepaymentStatus.PAID)
+                .build();
+
+        when(loanRepository.findScheduleTermsById(loanId)).thenReturn(Optional.of(scheduleTerms(virtualLoan)));
+        when(repaymentRepository.findViewsByLoanId(loanId)).thenReturn(List.of(repaymentView(paid)));
+
+        List<RepaymentResponse> all = repaymentService.getRepaymentsByLoanId(loanId);
+        List<RepaymentResponse> pending = repaymentService.getPendingRepaymentsByLoanId(loanId);
+
+        assertEquals(12, all.size());
+        assertEquals("PAID", all.get(1).getStatus());
+        assertEquals(paid.getId().toString(), all.get(1).getId());
+        assertNull(all.get(0).getId());
+        assertEquals("PENDING", all.get(0).getStatus());
+        assertEquals(0, BigDecimal.valueOf(1200).compareTo(all.get(0).getInterestAmount()));
+        assertEquals(LocalDateTime.of(2025, 2, 1, 10, 30), all.get(0).getDueDate());
+        assertEquals(11, pending.size());
+        assertTrue(pending.stream().noneMatch(r -> r.getInstallmentNumber() == 2));
+    }
+
+    @Test
+    @DisplayName("Should materialize a virtual installment when it is paid")
+    void testProcessRepayment_VirtualSchedule() {
+        PersonalLoan virtualLoan = virtualLoan();
+
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(virtualLoan));
+        when(repaymentRepository.findByLoanAndInstallmentNumber(virtualLoan, 1)).thenReturn(Optional.empty());
+        when(repaymentRepository.save(any())).thenAnswer(invocation -> {
+            LoanRepayment saved = invocation.getArgument(0);
+            saved.setId(UUID.randomUUID());
+            return saved;
+        });
+
+        RepaymentResponse response = repaymentService.processRepayment(loanId, 1, BigDecimal.valueOf(10661.85));
+
+        assertEquals("PAID", response.getStatus());
+        assertEquals(0, BigDecimal.valueOf(1200).compareTo(response.getInterestAmount()));
+        assertEquals(LocalDateTime.of(2025, 2, 1, 10, 30), response.getDueDate());
+        assertEquals(11, virtualLoan.getRemainingTenure());
+    }
+
+    @Test
+    @DisplayName("Should settle a partially paid installment and skip installments already paid ahead")
+    void testProcessRepayment_CompletesPartialPaymentAfterPrepaidInstallments() {
+        mockLoan.setPaidInstallments(2);
+        mockLoan.setPartiallyPaidInstallments(1);
+        mockLoan.setPendingInstallments(57);
+        mockRepayment.setStatus(LoanRepayment.RepaymentStatus.PARTIALLY_PAID);
+        mockRepayment.setPaidAmount(BigDecimal.valueOf(4000));
+
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(mockLoan));
+        when(repaymentRepository.findByLoanAndInstallmentNumber(mockLoan, 1))
+                .thenReturn(Optional.of(mockRepayment));
+        when(repaymentRepository.save(any())).thenReturn(mockRepayment);
+        when(repaymentRepository.findInstallmentNumbersByLoanAndStatusAfter(
+                mockLoan, LoanRepayment.RepaymentStatus.PAID, 1))
+                .thenReturn(List.of(2, 3));
+
+        repaymentService.processRepayment(loanId, 1, BigDecimal.valueOf(6746.95));
+
+        assertEquals(LoanRepayment.RepaymentStatus.PAID, mockRepayment.getStatus());
+        assertEquals(0, BigDecimal.valueOf(10746.95).compareTo(mockRepayment.getPaidAmount()));
+        assertEquals(0, BigDecimal.valueOf(493253.05).compareTo(mockLoan.getOutstandingBalance()));
+        assertEquals(3, mockLoan.getPaidInstallments());
+        assertEquals(0, mockLoan.getPartiallyPaidInstallments());
+        assertEquals(57, mockLoan.getPendingInstallments());
+        assertEquals(57, mockLoan.getRemainingTenure());
+        assertEquals(4, mockLoan.getNextDueInstallment());
+    }
+
+    @Test
+    @DisplayName("Should clear the next due installment when the last installment is paid")
+    void testProcessRepayment_LastInstallment() {
+        mockLoan.setPaidInstallments(59);
+        mockLoan.setPendingInstallments(1);
+        mockLoan.setNextDueInstallment(60);
+        mockRepayment.setInstallmentNumber(60);
+
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(mockLoan));
+        when(repaymentRepository.findByLoanAndInstallmentNumber(mockLoan, 60))
+                .thenReturn(Optional.of(mockRepayment));
+        when(repaymentRepository.save(any())).thenReturn(mockRepayment);
+
+        repaymentService.processRepayment(loanId, 60, BigDecimal.valueOf(10746.95));
+
+        assertEquals(60, mockLoan.getPaidInstallments());
+        assertEquals(0, mockLoan.getRemainingTenure());
+        assertNull(mockLoan.getNextDueInstallment());
+    }
+
+    @Test
+    @DisplayName("Should apply a chunk of payment rows and report invalid rows as failed")
+    void testProcessRepaymentChunk() {
+        UUID unknownLoanId = UUID.randomUUID();
+        List<RepaymentIngestionRow> rows = List.of(
+                ingestionRow(2, loanId, 1, BigDecimal.valueOf(10746.95)),
+                ingestionRow(3, unknownLoanId, 1, BigDecimal.valueOf(10746.95)),
+                ingestionRow(4, loanId, 2, BigDecimal.valueOf(10746.95)));
+
+        when(loanRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(mockLoan));
+        when(repaymentRepository.findByLoanIdsAndInstallmentNumbers(anyCollection(), anyCollection()))
+                .thenReturn(List.of(mockRepayment));
+        when(repaymentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<RepaymentIngestionResult> results = repaymentService.processRepaymentChunk(rows);
+
+        assertEquals(3, results.size());
+        assertEquals("SUCCESS", results.get(0).getStatus());
+        assertEquals("PAID", results.get(0).getRepaymentStatus());
+        assertEquals("FAILED", results.get(1).getStatus());
+        assertEquals(3, results.get(1).getLineNumber());
+        assertEquals("FAILED", results.get(2).getStatus());
+        assertEquals("TXN-1", mockRepayment.getTransactionReference());
+        assertEquals(1, mockLoan.getPaidInstallments());
+        assertEquals(0, BigDecimal.valueOf(489253.05).compareTo(mockLoan.getOutstandingBalance()));
+        verify(repaymentRepository, times(1)).save(any());
+        verify(loanRepository).saveAll(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should return the cached response for a retried transaction reference without loading the loan")
+    void testProcessRepayment_RetryServedFromCache() {
+        RepaymentResponse original = RepaymentResponse.builder()
+                .loanId(loanId.toString())
                 .installmentNumber(1)
-                .dueDate(LocalDateTime.now().minusDays(5))
-                .status(LoanRepayment.RepaymentStatus.OVERDUE)
+                .status("PAID")
                 .build();
+        when(idempotencyCache.get("TXN-1")).thenReturn(original);
 
-        when(repaymentRepository.findOverdueRepayments())
-                .thenReturn(Arrays.asList(overdue));
+        RepaymentResponse response = repaymentService.processRepayment(
+                loanId, 1, BigDecimal.valueOf(10746.95), "UPI", "TXN-1");
 
-        List<RepaymentResponse> responses =
-                repaymentService.getOverdueRepayments();
+        assertSame(original, response);
+        verifyNoInteractions(loanRepository, repaymentRepository);
+    }
 
-        assertEquals(1, responses.size());
+    @Test
+    @DisplayName("Should return the stored payment for a transaction reference no longer cached")
+    void testProcessRepayment_RetryServedFromIndex() throws Exception {
+        RepaymentResponse original = RepaymentResponse.builder()
+                .loanId(loanId.toString())
+                .installmentNumber(1)
+                .status("PAID")
+                .dueDate(mockRepayment.getDueDate())
+                .transactionReference("TXN-1")
+                .build();
+        PaymentTransaction payment = PaymentTransaction.builder()
+                .transactionReference("TXN-1")
+                .response(objectMapper.writeValueAsString(original))
+                .build();
+        when(paymentTransactionRepository.findByTransactionReference("TXN-1")).thenReturn(Optional.of(payment));
+
+        RepaymentResponse response = repaymentService.processRepayment(
+                loanId, 1, BigDecimal.valueOf(10746.95), "UPI", " TXN-1 ");
+
+        assertEquals("PAID", response.getStatus());
+        assertEquals(mockRepayment.getDueDate(), response.getDueDate());
+        verify(idempotencyCache).put(eq("TXN-1"), any(RepaymentResponse.class));
+        verifyNoInteractions(loanRepository, repaymentRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a transaction reference already used for another installment")
+    void testProcessRepayment_ReferenceReusedForOtherInstallment() {
+        when(idempotencyCache.get("TXN-1")).thenReturn(RepaymentResponse.builder()
+                .loanId(loanId.toString())
+                .installmentNumber(2)
+                .status("PAID")
+                .build());
+
+        assertThrows(InvalidRepaymentException.class, () ->
+                repaymentService.processRepayment(loanId, 1, BigDecimal.valueOf(10746.95), "UPI", "TXN-1"));
+    }
+
+    @Test
+    @DisplayName("Should record the transaction reference of a new payment")
+    void testProcessRepayment_RecordsTransactionReference() {
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(mockLoan));
+        when(repaymentRepository.findByLoanAndInstallmentNumber(mockLoan, 1)).thenReturn(Optional.of(mockRepayment));
+        when(repaymentRepository.save(any())).thenReturn(mockRepayment);
+
+        repaymentService.processRepayment(loanId, 1, BigDecimal.valueOf(10746.95), "UPI", "TXN-1");
+
+        assertEquals("TXN-1", mockRepayment.getTransactionReference());
+        assertEquals("UPI", mockRepayment.getPaymentMode());
+        verify(paymentTransactionRepository).save(argThat(payment -> "TXN-1".equals(payment.getTransactionReference())
+                && payment.getPaymentType() == PaymentTransaction.PaymentType.INSTALLMENT
+                && payment.getAmount().compareTo(BigDecimal.valueOf(10746.95)) == 0));
+        verify(idempotencyCache).put(eq("TXN-1"), any(RepaymentResponse.class));
+    }
+
+    @Test
+    @DisplayName("Should not re-apply an evicted payment after a later partial payment on the same installment")
+    void testProcessRepayment_RetryAfterLaterPartialPaymentAndEviction() {
+        Map<String, PaymentTransaction> payments = new HashMap<>();
+        when(paymentTransactionRepository.save(any())).thenAnswer(invocation -> {
+            PaymentTransaction payment = invocation.getArgument(0);
+            payments.put(payment.getTransactionReference(), payment);
+            return payment;
+        });
+        when(paymentTransactionRepository.findByTransactionReference(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(payments.get(invocation.<String>getArgument(0))));
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(mockLoan));
+        when(repaymentRepository.findByLoanAndInstallmentNumber(mockLoan, 1)).thenReturn(Optional.of(mockRepayment));
+        when(repaymentRepository.save(any())).thenReturn(mockRepayment);
+
+        RepaymentResponse first = repaymentService.processRepayment(
+                loanId, 1, BigDecimal.valueOf(4000), "UPI", "TXN-A");
+        repaymentService.processRepayment(loanId, 1, BigDecimal.valueOf(3000), "UPI", "TXN-B");
+        // The cache mock holds nothing, as after TXN-A's entry has been evicted
+        RepaymentResponse retried = repaymentService.processRepayment(
+                loanId, 1, BigDecimal.valueOf(4000), "UPI", "TXN-A");
+
+        assertEquals("TXN-A", retried.getTransactionReference());
+        assertEquals(0, BigDecimal.valueOf(4000).compareTo(retried.getPaidAmount()));
+        assertEquals(first.getStatus(), retried.getStatus());
+        assertEquals(0, BigDecimal.valueOf(493000).compareTo(mockLoan.getOutstandingBalance()));
+        assertEquals("TXN-A", mockRepayment.getTransactionReference());
+        assertEquals(0, BigDecimal.valueOf(7000).compareTo(mockRepayment.getPaidAmount()));
+        verify(ledgerService, times(2)).recordRepayment(any(), any(), any(), any(), any());
+        verify(portfolioSummary, times(2)).recordOutstandingChange(any(), any());
+        verify(paymentTransactionRepository, times(2)).save(any());
+    }
+
+    @Test
+    @DisplayName("Should report already processed references in a chunk as duplicates")
+    void testProcessRepaymentChunk_Duplicates() {
+        List<RepaymentIngestionRow> rows = List.of(
+                ingestionRow(2, loanId, 1, BigDecimal.valueOf(10746.95)),
+                ingestionRow(2, loanId, 1, BigDecimal.valueOf(10746.95)));
+
+        when(loanRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(mockLoan));
+        when(repaymentRepository.findByLoanIdsAndInstallmentNumbers(anyCollection(), anyCollection()))
+                .thenReturn(List.of(mockRepayment));
+        when(paymentTransactionRepository.findByTransactionReferenceIn(Set.of("TXN-1"))).thenReturn(List.of());
+        when(repaymentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<RepaymentIngestionResult> results = repaymentService.processRepaymentChunk(rows);
+
+        assertEquals("SUCCESS", results.get(0).getStatus());
+        assertEquals("DUPLICATE", results.get(1).getStatus());
+        assertEquals("PAID", results.get(1).getRepaymentStatus());
+        assertEquals(1, mockLoan.getPaidInstallments());
+        verify(repaymentRepository, times(1)).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject installments outside a virtual schedule")
+    void testGetRepayment_VirtualScheduleOutOfRange() {
+        PersonalLoan virtualLoan = virtualLoan();
+
+        when(loanRepository.findById(loanId)).thenReturn(Optional.of(virtualLoan));
+        when(repaymentRepository.findByLoanAndInstallmentNumber(virtualLoan, 13)).thenReturn(Optional.empty());
+
+        assertThrows(InvalidRepaymentException.class, () -> repaymentService.getRepayment(loanId, 13));
+    }
+
+    private PersonalLoanRepository.ScheduleTerms scheduleTerms(PersonalLoan loan) {
+        return projectionFactory.createProjection(PersonalLoanRepository.ScheduleTerms.class, loan);
+    }
+
+    private LoanRepaymentRepository.RepaymentView repaymentView(LoanRepayment repayment) {
+        return projectionFactory.createProjection(LoanRepaymentRepository.RepaymentView.class, repayment);
+    }
+
+    private PersonalLoan virtualLoan() {
+        return PersonalLoan.builder()
+                .id(loanId)
+                .principalAmount(BigDecimal.valueOf(120000))
+                .annualInterestRate(BigDecimal.valueOf(12))
+                .loanTenureMonths(12)
+                .monthlyEMI(BigDecimal.valueOf(10661.85))
+                .outstandingBalance(BigDecimal.valueOf(120000))
+                .remainingTenure(12)
+                .pendingInstallments(12)
+                .nextDueInstallment(1)
+                .status(PersonalLoan.LoanStatus.ACTIVE)
+                .disbursedAt(LocalDateTime.of(2025, 1, 15, 10, 30))
+                .scheduleMode(PersonalLoan.ScheduleMode.VIRTUAL)
+                .build();
+    }
+
+    private RepaymentIngestionRow ingestionRow(long lineNumber, UUID rowLoanId, int installmentNumber, BigDecimal amount) {
+        return RepaymentIngestionRow.builder()
+                .lineNumber(lineNumber)
+                .loanId(rowLoanId)
+                .installmentNumber(installmentNumber)
+                .amount(amount)
+                .paymentMode("NACH")
+                .transactionReference("TXN-" + (lineNumber - 1))
+                .build();
+    }
+
+    private LoanRepaymentRepository.DueInstallment dueInstallment(UUID id, int installmentNumber, LocalDateTime dueDate) {
+        return new LoanRepaymentRepository.DueInstallment() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public UUID getLoanId() {
+                return loanId;
+            }
+
+            @Override
+            public Integer getInstallmentNumber() {
+                return installmentNumber;
+            }
+
+            @Override
+            public BigDecimal getTotalAmount() {
+                return BigDecimal.valueOf(10746.95);
+            }
+
+            @Override
+            public BigDecimal getPaidAmount() {
+                return null;
+            }
+
+            @Override
+            public LocalDateTime getDueDate() {
+                return dueDate;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should prepay and lower the EMI by rewriting the remaining stored installments")
+    @SuppressWarnings("unchecked")
+    void testPrepayLoan_ReduceEmi() {
+        // Arrange
+        PersonalLoan loan = currentLoan(PersonalLoan.ScheduleMode.MATERIALIZED);
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(loan));
+        when(repaymentRepository.sumRemainingByLoanId(loanId, 3)).thenReturn(remaining("100000.00", "5800.00", 10));
+        when(emiCalculationService.quoteEMI(any(EMICalculationRequest.class)))
+                .thenReturn(EMICalculationResponse.builder().monthlyEMI(new BigDecimal("8458.49")).build());
+
+        // Act
+        PrepaymentResponse response = repaymentService.prepayLoan(loanId, BigDecimal.valueOf(20000),
+                LoanRepaymentService.PrepaymentOption.REDUCE_EMI, "NEFT");
+
+        // Assert
+        ArgumentCaptor<List<RepaymentScheduleEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(scheduleWriter).rewriteInstallments(eq(loanId), captor.capture());
+        List<RepaymentScheduleEntry> schedule = captor.getValue();
+        assertEquals(10, schedule.size());
+        assertEquals(3, schedule.get(0).getInstallmentNumber());
+        assertEquals(12, schedule.get(9).getInstallmentNumber());
+        assertEquals(0, BigDecimal.ZERO.compareTo(schedule.get(9).getRemainingBalance()));
+        verify(repaymentRepository, never()).deleteByLoanIdAndInstallmentNumberAfter(any(), any());
+        verify(ledgerService).recordRepayment(eq(loan), isNull(), eq(BigDecimal.ZERO), eq(BigDecimal.valueOf(20000)),
+                any(LocalDateTime.class));
+        assertEquals(new BigDecimal("8458.49"), loan.getMonthlyEMI());
+        assertEquals(12, loan.getLoanTenureMonths());
+        assertEquals(0, new BigDecimal("80000.00").compareTo(response.getOutstandingPrincipal()));
+        assertTrue(response.getInterestSaved().signum() > 0);
+    }
+
+    @Test
+    @DisplayName("Should prepay a virtual-schedule loan, shortening its tenure and storing the new installments")
+    void testPrepayLoan_ReduceTenureVirtual() {
+        // Arrange
+        PersonalLoan loan = currentLoan(PersonalLoan.ScheduleMode.VIRTUAL);
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(loan));
+        List<Integer> written = new ArrayList<>();
+        when(scheduleWriter.writeInstallments(eq(loanId), any(), eq(LoanRepayment.RepaymentStatus.PENDING)))
+                .thenAnswer(invocation -> {
+                    Iterator<RepaymentScheduleEntry> entries = invocation.getArgument(1);
+                    entries.forEachRemaining(entry -> written.add(entry.getInstallmentNumber()));
+                    return written.size();
+                });
+
+        // Act
+        PrepaymentResponse response = repaymentService.prepayLoan(loanId, BigDecimal.valueOf(40000),
+                LoanRepaymentService.PrepaymentOption.REDUCE_TENURE, null);
+
+        // Assert
+        int installments = response.getRemainingInstallments();
+        assertTrue(installments < 10);
+        assertEquals(installments, written.size());
+        assertEquals(3, written.get(0));
+        assertEquals(PersonalLoan.ScheduleMode.MATERIALIZED, loan.getScheduleMode());
+        assertEquals(new BigDecimal("10661.85"), loan.getMonthlyEMI());
+        assertEquals(2 + installments, loan.getLoanTenureMonths());
+        assertEquals(installments, loan.getPendingInstallments());
+        verify(scheduleWriter, never()).rewriteInstallments(any(), any());
+        verifyNoInteractions(emiCalculationService);
+    }
+
+    @Test
+    @DisplayName("Should reject prepayment while an installment is past due")
+    void testPrepayLoan_OverdueInstallment() {
+        // Arrange
+        PersonalLoan loan = currentLoan(PersonalLoan.ScheduleMode.MATERIALIZED);
+        loan.setNextDueInstallment(2);
+        loan.setPaidInstallments(1);
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(loan));
+
+        // Act & Assert
+        assertThrows(InvalidLoanOperationException.class, () -> repaymentService.prepayLoan(loanId,
+                BigDecimal.valueOf(20000), LoanRepaymentService.PrepaymentOption.REDUCE_EMI, null));
+        verifyNoInteractions(scheduleWriter, ledgerService);
+    }
+
+    @Test
+    @DisplayName("Should foreclose a loan into one settlement installment and close it")
+    void testForecloseLoan_Success() {
+        // Arrange
+        PersonalLoan loan = currentLoan(PersonalLoan.ScheduleMode.MATERIALIZED);
+        LoanRepayment next = LoanRepayment.builder()
+                .id(UUID.randomUUID())
+                .loan(loan)
+                .installmentNumber(3)
+                .status(LoanRepayment.RepaymentStatus.PENDING)
+                .build();
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(loan));
+        when(repaymentRepository.sumRemainingByLoanId(loanId, 3)).thenReturn(remaining("100000.00", "5800.00", 10));
+        when(repaymentRepository.findByLoanAndInstallmentNumber(loan, 3)).thenReturn(Optional.of(next));
+        when(repaymentRepository.save(next)).thenReturn(next);
+
+        // Act
+        RepaymentResponse response = repaymentService.forecloseLoan(loanId, new BigDecimal("102000.00"), "NEFT", null);
+
+        // Assert
+        assertEquals("PAID", response.getStatus());
+        assertEquals(0, new BigDecimal("100000.00").compareTo(response.getPrincipalAmount()));
+        assertEquals(response.getPrincipalAmount().add(response.getInterestAmount()), response.getTotalAmount());
+        verify(repaymentRepository).deleteByLoanIdAndInstallmentNumberAfter(loanId, 3);
+        verify(ledgerService).recordRepayment(eq(loan), eq(next.getId()), eq(response.getInterestAmount()),
+                eq(new BigDecimal("100000.00")), any(LocalDateTime.class));
+        verify(portfolioSummary).recordOutstandingChange(PersonalLoan.LoanStatus.ACTIVE,
+                response.getTotalAmount().negate());
+        verify(portfolioSummary).recordStatusChange(loan, PersonalLoan.LoanStatus.ACTIVE);
+        assertEquals(PersonalLoan.LoanStatus.CLOSED, loan.getStatus());
+        assertEquals(3, loan.getLoanTenureMonths());
+        assertEquals(3, loan.getPaidInstallments());
+        assertNull(loan.getNextDueInstallment());
+    }
+
+    @Test
+    @DisplayName("Should reject foreclosure below the payoff amount")
+    void testForecloseLoan_InsufficientAmount() {
+        // Arrange
+        PersonalLoan loan = currentLoan(PersonalLoan.ScheduleMode.MATERIALIZED);
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(loan));
+        when(repaymentRepository.sumRemainingByLoanId(loanId, 3)).thenReturn(remaining("100000.00", "5800.00", 10));
+
+        // Act & Assert
+        assertThrows(InvalidRepaymentException.class,
+                () -> repaymentService.forecloseLoan(loanId, new BigDecimal("99999.99"), null, null));
+        verify(repaymentRepository, never()).save(any());
+        assertEquals(PersonalLoan.LoanStatus.ACTIVE, loan.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should quote the payoff of a virtual-schedule loan without changing it")
+    void testGetPayoffQuote_Virtual() {
+        // Arrange
+        PersonalLoan loan = currentLoan(PersonalLoan.ScheduleMode.VIRTUAL);
+        when(loanRepository.findById(loanId)).thenReturn(Optional.of(loan));
+        RepaymentScheduleCalculator schedule = RepaymentScheduleCalculator.forLoan(loan);
+        schedule.next();
+        BigDecimal principal = schedule.next().getRemainingBalance();
+
+        // Act
+        PayoffQuoteResponse quote = repaymentService.getPayoffQuote(loanId);
+
+        // Assert
+        assertEquals(0, principal.compareTo(quote.getOutstandingPrincipal()));
+        assertEquals(quote.getOutstandingPrincipal().add(quote.getAccruedInterest()), quote.getPayoffAmount());
+        assertEquals(10, quote.getRemainingInstallments());
+        assertEquals(3, quote.getNextDueInstallment());
+        verifyNoInteractions(repaymentRepository, scheduleWriter, ledgerService);
+        verify(loanRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should allocate a lump sum to overdue, then partially paid, then current installments")
+    void testAllocatePayment_Waterfall() {
+        // Arrange
+        PersonalLoan loan = currentLoan(PersonalLoan.ScheduleMode.MATERIALIZED);
+        loan.setNextDueInstallment(2);
+        loan.setPaidInstallments(1);
+        loan.setPartiallyPaidInstallments(1);
+        loan.setPendingInstallments(10);
+        LoanRepayment current = installment(loan, 3, LocalDateTime.now().plusDays(10), LoanRepayment.RepaymentStatus.PENDING);
+        LoanRepayment partial = installment(loan, 5, LocalDateTime.now().plusMonths(2), LoanRepayment.RepaymentStatus.PARTIALLY_PAID);
+        partial.setPaidAmount(new BigDecimal("5000.00"));
+        LoanRepayment overdue = installment(loan, 2, LocalDateTime.now().minusDays(20), LoanRepayment.RepaymentStatus.OVERDUE);
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(loan));
+        when(repaymentRepository.findByLoanIdAndStatusIn(eq(loanId), any()))
+                .thenReturn(List.of(overdue, current, partial));
+        when(repaymentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        PaymentAllocationResponse response = repaymentService.allocatePayment(loanId, new BigDecimal("19323.70"),
+                "UPI", "TXN-LUMP-1");
+
+        // Assert
+        assertEquals(List.of(2, 5, 3), response.getAllocations().stream()
+                .map(allocation -> allocation.getInstallmentNumber()).toList());
+        assertEquals(LoanRepayment.RepaymentStatus.PAID, overdue.getStatus());
+        assertEquals(LoanRepayment.RepaymentStatus.PAID, partial.getStatus());
+        assertEquals(0, new BigDecimal("10661.85").compareTo(partial.getPaidAmount()));
+        assertEquals(LoanRepayment.RepaymentStatus.PARTIALLY_PAID, current.getStatus());
+        assertEquals(0, new BigDecimal("3000.00").compareTo(current.getPaidAmount()));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(response.getAllocations().get(2).getInterestPaid()));
+        assertEquals("TXN-LUMP-1", overdue.getTransactionReference());
+        assertNull(partial.getTransactionReference());
+        verify(paymentTransactionRepository).save(argThat(payment -> "TXN-LUMP-1".equals(payment.getTransactionReference())
+                && payment.getPaymentType() == PaymentTransaction.PaymentType.ALLOCATION
+                && payment.getInstallmentNumber() == null));
+        assertEquals(3, loan.getPaidInstallments());
+        assertEquals(1, loan.getPartiallyPaidInstallments());
+        assertEquals(8, loan.getPendingInstallments());
+        assertEquals(3, loan.getNextDueInstallment());
+        assertEquals(0, new BigDecimal("79352.60").compareTo(loan.getOutstandingBalance()));
+        verify(ledgerService).recordRepayments(eq(loan), argThat(postings -> postings.size() == 3
+                && postings.get(0).repaymentId().equals(overdue.getId())));
+        verify(repaymentRepository).saveAll(List.of(overdue, partial, current));
+        verify(repaymentRepository, never()).save(any());
+        verify(repaymentRepository, never()).findInstallmentNumbersByLoanAndStatusAfter(any(), any(), any());
+        verify(loanRepository).save(loan);
+    }
+
+    @Test
+    @DisplayName("Should keep an earlier payment's reference on the partially paid installment a lump sum reaches first")
+    void testAllocatePayment_KeepsEarlierReference() {
+        // Arrange
+        PersonalLoan loan = currentLoan(PersonalLoan.ScheduleMode.MATERIALIZED);
+        loan.setPartiallyPaidInstallments(1);
+        LoanRepayment partial = installment(loan, 3, LocalDateTime.now().plusDays(10), LoanRepayment.RepaymentStatus.PARTIALLY_PAID);
+        partial.setPaidAmount(new BigDecimal("5000.00"));
+        partial.setTransactionReference("TXN-PART-1");
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(loan));
+        when(repaymentRepository.findByLoanIdAndStatusIn(eq(loanId), any())).thenReturn(List.of(partial));
+        when(repaymentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        repaymentService.allocatePayment(loanId, new BigDecimal("1000.00"), "UPI", "TXN-LUMP-1");
+
+        // Assert
+        assertEquals("TXN-PART-1", partial.getTransactionReference());
+        verify(paymentTransactionRepository).save(argThat(payment -> "TXN-LUMP-1".equals(payment.getTransactionReference())));
+    }
+
+    @Test
+    @DisplayName("Should return the stored allocation for a retried lump-sum payment without applying it again")
+    void testAllocatePayment_RetryReturnsOriginalAllocation() throws Exception {
+        // Arrange
+        PaymentAllocationResponse original = PaymentAllocationResponse.builder()
+                .loanId(loanId.toString())
+                .amountPaid(new BigDecimal("19323.70"))
+                .outstandingBalance(new BigDecimal("79352.60"))
+                .nextDueInstallment(3)
+                .allocations(List.of(PaymentAllocationItemResponse.builder()
+                        .installmentNumber(2)
+                        .dueDate(LocalDateTime.now().minusDays(20))
+                        .amountApplied(new BigDecimal("19323.70"))
+                        .status("PAID")
+                        .build()))
+                .build();
+        PaymentTransaction payment = PaymentTransaction.builder()
+                .transactionReference("TXN-LUMP-1")
+                .paymentType(PaymentTransaction.PaymentType.ALLOCATION)
+                .response(objectMapper.writeValueAsString(original))
+                .build();
+        when(paymentTransactionRepository.findByTransactionReference("TXN-LUMP-1")).thenReturn(Optional.of(payment));
+
+        // Act
+        PaymentAllocationResponse response = repaymentService.allocatePayment(loanId, new BigDecimal("19323.70"),
+                "UPI", "TXN-LUMP-1");
+
+        // Assert
+        assertEquals(original, response);
+        verifyNoInteractions(loanRepository, repaymentRepository, ledgerService, portfolioSummary);
+        verify(paymentTransactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a lump-sum reference reused for an installment payment")
+    void testProcessRepayment_LumpSumReferenceReused() {
+        // Arrange
+        PaymentTransaction payment = PaymentTransaction.builder()
+                .transactionReference("TXN-LUMP-1")
+                .paymentType(PaymentTransaction.PaymentType.ALLOCATION)
+                .response("{}")
+                .build();
+        when(paymentTransactionRepository.findByTransactionReference("TXN-LUMP-1")).thenReturn(Optional.of(payment));
+
+        // Act & Assert
+        assertThrows(InvalidRepaymentException.class, () ->
+                repaymentService.processRepayment(loanId, 1, BigDecimal.valueOf(10746.95), "UPI", "TXN-LUMP-1"));
+        verifyNoInteractions(loanRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a lump sum larger than the amount due on open installments")
+    void testAllocatePayment_ExceedsAmountDue() {
+        // Arrange
+        PersonalLoan loan = currentLoan(PersonalLoan.ScheduleMode.MATERIALIZED);
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(loan));
+        when(repaymentRepository.findByLoanIdAndStatusIn(eq(loanId), any())).thenReturn(List.of(
+                installment(loan, 12, LocalDateTime.now().plusMonths(9), LoanRepayment.RepaymentStatus.PENDING)));
+
+        // Act & Assert
+        assertThrows(InvalidRepaymentException.class,
+                () -> repaymentService.allocatePayment(loanId, new BigDecimal("10661.86"), null, null));
+        verify(repaymentRepository, never()).saveAll(any());
+        verifyNoInteractions(ledgerService);
+    }
+
+    @Test
+    @DisplayName("Should allocate a lump sum to past-due installments of a virtual schedule")
+    void testAllocatePayment_VirtualArrears() {
+        // Arrange
+        PersonalLoan loan = currentLoan(PersonalLoan.ScheduleMode.VIRTUAL);
+        loan.setNextDueInstallment(1);
+        loan.setPaidInstallments(0);
+        loan.setPendingInstallments(12);
+        RepaymentScheduleCalculator schedule = RepaymentScheduleCalculator.forLoan(loan);
+        BigDecimal arrears = schedule.next().getTotalAmount().add(schedule.next().getTotalAmount());
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(loan));
+        when(repaymentRepository.findByLoanId(loanId)).thenReturn(List.of());
+        when(repaymentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        PaymentAllocationResponse response = repaymentService.allocatePayment(loanId, arrears, null, null);
+
+        // Assert
+        assertEquals(2, response.getAllocations().size());
+        assertTrue(response.getAllocations().stream().allMatch(allocation -> "PAID".equals(allocation.getStatus())));
+        assertEquals(2, loan.getPaidInstallments());
+        assertEquals(10, loan.getPendingInstallments());
+        assertEquals(3, response.getNextDueInstallment());
+        verify(repaymentRepository).saveAll(argThat(repayments -> ((List<?>) repayments).size() == 2));
+    }
+
+    private LoanRepayment installment(PersonalLoan loan, int installmentNumber, LocalDateTime dueDate,
+                                      LoanRepayment.RepaymentStatus status) {
+        return LoanRepayment.builder()
+                .id(UUID.randomUUID())
+                .loan(loan)
+                .installmentNumber(installmentNumber)
+                .principalAmount(new BigDecimal("9661.85"))
+                .interestAmount(new BigDecimal("1000.00"))
+                .totalAmount(new BigDecimal("10661.85"))
+                .dueDate(dueDate)
+                .status(status)
+                .build();
+    }
+
+    /**
+     * A 12-month loan disbursed two months ago with its first two installments paid,
+     * so installment 3 falls due next month.
+     */
+    private PersonalLoan currentLoan(PersonalLoan.ScheduleMode scheduleMode) {
+        return PersonalLoan.builder()
+                .id(loanId)
+                .principalAmount(new BigDecimal("120000.00"))
+                .annualInterestRate(new BigDecimal("12.00"))
+                .loanTenureMonths(12)
+                .monthlyEMI(new BigDecimal("10661.85"))
+                .totalInterestPayable(new BigDecimal("7942.20"))
+                .outstandingBalance(new BigDecimal("98676.30"))
+                .status(PersonalLoan.LoanStatus.ACTIVE)
+                .scheduleMode(scheduleMode)
+                .disbursedAt(LocalDateTime.now().minusMonths(2))
+                .paidInstallments(2)
+                .pendingInstallments(10)
+                .remainingTenure(10)
+                .nextDueInstallment(3)
+                .build();
+    }
+
+    private LoanRepaymentRepository.RemainingSchedule remaining(String principal, String interest, long installments) {
+        return projectionFactory.createProjection(LoanRepaymentRepository.RemainingSchedule.class, Map.of(
+                "principal", new BigDecimal(principal),
+                "interest", new BigDecimal(interest),
+                "installments", installments));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,162 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.domain.LoanRepayment;
+import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.dto.RepaymentScheduleEntry;
+import com.consumerfinance.repository.LoanRepaymentRepository;
+import com.consumerfinance.repository.PersonalLoanRepository;
+import com.consumerfinance.repository.RepaymentScheduleBatchWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OverdueMarkingService.
+ * Tests chunked status updates of stored installments and storage of virtual past-due installments.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Overdue Marking Service Tests")
+class OverdueMarkingServiceTest {
+
+    @Mock
+    private LoanRepaymentRepository repaymentRepository;
+
+    @Mock
+    private PersonalLoanRepository loanRepository;
+
+    @Mock
+    private RepaymentScheduleBatchWriter scheduleWriter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OverdueMarkingService overdueMarkingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        overdueMarkingService = new OverdueMarkingService(repaymentRepository, loanRepository, scheduleWriter,
+                transactionManager, meterRegistry, 2, Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should update past-due installments chunk by chunk until a partial chunk is read")
+    void testMarkOverdueInstallments_UpdatesInChunks() {
+        // Arrange
+        List<UUID> firstChunk = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> secondChunk = List.of(UUID.randomUUID());
+        when(repaymentRepository.findIdsByStatusAndDueDateBefore(
+                eq(LoanRepayment.RepaymentStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(firstChunk, secondChunk);
+        when(repaymentRepository.updateStatusByIds(firstChunk,
+                LoanRepayment.RepaymentStatus.PENDING, LoanRepayment.RepaymentStatus.OVERDUE)).thenReturn(2);
+        // The last installment was paid between the read and the update
+        when(repaymentRepository.updateStatusByIds(secondChunk,
+                LoanRepayment.RepaymentStatus.PENDING, LoanRepayment.RepaymentStatus.OVERDUE)).thenReturn(0);
+        when(loanRepository.findWithUnpaidInstallments(eq(PersonalLoan.LoanStatus.ACTIVE),
+                eq(PersonalLoan.ScheduleMode.VIRTUAL), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        // Act
+        OverdueMarkingService.OverdueMarkingRun run = overdueMarkingService.markOverdueInstallments();
+
+        // Assert
+        assertEquals(3, run.scanned());
+        assertEquals(2, run.updated());
+        assertEquals(0, run.stored());
+        verify(repaymentRepository, times(2)).findIdsByStatusAndDueDateBefore(
+                eq(LoanRepayment.RepaymentStatus.PENDING), any(LocalDateTime.class), any(Pageable.class));
+        verify(repaymentRepository, never()).save(any());
+        assertEquals(3.0, meterRegistry.counter("loan.overdue.rows.scanned").count());
+        assertEquals(2.0, meterRegistry.counter("loan.overdue.rows.updated").count());
+        assertEquals(1, meterRegistry.timer("loan.overdue.run").count());
+    }
+
+    @Test
+    @DisplayName("Should store unstored past-due installments of virtual schedules as overdue")
+    void testMarkOverdueInstallments_StoresVirtualInstallments() {
+        // Arrange
+        PersonalLoan pastDue = virtualLoan(LocalDateTime.now().minusMonths(5), 2);
+        PersonalLoan notYetDue = virtualLoan(LocalDateTime.now(), 1);
+        when(repaymentRepository.findIdsByStatusAndDueDateBefore(
+                eq(LoanRepayment.RepaymentStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(loanRepository.findWithUnpaidInstallments(eq(PersonalLoan.LoanStatus.ACTIVE),
+                eq(PersonalLoan.ScheduleMode.VIRTUAL), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(pastDue, notYetDue)));
+        when(repaymentRepository.findInstallmentStatusesByLoanIds(List.of(pastDue.getId())))
+                .thenReturn(List.of(
+                        installment(pastDue, 1, LoanRepayment.RepaymentStatus.PAID),
+                        installment(pastDue, 3, LoanRepayment.RepaymentStatus.PARTIALLY_PAID)));
+        List<Integer> written = new ArrayList<>();
+        when(scheduleWriter.writeInstallments(eq(pastDue.getId()), any(), eq(LoanRepayment.RepaymentStatus.OVERDUE)))
+                .thenAnswer(invocation -> {
+                    Iterator<RepaymentScheduleEntry> entries = invocation.getArgument(1);
+                    entries.forEachRemaining(entry -> written.add(entry.getInstallmentNumber()));
+                    return written.size();
+                });
+
+        // Act
+        OverdueMarkingService.OverdueMarkingRun run = overdueMarkingService.markOverdueInstallments();
+
+        // Assert
+        assertEquals(0, run.scanned());
+        assertEquals(3, run.stored());
+        assertEquals(List.of(2, 4, 5), written);
+        verify(scheduleWriter, never()).writeInstallments(eq(notYetDue.getId()), any(), any());
+        assertEquals(3.0, meterRegistry.counter("loan.overdue.rows.stored").count());
+    }
+
+    private PersonalLoan virtualLoan(LocalDateTime disbursedAt, Integer nextDue) {
+        return PersonalLoan.builder()
+                .id(UUID.randomUUID())
+                .principalAmount(new BigDecimal("120000.00"))
+                .annualInterestRate(new BigDecimal("12.00"))
+                .loanTenureMonths(6)
+                .monthlyEMI(new BigDecimal("20705.81"))
+                .status(PersonalLoan.LoanStatus.ACTIVE)
+                .scheduleMode(PersonalLoan.ScheduleMode.VIRTUAL)
+                .disbursedAt(disbursedAt)
+                .nextDueInstallment(nextDue)
+                .build();
+    }
+
+    private LoanRepaymentRepository.InstallmentStatus installment(PersonalLoan loan, int installmentNumber,
+                                                                  LoanRepayment.RepaymentStatus status) {
+        return new LoanRepaymentRepository.InstallmentStatus() {
+            @Override
+            public UUID getLoanId() {
+                return loan.getId();
+            }
+
+            @Override
+            public Integer getInstallmentNumber() {
+                return installmentNumber;
+            }
+
+            @Override
+            public LoanRepayment.RepaymentStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.dto.RepaymentResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PaymentIdempotencyCache.
+ * Tests that references become visible only once their payment commits.
+ */
+@DisplayName("Payment Idempotency Cache Tests")
+class PaymentIdempotencyCacheTest {
+
+    private PaymentIdempotencyCache idempotencyCache;
+    private RepaymentResponse response;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyCache = new PaymentIdempotencyCache(new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+        response = RepaymentResponse.builder().installmentNumber(1).status("PAID").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should cache a reference immediately outside a transaction")
+    void testPutWithoutTransaction() {
+        // Act
+        idempotencyCache.put("TXN-1", response);
+
+        // Assert
+        assertSame(response, idempotencyCache.get("TXN-1"));
+        assertNull(idempotencyCache.get("TXN-2"));
+    }
+
+    @Test
+    @DisplayName("Should cache a reference only after the transaction commits")
+    void testPutWithinTransaction() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        idempotencyCache.put("TXN-1", response);
+
+        // Assert
+        assertNull(idempotencyCache.get("TXN-1"));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertSame(response, idempotencyCache.get("TXN-1"));
+    }
+}
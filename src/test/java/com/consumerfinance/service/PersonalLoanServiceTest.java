@@ -4,7 +4,10 @@ import com.consumerfinance.domain.Consumer;
 import com.consumerfinance.domain.PersonalLoan;
 import com.consumerfinance.domain.LoanRepayment;
 import com.consumerfinance.domain.PrincipalAccount;
+import com.consumerfinance.dto.ApprovalQueueItemResponse;
+import com.consumerfinance.dto.BulkDisbursalItemResponse;
 import com.consumerfinance.dto.CreateLoanRequest;
+import com.consumerfinance.dto.LoanEligibilityResponse;
 import com.consumerfinance.dto.LoanResponse;
 import com.consumerfinance.dto.EMICalculationRequest;
 import com.consumerfinance.dto.EMICalculationResponse;
@@ -14,7 +17,7 @@ import com.consumerfinance.exception.InvalidLoanOperationException;
 import com.consumerfinance.repository.PersonalLoanRepository;
 import com.consumerfinance.repository.ConsumerRepository;
 import com.consumerfinance.repository.LoanRepaymentRepository;
-import com.consumerfinance.repository.PrincipalAccountRepository;
+import com.consumerfinance.repository.RepaymentScheduleBatchWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,7 +25,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -51,7 +62,13 @@ class PersonalLoanServiceTest {
     private EMICalculationService emiCalculationService;
 
     @Mock
-    private PrincipalAccountRepository principalAccountRepository;
+    private RepaymentScheduleBatchWriter scheduleWriter;
+
+    @Mock
+    private LoanLedgerService ledgerService;
+
+    @Mock
+    private PortfolioSummaryService portfolioSummary;
 
     @InjectMocks
     private PersonalLoanService personalLoanService;
@@ -88,11 +105,6 @@ class PersonalLoanServiceTest {
     @DisplayName("Should create loan successfully for eligible consumer")
     void testCreateLoan_Success() {
         // Arrange
-        PrincipalAccount account = PrincipalAccount.builder()
-                .consumer(mockConsumer)
-                .verificationStatus(PrincipalAccount.VerificationStatus.VERIFIED)
-                .build();
-
         EMICalculationResponse emiResponse = EMICalculationResponse.builder()
                 .monthlyEMI(BigDecimal.valueOf(10746.95))
                 .totalInterest(BigDecimal.valueOf(144817.00))
@@ -108,8 +120,9 @@ class PersonalLoanServiceTest {
                 .status(PersonalLoan.LoanStatus.PENDING)
                 .build();
 
-        when(consumerRepository.findById(consumerId)).thenReturn(Optional.of(mockConsumer));
-        when(principalAccountRepository.findByConsumer(mockConsumer)).thenReturn(Optional.of(account));
+        when(consumerRepository.findLoanEligibility(consumerId, PersonalLoan.LoanStatus.ACTIVE))
+                .thenReturn(Optional.of(eligibility(PrincipalAccount.VerificationStatus.VERIFIED, false)));
+        when(consumerRepository.getReferenceById(consumerId)).thenReturn(mockConsumer);
         when(emiCalculationService.calculateEMI(any(EMICalculationRequest.class))).thenReturn(emiResponse);
         when(loanRepository.save(any(PersonalLoan.class))).thenReturn(expectedLoan);
 
@@ -127,8 +140,8 @@ class PersonalLoanServiceTest {
     @DisplayName("Should throw exception for non-existent consumer")
     void testCreateLoan_ConsumerNotFound() {
         // Arrange
-        when(consumerRepository.findById(any(UUID.class)))
-                .thenThrow(new ConsumerNotFoundException("Consumer not found"));
+        when(consumerRepository.findLoanEligibility(any(UUID.class), eq(PersonalLoan.LoanStatus.ACTIVE)))
+                .thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ConsumerNotFoundException.class, () -> personalLoanService.createLoan(loanRequest));
@@ -139,12 +152,68 @@ class PersonalLoanServiceTest {
     @DisplayName("Should throw exception for consumer without verified account")
     void testCreateLoan_NoVerifiedAccount() {
         // Arrange
-        when(consumerRepository.findById(consumerId)).thenReturn(Optional.of(mockConsumer));
-        when(principalAccountRepository.findByConsumer(mockConsumer)).thenReturn(Optional.empty());
+        when(consumerRepository.findLoanEligibility(consumerId, PersonalLoan.LoanStatus.ACTIVE))
+                .thenReturn(Optional.of(eligibility(null, false)));
 
         // Act & Assert
-        assertThrows(InvalidLoanOperationException.class, () -> personalLoanService.createLoan(loanRequest));
+        InvalidLoanOperationException exception = assertThrows(InvalidLoanOperationException.class,
+                () -> personalLoanService.createLoan(loanRequest));
+        assertEquals("Consumer must have a verified principal account", exception.getMessage());
         verify(loanRepository, never()).save(any(PersonalLoan.class));
+        verify(consumerRepository, never()).getReferenceById(any());
+    }
+
+    @Test
+    @DisplayName("Should report an eligible consumer from the single eligibility query")
+    void testCheckEligibility_Eligible() {
+        // Arrange
+        when(consumerRepository.findLoanEligibility(consumerId, PersonalLoan.LoanStatus.ACTIVE))
+                .thenReturn(Optional.of(eligibility(PrincipalAccount.VerificationStatus.VERIFIED, false)));
+
+        // Act
+        LoanEligibilityResponse response = personalLoanService.checkEligibility(consumerId);
+
+        // Assert
+        assertTrue(response.isEligible());
+        assertEquals(consumerId.toString(), response.getCustomerId());
+        assertEquals("VERIFIED", response.getKycStatus());
+        assertEquals("ACTIVE", response.getConsumerStatus());
+        assertEquals("VERIFIED", response.getAccountVerificationStatus());
+        assertFalse(response.isHasActiveLoan());
+        assertTrue(response.getReasons().isEmpty());
+        verify(consumerRepository, never()).findById(any());
+        verifyNoInteractions(loanRepository);
+    }
+
+    @Test
+    @DisplayName("Should list every reason an ineligible consumer fails in check order")
+    void testCheckEligibility_Ineligible() {
+        // Arrange
+        mockConsumer.setKycStatus(Consumer.KYCStatus.PENDING);
+        when(consumerRepository.findLoanEligibility(consumerId, PersonalLoan.LoanStatus.ACTIVE))
+                .thenReturn(Optional.of(eligibility(null, true)));
+
+        // Act
+        LoanEligibilityResponse response = personalLoanService.checkEligibility(consumerId);
+
+        // Assert
+        assertFalse(response.isEligible());
+        assertNull(response.getAccountVerificationStatus());
+        assertTrue(response.isHasActiveLoan());
+        assertEquals(List.of("Consumer KYC verification is required",
+                "Consumer must have a verified principal account",
+                "Consumer cannot have more than one active loan"), response.getReasons());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when checking eligibility of non-existent consumer")
+    void testCheckEligibility_ConsumerNotFound() {
+        // Arrange
+        when(consumerRepository.findLoanEligibility(consumerId, PersonalLoan.LoanStatus.ACTIVE))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ConsumerNotFoundException.class, () -> personalLoanService.checkEligibility(consumerId));
     }
 
     @Test
@@ -245,6 +314,120 @@ class PersonalLoanServiceTest {
         assertNotNull(response);
         assertEquals("ACTIVE", response.getStatus());
         verify(loanRepository, times(1)).save(any(PersonalLoan.class));
+        verify(scheduleWriter, times(1)).writeSchedule(eq(loanId), any());
+        verify(repaymentRepository, never()).save(any());
+        verify(ledgerService).recordDisbursals(eq(List.of(loan)), any(LocalDateTime.class));
+        verify(portfolioSummary).recordStatusChange(loan, PersonalLoan.LoanStatus.APPROVED);
+        verify(portfolioSummary).recordDisbursals(eq(List.of(loan)), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should disburse loan with a virtual schedule without writing installments")
+    void testDisburseLoan_VirtualSchedule() {
+        // Arrange
+        PersonalLoanService virtualService = new PersonalLoanService(loanRepository, repaymentRepository,
+                emiCalculationService, consumerRepository, scheduleWriter,
+                ledgerService, portfolioSummary, PersonalLoan.ScheduleMode.VIRTUAL);
+        PersonalLoan loan = PersonalLoan.builder()
+                .id(loanId)
+                .consumer(mockConsumer)
+                .status(PersonalLoan.LoanStatus.APPROVED)
+                .principalAmount(BigDecimal.valueOf(500000))
+                .annualInterestRate(BigDecimal.valueOf(10.5))
+                .loanTenureMonths(60)
+                .monthlyEMI(BigDecimal.valueOf(9638.22))
+                .build();
+
+        when(loanRepository.findById(loanId)).thenReturn(Optional.of(loan));
+        when(loanRepository.save(any(PersonalLoan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        LoanResponse response = virtualService.disburseLoan(loanId);
+
+        // Assert
+        assertEquals("ACTIVE", response.getStatus());
+        assertEquals(PersonalLoan.ScheduleMode.VIRTUAL, loan.getScheduleMode());
+        assertNotNull(loan.getDisbursedAt());
+        assertEquals(60, loan.getPendingInstallments());
+        assertEquals(0, loan.getPaidInstallments());
+        assertEquals(1, loan.getNextDueInstallment());
+        verifyNoInteractions(scheduleWriter);
+        verify(repaymentRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should move approved loan to DISBURSING without generating a schedule")
+    void testBeginDisbursal() {
+        // Arrange
+        PersonalLoan loan = PersonalLoan.builder()
+                .id(loanId)
+                .consumer(mockConsumer)
+                .status(PersonalLoan.LoanStatus.APPROVED)
+                .build();
+
+        when(loanRepository.findById(loanId)).thenReturn(Optional.of(loan));
+        when(loanRepository.save(any(PersonalLoan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        LoanResponse response = personalLoanService.beginDisbursal(loanId);
+
+        // Assert
+        assertEquals("DISBURSING", response.getStatus());
+        verifyNoInteractions(scheduleWriter);
+    }
+
+    @Test
+    @DisplayName("Should reject completing disbursal of a loan that is not DISBURSING")
+    void testCompleteDisbursal_InvalidStatus() {
+        // Arrange
+        PersonalLoan loan = PersonalLoan.builder()
+                .id(loanId)
+                .consumer(mockConsumer)
+                .status(PersonalLoan.LoanStatus.ACTIVE)
+                .build();
+
+        when(loanRepository.findById(loanId)).thenReturn(Optional.of(loan));
+
+        // Act & Assert
+        assertThrows(InvalidLoanOperationException.class, () -> personalLoanService.completeDisbursal(loanId));
+        verifyNoInteractions(scheduleWriter);
+    }
+
+    @Test
+    @DisplayName("Should disburse approved loans in a chunk and report the rest as failed")
+    void testDisburseLoanChunk() {
+        // Arrange
+        UUID activeId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        PersonalLoan approved = PersonalLoan.builder()
+                .id(loanId)
+                .consumer(mockConsumer)
+                .status(PersonalLoan.LoanStatus.APPROVED)
+                .principalAmount(BigDecimal.valueOf(120000))
+                .annualInterestRate(BigDecimal.valueOf(12))
+                .loanTenureMonths(12)
+                .monthlyEMI(BigDecimal.valueOf(10661.85))
+                .build();
+        PersonalLoan active = PersonalLoan.builder()
+                .id(activeId)
+                .consumer(mockConsumer)
+                .status(PersonalLoan.LoanStatus.ACTIVE)
+                .build();
+
+        when(loanRepository.findAllById(List.of(loanId, activeId, missingId))).thenReturn(List.of(approved, active));
+        when(loanRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        List<BulkDisbursalItemResponse> results =
+                personalLoanService.disburseLoanChunk(List.of(loanId, activeId, missingId));
+
+        // Assert
+        assertEquals("SUCCESS", results.get(0).getStatus());
+        assertEquals("ACTIVE", results.get(0).getLoan().getStatus());
+        assertEquals("FAILED", results.get(1).getStatus());
+        assertEquals("Loan not found: " + missingId, results.get(2).getErrorMessage());
+        verify(scheduleWriter, times(1)).writeSchedule(eq(loanId), any());
+        verify(scheduleWriter, never()).writeSchedule(eq(activeId), any());
     }
 
     @Test
@@ -321,4 +504,64 @@ class PersonalLoanServiceTest {
         assertEquals(1, responses.size());
         verify(loanRepository, times(1)).findByStatus(PersonalLoan.LoanStatus.PENDING);
     }
+
+    @Test
+    @DisplayName("Should page the approval queue oldest first with the loan ID as tie-breaker")
+    void testGetApprovalQueue_DefaultOrder() {
+        // Arrange
+        ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+        UUID customerId = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.now().minusDays(3);
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", loanId);
+        row.put("customerId", customerId);
+        row.put("principalAmount", new BigDecimal("250000.00"));
+        row.put("annualInterestRate", new BigDecimal("11.00"));
+        row.put("loanTenureMonths", 36);
+        row.put("monthlyEMI", new BigDecimal("8184.86"));
+        row.put("createdAt", createdAt);
+        PersonalLoanRepository.ApprovalQueueItem item =
+                projectionFactory.createProjection(PersonalLoanRepository.ApprovalQueueItem.class, row);
+        Pageable expected = PageRequest.of(1, 10, Sort.by("createdAt").and(Sort.by("id")));
+        LocalDate createdTo = LocalDate.now();
+        when(loanRepository.findApprovalQueue(PersonalLoan.LoanStatus.PENDING, LocalDate.now().minusDays(7).atStartOfDay(),
+                createdTo.plusDays(1).atStartOfDay(), new BigDecimal("100000"), null, 12, null, expected))
+                .thenReturn(new PageImpl<>(List.of(item), expected, 11));
+
+        // Act
+        Page<ApprovalQueueItemResponse> page = personalLoanService.getApprovalQueue(new BigDecimal("100000"), null,
+                LocalDate.now().minusDays(7), createdTo, 12, null, PageRequest.of(1, 10));
+
+        // Assert
+        assertEquals(11, page.getTotalElements());
+        assertEquals(1, page.getContent().size());
+        ApprovalQueueItemResponse response = page.getContent().get(0);
+        assertEquals(loanId.toString(), response.getLoanId());
+        assertEquals(customerId.toString(), response.getCustomerId());
+        assertEquals(36, response.getLoanTenureMonths());
+        assertEquals(createdAt, response.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should reject approval queue sorts on unsupported properties and inverted bands")
+    void testGetApprovalQueue_InvalidRequest() {
+        assertThrows(IllegalArgumentException.class, () -> personalLoanService.getApprovalQueue(null, null,
+                null, null, null, null, PageRequest.of(0, 20, Sort.by("consumer"))));
+        assertThrows(IllegalArgumentException.class, () -> personalLoanService.getApprovalQueue(
+                new BigDecimal("500000"), new BigDecimal("100000"), null, null, null, null, PageRequest.of(0, 20)));
+        assertThrows(IllegalArgumentException.class, () -> personalLoanService.getApprovalQueue(null, null,
+                null, null, null, null, PageRequest.of(0, 500)));
+        verify(loanRepository, never()).findApprovalQueue(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    private ConsumerRepository.LoanEligibility eligibility(PrincipalAccount.VerificationStatus accountStatus,
+                                                           boolean hasActiveLoan) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("consumerId", consumerId);
+        row.put("kycStatus", mockConsumer.getKycStatus());
+        row.put("status", mockConsumer.getStatus());
+        row.put("accountVerificationStatus", accountStatus);
+        row.put("hasLoanInStatus", hasActiveLoan);
+        return new SpelAwareProxyProjectionFactory().createProjection(ConsumerRepository.LoanEligibility.class, row);
+    }
 }
@@ -7,7 +7,7 @@ import com.consumerfinance.dto.LoanResponse;
 import com.consumerfinance.repository.ConsumerRepository;
 import com.consumerfinance.repository.LoanRepaymentRepository;
 import com.consumerfinance.repository.PersonalLoanRepository;
-import com.consumerfinance.repository.PrincipalAccountRepository;
+import com.consumerfinance.repository.RepaymentScheduleBatchWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -46,7 +46,13 @@ class PersonalLoanServiceUnitTest {
     private ConsumerRepository consumerRepository;
 
     @Mock
-    private PrincipalAccountRepository principalAccountRepository;
+    private RepaymentScheduleBatchWriter scheduleWriter;
+
+    @Mock
+    private LoanLedgerService ledgerService;
+
+    @Mock
+    private PortfolioSummaryService portfolioSummary;
 
     @InjectMocks
     private PersonalLoanService loanService;
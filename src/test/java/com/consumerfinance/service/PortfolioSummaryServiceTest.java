@@ -0,0 +1,184 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.domain.PersonalLoan;
+import com.consumerfinance.domain.PortfolioDailyDisbursal;
+import com.consumerfinance.domain.PortfolioStatusSummary;
+import com.consumerfinance.dto.PortfolioStatusResponse;
+import com.consumerfinance.dto.PortfolioSummaryResponse;
+import com.consumerfinance.repository.PortfolioDailyDisbursalRepository;
+import com.consumerfinance.repository.PortfolioStatusSummaryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PortfolioSummaryService.
+ * Tests the deltas applied for loan changes, the summary read and the rebuild.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Portfolio Summary Service Tests")
+class PortfolioSummaryServiceTest {
+
+    @Mock
+    private PortfolioStatusSummaryRepository statusRepository;
+
+    @Mock
+    private PortfolioDailyDisbursalRepository dailyRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PortfolioSummaryService portfolioSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        portfolioSummaryService = new PortfolioSummaryService(statusRepository, dailyRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should move a chunk of loans between statuses with one delta per status")
+    void testRecordStatusChanges_AggregatesPerStatus() {
+        // Arrange
+        List<PersonalLoan> loans = List.of(
+                loan(PersonalLoan.LoanStatus.ACTIVE, "100000.00", "12.00"),
+                loan(PersonalLoan.LoanStatus.ACTIVE, "50000.00", "10.00"));
+
+        // Act
+        portfolioSummaryService.recordStatusChanges(loans, PersonalLoan.LoanStatus.APPROVED);
+
+        // Assert
+        verify(statusRepository).addToStatus(eq("APPROVED"), eq(-2L), eq(new BigDecimal("-150000.00")),
+                eq(new BigDecimal("-150000.00")), eq(new BigDecimal("-22.00")), any(LocalDateTime.class));
+        verify(statusRepository).addToStatus(eq("ACTIVE"), eq(2L), eq(new BigDecimal("150000.00")),
+                eq(new BigDecimal("150000.00")), eq(new BigDecimal("22.00")), any(LocalDateTime.class));
+        verifyNoMoreInteractions(statusRepository);
+    }
+
+    @Test
+    @DisplayName("Should skip loans whose status did not change")
+    void testRecordStatusChange_Unchanged() {
+        // Act
+        portfolioSummaryService.recordStatusChange(
+                loan(PersonalLoan.LoanStatus.PENDING, "100000.00", "12.00"), PersonalLoan.LoanStatus.PENDING);
+        portfolioSummaryService.recordOutstandingChange(PersonalLoan.LoanStatus.ACTIVE, BigDecimal.ZERO);
+
+        // Assert
+        verify(statusRepository, never()).addToStatus(anyString(), anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should add disbursed loans to the totals of their day")
+    void testRecordDisbursals() {
+        // Arrange
+        LocalDateTime disbursedAt = LocalDateTime.of(2026, 10, 16, 14, 30);
+        List<PersonalLoan> loans = List.of(
+                loan(PersonalLoan.LoanStatus.ACTIVE, "100000.00", "12.00"),
+                loan(PersonalLoan.LoanStatus.ACTIVE, "50000.00", "10.00"));
+
+        // Act
+        portfolioSummaryService.recordDisbursals(loans, disbursedAt);
+
+        // Assert
+        verify(dailyRepository).addToDay(eq(LocalDate.of(2026, 10, 16)), eq(2L),
+                eq(new BigDecimal("150000.00")), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should report every status with outstanding of owing loans and average rates")
+    void testGetSummary() {
+        // Arrange
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(statusRepository.findAll()).thenReturn(List.of(
+                summary(PersonalLoan.LoanStatus.ACTIVE, 4, "400000.00", "300000.00", "46.00", updatedAt),
+                summary(PersonalLoan.LoanStatus.DEFAULTED, 1, "100000.00", "80000.00", "14.00", updatedAt.minusHours(1)),
+                summary(PersonalLoan.LoanStatus.APPROVED, 2, "200000.00", "200000.00", "20.00", updatedAt.minusHours(2))));
+        when(dailyRepository.findByDisbursalDateGreaterThanEqualOrderByDisbursalDate(LocalDate.now().minusDays(6)))
+                .thenReturn(List.of(PortfolioDailyDisbursal.builder()
+                        .disbursalDate(LocalDate.now())
+                        .loanCount(3L)
+                        .principalTotal(new BigDecimal("300000.00"))
+                        .build()));
+
+        // Act
+        PortfolioSummaryResponse response = portfolioSummaryService.getSummary(7);
+
+        // Assert
+        assertEquals(7, response.getTotalLoans());
+        assertEquals(new BigDecimal("380000.00"), response.getTotalOutstanding());
+        assertEquals(new BigDecimal("11.50"), response.getAverageActiveInterestRate());
+        assertEquals(PersonalLoan.LoanStatus.values().length, response.getStatuses().size());
+        PortfolioStatusResponse closed = response.getStatuses().stream()
+                .filter(status -> status.getStatus().equals("CLOSED"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(0, closed.getLoanCount());
+        assertNull(closed.getAverageInterestRate());
+        assertEquals(1, response.getDailyDisbursals().size());
+        assertEquals(updatedAt, response.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("Should reject a days range outside 1 to 366")
+    void testGetSummary_InvalidDays() {
+        assertThrows(IllegalArgumentException.class, () -> portfolioSummaryService.getSummary(0));
+        assertThrows(IllegalArgumentException.class, () -> portfolioSummaryService.getSummary(367));
+        verifyNoInteractions(statusRepository, dailyRepository);
+    }
+
+    @Test
+    @DisplayName("Should replace the running totals with totals recomputed from the loans")
+    void testRebuildSummary() {
+        // Arrange
+        when(statusRepository.insertFromLoans(any(LocalDateTime.class))).thenReturn(4);
+        when(dailyRepository.insertFromLoans(any(LocalDateTime.class))).thenReturn(30);
+
+        // Act
+        int rows = portfolioSummaryService.rebuildSummary();
+
+        // Assert
+        assertEquals(34, rows);
+        var order = inOrder(statusRepository, dailyRepository);
+        order.verify(statusRepository).deleteAllRows();
+        order.verify(dailyRepository).deleteAllRows();
+        order.verify(statusRepository).insertFromLoans(any(LocalDateTime.class));
+        order.verify(dailyRepository).insertFromLoans(any(LocalDateTime.class));
+        assertEquals(1, meterRegistry.timer("loan.portfolio.rebuild").count());
+    }
+
+    private PersonalLoan loan(PersonalLoan.LoanStatus status, String principal, String rate) {
+        return PersonalLoan.builder()
+                .id(UUID.randomUUID())
+                .status(status)
+                .principalAmount(new BigDecimal(principal))
+                .outstandingBalance(new BigDecimal(principal))
+                .annualInterestRate(new BigDecimal(rate))
+                .build();
+    }
+
+    private PortfolioStatusSummary summary(PersonalLoan.LoanStatus status, long loans, String principal,
+                                           String outstanding, String rates, LocalDateTime updatedAt) {
+        return PortfolioStatusSummary.builder()
+                .status(status)
+                .loanCount(loans)
+                .principalTotal(new BigDecimal(principal))
+                .outstandingTotal(new BigDecimal(outstanding))
+                .interestRateTotal(new BigDecimal(rates))
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
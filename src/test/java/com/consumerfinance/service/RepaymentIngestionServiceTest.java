@@ -0,0 +1,199 @@
+package com.consumerfinance.service;
+
+import com.consumerfinance.dto.RepaymentIngestionResult;
+import com.consumerfinance.dto.RepaymentIngestionRow;
+import com.consumerfinance.dto.RepaymentIngestionSummary;
+import com.consumerfinance.dto.RepaymentResponse;
+import com.consumerfinance.exception.InvalidRepaymentException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RepaymentIngestionService.
+ * Tests CSV and NDJSON parsing, chunking, chunk failure fallback and local file access.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Repayment Ingestion Service Tests")
+class RepaymentIngestionServiceTest {
+
+    @Mock
+    private LoanRepaymentService repaymentService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RepaymentIngestionService ingestionService;
+    private UUID loanId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ingestionService = new RepaymentIngestionService(repaymentService, new ObjectMapper(), meterRegistry, 2, null);
+        loanId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should apply CSV rows in chunks and report malformed rows in line order")
+    void testIngest_Csv() {
+        // Arrange
+        String csv = "loanId,installmentNumber,amount,paymentMode,transactionReference\n"
+                + loanId + ",1,100.00,NACH,TXN-1\n"
+                + loanId + ",two,100.00,NACH,TXN-2\n"
+                + loanId + ",2,100.00,\"UPI, intent\",TXN-3\n"
+                + "\n"
+                + loanId + ",3,100.00,,\n";
+        when(repaymentService.processRepaymentChunk(anyList())).thenAnswer(invocation -> succeed(invocation.getArgument(0)));
+        List<RepaymentIngestionResult> report = new ArrayList<>();
+
+        // Act
+        RepaymentIngestionSummary summary = ingestionService.ingest(stream(csv), RepaymentIngestionService.Format.CSV, report::add);
+
+        // Assert
+        assertEquals(4, summary.getTotalRows());
+        assertEquals(3, summary.getSuccessCount());
+        assertEquals(1, summary.getFailureCount());
+        assertEquals(List.of(2L, 3L, 4L, 6L), report.stream().map(RepaymentIngestionResult::getLineNumber).toList());
+        assertEquals("FAILED", report.get(1).getStatus());
+        verify(repaymentService, times(2)).processRepaymentChunk(argThat(rows ->
+                rows.stream().allMatch(row -> row.getLoanId().equals(loanId))));
+        assertEquals(3.0, meterRegistry.counter("loan.repayment.ingest.rows", "outcome", "success").count());
+    }
+
+    @Test
+    @DisplayName("Should parse NDJSON rows and pass payment details through")
+    void testIngest_Ndjson() {
+        // Arrange
+        String ndjson = "{\"loanId\":\"" + loanId + "\",\"installmentNumber\":1,\"amount\":9638.22,"
+                + "\"paymentMode\":\"NACH\",\"transactionReference\":\"TXN-1\"}\n"
+                + "{\"loanId\":\"" + loanId + "\"}\n";
+        List<List<RepaymentIngestionRow>> chunks = new ArrayList<>();
+        when(repaymentService.processRepaymentChunk(anyList())).thenAnswer(invocation -> {
+            List<RepaymentIngestionRow> rows = invocation.getArgument(0);
+            chunks.add(List.copyOf(rows));
+            return succeed(rows);
+        });
+        List<RepaymentIngestionResult> report = new ArrayList<>();
+
+        // Act
+        RepaymentIngestionSummary summary = ingestionService.ingest(stream(ndjson), RepaymentIngestionService.Format.NDJSON, report::add);
+
+        // Assert
+        assertEquals(1, summary.getSuccessCount());
+        assertEquals(1, summary.getFailureCount());
+        RepaymentIngestionRow row = chunks.get(0).get(0);
+        assertEquals(1, row.getLineNumber());
+        assertEquals(0, BigDecimal.valueOf(9638.22).compareTo(row.getAmount()));
+        assertEquals("TXN-1", row.getTransactionReference());
+        assertEquals("loanId, installmentNumber and amount are required", report.get(1).getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("Should retry rows individually when a chunk fails to commit")
+    void testIngest_ChunkFailureFallsBack() {
+        // Arrange
+        String csv = "loanId,installmentNumber,amount\n" + loanId + ",1,100\n" + loanId + ",2,100\n";
+        when(repaymentService.processRepaymentChunk(anyList()))
+                .thenThrow(new DataIntegrityViolationException("constraint violation"));
+        when(repaymentService.processRepayment(loanId, 1, new BigDecimal("100"), null, null))
+                .thenReturn(RepaymentResponse.builder().status("PAID").build());
+        when(repaymentService.processRepayment(loanId, 2, new BigDecimal("100"), null, null))
+                .thenThrow(new InvalidRepaymentException("Installment already paid"));
+        List<RepaymentIngestionResult> report = new ArrayList<>();
+
+        // Act
+        RepaymentIngestionSummary summary = ingestionService.ingest(stream(csv), RepaymentIngestionService.Format.CSV, report::add);
+
+        // Assert
+        assertEquals(1, summary.getSuccessCount());
+        assertEquals("PAID", report.get(0).getRepaymentStatus());
+        assertEquals("Installment already paid", report.get(1).getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("Should report malformed rows in chunks before the end of the file")
+    void testIngest_MalformedRowsReportedBeforeEndOfFile() {
+        // Arrange
+        StringBuilder csv = new StringBuilder("loanId,installmentNumber,amount\n");
+        for (int i = 0; i < 5; i++) {
+            csv.append("not-a-loan,").append(i).append(",100\n");
+        }
+        InputStream truncated = new SequenceInputStream(stream(csv.toString()), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        });
+        List<RepaymentIngestionResult> report = new ArrayList<>();
+
+        // Act
+        assertThrows(UncheckedIOException.class, () ->
+                ingestionService.ingest(truncated, RepaymentIngestionService.Format.CSV, report::add));
+
+        // Assert
+        assertEquals(List.of(2L, 3L, 4L, 5L), report.stream().map(RepaymentIngestionResult::getLineNumber).toList());
+        assertTrue(report.stream().allMatch(result -> "FAILED".equals(result.getStatus())));
+        verifyNoInteractions(repaymentService);
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV file without the required header columns")
+    void testIngest_MissingHeader() {
+        assertThrows(IllegalArgumentException.class, () ->
+                ingestionService.ingest(stream(loanId + ",1,100\n"), RepaymentIngestionService.Format.CSV, result -> { }));
+        verifyNoInteractions(repaymentService);
+    }
+
+    @Test
+    @DisplayName("Should only open local files inside the ingestion directory")
+    void testOpenLocalFile(@TempDir Path directory) throws Exception {
+        // Arrange
+        Files.writeString(directory.resolve("payments.csv"), "loanId,installmentNumber,amount\n");
+        RepaymentIngestionService localService = new RepaymentIngestionService(repaymentService, new ObjectMapper(),
+                meterRegistry, 2, directory.toString());
+
+        // Act & Assert
+        try (InputStream input = localService.openLocalFile("payments.csv")) {
+            assertNotNull(input);
+        }
+        assertThrows(IllegalArgumentException.class, () -> localService.openLocalFile("../payments.csv"));
+        assertThrows(IllegalArgumentException.class, () -> ingestionService.openLocalFile("payments.csv"));
+    }
+
+    private List<RepaymentIngestionResult> succeed(List<RepaymentIngestionRow> rows) {
+        return rows.stream()
+                .map(row -> RepaymentIngestionResult.builder()
+                        .lineNumber(row.getLineNumber())
+                        .loanId(row.getLoanId().toString())
+                        .installmentNumber(row.getInstallmentNumber())
+                        .status("SUCCESS")
+                        .repaymentStatus("PAID")
+                        .build())
+                .toList();
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}